@@ -146,6 +146,18 @@ public class LEDEditPart extends TerminalOwnerShapeEditPart {
 		}
 	}
 
+	/**
+	 * Coalesces the changes to the fill, line and font styles of the LED, whose
+	 * handling only refreshes the figure from the current style values.
+	 */
+	@Override
+	protected boolean shouldCoalesceNotification(Notification notification) {
+		Object feature = notification.getFeature();
+		return NotationPackage.eINSTANCE.getFillStyle().getEAllAttributes().contains(feature)
+				|| NotationPackage.eINSTANCE.getLineStyle_LineColor().equals(feature)
+				|| NotationPackage.eINSTANCE.getFontStyle().getEAllAttributes().contains(feature);
+	}
+
 	@Override
 	public EditPolicy getPrimaryDragEditPolicy() {
 		return new NonResizableEditPolicyEx();
@@ -67,6 +67,18 @@ public class CompositeCommand
 
     private boolean executed;
 
+    /**
+     * Incremented whenever my children are changed, to invalidate the
+     * execution plans that include me.
+     */
+    private int modificationCount;
+
+    /**
+     * My flattened execution plan, or <code>null</code> if it has not been
+     * computed yet.
+     */
+    private ExecutionPlan executionPlan;
+
     /**
      * Initializes me with a label.
      * 
@@ -156,6 +168,8 @@ public class CompositeCommand
      *            a new child operation
      */
     private void didAdd(IUndoableOperation operation) {
+        modificationCount++;
+
         IUndoContext[] childContexts = operation.getContexts();
 
         for (int i = 0; i < childContexts.length; i++) {
@@ -198,6 +212,8 @@ public class CompositeCommand
      *            the child operation that was removed
      */
     private void didRemove(IUndoableOperation operation) {
+        modificationCount++;
+
         IUndoContext[] childContexts = operation.getContexts();
 
         for (int i = 0; i < childContexts.length; i++) {
@@ -227,14 +243,63 @@ public class CompositeCommand
         return result;
     }
 
+    /**
+     * Obtains my execution plan, computing it again if I or any of the
+     * composite commands in it were changed since it was computed.
+     * 
+     * @return my execution plan
+     */
+    private ExecutionPlan getExecutionPlan() {
+        ExecutionPlan result = executionPlan;
+
+        if ((result == null) || !result.isValid()) {
+            result = new ExecutionPlan(this);
+            executionPlan = result;
+        }
+
+        return result;
+    }
+
+    /**
+     * Obtains the depth of my tree of nested composite commands, counting me.
+     * Only the children that are instances of exactly the
+     * <code>CompositeCommand</code> class are counted as nested composites;
+     * other children are leaves.
+     * 
+     * @return my depth, which is at least <code>1</code>
+     * @since 1.9
+     */
+    public int getDepth() {
+        return getExecutionPlan().depth;
+    }
+
+    /**
+     * Obtains the number of leaf operations in my tree of nested composite
+     * commands.
+     * 
+     * @return my leaf count
+     * 
+     * @see #getDepth()
+     * @since 1.9
+     */
+    public int getLeafCount() {
+        return getExecutionPlan().leaves.length;
+    }
+
     /**
      * I can execute if I am not empty and all of my children can execute.
      */
     public boolean canExecute() {
         boolean result = !isEmpty() && super.canExecute();
 
-        for (Iterator iter = iterator(); result && iter.hasNext();) {
-            result = ((IUndoableOperation) iter.next()).canExecute();
+        if (result) {
+            ExecutionPlan plan = getExecutionPlan();
+            IUndoableOperation[] leaves = plan.leaves;
+            result = !plan.hasEmptyComposite;
+
+            for (int i = 0; result && i < leaves.length; i++) {
+                result = leaves[i].canExecute();
+            }
         }
 
         return result;
@@ -246,8 +311,14 @@ public class CompositeCommand
     public boolean canRedo() {
         boolean result = !isEmpty() && super.canRedo();
 
-        for (Iterator iter = iterator(); result && iter.hasNext();) {
-            result = ((IUndoableOperation) iter.next()).canRedo();
+        if (result) {
+            ExecutionPlan plan = getExecutionPlan();
+            IUndoableOperation[] leaves = plan.leaves;
+            result = !plan.hasEmptyComposite;
+
+            for (int i = 0; result && i < leaves.length; i++) {
+                result = leaves[i].canRedo();
+            }
         }
 
         return result;
@@ -259,8 +330,14 @@ public class CompositeCommand
     public boolean canUndo() {
         boolean result = !isEmpty() && super.canUndo();
 
-        for (Iterator iter = iterator(); result && iter.hasNext();) {
-            result = ((IUndoableOperation) iter.next()).canUndo();
+        if (result) {
+            ExecutionPlan plan = getExecutionPlan();
+            IUndoableOperation[] leaves = plan.leaves;
+            result = !plan.hasEmptyComposite;
+
+            for (int i = 0; result && i < leaves.length; i++) {
+                result = leaves[i].canUndo();
+            }
         }
 
         return result;
@@ -393,6 +470,15 @@ public class CompositeCommand
 
         List result = new ArrayList(size());
 
+        if (Trace.shouldTrace(CommonCorePlugin.getDefault(),
+            CommonCoreDebugOptions.COMMANDS_EXECUTE)) {
+            ExecutionPlan plan = getExecutionPlan();
+            Trace.trace(CommonCorePlugin.getDefault(),
+                CommonCoreDebugOptions.COMMANDS_EXECUTE,
+                "Executing composite command '" + getLabel() + "': depth " //$NON-NLS-1$ //$NON-NLS-2$
+                    + plan.depth + ", " + plan.leaves.length + " leaves"); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+
         progressMonitor.beginTask(getLabel(), size());
 
         try {
@@ -887,6 +973,102 @@ public class CompositeCommand
         }
     }
 
+    /**
+     * The leaf operations of a tree of nested composite commands, in the order
+     * in which they are executed. Only the children that are instances of
+     * exactly the <code>CompositeCommand</code> class are flattened, because
+     * the behaviour of subclasses is not known.
+     */
+    private static final class ExecutionPlan {
+
+        final IUndoableOperation[] leaves;
+
+        /** Whether any nested composite is empty, so cannot execute. */
+        final boolean hasEmptyComposite;
+
+        final int depth;
+
+        /** The root composite and the nested composites, in the tree. */
+        private final CompositeCommand[] composites;
+
+        /**
+         * The modification counts of the composites when I was computed.
+         */
+        private final int[] modificationCounts;
+
+        /** The number of children of the root composite. */
+        private final int size;
+
+        ExecutionPlan(CompositeCommand root) {
+            this.size = root.size();
+
+            List result = new ArrayList(size);
+            List nested = new ArrayList();
+            nested.add(root);
+            boolean empty = false;
+            int maxDepth = 1;
+
+            // traverse the tree without recursion, using a stack of iterators
+            List stack = new ArrayList();
+            stack.add(root.getChildren().iterator());
+
+            while (!stack.isEmpty()) {
+                Iterator iter = (Iterator) stack.get(stack.size() - 1);
+
+                if (!iter.hasNext()) {
+                    stack.remove(stack.size() - 1);
+                    continue;
+                }
+
+                IUndoableOperation next = (IUndoableOperation) iter.next();
+
+                if (next.getClass() == CompositeCommand.class) {
+                    List children = ((CompositeCommand) next).getChildren();
+
+                    nested.add(next);
+                    maxDepth = Math.max(maxDepth, stack.size() + 1);
+                    if (children.isEmpty()) {
+                        empty = true;
+                    } else {
+                        stack.add(children.iterator());
+                    }
+                } else {
+                    result.add(next);
+                }
+            }
+
+            this.leaves = (IUndoableOperation[]) result
+                .toArray(new IUndoableOperation[result.size()]);
+            this.hasEmptyComposite = empty;
+            this.depth = maxDepth;
+
+            this.composites = (CompositeCommand[]) nested
+                .toArray(new CompositeCommand[nested.size()]);
+            this.modificationCounts = new int[composites.length];
+            for (int i = 0; i < composites.length; i++) {
+                modificationCounts[i] = composites[i].modificationCount;
+            }
+        }
+
+        /**
+         * Queries whether none of the composites in my tree were changed
+         * since I was computed.
+         * 
+         * @return whether I am still valid
+         */
+        boolean isValid() {
+            if (composites[0].size() != size) {
+                return false;
+            }
+            for (int i = 0; i < composites.length; i++) {
+                if (composites[i].modificationCount != modificationCounts[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
     /**
      * Custom list-iterator implementation that maintains my undo contexts
      * correctly, as well as uniqueness of the list contents.
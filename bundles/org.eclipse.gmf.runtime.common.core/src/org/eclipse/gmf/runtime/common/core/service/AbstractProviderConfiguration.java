@@ -391,6 +391,58 @@ public class AbstractProviderConfiguration {
 			
 			return true;
 		}
+
+		/**
+		 * Gets the name of the class to which this descriptor applies.
+		 * 
+		 * @return the class name, or <code>null</code> if this descriptor
+		 *         applies to objects of any class
+		 *
+		 * @since 1.9
+		 */
+		public String getContextClassName() {
+			return contextClassName;
+		}
+
+		/**
+		 * Gets the literal values that the parameterless method with the
+		 * given name must return for this descriptor to apply, as declared in
+		 * the <code>value</code> attribute of a <code>method</code> element.
+		 * This lets clients index descriptors without invoking any method.
+		 * 
+		 * @param methodName
+		 *            the name of a parameterless method, such as
+		 *            <code>getType</code>
+		 * @return the literal values, an empty set if this descriptor never
+		 *         applies, or <code>null</code> if the values are not
+		 *         restricted to literals
+		 *
+		 * @since 1.9
+		 */
+		public Set getValueLiterals(String methodName) {
+			if (syntaxError)
+				return Collections.EMPTY_SET;
+
+			for(Iterator iter = methods.iterator(); iter.hasNext();) {
+				MethodValueEntry entry = (MethodValueEntry)iter.next();
+				MethodDescriptor method = entry.method;
+				if (!method.isInitialized()) {
+					try {
+						method.initialize();
+					} catch (RuntimeException e) {
+						// the method can never be invoked, so this descriptor never applies
+						return Collections.EMPTY_SET;
+					}
+				}
+				
+				if (methodName.equals(method.getName())
+					&& method.getParameters() == null
+					&& method.getNext() == null
+					&& !entry.value.valueLiterals.isEmpty())
+					return Collections.unmodifiableSet(entry.value.valueLiterals);
+			}
+			return null;
+		}
 	}
 
 	/**
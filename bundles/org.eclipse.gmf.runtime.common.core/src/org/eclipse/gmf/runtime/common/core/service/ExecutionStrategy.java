@@ -80,7 +80,7 @@ public abstract class ExecutionStrategy extends EnumeratedType {
 			ProviderPriority priority,
 			IOperation operation) {
 
-			List descriptors = service.getProviders(priority);
+			List descriptors = service.getProviders(priority, operation);
 			int size = descriptors.size();
 
 			for (int i = 0; i < size; ++i) {
@@ -124,7 +124,7 @@ public abstract class ExecutionStrategy extends EnumeratedType {
 				ProviderPriority priority,
 				IOperation operation) {
 
-			List descriptors = service.getProviders(priority);
+			List descriptors = service.getProviders(priority, operation);
 
 			for (int i = descriptors.size(); --i >= 0;) {
 				ProviderDescriptor descriptor = (ProviderDescriptor)descriptors.get(i);
@@ -245,7 +245,7 @@ public abstract class ExecutionStrategy extends EnumeratedType {
 		ProviderPriority priority,
 		IOperation operation) {
 
-		List descriptors = service.getProviders(priority);
+		List descriptors = service.getProviders(priority, operation);
 		int size = descriptors.size();
 		List providers = new ArrayList(size);
 
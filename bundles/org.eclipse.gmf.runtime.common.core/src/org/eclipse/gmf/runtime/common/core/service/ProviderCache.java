@@ -0,0 +1,322 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ ****************************************************************************/
+
+package org.eclipse.gmf.runtime.common.core.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The cache of providers used by an optimized {@link Service}. The cache is
+ * split into one segment per {@link ProviderPriority} ordinal; each segment
+ * wraps the map created by {@link Service#createPriorityCache()} (so that
+ * services keep control over whether keys are held weakly or strongly) and
+ * guards it with its own lock.
+ * <P>
+ * Each segment is bounded. Once a segment grows beyond its limit, the least
+ * recently used entries are evicted until it is back to three quarters of
+ * its limit, so that the cost of an eviction pass is amortized over many
+ * insertions.
+ * <P>
+ * Every segment carries a generation number which is incremented whenever
+ * the segment is invalidated. A list of providers computed while the
+ * generation changed is not stored, so that a lookup racing with the
+ * registration or removal of a provider never caches a stale answer.
+ */
+final class ProviderCache {
+
+	/**
+	 * A cached list of providers with its last access time.
+	 */
+	private static final class Entry {
+
+		/**
+		 * The cached providers.
+		 */
+		final List providers;
+
+		/**
+		 * The value of the segment clock at the last access.
+		 */
+		long lastAccess;
+
+		Entry(List providers, long lastAccess) {
+			this.providers = providers;
+			this.lastAccess = lastAccess;
+		}
+	}
+
+	/**
+	 * The portion of the cache for a single provider priority.
+	 */
+	private static final class Segment {
+
+		/**
+		 * The map of caching keys to {@link Entry}s.
+		 */
+		final Map map;
+
+		/**
+		 * Logical clock used to order entries by access.
+		 */
+		long clock;
+
+		/**
+		 * Incremented each time this segment is invalidated.
+		 */
+		volatile int generation;
+
+		Segment(Map map) {
+			this.map = map;
+		}
+	}
+
+	/**
+	 * Orders entries from the least to the most recently used.
+	 */
+	private static final Comparator LEAST_RECENTLY_USED = new Comparator() {
+
+		public int compare(Object o1, Object o2) {
+			return Long.compare(((Entry) ((Map.Entry) o1).getValue()).lastAccess,
+				((Entry) ((Map.Entry) o2).getValue()).lastAccess);
+		}
+	};
+
+	/**
+	 * The segments, indexed by {@link ProviderPriority} ordinals.
+	 */
+	private final Segment[] segments;
+
+	/**
+	 * The maximum number of entries per segment, or a value less than one if
+	 * segments are not bounded.
+	 */
+	private final int limit;
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder staleHits = new LongAdder();
+
+	private final LongAdder uncachedLookups = new LongAdder();
+
+	private final LongAdder evictions = new LongAdder();
+
+	private final LongAdder invalidations = new LongAdder();
+
+	/**
+	 * Constructs a new provider cache.
+	 *
+	 * @param maps
+	 *            the backing maps, indexed by {@link ProviderPriority}
+	 *            ordinals
+	 * @param limit
+	 *            the maximum number of entries per priority, or a value less
+	 *            than one for no limit
+	 */
+	ProviderCache(Map[] maps, int limit) {
+		segments = new Segment[maps.length];
+
+		for (int ordinal = maps.length; --ordinal >= 0;) {
+			segments[ordinal] = new Segment(maps[ordinal]);
+		}
+		this.limit = limit;
+	}
+
+	/**
+	 * Retrieves the current generation of the segment for the specified
+	 * priority ordinal. The value must be passed back to
+	 * {@link #put(int, Object, List, int)}.
+	 *
+	 * @param ordinal
+	 *            the priority ordinal
+	 * @return the generation
+	 */
+	int getGeneration(int ordinal) {
+		return segments[ordinal].generation;
+	}
+
+	/**
+	 * Retrieves the cached providers for the specified key.
+	 *
+	 * @param ordinal
+	 *            the priority ordinal
+	 * @param key
+	 *            the caching key
+	 * @return the cached providers, or <code>null</code> if none are cached
+	 */
+	List get(int ordinal, Object key) {
+		Segment segment = segments[ordinal];
+
+		synchronized (segment) {
+			Entry entry = (Entry) segment.map.get(key);
+
+			if (null == entry) {
+				return null;
+			}
+			entry.lastAccess = ++segment.clock;
+			return entry.providers;
+		}
+	}
+
+	/**
+	 * Caches the providers for the specified key, unless the segment has been
+	 * invalidated since <code>generation</code> was retrieved.
+	 *
+	 * @param ordinal
+	 *            the priority ordinal
+	 * @param key
+	 *            the caching key
+	 * @param providers
+	 *            the providers to cache
+	 * @param generation
+	 *            the generation of the segment before the providers were
+	 *            computed
+	 */
+	void put(int ordinal, Object key, List providers, int generation) {
+		Segment segment = segments[ordinal];
+
+		synchronized (segment) {
+			if (segment.generation != generation) {
+				return;
+			}
+			segment.map.put(key, new Entry(providers, ++segment.clock));
+
+			if (limit > 0 && segment.map.size() > limit) {
+				evict(segment);
+			}
+		}
+	}
+
+	/**
+	 * Evicts the least recently used entries of the segment until it holds
+	 * three quarters of the limit. Must be called with the segment lock held.
+	 *
+	 * @param segment
+	 *            the segment to trim
+	 */
+	private void evict(Segment segment) {
+		List entries = new ArrayList(segment.map.entrySet());
+		int excess = entries.size() - (limit - (limit >> 2));
+
+		if (excess <= 0) {
+			return;
+		}
+		Collections.sort(entries, LEAST_RECENTLY_USED);
+
+		for (int i = 0; i < excess; ++i) {
+			segment.map.remove(((Map.Entry) entries.get(i)).getKey());
+		}
+		evictions.add(excess);
+	}
+
+	/**
+	 * Removes all the entries of the segment for the specified priority
+	 * ordinal.
+	 *
+	 * @param ordinal
+	 *            the priority ordinal
+	 */
+	void invalidate(int ordinal) {
+		Segment segment = segments[ordinal];
+
+		synchronized (segment) {
+			segment.generation++;
+			invalidations.add(segment.map.size());
+			segment.map.clear();
+		}
+	}
+
+	/**
+	 * Removes the entries of the segment for the specified priority ordinal
+	 * that refer to the given provider descriptor or to its provider.
+	 *
+	 * @param ordinal
+	 *            the priority ordinal
+	 * @param descriptor
+	 *            the provider descriptor
+	 */
+	void invalidate(int ordinal, Service.ProviderDescriptor descriptor) {
+		Segment segment = segments[ordinal];
+		IProvider provider = descriptor.provider;
+
+		synchronized (segment) {
+			segment.generation++;
+
+			for (Iterator i = segment.map.values().iterator(); i.hasNext();) {
+				List providers = ((Entry) i.next()).providers;
+
+				for (int j = providers.size(); --j >= 0;) {
+					Object cached = providers.get(j);
+
+					if (cached == descriptor || (null != provider && cached == provider)) {
+						i.remove();
+						invalidations.increment();
+						break;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Removes all the entries of this cache.
+	 */
+	void clear() {
+		for (int ordinal = segments.length; --ordinal >= 0;) {
+			invalidate(ordinal);
+		}
+	}
+
+	void recordHit() {
+		hits.increment();
+	}
+
+	void recordMiss() {
+		misses.increment();
+	}
+
+	void recordStaleHit() {
+		staleHits.increment();
+	}
+
+	void recordUncachedLookup() {
+		uncachedLookups.increment();
+	}
+
+	/**
+	 * Captures the current state of this cache.
+	 *
+	 * @return the statistics
+	 */
+	ProviderCacheStatistics getStatistics() {
+		int size = 0;
+
+		for (int ordinal = segments.length; --ordinal >= 0;) {
+			Segment segment = segments[ordinal];
+
+			synchronized (segment) {
+				size += segment.map.size();
+			}
+		}
+		return new ProviderCacheStatistics(hits.sum(), misses.sum(),
+			staleHits.sum(), uncachedLookups.sum(), evictions.sum(),
+			invalidations.sum(), size, limit);
+	}
+
+}
@@ -0,0 +1,154 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ ****************************************************************************/
+
+package org.eclipse.gmf.runtime.common.core.service;
+
+/**
+ * A snapshot of the counters of the provider cache of an optimized
+ * {@link Service}, as returned by {@link Service#getCacheStatistics()}.
+ * <P>
+ * Services that are not optimized report all counters as zero.
+ * <P>
+ * This class is not intended to be instantiated by clients.
+ *
+ * @since 1.9
+ */
+public final class ProviderCacheStatistics {
+
+	/**
+	 * The statistics of a service that is not optimized.
+	 */
+	static final ProviderCacheStatistics EMPTY = new ProviderCacheStatistics(
+		0, 0, 0, 0, 0, 0, 0, 0);
+
+	private final long hits;
+
+	private final long misses;
+
+	private final long staleHits;
+
+	private final long uncachedLookups;
+
+	private final long evictions;
+
+	private final long invalidations;
+
+	private final int size;
+
+	private final int limit;
+
+	ProviderCacheStatistics(long hits, long misses, long staleHits,
+			long uncachedLookups, long evictions, long invalidations, int size,
+			int limit) {
+		this.hits = hits;
+		this.misses = misses;
+		this.staleHits = staleHits;
+		this.uncachedLookups = uncachedLookups;
+		this.evictions = evictions;
+		this.invalidations = invalidations;
+		this.size = size;
+		this.limit = limit;
+	}
+
+	/**
+	 * Retrieves the number of lookups answered from the cache.
+	 *
+	 * @return the number of cache hits
+	 */
+	public long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Retrieves the number of lookups for which nothing was cached.
+	 *
+	 * @return the number of cache misses
+	 */
+	public long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Retrieves the number of lookups of a non optimistic service for which
+	 * the cached providers no longer provided for the operation.
+	 *
+	 * @return the number of stale cache hits
+	 */
+	public long getStaleHits() {
+		return staleHits;
+	}
+
+	/**
+	 * Retrieves the number of times the service fell back to
+	 * {@link ExecutionStrategy#getUncachedProviders(Service, ProviderPriority, IOperation)}.
+	 *
+	 * @return the number of uncached lookups
+	 */
+	public long getUncachedLookups() {
+		return uncachedLookups;
+	}
+
+	/**
+	 * Retrieves the number of entries evicted because the cache was full.
+	 *
+	 * @return the number of evictions
+	 */
+	public long getEvictions() {
+		return evictions;
+	}
+
+	/**
+	 * Retrieves the number of entries discarded because providers were added
+	 * or removed.
+	 *
+	 * @return the number of invalidated entries
+	 */
+	public long getInvalidations() {
+		return invalidations;
+	}
+
+	/**
+	 * Retrieves the number of entries in the cache, over all priorities.
+	 *
+	 * @return the size of the cache
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * Retrieves the maximum number of entries per priority.
+	 *
+	 * @return the limit, or a value less than one if the cache is not
+	 *         bounded
+	 */
+	public int getLimit() {
+		return limit;
+	}
+
+	/**
+	 * Retrieves the ratio of cache hits to lookups.
+	 *
+	 * @return the hit rate, between <code>0</code> and <code>1</code>
+	 */
+	public double getHitRate() {
+		long lookups = hits + misses + staleHits;
+		return lookups == 0 ? 0 : (double) hits / lookups;
+	}
+
+	public String toString() {
+		return "hits=" + hits + ", misses=" + misses + ", staleHits=" + staleHits //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			+ ", uncachedLookups=" + uncachedLookups + ", evictions=" + evictions //$NON-NLS-1$ //$NON-NLS-2$
+			+ ", invalidations=" + invalidations + ", size=" + size + ", limit=" + limit; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+}
@@ -0,0 +1,200 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ ****************************************************************************/
+
+package org.eclipse.gmf.runtime.common.core.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An index of the provider descriptors of a single priority by the dispatch
+ * keys they declare through {@link Service.ProviderDescriptor#getDispatchKeys()}.
+ * <P>
+ * The index answers the descriptors that may provide for an operation given
+ * the dispatch keys of the operation: those that declared one of the keys,
+ * plus those that declared no keys at all. The answer is a superset of the
+ * descriptors that provide for the operation, listed in registration order, so
+ * that the execution strategies still ask every candidate whether it
+ * provides.
+ */
+final class ProviderDispatchIndex {
+
+	private static final int[] NO_POSITIONS = new int[0];
+
+	/**
+	 * The indexed descriptors, in registration order.
+	 */
+	private final Object[] descriptors;
+
+	/**
+	 * The positions of the descriptors that declared no dispatch keys.
+	 */
+	private final int[] wildcards;
+
+	/**
+	 * Maps each dispatch key to the ascending positions of the descriptors
+	 * that declared it.
+	 */
+	private final Map positionsByKey;
+
+	/**
+	 * The modification count of the list of descriptors when it was indexed.
+	 */
+	private final int modification;
+
+	/**
+	 * Builds the index of the specified descriptors.
+	 *
+	 * @param descriptorList
+	 *            the provider descriptors of one priority, in registration
+	 *            order
+	 * @param modification
+	 *            the modification count of the list, retrieved before the
+	 *            list is read
+	 */
+	ProviderDispatchIndex(List descriptorList, int modification) {
+		this.modification = modification;
+		descriptors = descriptorList.toArray();
+
+		List wildcardList = new ArrayList();
+		Map listsByKey = new HashMap();
+
+		for (int i = 0; i < descriptors.length; ++i) {
+			// a slot of a list that is being added to may not be filled in
+			//    yet; the index is then stale and will be built again
+			if (null == descriptors[i]) {
+				continue;
+			}
+			Collection keys = ((Service.ProviderDescriptor) descriptors[i]).getDispatchKeys();
+
+			if (null == keys) {
+				wildcardList.add(Integer.valueOf(i));
+				continue;
+			}
+			for (Iterator j = keys.iterator(); j.hasNext();) {
+				Object key = j.next();
+				List positions = (List) listsByKey.get(key);
+
+				if (null == positions) {
+					positions = new ArrayList(2);
+					listsByKey.put(key, positions);
+				}
+				// a descriptor may declare the same key more than once
+				if (positions.isEmpty() || ((Integer) positions.get(positions.size() - 1)).intValue() != i) {
+					positions.add(Integer.valueOf(i));
+				}
+			}
+		}
+
+		wildcards = toArray(wildcardList);
+		positionsByKey = new HashMap(listsByKey.size() * 4 / 3 + 1);
+
+		for (Iterator i = listsByKey.entrySet().iterator(); i.hasNext();) {
+			Map.Entry entry = (Map.Entry) i.next();
+			positionsByKey.put(entry.getKey(), toArray((List) entry.getValue()));
+		}
+	}
+
+	/**
+	 * Retrieves the modification count of the list of descriptors when it
+	 * was indexed.
+	 *
+	 * @return the modification count
+	 */
+	int getModification() {
+		return modification;
+	}
+
+	private static int[] toArray(List integers) {
+		if (integers.isEmpty()) {
+			return NO_POSITIONS;
+		}
+		int[] result = new int[integers.size()];
+
+		for (int i = 0; i < result.length; ++i) {
+			result[i] = ((Integer) integers.get(i)).intValue();
+		}
+		return result;
+	}
+
+	/**
+	 * Retrieves the descriptors that may provide for an operation with the
+	 * specified dispatch keys.
+	 *
+	 * @param keys
+	 *            the dispatch keys of the operation
+	 * @return the candidate descriptors, in registration order
+	 */
+	List getCandidates(Object[] keys) {
+		int[][] sources = new int[keys.length + 1][];
+		int count = 0;
+		int total = 0;
+
+		if (wildcards.length != 0) {
+			sources[count++] = wildcards;
+			total = wildcards.length;
+		}
+		for (int i = 0; i < keys.length; ++i) {
+			int[] positions = (int[]) positionsByKey.get(keys[i]);
+
+			if (null != positions) {
+				sources[count++] = positions;
+				total += positions.length;
+			}
+		}
+
+		if (count == 0) {
+			return Collections.EMPTY_LIST;
+		}
+
+		List candidates = new ArrayList(total);
+
+		if (count == 1) {
+			int[] positions = sources[0];
+
+			for (int i = 0; i < positions.length; ++i) {
+				candidates.add(descriptors[positions[i]]);
+			}
+			return candidates;
+		}
+
+		// merge the ascending position arrays, dropping duplicates
+		int[] cursors = new int[count];
+		int last = -1;
+
+		for (;;) {
+			int next = Integer.MAX_VALUE;
+
+			for (int i = 0; i < count; ++i) {
+				int[] positions = sources[i];
+
+				while (cursors[i] < positions.length && positions[cursors[i]] <= last) {
+					cursors[i]++;
+				}
+				if (cursors[i] < positions.length && positions[cursors[i]] < next) {
+					next = positions[cursors[i]];
+				}
+			}
+			if (next == Integer.MAX_VALUE) {
+				return candidates;
+			}
+			candidates.add(descriptors[next]);
+			last = next;
+		}
+	}
+
+}
@@ -0,0 +1,104 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ ****************************************************************************/
+
+package org.eclipse.gmf.runtime.common.core.service;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.gmf.runtime.common.core.internal.CommonCorePlugin;
+import org.eclipse.gmf.runtime.common.core.internal.CommonCoreStatusCodes;
+import org.eclipse.gmf.runtime.common.core.util.Log;
+
+/**
+ * Instantiates provider classes on a small pool of daemon threads, on behalf
+ * of {@link Service#warmUpProviders(IOperation[])}.
+ * <P>
+ * The pool is shared by all services and bounded by the number of available
+ * processors, so that warming up several services at once does not flood the
+ * framework with bundle activations. Its threads time out when idle.
+ */
+final class ProviderWarmUp {
+
+	/**
+	 * The maximum number of providers instantiated at the same time.
+	 */
+	private static final int MAXIMUM_THREADS = Math.max(1,
+		Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+	private static final ExecutorService EXECUTOR;
+
+	static {
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(MAXIMUM_THREADS,
+			MAXIMUM_THREADS, 5, TimeUnit.SECONDS, new LinkedBlockingQueue(),
+			new ThreadFactory() {
+
+				private final AtomicInteger count = new AtomicInteger();
+
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable,
+						"GMF Provider Warm-up " + count.incrementAndGet()); //$NON-NLS-1$
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		executor.allowCoreThreadTimeOut(true);
+		EXECUTOR = executor;
+	}
+
+	private ProviderWarmUp() {
+		// not instantiable
+	}
+
+	/**
+	 * Instantiates the providers of the specified descriptors in the
+	 * background.
+	 *
+	 * @param descriptors
+	 *            the {@link Service.ProviderDescriptor}s to activate
+	 * @return a future that completes once all of the providers have been
+	 *         instantiated, or have failed to be
+	 */
+	static Future activate(Collection descriptors) {
+		CompletableFuture[] activations = new CompletableFuture[descriptors.size()];
+		int index = 0;
+
+		for (Iterator i = descriptors.iterator(); i.hasNext();) {
+			final Service.ProviderDescriptor descriptor = (Service.ProviderDescriptor) i.next();
+
+			activations[index++] = CompletableFuture.runAsync(new Runnable() {
+
+				public void run() {
+					try {
+						descriptor.getProvider();
+					} catch (Exception | LinkageError e) {
+						// the failure will surface again when the service needs the provider
+						Log.log(CommonCorePlugin.getDefault(), IStatus.ERROR,
+							CommonCoreStatusCodes.SERVICE_FAILURE,
+							"Failed to warm up provider " + descriptor, e); //$NON-NLS-1$
+					}
+				}
+			}, EXECUTOR);
+		}
+		return CompletableFuture.allOf(activations);
+	}
+
+}
@@ -13,10 +13,24 @@
 package org.eclipse.gmf.runtime.common.core.service;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IConfigurationElement;
@@ -62,6 +76,17 @@ import org.eclipse.gmf.runtime.common.core.util.Trace;
  * cache to make sure that the cached providers still provide for the operation.
  * </LI>
  * </UL>
+ * The cache of an optimized service is safe for use by concurrent threads and
+ * is bounded by {@link #getCacheLimit()} entries per provider priority; the
+ * least recently used entries are evicted first. Its counters are available
+ * from {@link #getCacheStatistics()}.
+ * <P>
+ * A <code>Service</code> may also opt into a dispatch index by overriding
+ * {@link #getDispatchKeys(IOperation)}. Each provider descriptor then declares
+ * the dispatch keys it may provide for through
+ * {@link ProviderDescriptor#getDispatchKeys()}, typically computed from its
+ * parsed XML configuration, and the descriptors that declared none of the keys
+ * of an operation are never asked whether they provide for it.
  * 
  * @see org.eclipse.gmf.runtime.common.core.service
  * 
@@ -108,7 +133,7 @@ public abstract class Service
 		/**
 		 * The provider for which this object is a descriptor.
 		 */
-		protected IProvider provider;
+		protected volatile IProvider provider;
 
 		/**
 		 * The policy associated with this descriptor's provider (if specified).
@@ -119,7 +144,24 @@ public abstract class Service
 		 * Tracks the failure of the provider class intantiation, so that a
 		 * failure to create the class is logged only once.
 		 */
-		private boolean providerClassInstantiationFailed = false;
+		private volatile boolean providerClassInstantiationFailed = false;
+
+		/**
+		 * The time, in nanoseconds, it took to instantiate the provider
+		 * class, or <code>-1</code> if it has not been instantiated.
+		 */
+		private volatile long activationTime = -1;
+
+		/**
+		 * The instantiation of the provider class, run by the first thread that
+		 * needs the provider while the other threads wait for it.
+		 */
+		private final AtomicReference activation = new AtomicReference();
+
+		/**
+		 * The thread that instantiates the provider class, if any.
+		 */
+		private volatile Thread activatingThread;
 
 		/**
 		 * Constructs a new provider descriptor for the specified configuration
@@ -147,37 +189,169 @@ public abstract class Service
 		 * Retrieves the provider for which this object is a descriptor.
 		 * Lazy-initializes the value by instantiating the class described by
 		 * this provider descriptor's configuration element.
+		 * <P>
+		 * The provider may be instantiated by any thread, for instance by
+		 * {@link Service#warmUpProviders(IOperation[])}; it is instantiated only
+		 * once and safely published to other threads.
 		 * 
 		 * @return The provider for which this object is a descriptor.
 		 */
 		public IProvider getProvider() {
-			if (null == provider && !providerClassInstantiationFailed) {
-				CommonCorePlugin corePlugin = CommonCorePlugin.getDefault();
+			IProvider result = provider;
+			if (null == result && !providerClassInstantiationFailed) {
+				result = activateProvider();
+			}
+			return result;
+		}
 
-				try {
-					Log.info(corePlugin, CommonCoreStatusCodes.OK, "Activating provider '" + element.getAttribute(A_CLASS) + "'..."); //$NON-NLS-1$ //$NON-NLS-2$
-					provider = (IProvider)element.createExecutableExtension(A_CLASS);
-					provider.addProviderChangeListener(this);
-					Trace.trace(corePlugin, CommonCoreDebugOptions.SERVICES_ACTIVATE, "Provider '" + provider + "' activated."); //$NON-NLS-1$ //$NON-NLS-2$
-				
-				} catch (CoreException ce) {
-					
-					if (provider == null) {
-						// remember that the provider class could not be instantiated
-						providerClassInstantiationFailed = true;
+		/**
+		 * Instantiates the class described by this provider descriptor's
+		 * configuration element, unless another thread already did.
+		 * <P>
+		 * The class is instantiated only once, by the first thread that needs
+		 * the provider; the threads that need it meanwhile wait for that
+		 * instantiation to complete, so that the constructor of a provider
+		 * never runs twice.
+		 * 
+		 * @return the provider, or <code>null</code> if it could not be
+		 *         instantiated
+		 */
+		private IProvider activateProvider() {
+			FutureTask task = (FutureTask)activation.get();
+
+			if (null == task) {
+				FutureTask newTask = new FutureTask(new Callable() {
+
+					public Object call() {
+						return instantiateProvider();
 					}
-					
-					Trace.catching(corePlugin, CommonCoreDebugOptions.EXCEPTIONS_CATCHING, getClass(), "getProvider", ce); //$NON-NLS-1$
-					IStatus status = ce.getStatus();
-					Log.log(
-						corePlugin,
-						status.getSeverity(),
-						CommonCoreStatusCodes.SERVICE_FAILURE,
-						CommonCoreMessages.bind(CommonCoreMessages.serviceProviderNotActivated, element.getAttribute(A_CLASS)),
-						status.getException());
+				});
+
+				if (activation.compareAndSet(null, newTask)) {
+					activatingThread = Thread.currentThread();
+					try {
+						newTask.run();
+					} finally {
+						activatingThread = null;
+					}
+				}
+				task = (FutureTask)activation.get();
+			} else if (activatingThread == Thread.currentThread()) {
+				// the provider asks for itself while it is being instantiated
+				return null;
+			}
+
+			boolean interrupted = false;
+			try {
+				while (true) {
+					try {
+						return (IProvider)task.get();
+					} catch (InterruptedException e) {
+						interrupted = true;
+					}
+				}
+			} catch (ExecutionException e) {
+				// let the next thread that needs the provider try again
+				activation.compareAndSet(task, null);
+
+				Throwable cause = e.getCause();
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException)cause;
+				}
+				throw (Error)cause;
+			} finally {
+				if (interrupted) {
+					Thread.currentThread().interrupt();
 				}
 			}
-			return provider;
+		}
+
+		/**
+		 * Instantiates the class described by this provider descriptor's
+		 * configuration element and publishes it.
+		 * 
+		 * @return the provider, or <code>null</code> if it could not be
+		 *         instantiated
+		 */
+		private IProvider instantiateProvider() {
+			CommonCorePlugin corePlugin = CommonCorePlugin.getDefault();
+			IProvider newProvider;
+			long time;
+
+			try {
+				Log.info(corePlugin, CommonCoreStatusCodes.OK, "Activating provider '" + element.getAttribute(A_CLASS) + "'..."); //$NON-NLS-1$ //$NON-NLS-2$
+				long start = System.nanoTime();
+				newProvider = (IProvider)element.createExecutableExtension(A_CLASS);
+				time = System.nanoTime() - start;
+			} catch (CoreException ce) {
+				// remember that the provider class could not be instantiated
+				providerClassInstantiationFailed = true;
+
+				Trace.catching(corePlugin, CommonCoreDebugOptions.EXCEPTIONS_CATCHING, getClass(), "getProvider", ce); //$NON-NLS-1$
+				IStatus status = ce.getStatus();
+				Log.log(
+					corePlugin,
+					status.getSeverity(),
+					CommonCoreStatusCodes.SERVICE_FAILURE,
+					CommonCoreMessages.bind(CommonCoreMessages.serviceProviderNotActivated, element.getAttribute(A_CLASS)),
+					status.getException());
+				return null;
+			}
+
+			activationTime = time;
+			newProvider.addProviderChangeListener(this);
+			provider = newProvider;
+
+			Trace.trace(corePlugin, CommonCoreDebugOptions.SERVICES_ACTIVATE, "Provider '" + newProvider + "' activated in " + TimeUnit.NANOSECONDS.toMillis(time) + " ms."); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			return newProvider;
+		}
+
+		/**
+		 * Answers whether or not the provider for which this object is a
+		 * descriptor has been instantiated.
+		 * 
+		 * @return <code>true</code> if the provider has been instantiated,
+		 *         <code>false</code> otherwise
+		 *
+		 * @since 1.9
+		 */
+		public final boolean isProviderActivated() {
+			return null != provider;
+		}
+
+		/**
+		 * Retrieves the time it took to instantiate the provider class,
+		 * including the activation of its bundle.
+		 * 
+		 * @return the activation time in nanoseconds, or <code>-1</code> if
+		 *         the provider class has not been instantiated by this
+		 *         descriptor
+		 *
+		 * @since 1.9
+		 */
+		public final long getActivationTime() {
+			return activationTime;
+		}
+
+		/**
+		 * Answers whether or not the configuration of this descriptor predicts
+		 * that its provider will be needed to execute the specified
+		 * operation. This is used by
+		 * {@link Service#warmUpProviders(IOperation[])} to choose the
+		 * providers to instantiate ahead of time, so it must neither
+		 * instantiate the provider nor its policy.
+		 * <P>
+		 * By default, no activation is predicted.
+		 * 
+		 * @param operation
+		 *            the operation expected to be executed
+		 * @return <code>true</code> if the provider should be instantiated
+		 *         ahead of time, <code>false</code> otherwise
+		 *
+		 * @since 1.9
+		 */
+		protected boolean isActivationPredicted(IOperation operation) {
+			return false;
 		}
 
 		/**
@@ -269,6 +443,40 @@ public abstract class Service
 				safeProvides(theProvider, operation) : false;
 		}
 
+		/**
+		 * Retrieves the dispatch keys for which this descriptor's provider
+		 * may provide, if the service uses a dispatch index (see
+		 * {@link Service#getDispatchKeys(IOperation)}). This descriptor is
+		 * only asked whether it provides for the operations that have at least
+		 * one of these keys.
+		 * <P>
+		 * The keys are retrieved once, when the index is built, so they must
+		 * be computable without activating the provider. A descriptor whose
+		 * provider is selected by a policy should not declare any keys.
+		 * 
+		 * @return the dispatch keys, or <code>null</code> if this descriptor
+		 *         must be asked about every operation
+		 *
+		 * @since 1.9
+		 */
+		protected Collection getDispatchKeys() {
+			return null;
+		}
+
+		/**
+		 * Answers whether or not this descriptor's provider is selected by a
+		 * policy declared in its configuration element. The policy class is
+		 * not loaded.
+		 * 
+		 * @return <code>true</code> if a policy is declared,
+		 *         <code>false</code> otherwise
+		 *
+		 * @since 1.9
+		 */
+		protected final boolean hasPolicy() {
+			return null != element && element.getChildren(E_POLICY).length != 0;
+		}
+
 		/**
 		 * Handles an event indicating that a provider has changed.
 		 * 
@@ -343,15 +551,35 @@ public abstract class Service
 	private static final List ignoredProviders = new ArrayList();
 
 	/**
-	 * The cache of providers (for optimization) indexed by
+	 * The default maximum number of cached operations per provider priority.
+	 *
+	 * @since 1.9
+	 */
+	protected static final int DEFAULT_CACHE_LIMIT = 1024;
+
+	/**
+	 * The cache of providers (for optimization), segmented by
 	 * {@link ProviderPriority} ordinals.
 	 */
-	private final Map[] cache;
+	private final ProviderCache cache;
 
 	/**
 	 * The lists of registered providers.
 	 */
 	private final ArrayList[] providers;
+
+	/**
+	 * The dispatch indexes of the registered providers, lazily built and
+	 * indexed by {@link ProviderPriority} ordinals.
+	 */
+	private final AtomicReferenceArray indexes;
+
+	/**
+	 * The number of times each list of registered providers was modified,
+	 * indexed by {@link ProviderPriority} ordinals. A dispatch index built
+	 * from an older list is never used.
+	 */
+	private final AtomicIntegerArray modifications;
 	
 	/**
 	 * Whether the service uses optimistic caching.
@@ -411,17 +639,20 @@ public abstract class Service
 		super();
 
 		if (optimized) {
-			cache = new Map[priorityCount];
+			Map[] maps = new Map[priorityCount];
 
 			for (int ordinal = priorityCount; --ordinal >= 0;) {
-				cache[ordinal] = createPriorityCache();
+				maps[ordinal] = createPriorityCache();
 			}
+			cache = new ProviderCache(maps, getCacheLimit());
 		} else {
 			cache = null;
 		}
 		this.optimistic = optimistic;
 
 		providers = new ArrayList[priorityCount];
+		indexes = new AtomicReferenceArray(priorityCount);
+		modifications = new AtomicIntegerArray(priorityCount);
 
 		for (int ordinal = priorityCount; --ordinal >= 0;)
 			providers[ordinal] = new ArrayList(0);
@@ -430,12 +661,45 @@ public abstract class Service
 	/**
 	 * Creates a map for caching service providers keyed by
 	 * the values returned in {@link #getCachingKey(IOperation)}.
+	 * <P>
+	 * The map is only accessed while holding a lock, so it need not be
+	 * synchronized itself. The values stored in the map are private to the
+	 * service.
 	 * 
 	 * @return the new map
 	 */
 	protected Map createPriorityCache() {
 		return new WeakHashMap();
 	}
+
+	/**
+	 * Gets the maximum number of entries that the cache of an optimized
+	 * service holds for each provider priority. When the limit is exceeded,
+	 * the least recently used entries are evicted.
+	 * <P>
+	 * This method is called once, when the service is constructed.
+	 * 
+	 * @return the maximum number of cached entries per priority, or a value
+	 *         less than one if the cache is not bounded
+	 *
+	 * @since 1.9
+	 */
+	protected int getCacheLimit() {
+		return DEFAULT_CACHE_LIMIT;
+	}
+
+	/**
+	 * Retrieves the counters of the provider cache of this service.
+	 * 
+	 * @return a snapshot of the cache statistics; all counters are zero if
+	 *         this service is not optimized
+	 *
+	 * @since 1.9
+	 */
+	public final ProviderCacheStatistics getCacheStatistics() {
+		return null == cache ? ProviderCacheStatistics.EMPTY
+			: cache.getStatistics();
+	}
 	
 	/**
 	 * Gets the key used to cache service providers that provide for
@@ -449,6 +713,28 @@ public abstract class Service
 		return operation;
 	}
 
+	/**
+	 * Gets the keys used to look up the providers that may provide for
+	 * <code>operation</code> in the dispatch index of this service. The
+	 * providers are looked up under each of the keys, so an operation usually
+	 * answers both its most specific keys and the more general keys that
+	 * providers may have declared.
+	 * <P>
+	 * By default, services do not use a dispatch index. Services that
+	 * override this method must have provider descriptors that override
+	 * {@link ProviderDescriptor#getDispatchKeys()} with the same kind of keys.
+	 * 
+	 * @param operation
+	 *            <code>IOperation</code> for which the keys will be retrieved
+	 * @return the dispatch keys, or <code>null</code> if every provider must
+	 *         be asked whether it provides for the operation
+	 *
+	 * @since 1.9
+	 */
+	protected Object[] getDispatchKeys(IOperation operation) {
+		return null;
+	}
+
 	/**
 	 * Answers whether or not this service is optimized by caching its service
 	 * providers.
@@ -488,9 +774,24 @@ public abstract class Service
 	 */
 	protected final void clearCache() {
 		if (null != cache) {
-			for (int ordinal = priorityCount; --ordinal >= 0;) {
-				cache[ordinal].clear();
-			}
+			cache.clear();
+		}
+	}
+
+	/**
+	 * Clears the service provider cache for the specified
+	 * <code>priority</code> (if this service is optimized).
+	 * 
+	 * @param priority
+	 *            The priority of the cached providers to be cleared.
+	 *
+	 * @since 1.9
+	 */
+	protected final void clearCache(ProviderPriority priority) {
+		assert null != priority : "null ProviderPriority"; //$NON-NLS-1$
+
+		if (null != cache) {
+			cache.invalidate(priority.getOrdinal());
 		}
 	}
 
@@ -507,6 +808,51 @@ public abstract class Service
 		return providers[priority.getOrdinal()];
 	}
 
+	/**
+	 * Retrieves the list of the providers registered with this service that
+	 * have the specified <code>priority</code> and that may provide for the
+	 * specified <code>operation</code> according to the dispatch index.
+	 * <P>
+	 * This method does not consider the optimized state of the service. If
+	 * the service does not use a dispatch index, all of the providers of the
+	 * priority are answered.
+	 * 
+	 * @param priority
+	 *            The priority of providers to be retrieved.
+	 * @param operation
+	 *            The operation for which the providers are retrieved.
+	 * @return The candidate providers, in registration order.
+	 */
+	final List getProviders(ProviderPriority priority, IOperation operation) {
+		int ordinal = priority.getOrdinal();
+		List providerList = providers[ordinal];
+
+		if (providerList.isEmpty()) {
+			return providerList;
+		}
+
+		Object[] keys = getDispatchKeys(operation);
+
+		if (null == keys) {
+			return providerList;
+		}
+
+		// retrieve the modification count before reading the list, so that
+		//    an index missing a provider that is being registered is stale
+		int modification = modifications.get(ordinal);
+		ProviderDispatchIndex index = (ProviderDispatchIndex) indexes.get(ordinal);
+
+		if (null == index || index.getModification() != modification) {
+			ProviderDispatchIndex stale = index;
+
+			index = new ProviderDispatchIndex(providerList, modification);
+
+			// never replace an index published meanwhile, which may be newer
+			indexes.compareAndSet(ordinal, stale, index);
+		}
+		return index.getCandidates(keys);
+	}
+
 	/**
 	 * Retrieves a list of providers of the specified <code>priority</code>
 	 * that provide for the specified <code>operation</code>.
@@ -538,12 +884,15 @@ public abstract class Service
 			providerList = strategy.getUncachedProviders(this, priority, operation);
 		} else {
 			Object cachingKey = getCachingKey(operation);
-			Map map = cache[priority.getOrdinal()];
-			providerList = (List)map.get(cachingKey);
+			int ordinal = priority.getOrdinal();
+			int generation = cache.getGeneration(ordinal);
+			providerList = cache.get(ordinal, cachingKey);
 
 			if (null != providerList) {
-				if (optimistic)
+				if (optimistic) {
+					cache.recordHit();
 					return providerList;
+				}
 
 				int n = providerList.size();
 
@@ -554,14 +903,20 @@ public abstract class Service
 						if (!safeProvides(provider, operation))
 							break;
 
-						if (++i == n)
+						if (++i == n) {
+							cache.recordHit();
 							return providerList;
+						}
 					}
 				}
+				cache.recordStaleHit();
+			} else {
+				cache.recordMiss();
 			}
 
+			cache.recordUncachedLookup();
 			providerList = strategy.getUncachedProviders(this, priority, operation);
-			map.put(cachingKey, providerList);
+			cache.put(ordinal, cachingKey, providerList, generation);
 		}
 
 		return providerList;
@@ -606,16 +961,21 @@ public abstract class Service
 
 		int ordinal = priority.getOrdinal();
 
+		providers[ordinal].add(provider);
+		modifications.incrementAndGet(ordinal);
+
+		// invalidate only once the provider is registered, so that a lookup
+		//    that sees the new generation also sees the new provider
 		if (null != cache) {
-			cache[ordinal].clear();
+			cache.invalidate(ordinal);
 		}
 
-		providers[ordinal].add(provider);
 		provider.addProviderChangeListener(this);
 	}
 
 	/**
-	 * Removes the <code>provider</code> as a provider for this service.
+	 * Removes the <code>provider</code> as a provider for this service. Only
+	 * the cached entries that refer to the provider are discarded.
 	 * 
 	 * @param provider
 	 *            The provider to be removed.
@@ -625,8 +985,14 @@ public abstract class Service
 		
 		for (int i = 0, n = priorityCount; i < n; ++i) {
 			if (providers[i].remove(provider)) {
+				modifications.incrementAndGet(i);
+
+				// as for addProvider(), invalidate after the removal
+				if (null != cache) {
+					cache.invalidate(i, provider);
+				}
+
 				provider.removeProviderChangeListener(this);
-				clearCache();
 				break;
 			}
 		}
@@ -697,9 +1063,9 @@ public abstract class Service
 	public final boolean provides(IOperation operation) {
 		assert null != operation : "null operation passed to provides(IOperation)"; //$NON-NLS-1$
 
-		for (int priority = 0, n = priorityCount; priority < n; ++priority)
+		for (int i = 0; i < ExecutionStrategy.PRIORITIES.length; ++i)
 		{
-			List providerList = providers[priority];
+			List providerList = getProviders(ExecutionStrategy.PRIORITIES[i], operation);
 			int providerCount = providerList.size();
 
 			for (int provider = 0; provider < providerCount; ++provider)
@@ -813,6 +1179,88 @@ public abstract class Service
 			providers[i].trimToSize();
 	}
 
+	/**
+	 * Instantiates ahead of time, on a bounded pool of background threads,
+	 * the providers that are predicted to be needed to execute the specified
+	 * <code>operations</code>. The prediction relies on the configuration
+	 * already parsed by the provider descriptors (see
+	 * {@link ProviderDescriptor#isActivationPredicted(IOperation)}), so that
+	 * the bundles of the providers are activated in parallel instead of
+	 * serially on the thread that first executes the operations.
+	 * <P>
+	 * The operations are not executed. Providers that are instantiated
+	 * concurrently by another thread are only instantiated once.
+	 * 
+	 * @param operations
+	 *            the operations expected to be executed shortly, such as
+	 *            those needed to open a first diagram
+	 * @return a future that completes once all of the predicted providers
+	 *         have been instantiated
+	 *
+	 * @since 1.9
+	 */
+	public final Future warmUpProviders(IOperation[] operations) {
+		assert null != operations : "null operations"; //$NON-NLS-1$
+
+		Set descriptors = new LinkedHashSet();
+
+		for (int i = 0; i < ExecutionStrategy.PRIORITIES.length; ++i) {
+			for (int j = 0; j < operations.length; ++j) {
+				List providerList = getProviders(ExecutionStrategy.PRIORITIES[i], operations[j]);
+
+				for (int k = 0, n = providerList.size(); k < n; ++k) {
+					ProviderDescriptor descriptor = (ProviderDescriptor) providerList.get(k);
+
+					if (!descriptor.isProviderActivated()
+						&& descriptor.isActivationPredicted(operations[j])) {
+						descriptors.add(descriptor);
+					}
+				}
+			}
+		}
+
+		return ProviderWarmUp.activate(descriptors);
+	}
+
+	/**
+	 * Retrieves the time it took to instantiate each of the providers of
+	 * this service that have been instantiated so far, slowest first, to help
+	 * find the bundles that are slow to activate.
+	 * 
+	 * @return a map of provider descriptors to their activation time in
+	 *         nanoseconds
+	 * @see ProviderDescriptor#getActivationTime()
+	 * @since 1.9
+	 */
+	public final Map getProviderActivationTimes() {
+		List activated = new ArrayList();
+		List allProviders = getAllProviders();
+
+		for (int i = 0, n = allProviders.size(); i < n; ++i) {
+			ProviderDescriptor descriptor = (ProviderDescriptor) allProviders.get(i);
+
+			if (descriptor.getActivationTime() >= 0) {
+				activated.add(descriptor);
+			}
+		}
+
+		Collections.sort(activated, new Comparator() {
+
+			public int compare(Object o1, Object o2) {
+				return Long.compare(((ProviderDescriptor) o2).getActivationTime(),
+					((ProviderDescriptor) o1).getActivationTime());
+			}
+		});
+
+		Map times = new LinkedHashMap();
+
+		for (int i = 0, n = activated.size(); i < n; ++i) {
+			ProviderDescriptor descriptor = (ProviderDescriptor) activated.get(i);
+			times.put(descriptor, Long.valueOf(descriptor.getActivationTime()));
+		}
+		return times;
+	}
+
 	/**
 	 * Get the priority of the Provider's configuration element
 	 * 
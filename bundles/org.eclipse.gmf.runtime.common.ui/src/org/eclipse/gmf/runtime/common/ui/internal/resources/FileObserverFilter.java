@@ -13,6 +13,8 @@
 package org.eclipse.gmf.runtime.common.ui.internal.resources;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
@@ -134,8 +136,8 @@ public class FileObserverFilter {
 		}
 		if (getFilterType() == FileObserverFilterType.FOLDER
 				&& resource instanceof IFile
-				&& getAbsolutePath(resource).startsWith(
-					getAbsolutePath(getFolderFilter()))) {
+				&& isPrefixOf(splitAbsolutePath(getAbsolutePath(getFolderFilter())),
+					splitAbsolutePath(getAbsolutePath(resource)))) {
 				return true;
 			}
 		if (getFilterType() == FileObserverFilterType.CONTENT_TYPE
@@ -217,12 +219,35 @@ public class FileObserverFilter {
 		return false;
 	}
 
+	/**
+	 * Determines if the segments of a folder path are the first segments of a
+	 * file path, so that a folder does not match the files of a sibling
+	 * folder whose name it starts with.
+	 * 
+	 * @param folder
+	 *            the segments of the folder path
+	 * @param file
+	 *            the segments of the file path
+	 * @return true if the folder contains the file
+	 */
+	private boolean isPrefixOf(String[] folder, String[] file) {
+		if (folder.length > file.length) {
+			return false;
+		}
+		for (int i = 0; i < folder.length; i++) {
+			if (!folder[i].equals(file[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Get the file filter.
 	 * 
 	 * @return the file filter.
 	 */
-	private IFile getFileFilter() {
+	IFile getFileFilter() {
 		assert (filterType == FileObserverFilterType.FILE);
 		return (IFile) filter;
 	}
@@ -232,7 +257,7 @@ public class FileObserverFilter {
 	 * 
 	 * @return the folder filter.
 	 */
-	private IFolder getFolderFilter() {
+	IFolder getFolderFilter() {
 		assert (filterType == FileObserverFilterType.FOLDER);
 		return (IFolder) filter;
 	}
@@ -242,7 +267,7 @@ public class FileObserverFilter {
 	 * 
 	 * @return the file extension array filter.
 	 */
-	private String[] getExtensionFilter() {
+	String[] getExtensionFilter() {
 		assert (filterType == FileObserverFilterType.EXTENSION);
 		return (String[]) filter;
 	}
@@ -252,7 +277,7 @@ public class FileObserverFilter {
 	 * 
 	 * @return the content type array filter.
 	 */
-	private IContentType[] getContentTypeFilter() {
+	IContentType[] getContentTypeFilter() {
 		assert (filterType == FileObserverFilterType.CONTENT_TYPE);
 		return (IContentType[]) filter;
 	}
@@ -262,7 +287,7 @@ public class FileObserverFilter {
 	 * 
 	 * @return the file observer filter type.
 	 */
-	private FileObserverFilterType getFilterType() {
+	FileObserverFilterType getFilterType() {
 		return filterType;
 	}
 
@@ -295,7 +320,7 @@ public class FileObserverFilter {
 	 *            the resource.
 	 * @return the path for a resource.
 	 */
-	private String getAbsolutePath(IResource resource) {
+	static String getAbsolutePath(IResource resource) {
 		URI locationURI = resource.getLocationURI();
 		if (locationURI == null) {
 			return resource.getFullPath().toString();
@@ -303,4 +328,27 @@ public class FileObserverFilter {
 			return locationURI.toString();
 		}
 	}
+
+	/**
+	 * Splits a path given by {@link #getAbsolutePath(IResource)} into its
+	 * segments.
+	 * 
+	 * @param path
+	 *            the absolute path.
+	 * @return the segments of the path.
+	 */
+	static String[] splitAbsolutePath(String path) {
+		List segments = new ArrayList();
+		int start = 0;
+		for (int i = 0; i <= path.length(); i++) {
+			if (i == path.length() || path.charAt(i) == '/'
+				|| path.charAt(i) == '\\') {
+				if (i > start) {
+					segments.add(path.substring(start, i));
+				}
+				start = i + 1;
+			}
+		}
+		return (String[]) segments.toArray(new String[segments.size()]);
+	}
 }
\ No newline at end of file
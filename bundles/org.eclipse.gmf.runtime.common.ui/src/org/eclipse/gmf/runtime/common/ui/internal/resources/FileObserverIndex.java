@@ -0,0 +1,264 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ ****************************************************************************/
+
+package org.eclipse.gmf.runtime.common.ui.internal.resources;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.content.IContentType;
+
+/**
+ * An immutable index of file observers by their filter, used to find the
+ * observers of an event without testing the filter of every observer.
+ * <P>
+ * The observers are indexed by file, by folder in a trie of path segments, by
+ * file extension and by content type. The absolute paths of the file and
+ * folder filters are computed when the index is created. An index matches the
+ * same observers as {@link FileObserverFilter#matches(IResource)} and
+ * {@link FileObserverFilter#matches(IPath)}.
+ */
+public final class FileObserverIndex {
+
+	/**
+	 * A node of a trie of path segments.
+	 */
+	private static final class Node {
+
+		/**
+		 * Map of segments to child <code>Node</code>s
+		 */
+		private final Map children = new HashMap();
+
+		/**
+		 * The values of the path that ends at this node
+		 */
+		private final List values = new ArrayList(1);
+
+		void add(String[] segments, Object value) {
+			Node node = this;
+			for (int i = 0; i < segments.length; i++) {
+				Node child = (Node) node.children.get(segments[i]);
+				if (child == null) {
+					child = new Node();
+					node.children.put(segments[i], child);
+				}
+				node = child;
+			}
+			node.values.add(value);
+		}
+
+		/**
+		 * Collects the values of the paths that are prefixes of the given
+		 * path, including the path itself.
+		 */
+		void collectPrefixes(String[] segments, Collection result) {
+			Node node = this;
+			result.addAll(node.values);
+			for (int i = 0; i < segments.length && node != null; i++) {
+				node = (Node) node.children.get(segments[i]);
+				if (node != null) {
+					result.addAll(node.values);
+				}
+			}
+		}
+
+		/**
+		 * Collects the values of the paths that start with the given path,
+		 * including the path itself.
+		 */
+		void collectSubtree(String[] segments, Collection result) {
+			Node node = this;
+			for (int i = 0; i < segments.length && node != null; i++) {
+				node = (Node) node.children.get(segments[i]);
+			}
+			if (node != null) {
+				node.collectAll(result);
+			}
+		}
+
+		private void collectAll(Collection result) {
+			result.addAll(values);
+			for (Iterator i = children.values().iterator(); i.hasNext();) {
+				((Node) i.next()).collectAll(result);
+			}
+		}
+	}
+
+	/**
+	 * The observers with no filter
+	 */
+	private final List all = new ArrayList();
+
+	/**
+	 * Map of absolute path <code>String</code>s of file filters to the
+	 * <code>List</code> of their observers
+	 */
+	private final Map filesByLocation = new HashMap();
+
+	/**
+	 * Map of full <code>IPath</code>s of file filters to the
+	 * <code>List</code> of their observers
+	 */
+	private final Map filesByPath = new HashMap();
+
+	/**
+	 * The observers of folder filters, by the segments of the absolute path
+	 * of the folder
+	 */
+	private final Node foldersByLocation = new Node();
+
+	/**
+	 * The observers of folder filters, by the device and segments of the full
+	 * path of the folder
+	 */
+	private final Node foldersByPath = new Node();
+
+	/**
+	 * Map of file extensions to the <code>List</code> of their observers
+	 */
+	private final Map extensions = new HashMap();
+
+	/**
+	 * Map of <code>IContentType</code>s to the <code>List</code> of their
+	 * observers
+	 */
+	private final Map contentTypes = new HashMap();
+
+	/**
+	 * Creates an index of file observers.
+	 *
+	 * @param observers
+	 *            map of file observers to their <code>FileObserverFilter</code>
+	 */
+	public FileObserverIndex(Map observers) {
+		for (Iterator i = observers.entrySet().iterator(); i.hasNext();) {
+			Map.Entry entry = (Map.Entry) i.next();
+			Object observer = entry.getKey();
+			FileObserverFilter filter = (FileObserverFilter) entry.getValue();
+			FileObserverFilterType type = filter.getFilterType();
+			if (type == FileObserverFilterType.ALL) {
+				all.add(observer);
+			} else if (type == FileObserverFilterType.FILE) {
+				IFile file = filter.getFileFilter();
+				put(filesByLocation, FileObserverFilter.getAbsolutePath(file),
+					observer);
+				put(filesByPath, file.getFullPath(), observer);
+			} else if (type == FileObserverFilterType.FOLDER) {
+				foldersByLocation.add(FileObserverFilter
+					.splitAbsolutePath(FileObserverFilter.getAbsolutePath(filter
+						.getFolderFilter())), observer);
+				foldersByPath.add(split(filter.getFolderFilter()
+					.getFullPath()), observer);
+			} else if (type == FileObserverFilterType.EXTENSION) {
+				String[] extensionFilter = filter.getExtensionFilter();
+				for (int j = 0; j < extensionFilter.length; j++) {
+					put(extensions, extensionFilter[j], observer);
+				}
+			} else if (type == FileObserverFilterType.CONTENT_TYPE) {
+				IContentType[] contentTypeFilter = filter
+					.getContentTypeFilter();
+				for (int j = 0; j < contentTypeFilter.length; j++) {
+					put(contentTypes, contentTypeFilter[j], observer);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Collects the observers whose filter matches a resource.
+	 *
+	 * @param resource
+	 *            the resource
+	 * @param result
+	 *            the collection to which the observers are added; a set, if
+	 *            an observer should only be added once
+	 */
+	public void collect(IResource resource, Collection result) {
+		result.addAll(all);
+		if (!(resource instanceof IFile)) {
+			return;
+		}
+		String location = FileObserverFilter.getAbsolutePath(resource);
+		addAll(filesByLocation.get(location), result);
+		foldersByLocation.collectPrefixes(FileObserverFilter
+			.splitAbsolutePath(location), result);
+		addAll(extensions.get(resource.getFullPath().getFileExtension()),
+			result);
+		collectContentTypes(resource.getName(), result);
+	}
+
+	/**
+	 * Collects the observers whose filter matches a path.
+	 *
+	 * @param path
+	 *            the path
+	 * @param result
+	 *            the collection to which the observers are added; a set, if
+	 *            an observer should only be added once
+	 */
+	public void collect(IPath path, Collection result) {
+		result.addAll(all);
+		addAll(filesByPath.get(path), result);
+		foldersByPath.collectSubtree(split(path), result);
+		addAll(extensions.get(path.getFileExtension()), result);
+		collectContentTypes(path.segment(path.segmentCount() - 1), result);
+	}
+
+	private void collectContentTypes(String fileName, Collection result) {
+		if (contentTypes.isEmpty()) {
+			return;
+		}
+		for (Iterator i = contentTypes.entrySet().iterator(); i.hasNext();) {
+			Map.Entry entry = (Map.Entry) i.next();
+			if (((IContentType) entry.getKey()).isAssociatedWith(fileName)) {
+				result.addAll((List) entry.getValue());
+			}
+		}
+	}
+
+	private static void put(Map map, Object key, Object observer) {
+		List list = (List) map.get(key);
+		if (list == null) {
+			list = new ArrayList(1);
+			map.put(key, list);
+		}
+		list.add(observer);
+	}
+
+	private static void addAll(Object list, Collection result) {
+		if (list != null) {
+			result.addAll((List) list);
+		}
+	}
+
+	/**
+	 * Splits a path into its device and segments, which must all be equal for
+	 * {@link IPath#isPrefixOf(IPath)}.
+	 */
+	private static String[] split(IPath path) {
+		String device = path.getDevice();
+		String[] segments = path.segments();
+		String[] result = new String[segments.length + 1];
+		result[0] = device != null ? device : ""; //$NON-NLS-1$
+		System.arraycopy(segments, 0, result, 1, segments.length);
+		return result;
+	}
+
+}
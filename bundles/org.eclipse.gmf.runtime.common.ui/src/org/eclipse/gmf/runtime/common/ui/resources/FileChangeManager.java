@@ -12,6 +12,7 @@
 
 package org.eclipse.gmf.runtime.common.ui.resources;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
@@ -74,6 +75,12 @@ public class FileChangeManager
 	 */
 	private FileObserverManager fileObserverManager = new FileObserverManager();
 
+	/**
+	 * the file change and marker change events of the resource delta being
+	 * visited
+	 */
+	private List pendingEvents;
+
 	/**
 	 * Simple constructor.
 	 */
@@ -91,6 +98,10 @@ public class FileChangeManager
 	public final void resourceChanged(IResourceChangeEvent event) {
 		switch (event.getType()) {
 			case IResourceChangeEvent.POST_CHANGE:
+				// notify the events of the delta together, so that the
+				// observers of a resource are looked up only once
+				List events = new ArrayList();
+				pendingEvents = events;
 				try {
 					event.getDelta().accept(this);
 				} catch (CoreException e) {
@@ -100,6 +111,9 @@ public class FileChangeManager
 					Log.warning(CommonUIPlugin.getDefault(),
 						CommonUIStatusCodes.IGNORED_EXCEPTION_WARNING, e
 							.getMessage(), e);
+				} finally {
+					pendingEvents = null;
+					fileObserverManager.notify(events);
 				}
 				break;
 			default:
@@ -107,6 +121,24 @@ public class FileChangeManager
 		}
 	}
 
+	/**
+	 * Notify the file observers of a file change or marker change event, or
+	 * queue the event if a resource delta is being visited.
+	 * 
+	 * @param event
+	 *            the <code>FileChangeEvent</code> or
+	 *            <code>MarkerChangeEvent</code>
+	 */
+	private void notify(Object event) {
+		if (pendingEvents != null) {
+			pendingEvents.add(event);
+		} else if (event instanceof FileChangeEvent) {
+			fileObserverManager.notify((FileChangeEvent) event);
+		} else {
+			fileObserverManager.notify((MarkerChangeEvent) event);
+		}
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -135,7 +167,7 @@ public class FileChangeManager
 								FileChangeEventType.RENAMED,
 								(IFile) getMovedFromResource(delta),
 								(IFile) delta.getResource());
-							fileObserverManager.notify(event);
+							notify(event);
 						}
 					} else {
 						if (Trace.shouldTrace(CommonUIPlugin.getDefault(),
@@ -152,14 +184,14 @@ public class FileChangeManager
 								FileChangeEventType.MOVED,
 								(IFile) getMovedFromResource(delta),
 								(IFile) delta.getResource());
-							fileObserverManager.notify(event);
+							notify(event);
 						}
 					}
                 } else if (delta.getResource() instanceof IFile) {
                     FileChangeEvent event = new FileChangeEvent(
                         FileChangeEventType.CHANGED, (IFile) delta
                             .getResource());
-                    fileObserverManager.notify(event);
+                    notify(event);
                     if (Trace.shouldTrace(CommonUIPlugin.getDefault(),
     						CommonUIDebugOptions.RESOURCE)) {
     						Trace.trace(CommonUIPlugin.getDefault(),
@@ -189,7 +221,7 @@ public class FileChangeManager
 						FileChangeEvent event = new FileChangeEvent(
 							FileChangeEventType.DELETED, (IFile) delta
 								.getResource());
-						fileObserverManager.notify(event);
+						notify(event);
 					}
 				}
 				break;
@@ -223,20 +255,20 @@ public class FileChangeManager
 								event = new MarkerChangeEvent(
 									MarkerChangeEventType.ADDED, markerDelta
 										.getMarker());
-								fileObserverManager.notify(event);
+								notify(event);
 								break;
 							case IResourceDelta.REMOVED:
 								event = new MarkerChangeEvent(
 									MarkerChangeEventType.REMOVED, markerDelta
 										.getMarker(), markerDelta
 										.getAttributes());
-								fileObserverManager.notify(event);
+								notify(event);
 								break;
 							case IResourceDelta.CHANGED:
 								event = new MarkerChangeEvent(
 									MarkerChangeEventType.CHANGED, markerDelta
 										.getMarker());
-								fileObserverManager.notify(event);
+								notify(event);
 								break;
 							default:
 								break;
@@ -246,7 +278,7 @@ public class FileChangeManager
 					FileChangeEvent event = new FileChangeEvent(
 						FileChangeEventType.CHANGED, (IFile) delta
 							.getResource());
-					fileObserverManager.notify(event);
+					notify(event);
 				}
 				break;
 			default:
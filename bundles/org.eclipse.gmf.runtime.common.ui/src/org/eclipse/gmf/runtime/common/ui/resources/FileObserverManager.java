@@ -13,12 +13,17 @@
 package org.eclipse.gmf.runtime.common.ui.resources;
 
 import java.net.URI;
-import java.util.Hashtable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.content.IContentType;
 import org.eclipse.gmf.runtime.common.core.util.StringStatics;
 import org.eclipse.gmf.runtime.common.core.util.Trace;
@@ -28,6 +33,7 @@ import org.eclipse.gmf.runtime.common.ui.internal.resources.FileChangeEvent;
 import org.eclipse.gmf.runtime.common.ui.internal.resources.FileChangeEventType;
 import org.eclipse.gmf.runtime.common.ui.internal.resources.FileObserverFilter;
 import org.eclipse.gmf.runtime.common.ui.internal.resources.FileObserverFilterType;
+import org.eclipse.gmf.runtime.common.ui.internal.resources.FileObserverIndex;
 import org.eclipse.gmf.runtime.common.ui.internal.resources.MarkerChangeEvent;
 import org.eclipse.gmf.runtime.common.ui.internal.resources.MarkerChangeEventType;
 
@@ -40,9 +46,16 @@ import org.eclipse.gmf.runtime.common.ui.internal.resources.MarkerChangeEventTyp
 public class FileObserverManager {
 
 	/**
-	 * list of file observers.
+	 * list of file observers. Only modified while synchronized on this list.
 	 */
-	private Hashtable fileObserverList = new Hashtable();
+	private final Map fileObserverList = new HashMap();
+
+	/**
+	 * index of the file observers, replaced whenever the list of file
+	 * observers changes so that it can be read without locking.
+	 */
+	private volatile FileObserverIndex fileObserverIndex = new FileObserverIndex(
+		Collections.EMPTY_MAP);
 
 	/**
 	 * Add a file observer with no filter.
@@ -56,7 +69,7 @@ public class FileObserverManager {
 			+ fileObserver.toString() + " filter ALL"); //$NON-NLS-1$
 		FileObserverFilter filter = new FileObserverFilter(
 			FileObserverFilterType.ALL);
-		fileObserverList.put(fileObserver, filter);
+		put(fileObserver, filter);
 	}
 
 	/**
@@ -75,7 +88,7 @@ public class FileObserverManager {
 			+ " filter " + (uri != null ? uri.toString() : StringStatics.BLANK)); //$NON-NLS-1$
 		FileObserverFilter filter = new FileObserverFilter(
 			FileObserverFilterType.FILE, fileFilter);
-		fileObserverList.put(fileObserver, filter);
+		put(fileObserver, filter);
 	}
 
 	/**
@@ -93,7 +106,7 @@ public class FileObserverManager {
 			+ " filter " + contentTypeFilter.toString()); //$NON-NLS-1$
 		FileObserverFilter filter = new FileObserverFilter(
 			FileObserverFilterType.CONTENT_TYPE, contentTypeFilter);
-		fileObserverList.put(fileObserver, filter);
+		put(fileObserver, filter);
 	}
 
 	/**
@@ -111,7 +124,7 @@ public class FileObserverManager {
 			+ " filter folder" + folderFilter.getLocationURI().toString()); //$NON-NLS-1$
 		FileObserverFilter filter = new FileObserverFilter(
 			FileObserverFilterType.FOLDER, folderFilter);
-		fileObserverList.put(fileObserver, filter);
+		put(fileObserver, filter);
 	}
 
 	/**
@@ -128,7 +141,7 @@ public class FileObserverManager {
 			+ fileObserver.toString() + " filter " + extensionFilter[0]); //$NON-NLS-1$
 		FileObserverFilter filter = new FileObserverFilter(
 			FileObserverFilterType.EXTENSION, extensionFilter);
-		fileObserverList.put(fileObserver, filter);
+		put(fileObserver, filter);
 	}
 
 	/**
@@ -139,9 +152,65 @@ public class FileObserverManager {
 	 *            interface.
 	 */
 	protected void remove(IFileObserver fileObserver) {
-		if (fileObserverList.containsKey(fileObserver)) {
-			trace("...FileObserverManager: removeFileObserver " + fileObserver.toString()); //$NON-NLS-1$
-			fileObserverList.remove(fileObserver);
+		synchronized (fileObserverList) {
+			if (fileObserverList.containsKey(fileObserver)) {
+				trace("...FileObserverManager: removeFileObserver " + fileObserver.toString()); //$NON-NLS-1$
+				fileObserverList.remove(fileObserver);
+				fileObserverIndex = new FileObserverIndex(fileObserverList);
+			}
+		}
+	}
+
+	/**
+	 * Add or replace the filter of a file observer.
+	 * 
+	 * @param fileObserver
+	 *            the file observer class implementing the IFileObserver
+	 *            interface.
+	 * @param filter
+	 *            the file observer filter.
+	 */
+	private void put(IFileObserver fileObserver, FileObserverFilter filter) {
+		synchronized (fileObserverList) {
+			fileObserverList.put(fileObserver, filter);
+			fileObserverIndex = new FileObserverIndex(fileObserverList);
+		}
+	}
+
+	/**
+	 * Notify file observers of the file change and marker change events of a
+	 * resource change. The observers of a resource are looked up once for
+	 * all of its marker change events.
+	 * 
+	 * @param events
+	 *            the list of <code>FileChangeEvent</code>s and
+	 *            <code>MarkerChangeEvent</code>s, in the order in which they
+	 *            are delivered.
+	 */
+	void notify(List events) {
+		FileObserverIndex index = null;
+		Map markerObservers = new HashMap();
+		for (Iterator i = events.iterator(); i.hasNext();) {
+			Object event = i.next();
+			if (event instanceof FileChangeEvent) {
+				notify((FileChangeEvent) event);
+			} else if (event instanceof MarkerChangeEvent) {
+				MarkerChangeEvent markerEvent = (MarkerChangeEvent) event;
+				if (index != fileObserverIndex) {
+					// observers were added or removed by a previous notification
+					index = fileObserverIndex;
+					markerObservers.clear();
+				}
+				IResource resource = markerEvent.getMarker().getResource();
+				Collection observers = (Collection) markerObservers
+					.get(resource);
+				if (observers == null) {
+					observers = new LinkedHashSet();
+					index.collect(resource, observers);
+					markerObservers.put(resource, observers);
+				}
+				notify(markerEvent, observers);
+			}
 		}
 	}
 
@@ -153,41 +222,37 @@ public class FileObserverManager {
 	 */
 	protected void notify(FileChangeEvent event) {
 
-		// Avoid concurrency problems when multiple threads are modifying
-		// the fileObserverList
-		Hashtable fileObserverListCopy = (Hashtable) fileObserverList.clone();
+		// The index is never modified, only replaced, so there are no
+		// concurrency problems when multiple threads are modifying the
+		// fileObserverList
+		Collection observers = new LinkedHashSet();
+		if (event.getEventType() == FileChangeEventType.MOVED
+			|| event.getEventType() == FileChangeEventType.RENAMED) {
+			fileObserverIndex.collect(event.getOldFilePath(), observers);
+		} else {
+			fileObserverIndex.collect(event.getFilePath(), observers);
+		}
 
-		for (Iterator i = fileObserverListCopy.entrySet().iterator(); i
-			.hasNext();) {
-			Map.Entry entry = (Map.Entry) i.next();
-			IFileObserver fileObserver = (IFileObserver) entry.getKey();
-			FileObserverFilter filter = (FileObserverFilter) entry.getValue();
+		for (Iterator i = observers.iterator(); i.hasNext();) {
+			IFileObserver fileObserver = (IFileObserver) i.next();
 			if (event.getEventType() == FileChangeEventType.MOVED) {
-				if (filter.matches(event.getOldFilePath())) {
-					trace("...FileObserverManager: Notify " //$NON-NLS-1$
-						+ fileObserver.toString() + " handleFileMoved"); //$NON-NLS-1$
-					fileObserver.handleFileMoved(event.getOldFile(), event
-						.getFile());
-				}
+				trace("...FileObserverManager: Notify " //$NON-NLS-1$
+					+ fileObserver.toString() + " handleFileMoved"); //$NON-NLS-1$
+				fileObserver.handleFileMoved(event.getOldFile(), event
+					.getFile());
 			} else if (event.getEventType() == FileChangeEventType.RENAMED) {
-				if (filter.matches(event.getOldFilePath())) {
-					trace("...FileObserverManager: Notify " //$NON-NLS-1$
-						+ fileObserver.toString() + " handleFileRenamed"); //$NON-NLS-1$
-					fileObserver.handleFileRenamed(event.getOldFile(), event
-						.getFile());
-				}
+				trace("...FileObserverManager: Notify " //$NON-NLS-1$
+					+ fileObserver.toString() + " handleFileRenamed"); //$NON-NLS-1$
+				fileObserver.handleFileRenamed(event.getOldFile(), event
+					.getFile());
 			} else if (event.getEventType() == FileChangeEventType.DELETED) {
-				if (filter.matches(event.getFilePath())) {
-					trace("...FileObserverManager: Notify " //$NON-NLS-1$
-						+ fileObserver.toString() + " handleFileDeleted"); //$NON-NLS-1$
-					fileObserver.handleFileDeleted(event.getFile());
-				}
+				trace("...FileObserverManager: Notify " //$NON-NLS-1$
+					+ fileObserver.toString() + " handleFileDeleted"); //$NON-NLS-1$
+				fileObserver.handleFileDeleted(event.getFile());
 			} else if (event.getEventType() == FileChangeEventType.CHANGED) {
-				if (filter.matches(event.getFilePath())) {
-					trace("...FileObserverManager: Notify " //$NON-NLS-1$
-						+ fileObserver.toString() + " handleFileChanged"); //$NON-NLS-1$
-					fileObserver.handleFileChanged(event.getFile());
-				}
+				trace("...FileObserverManager: Notify " //$NON-NLS-1$
+					+ fileObserver.toString() + " handleFileChanged"); //$NON-NLS-1$
+				fileObserver.handleFileChanged(event.getFile());
 			}
 		}
 	}
@@ -200,30 +265,36 @@ public class FileObserverManager {
 	 */
 	protected void notify(MarkerChangeEvent event) {
 
-		// Avoid concurrency problems when multiple threads are modifying
-		// the fileObserverList
-		Hashtable fileObserverListCopy = (Hashtable) fileObserverList.clone();
-
-		for (Iterator i = fileObserverListCopy.entrySet().iterator(); i
-			.hasNext();) {
-			Map.Entry entry = (Map.Entry) i.next();
-			IFileObserver fileObserver = (IFileObserver) entry.getKey();
-			FileObserverFilter filter = (FileObserverFilter) entry.getValue();
-			if (filter.matches(event.getMarker().getResource())) {
-				if (event.getEventType() == MarkerChangeEventType.ADDED) {
-					trace("...FileObserverManager: Notify " //$NON-NLS-1$
-						+ fileObserver.toString() + " handleMarkerAdded"); //$NON-NLS-1$
-					fileObserver.handleMarkerAdded(event.getMarker());
-				} else if (event.getEventType() == MarkerChangeEventType.CHANGED) {
-					trace("...FileObserverManager: Notify " //$NON-NLS-1$
-						+ fileObserver.toString() + " handleMarkerChanged"); //$NON-NLS-1$
-					fileObserver.handleMarkerChanged(event.getMarker());
-				} else if (event.getEventType() == MarkerChangeEventType.REMOVED) {
-					trace("...FileObserverManager: Notify " //$NON-NLS-1$
-						+ fileObserver.toString() + " handleMarkerDeleted"); //$NON-NLS-1$
-					fileObserver.handleMarkerDeleted(event.getMarker(), event
-						.getAttributes());
-				}
+		Collection observers = new LinkedHashSet();
+		fileObserverIndex.collect(event.getMarker().getResource(), observers);
+		notify(event, observers);
+	}
+
+	/**
+	 * Notify file observers of a marker change event.
+	 * 
+	 * @param event
+	 *            the marker change event.
+	 * @param observers
+	 *            the file observers whose filter matches the resource of the
+	 *            marker.
+	 */
+	private void notify(MarkerChangeEvent event, Collection observers) {
+		for (Iterator i = observers.iterator(); i.hasNext();) {
+			IFileObserver fileObserver = (IFileObserver) i.next();
+			if (event.getEventType() == MarkerChangeEventType.ADDED) {
+				trace("...FileObserverManager: Notify " //$NON-NLS-1$
+					+ fileObserver.toString() + " handleMarkerAdded"); //$NON-NLS-1$
+				fileObserver.handleMarkerAdded(event.getMarker());
+			} else if (event.getEventType() == MarkerChangeEventType.CHANGED) {
+				trace("...FileObserverManager: Notify " //$NON-NLS-1$
+					+ fileObserver.toString() + " handleMarkerChanged"); //$NON-NLS-1$
+				fileObserver.handleMarkerChanged(event.getMarker());
+			} else if (event.getEventType() == MarkerChangeEventType.REMOVED) {
+				trace("...FileObserverManager: Notify " //$NON-NLS-1$
+					+ fileObserver.toString() + " handleMarkerDeleted"); //$NON-NLS-1$
+				fileObserver.handleMarkerDeleted(event.getMarker(), event
+					.getAttributes());
 			}
 		}
 	}
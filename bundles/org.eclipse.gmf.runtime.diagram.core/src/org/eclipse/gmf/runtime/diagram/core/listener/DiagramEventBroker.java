@@ -64,6 +64,18 @@ public class DiagramEventBroker
     private static final Map instanceMap = new WeakHashMap();
     
     private WeakReference editingDomainRef;
+
+    /**
+     * The state of the dispatch of the event being handled, or
+     * <code>null</code> if no event is being handled.
+     */
+    private Dispatch dispatch;
+
+    /**
+     * whether the interested listeners of a notifier and feature are reused
+     * for the other notifications of a transaction
+     */
+    private final boolean reuseInterestedListeners;
     
     /**
      * returns the pre commit listeners map
@@ -94,6 +106,13 @@ public class DiagramEventBroker
          */
         private final Map listenersMap = new WeakHashMap();
 
+        /**
+         * incremented whenever a listener is added or removed, so that the
+         * listeners looked up while dispatching an event can be reused until
+         * the map changes
+         */
+        private int modCount;
+
         /**
          * Adds a listener to the map
          * 
@@ -116,7 +135,10 @@ public class DiagramEventBroker
                 listenersSet = new LinkedHashMap(4);
                 keys.put(key, listenersSet);
             }
-            listenersSet.put(listener,null);
+            if (!listenersSet.containsKey(listener)) {
+                listenersSet.put(listener,null);
+                modCount++;
+            }
         }
 
         /**
@@ -142,7 +164,10 @@ public class DiagramEventBroker
             if (keys != null) {
                 Map listenersSet = (Map) keys.get(key);
                 if (listenersSet != null) {
-                    listenersSet.remove(listener);
+                    if (listenersSet.containsKey(listener)) {
+                        listenersSet.remove(listener);
+                        modCount++;
+                    }
                     if (listenersSet.isEmpty()) {
                         keys.remove(key);
                     }
@@ -203,6 +228,7 @@ public class DiagramEventBroker
      */
     protected DiagramEventBroker() {
         super(NotificationFilter.createNotifierTypeFilter(EObject.class));
+        reuseInterestedListeners = canReuseInterestedListeners();
     }    
     
 
@@ -302,7 +328,6 @@ public class DiagramEventBroker
     public Command transactionAboutToCommit(ResourceSetChangeEvent event) {
         Set deletedObjects = NotificationUtil.getDeletedObjects(event);
         Set addedObjects = NotificationUtil.getAddedObjects(event);
-        Set existingObjects = new HashSet();
         Set elementsInPersistQueue = new LinkedHashSet();
         CompoundCommand cc = new CompoundCommand();
         TransactionalEditingDomain editingDomain = (TransactionalEditingDomain) editingDomainRef
@@ -310,40 +335,46 @@ public class DiagramEventBroker
         boolean hasPreListeners = (preListeners.isEmpty() == false);
         List viewsToPersistList = new ArrayList();
         boolean deleteElementCheckRequired = !deletedObjects.isEmpty();
-        for (Iterator i = event.getNotifications().iterator(); i.hasNext();) {
-            final Notification notification = (Notification) i.next();
-            if (shouldIgnoreNotification(notification))
-                continue;
-            Object notifier = notification.getNotifier();            
-            if (notifier instanceof EObject) {
-                boolean deleted = false;
-                if (deleteElementCheckRequired){
-                    deleted = !existingObjects.contains(notifier);
-                    if (deleted){
-                        deleted = isDeleted(deletedObjects, (EObject)notifier);
-                        if (!deleted)
-                            existingObjects.add(notifier);
-                    }
-                }
-                // see bugzilla [186637]
-            	if (deleted || 
-                     (addedObjects.contains(notifier) && NotationPackage.Literals.VIEW__ELEMENT.equals(notification.getFeature()))) {
+        Dispatch previousDispatch = dispatch;
+        dispatch = new Dispatch(preListeners, deletedObjects);
+        try {
+            for (Iterator i = event.getNotifications().iterator(); i.hasNext();) {
+                final Notification notification = (Notification) i.next();
+                if (shouldIgnoreNotification(notification))
                     continue;
-                }
-                if (editingDomain != null) {
-                    View viewToPersist = getViewToPersist(notification,
-                        elementsInPersistQueue);
-                    if (viewToPersist != null) {
-                        viewsToPersistList.add(viewToPersist);
+                Object notifier = notification.getNotifier();            
+                if (notifier instanceof EObject) {
+                    boolean deleted = false;
+                    if (deleteElementCheckRequired){
+                        deleted = !dispatch.existingObjects.contains(notifier);
+                        if (deleted){
+                            deleted = isDeleted(deletedObjects, (EObject)notifier);
+                            if (!deleted)
+                                dispatch.existingObjects.add(notifier);
+                        }
                     }
-                }
-                if (hasPreListeners) {
-                    Command cmd = fireTransactionAboutToCommit(notification);
-                    if (cmd != null) {
-                        cc.append(cmd);
+                    // see bugzilla [186637]
+                	if (deleted || 
+                         (addedObjects.contains(notifier) && NotationPackage.Literals.VIEW__ELEMENT.equals(notification.getFeature()))) {
+                        continue;
+                    }
+                    if (editingDomain != null) {
+                        View viewToPersist = getViewToPersist(notification,
+                            elementsInPersistQueue);
+                        if (viewToPersist != null) {
+                            viewsToPersistList.add(viewToPersist);
+                        }
+                    }
+                    if (hasPreListeners) {
+                        Command cmd = fireTransactionAboutToCommit(notification);
+                        if (cmd != null) {
+                            cc.append(cmd);
+                        }
                     }
                 }
             }
+        } finally {
+            dispatch = previousDispatch;
         }
 
         if (viewsToPersistList.isEmpty() == false) {
@@ -367,38 +398,44 @@ public class DiagramEventBroker
         }
         Set deletedObjects = NotificationUtil.getDeletedObjects(event);
         Set addedObjects = NotificationUtil.getAddedObjects(event);
-        Set existingObjects = new HashSet();
         boolean deleteElementCheckRequired = !deletedObjects.isEmpty();
         boolean handleNotificationOnAddedElement = false;
         boolean handleNotificationOnDeletedElement = false;
-        for (Iterator i = event.getNotifications().iterator(); i.hasNext();) {
-            final Notification notification = (Notification) i.next();
-            boolean customNotification = NotificationUtil.isCustomNotification(notification);
-            if (!customNotification && shouldIgnoreNotification(notification))
-                continue;
-            Object notifier = notification.getNotifier();
-            if (notifier instanceof EObject) {
-                boolean deleted = false;
-                if (deleteElementCheckRequired && !customNotification) {
-                    deleted = !existingObjects.contains(notifier);
-                    if (deleted) {
-                        deleted = isDeleted(deletedObjects, (EObject) notifier);
-                        if (!deleted)
-                            existingObjects.add(notifier);
+        Dispatch previousDispatch = dispatch;
+        dispatch = new Dispatch(postListeners, deletedObjects);
+        try {
+            for (Iterator i = event.getNotifications().iterator(); i.hasNext();) {
+                final Notification notification = (Notification) i.next();
+                boolean customNotification = NotificationUtil.isCustomNotification(notification);
+                if (!customNotification && shouldIgnoreNotification(notification))
+                    continue;
+                Object notifier = notification.getNotifier();
+                if (notifier instanceof EObject) {
+                    boolean deleted = false;
+                    if (deleteElementCheckRequired && !customNotification) {
+                        deleted = !dispatch.existingObjects.contains(notifier);
+                        if (deleted) {
+                            deleted = isDeleted(deletedObjects, (EObject) notifier);
+                            if (!deleted)
+                                dispatch.existingObjects.add(notifier);
+                        }
                     }
-                }
-                if (!customNotification) {
-                    if (deleted) {
-                        handleNotificationOnDeletedElement = true;
-                        continue;
-                    }// see bugzilla [186637]
-                    else if (addedObjects.contains(notifier) && NotationPackage.Literals.VIEW__ELEMENT.equals(notification.getFeature())){
-                        handleNotificationOnAddedElement = true;
-                        continue;
+                    if (!customNotification) {
+                        if (deleted) {
+                            handleNotificationOnDeletedElement = true;
+                            continue;
+                        }// see bugzilla [186637]
+                        else if (addedObjects.contains(notifier) && NotationPackage.Literals.VIEW__ELEMENT.equals(notification.getFeature())){
+                            handleNotificationOnAddedElement = true;
+                            continue;
+                        }
                     }
+                    fireNotification(notification);
                 }
-                fireNotification(notification);
             }
+            dispatch.flushBatches();
+        } finally {
+            dispatch = previousDispatch;
         }
         if (handleNotificationOnAddedElement) {
             handleNotificationOnAddedElement(event);
@@ -436,11 +473,15 @@ public class DiagramEventBroker
      * checking is the passed notifier or any of its ancestors exists in the passed
      * deletedObjects Set, if it find the obnject to be deleted it will add it 
      * to the deleted objects set.
+     * While an event is being handled, the objects found not to be deleted are
+     * remembered too, so that each ancestor is only checked once per event.
      * @param deletedObjects
      * @param notifier
      * @return
      */
     protected boolean isDeleted(Set deletedObjects, EObject notifier) {
+        Set existingObjects = (dispatch != null && dispatch.deletedObjects == deletedObjects) ? dispatch.existingObjects
+            : null;
         EObject object = notifier;
         while (object!=null){
             if (deletedObjects.contains(object)){
@@ -450,8 +491,17 @@ public class DiagramEventBroker
                 }
                 return true;
             }
+            if (existingObjects != null && existingObjects.contains(object)) {
+                break;
+            }
             object = object.eContainer();
         }
+        if (existingObjects != null) {
+            // everything up to the first known existing ancestor exists too
+            for (EObject next = notifier; next != object; next = next.eContainer()) {
+                existingObjects.add(next);
+            }
+        }
         return false;
     }
     
@@ -493,16 +543,25 @@ public class DiagramEventBroker
      * events. First, a MSL complient Notification event followed by an
      * ElementEvent (for backwards compatibility). The ElementEvent will be
      * removed one the MSL migration is complete.
+     * <P>
+     * While the notifications of a transaction are being handled, the event is
+     * queued for the {@link NotificationBatchListener}s, which receive all of
+     * their events at once when the transaction has been handled.
      */
     protected void fireNotification(Notification event) {
-        Collection listenerList = getInterestedNotificationListeners(event,
-        	postListeners);
+        Dispatch current = getDispatch(postListeners);
+        Collection listenerList = (current != null) ? current.getInterestedListeners(event)
+            : getInterestedNotificationListeners(event, postListeners);
         if (!listenerList.isEmpty()) {			
 			for (Iterator listenerIT = listenerList.iterator(); listenerIT
 				.hasNext();) {
 				NotificationListener listener = (NotificationListener) listenerIT
 					.next();
-				listener.notifyChanged(event);
+				if (current != null && listener instanceof NotificationBatchListener) {
+					current.queue(listener, event);
+				} else {
+					listener.notifyChanged(event);
+				}
 			}
 		}
     }
@@ -515,8 +574,9 @@ public class DiagramEventBroker
      * @p
      */
     private Command fireTransactionAboutToCommit(Notification event) {
-        Collection listenerList = getInterestedNotificationListeners(event,
-            preListeners);       
+        Dispatch current = getDispatch(preListeners);
+        Collection listenerList = (current != null) ? current.getInterestedListeners(event)
+            : getInterestedNotificationListeners(event, preListeners);       
         if (!listenerList.isEmpty()) {
         	 CompoundCommand cc = new CompoundCommand();            
             for (Iterator listenerIT = listenerList.iterator(); listenerIT
@@ -723,6 +783,11 @@ public class DiagramEventBroker
     /**
      * gets a subset of all the registered listeners who are interested in
      * receiving the supplied event.
+     * <P>
+     * Unless this method is overridden, the result is reused for the other
+     * notifications of a transaction with the same notifier and feature, until
+     * a listener is added or removed. See
+     * {@link #canReuseInterestedListeners()}.
      * 
      * @param event
      *            the event to use
@@ -787,5 +852,163 @@ public class DiagramEventBroker
             }
         }
     }    
-    
+
+    /**
+     * Answers whether the result of
+     * {@link #getInterestedNotificationListeners(Notification, NotifierToKeyToListenersSetMap)}
+     * for a notifier and feature may be reused for the other notifications of
+     * a transaction with the same notifier and feature. It is called once,
+     * when this broker is created.
+     * <P>
+     * By default, the result is reused only if that method is not overridden,
+     * since an override may depend on more than the notifier and feature of
+     * the notification. Subclasses whose override does not may answer
+     * <code>true</code>.
+     * 
+     * @return <code>true</code> if the interested listeners may be reused,
+     *         <code>false</code> otherwise
+     * @since 1.9
+     */
+    protected boolean canReuseInterestedListeners() {
+        for (Class clazz = getClass(); clazz != DiagramEventBroker.class; clazz = clazz
+            .getSuperclass()) {
+            try {
+                clazz.getDeclaredMethod("getInterestedNotificationListeners", //$NON-NLS-1$
+                    new Class[] {Notification.class,
+                        NotifierToKeyToListenersSetMap.class});
+                return false;
+            } catch (NoSuchMethodException e) {
+                // not overridden by this class
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the state of the dispatch of the event being handled.
+     * 
+     * @param listeners
+     *            the listeners to which the event is being forwarded
+     * @return the dispatch, or <code>null</code> if no event is being
+     *         forwarded to the <code>listeners</code>
+     */
+    private Dispatch getDispatch(NotifierToKeyToListenersSetMap listeners) {
+        Dispatch current = dispatch;
+        return (current != null && current.listeners == listeners) ? current
+            : null;
+    }
+
+    /**
+     * The state of the dispatch of the notifications of one transaction: the
+     * objects known to exist, the interested listeners looked up so far for
+     * each notifier and feature and the notifications queued for the
+     * {@link NotificationBatchListener}s.
+     */
+    private final class Dispatch {
+
+        final NotifierToKeyToListenersSetMap listeners;
+
+        final Set deletedObjects;
+
+        final Set existingObjects = new HashSet();
+
+        /**
+         * map of notifier to a map of feature to the <code>Set</code> of
+         * interested listeners
+         */
+        private final Map interestedListeners = new HashMap();
+
+        /**
+         * the modification count of the listeners for which the
+         * interested listeners were looked up
+         */
+        private int modCount;
+
+        /**
+         * map of batch listener to its <code>List</code> of notifications
+         */
+        private Map batches;
+
+        /**
+         * the modification count of the listeners when the first
+         * notification was queued
+         */
+        private int batchModCount;
+
+        Dispatch(NotifierToKeyToListenersSetMap listeners, Set deletedObjects) {
+            this.listeners = listeners;
+            this.deletedObjects = deletedObjects;
+            this.modCount = listeners.modCount;
+        }
+
+        Set getInterestedListeners(Notification event) {
+            if (!reuseInterestedListeners) {
+                return getInterestedNotificationListeners(event, listeners);
+            }
+            if (modCount != listeners.modCount) {
+                // a listener was added or removed by one of the listeners
+                interestedListeners.clear();
+                modCount = listeners.modCount;
+            }
+            Object notifier = event.getNotifier();
+            Map features = (Map) interestedListeners.get(notifier);
+            if (features == null) {
+                features = new HashMap(4);
+                interestedListeners.put(notifier, features);
+            }
+            Set result = (Set) features.get(event.getFeature());
+            if (result == null) {
+                result = getInterestedNotificationListeners(event, listeners);
+                features.put(event.getFeature(), result);
+            }
+            return result;
+        }
+
+        void queue(Object listener, Notification event) {
+            if (batches == null) {
+                batches = new LinkedHashMap();
+                batchModCount = listeners.modCount;
+            }
+            List notifications = (List) batches.get(listener);
+            if (notifications == null) {
+                notifications = new ArrayList(4);
+                batches.put(listener, notifications);
+            }
+            notifications.add(event);
+        }
+
+        void flushBatches() {
+            Map toFlush = batches;
+            batches = null;
+            if (toFlush != null) {
+                for (Iterator i = toFlush.entrySet().iterator(); i.hasNext();) {
+                    Map.Entry entry = (Map.Entry) i.next();
+                    NotificationBatchListener listener = (NotificationBatchListener) entry.getKey();
+                    List notifications = (List) entry.getValue();
+                    if (batchModCount != listeners.modCount) {
+                        // a listener was added or removed since the
+                        // notifications were queued: like the other
+                        // listeners, a removed listener is not notified
+                        notifications = getStillInterested(listener, notifications);
+                        if (notifications.isEmpty()) {
+                            continue;
+                        }
+                    }
+                    listener.notifyBatchChanged(notifications);
+                }
+            }
+        }
+
+        private List getStillInterested(Object listener, List notifications) {
+            List result = new ArrayList(notifications.size());
+            for (Iterator i = notifications.iterator(); i.hasNext();) {
+                Notification event = (Notification) i.next();
+                if (getInterestedNotificationListeners(event, listeners).contains(listener)) {
+                    result.add(event);
+                }
+            }
+            return result;
+        }
+    }
+
 }
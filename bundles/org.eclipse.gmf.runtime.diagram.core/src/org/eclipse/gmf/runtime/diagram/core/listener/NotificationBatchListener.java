@@ -0,0 +1,46 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ ****************************************************************************/
+
+package org.eclipse.gmf.runtime.diagram.core.listener;
+
+import java.util.List;
+
+import org.eclipse.emf.common.notify.Notification;
+
+/**
+ * A {@link NotificationListener} that receives all of the post-commit
+ * notifications of a transaction that it is interested in at once, rather than
+ * one at a time.
+ * <P>
+ * The {@link DiagramEventBroker} delivers the batch after it has forwarded the
+ * notifications of the transaction to the other listeners. The
+ * {@link #notifyChanged(Notification)} method is still called for
+ * notifications that are fired outside of a transaction's post-commit
+ * processing.
+ *
+ * @since 1.9
+ */
+public interface NotificationBatchListener
+	extends NotificationListener {
+
+	/**
+	 * Will be called once per transaction, after the transaction has been
+	 * closed, with the notifications of the transaction that this listener is
+	 * interested in.
+	 *
+	 * @param notifications
+	 *            the list of {@link Notification}s, in the order in which they
+	 *            occurred; never empty
+	 */
+	public void notifyBatchChanged(List notifications);
+
+}
@@ -14,6 +14,7 @@ package org.eclipse.gmf.runtime.diagram.core.providers;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -39,6 +40,9 @@ public class ViewProviderConfiguration extends AbstractProviderConfiguration {
 	private static final String CONTAINERVIEWS = "containerViews"; //$NON-NLS-1$
 	private static final String SEMANTICHINTS = "semanticHints"; //$NON-NLS-1$
 
+	/** the dispatch key segment that matches any view class or semantic hint */
+	private static final String ANY = "*"; //$NON-NLS-1$
+
 	/** a map of requests supported by this provider to their target contexts*/
 	private List requests = new ArrayList();
 
@@ -131,6 +135,66 @@ public class ViewProviderConfiguration extends AbstractProviderConfiguration {
 		return false;
 	}
 
+	/**
+	 * Gets the dispatch keys under which a provider with this configuration
+	 * is indexed. Each key combines the name of a view class and a semantic
+	 * hint, either of which may be a wildcard if the context does not
+	 * restrict it.
+	 * 
+	 * @return the set of dispatch keys, or <code>null</code> if the provider
+	 *         supports every context
+	 * @see #getDispatchKeys(Class, String)
+	 * @since 1.9
+	 */
+	public Set getDispatchKeys() {
+		if (requests.isEmpty())
+			return null;
+
+		Set keys = new HashSet();
+		for (Iterator iter = requests.iterator(); iter.hasNext();) {
+			ContextDescriptor request = (ContextDescriptor) iter.next();
+			String viewClass = request.viewClassName != null ? request.viewClassName : ANY;
+			if (request.semanticHints == null) {
+				keys.add(getDispatchKey(viewClass, ANY));
+			} else {
+				for (Iterator hints = request.semanticHints.iterator(); hints.hasNext();)
+					keys.add(getDispatchKey(viewClass, (String) hints.next()));
+			}
+		}
+		return keys;
+	}
+
+	/**
+	 * Gets the dispatch keys under which the providers that may support the
+	 * given context are indexed.
+	 * 
+	 * @param viewKind The view kind
+	 * @param semanticHint the semantic hint
+	 * @return the dispatch keys, or <code>null</code> if the context cannot
+	 *         be dispatched through an index
+	 * @see #getDispatchKeys()
+	 * @since 1.9
+	 */
+	public static Object[] getDispatchKeys(Class viewKind, String semanticHint) {
+		if (viewKind == null)
+			return null;
+
+		String viewClass = viewKind.getName();
+		if (semanticHint == null)
+			return new Object[] {getDispatchKey(viewClass, ANY), getDispatchKey(ANY, ANY)};
+
+		return new Object[] {getDispatchKey(viewClass, semanticHint),
+			getDispatchKey(viewClass, ANY), getDispatchKey(ANY, semanticHint),
+			getDispatchKey(ANY, ANY)};
+	}
+
+	/**
+	 * Combines a view class name and a semantic hint into a dispatch key.
+	 */
+	private static String getDispatchKey(String viewClass, String semanticHint) {
+		return viewClass + '#' + semanticHint;
+	}
+
 	/**
 	 * A descriptor for a provider context
 	 */
@@ -12,6 +12,7 @@
 
 package org.eclipse.gmf.runtime.diagram.core.services;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -56,8 +57,14 @@ final public class ViewService
 	protected static class ProviderDescriptor
 		extends Service.ProviderDescriptor {
 
-		/** the provider configuration parsed from XML */
-		private ViewProviderConfiguration providerConfiguration;
+		/**
+		 * the provider configuration parsed from XML, released by any
+		 * thread once the provider is needed
+		 */
+		private volatile ViewProviderConfiguration providerConfiguration;
+
+		/** the dispatch keys computed from the provider configuration */
+		private final Collection dispatchKeys;
 
 		/**
 		 * Constructs a <code>ISemanticProvider</code> descriptor for
@@ -71,6 +78,15 @@ final public class ViewService
 			this.providerConfiguration = ViewProviderConfiguration
 				.parse(element);
 			assert null != providerConfiguration : "Null providerConfiguration in ProviderDescriptor";//$NON-NLS-1$
+			this.dispatchKeys = hasPolicy() ? null
+				: providerConfiguration.getDispatchKeys();
+		}
+
+		/**
+		 * @see org.eclipse.gmf.runtime.common.core.service.Service.ProviderDescriptor#getDispatchKeys()
+		 */
+		protected Collection getDispatchKeys() {
+			return dispatchKeys;
 		}
 
 		/**
@@ -83,8 +99,9 @@ final public class ViewService
 			}
 			if (policy != null)
 				return policy.provides(operation);
-			if (provider == null) {
-				if (isSupportedInExtention(operation)) {
+			ViewProviderConfiguration configuration = providerConfiguration;
+			if (provider == null && configuration != null) {
+				if (isSupportedInExtention(configuration, operation)) {
 					providerConfiguration = null;
 					return getProvider().provides(operation);
 				}
@@ -93,12 +110,28 @@ final public class ViewService
 			return getProvider().provides(operation);
 		}
 
+		/**
+		 * Predicts the activation of the provider from its XML extension,
+		 * unless the provider declares a policy.
+		 * 
+		 * @see org.eclipse.gmf.runtime.common.core.service.Service.ProviderDescriptor#isActivationPredicted(org.eclipse.gmf.runtime.common.core.service.IOperation)
+		 */
+		protected boolean isActivationPredicted(IOperation operation) {
+			// the configuration is discarded once the provider is activated,
+			//    possibly by another thread
+			ViewProviderConfiguration configuration = providerConfiguration;
+			return provider == null && configuration != null
+				&& !hasPolicy() && isSupportedInExtention(configuration, operation);
+		}
+
 		/**
 		 * Cheks if the operation is supported by the XML extension
+		 * @param configuration the provider configuration parsed from XML
 		 * @param operation
 		 * @return
 		 */
-		private boolean isSupportedInExtention(IOperation operation) {
+		private boolean isSupportedInExtention(
+				ViewProviderConfiguration configuration, IOperation operation) {
 			if (operation instanceof CreateViewOperation) {
 				CreateViewOperation o = (CreateViewOperation) operation;
 				Class viewKind = o.getViewKind();
@@ -110,7 +143,7 @@ final public class ViewService
 					containerView = cvo.getContainerView();
 				}
 
-				return providerConfiguration.supports(viewKind,
+				return configuration.supports(viewKind,
 					semanticAdapter, containerView, semanticHint);
 			}
 			return false;
@@ -176,6 +209,18 @@ final public class ViewService
 		return ((CreateViewOperation) operation).getCachingKey();
 	}
 
+	/**
+	 * @see org.eclipse.gmf.runtime.common.core.service.Service#getDispatchKeys(org.eclipse.gmf.runtime.common.core.service.IOperation)
+	 */
+	protected Object[] getDispatchKeys(IOperation operation) {
+		if (operation instanceof CreateViewOperation) {
+			CreateViewOperation o = (CreateViewOperation) operation;
+			return ViewProviderConfiguration.getDispatchKeys(o.getViewKind(),
+				o.getSemanticHint());
+		}
+		return null;
+	}
+
 	/**
 	 * Executes the specified operation using the FIRST execution
 	 * strategy.
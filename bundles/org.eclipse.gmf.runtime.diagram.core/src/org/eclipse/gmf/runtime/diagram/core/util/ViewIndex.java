@@ -0,0 +1,339 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ ****************************************************************************/
+
+package org.eclipse.gmf.runtime.diagram.core.util;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.eclipse.gmf.runtime.notation.NotationPackage;
+import org.eclipse.gmf.runtime.notation.Style;
+import org.eclipse.gmf.runtime.notation.View;
+
+/**
+ * An adapter on a view that indexes its children by type and by id, and its
+ * styles by <code>EClass</code>, for the lookups of {@link ViewUtil}.
+ * <P>
+ * The index is also attached to the children of the view, to learn of the
+ * changes of their types. It is computed lazily and computed again after the
+ * children or styles of the view change. A view is only indexed if it has
+ * enough children, or, if the style indexes are enabled, on the first lookup
+ * of one of its styles.
+ *
+ * @see ViewUtil#setChildIndexThreshold(int)
+ * @see ViewUtil#setStyleIndexEnabled(boolean)
+ */
+final class ViewIndex
+    extends AdapterImpl {
+
+    /**
+     * The default minimal number of children of a view for it to be indexed.
+     */
+    static final int DEFAULT_THRESHOLD = 32;
+
+    private static int threshold = DEFAULT_THRESHOLD;
+
+    private static boolean styleIndexEnabled = false;
+
+    /**
+     * Marker for style lookups that found no style.
+     */
+    private static final Object NO_STYLE = new Object();
+
+    private final View view;
+
+    /**
+     * Map of types to the first child of that type, or <code>null</code> if
+     * it has to be computed again
+     */
+    private Map childrenByType;
+
+    /**
+     * Map of ids to the first child having that id, or <code>null</code> if it
+     * has to be computed again
+     */
+    private Map childrenById;
+
+    /**
+     * The resource of the view when the ids were indexed.
+     */
+    private Resource idResource;
+
+    /**
+     * Map of <code>EClass</code>es to the style of that kind, or to
+     * {@link #NO_STYLE}
+     */
+    private final Map styles = new HashMap(4);
+
+    private ViewIndex(View view) {
+        this.view = view;
+    }
+
+    /**
+     * Gets the minimal number of children of a view for it to be indexed.
+     *
+     * @return the threshold
+     */
+    static int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Sets the minimal number of children of a view for it to be indexed.
+     *
+     * @param newThreshold
+     *            the threshold, or {@link Integer#MAX_VALUE} to disable the
+     *            indexes
+     */
+    static void setThreshold(int newThreshold) {
+        threshold = newThreshold;
+    }
+
+    /**
+     * Queries whether the styles of views are indexed on their first lookup,
+     * even if the views do not have enough children to be indexed.
+     *
+     * @return whether the style indexes are enabled
+     */
+    static boolean isStyleIndexEnabled() {
+        return styleIndexEnabled;
+    }
+
+    /**
+     * Sets whether the styles of views are indexed on their first lookup, even
+     * if the views do not have enough children to be indexed.
+     *
+     * @param enabled
+     *            whether to enable the style indexes
+     */
+    static void setStyleIndexEnabled(boolean enabled) {
+        styleIndexEnabled = enabled;
+    }
+
+    /**
+     * Gets the index of a view that has enough children to be indexed,
+     * attaching it if necessary.
+     *
+     * @param view
+     *            a view
+     * @return its index, or <code>null</code> if it is not to be indexed
+     */
+    static ViewIndex getIndex(View view) {
+        if (view.getChildren().size() < threshold) {
+            return null;
+        }
+        return attachIndex(view);
+    }
+
+    /**
+     * Gets the index of the styles of a view. If the style indexes are
+     * enabled, the index is attached if necessary. Otherwise, only a view that
+     * is already indexed for its children has one.
+     *
+     * @param view
+     *            a view
+     * @return its index, or <code>null</code> if it is not to be indexed
+     */
+    static ViewIndex getStyleIndex(View view) {
+        if (!styleIndexEnabled) {
+            return getExistingIndex(view);
+        }
+        return attachIndex(view);
+    }
+
+    /**
+     * Gets the index of a view, attaching it if necessary.
+     *
+     * @param view
+     *            a view
+     * @return its index, or <code>null</code> if the indexes are disabled
+     */
+    private static ViewIndex attachIndex(View view) {
+        if (threshold == Integer.MAX_VALUE) {
+            return null;
+        }
+
+        ViewIndex result = getExistingIndex(view);
+        if (result == null) {
+            result = new ViewIndex(view);
+            view.eAdapters().add(result);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the index of a view, if it has one.
+     *
+     * @param view
+     *            a view
+     * @return its index, or <code>null</code> if it has none or the indexes
+     *         are disabled
+     */
+    static ViewIndex getExistingIndex(View view) {
+        if (threshold == Integer.MAX_VALUE) {
+            return null;
+        }
+
+        // the index of the parent is also attached to the view
+        for (Iterator iter = view.eAdapters().iterator(); iter.hasNext();) {
+            Object next = iter.next();
+            if ((next instanceof ViewIndex) && (((ViewIndex) next).view == view)) {
+                return (ViewIndex) next;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the first child of my view that has a type.
+     *
+     * @param type
+     *            the type
+     * @return the child, or <code>null</code> if there is none
+     */
+    View getChildByType(String type) {
+        if (childrenByType == null) {
+            indexChildren();
+        }
+        return (View) childrenByType.get(type);
+    }
+
+    /**
+     * Gets the first child of my view that has an id.
+     *
+     * @param id
+     *            the id
+     * @return the child, or <code>null</code> if there is none
+     */
+    View getChildById(String id) {
+        Resource resource = view.eResource();
+        boolean indexed = false;
+
+        if ((childrenById == null) || (resource != idResource)) {
+            indexIds(resource);
+            indexed = true;
+        }
+
+        View result = (View) childrenById.get(id);
+        if (!indexed && ((result == null) || !id.equals(getId(result)))) {
+            // ids may be assigned or changed without notification
+            indexIds(resource);
+            result = (View) childrenById.get(id);
+        }
+        return result;
+    }
+
+    private void indexIds(Resource resource) {
+        childrenById = new HashMap();
+        idResource = resource;
+
+        for (Iterator iter = view.getChildren().iterator(); iter.hasNext();) {
+            View child = (View) iter.next();
+            String childId = getId(child);
+
+            if ((childId != null) && !childrenById.containsKey(childId)) {
+                childrenById.put(childId, child);
+            }
+        }
+    }
+
+    private static String getId(View child) {
+        Resource childResource = child.eResource();
+        return (childResource instanceof XMLResource) ? ((XMLResource) childResource)
+            .getID(child)
+            : null;
+    }
+
+    /**
+     * Gets the style of my view of a kind.
+     *
+     * @param eClass
+     *            the kind of style
+     * @return the style, as returned by {@link View#getStyle(EClass)}
+     */
+    Style getStyle(EClass eClass) {
+        Object result = styles.get(eClass);
+
+        if (result == null) {
+            result = view.getStyle(eClass);
+            styles.put(eClass, (result == null) ? NO_STYLE
+                : result);
+        }
+        return (result == NO_STYLE) ? null
+            : (Style) result;
+    }
+
+    private void indexChildren() {
+        childrenByType = new HashMap();
+
+        for (Iterator iter = view.getChildren().iterator(); iter.hasNext();) {
+            View child = (View) iter.next();
+
+            if (!childrenByType.containsKey(child.getType())) {
+                childrenByType.put(child.getType(), child);
+            }
+            if (!child.eAdapters().contains(this)) {
+                child.eAdapters().add(this);
+            }
+        }
+    }
+
+    public void notifyChanged(Notification msg) {
+        Object feature = msg.getFeature();
+
+        if (msg.getNotifier() != view) {
+            // a child
+            if (NotationPackage.Literals.VIEW__TYPE == feature) {
+                childrenByType = null;
+            }
+        } else if ((NotationPackage.Literals.VIEW__PERSISTED_CHILDREN == feature)
+            || (NotationPackage.Literals.VIEW__TRANSIENT_CHILDREN == feature)) {
+            childrenByType = null;
+            childrenById = null;
+
+            switch (msg.getEventType()) {
+                case Notification.REMOVE:
+                case Notification.SET:
+                    unadapt(msg.getOldValue());
+                    break;
+                case Notification.REMOVE_MANY:
+                    if (msg.getOldValue() instanceof List) {
+                        for (Iterator iter = ((Collection) msg.getOldValue())
+                            .iterator(); iter.hasNext();) {
+                            unadapt(iter.next());
+                        }
+                    }
+                    break;
+            }
+        } else if (NotationPackage.Literals.VIEW__STYLES == feature) {
+            styles.clear();
+        }
+    }
+
+    private void unadapt(Object child) {
+        if (child instanceof View) {
+            ((View) child).eAdapters().remove(this);
+        }
+    }
+
+    public boolean isAdapterForType(Object type) {
+        return type == ViewIndex.class;
+    }
+}
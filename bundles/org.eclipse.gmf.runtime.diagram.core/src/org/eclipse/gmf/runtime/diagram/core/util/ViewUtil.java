@@ -302,6 +302,11 @@ public class ViewUtil {
      * @return the found view or null if none is found
      */
     public static View getChildBySemanticHint(View view, String semanticHint) {
+        ViewIndex index = ViewIndex.getIndex(view);
+        if (index != null) {
+            return index.getChildByType(semanticHint);
+        }
+
         for (Iterator children = view.getChildren().iterator(); children
             .hasNext();) {
             View child = (View) children.next();
@@ -312,6 +317,90 @@ public class ViewUtil {
         return null;
     }
 
+    /**
+     * gets the style of the passed <code>View</code> that is of the passed
+     * kind. This is the same as {@link View#getStyle(EClass)}, but answers
+     * from the index of the view if it has one: if the view is indexed for its
+     * children, or if the style indexes are enabled.
+     * 
+     * @param view
+     *            the view to search inside
+     * @param eClass
+     *            the kind of style to look for
+     * @return the found style or null if none is found
+     * @see #setChildIndexThreshold(int)
+     * @see #setStyleIndexEnabled(boolean)
+     * @since 1.9
+     */
+    public static Style getStyle(View view, EClass eClass) {
+        ViewIndex index = ViewIndex.getStyleIndex(view);
+        if (index != null) {
+            return index.getStyle(eClass);
+        }
+        return view.getStyle(eClass);
+    }
+
+    /**
+     * Sets the minimal number of children of a view for
+     * {@link #getChildBySemanticHint(View, String)} and
+     * {@link #getChildByIdStr(View, String)} to index its children, instead of
+     * searching them. The index is an adapter that also answers
+     * {@link #getStyle(View, EClass)}, and follows the changes of the children
+     * and styles of the view. Small views are not worth indexing. The default
+     * threshold is 32 children.
+     * 
+     * @param threshold
+     *            the minimal number of children, or
+     *            <code>Integer.MAX_VALUE</code> to never index views, nor
+     *            their styles
+     * @since 1.9
+     */
+    public static void setChildIndexThreshold(int threshold) {
+        ViewIndex.setThreshold(threshold);
+    }
+
+    /**
+     * Sets whether {@link #getStyle(View, EClass)} indexes the styles of every
+     * view that it is asked about, by attaching an index to the view on the
+     * first lookup. This is disabled by default: a view has few styles, so
+     * their index is only worth an adapter on the views that are indexed for
+     * their children anyway, whose index also answers the style lookups.
+     * Disabling the indexes with {@link #setChildIndexThreshold(int)} also
+     * disables the style indexes.
+     * 
+     * @param enabled
+     *            <code>true</code> to index the styles of every view,
+     *            <code>false</code> to only index the styles of the views
+     *            indexed for their children
+     * @since 1.9
+     */
+    public static void setStyleIndexEnabled(boolean enabled) {
+        ViewIndex.setStyleIndexEnabled(enabled);
+    }
+
+    /**
+     * checks if the styles of every view are indexed.
+     * 
+     * @return <code>true</code> if the styles of every view are indexed
+     * @see #setStyleIndexEnabled(boolean)
+     * @since 1.9
+     */
+    public static boolean isStyleIndexEnabled() {
+        return ViewIndex.isStyleIndexEnabled();
+    }
+
+    /**
+     * gets the minimal number of children of a view for its children to be
+     * indexed.
+     * 
+     * @return the minimal number of children
+     * @see #setChildIndexThreshold(int)
+     * @since 1.9
+     */
+    public static int getChildIndexThreshold() {
+        return ViewIndex.getThreshold();
+    }
+
     /**
      * checks if the passed property is supported bythe passed view
      * 
@@ -696,6 +785,11 @@ public class ViewUtil {
      * @return View the first matching child or null if no one was found
      */
     static public View getChildByIdStr(View view, String idStr) {
+        ViewIndex index = ViewIndex.getIndex(view);
+        if (index != null) {
+            return index.getChildById(idStr);
+        }
+
         for (Iterator children = view.getChildren().iterator(); children
             .hasNext();) {
             View child = (View) children.next();
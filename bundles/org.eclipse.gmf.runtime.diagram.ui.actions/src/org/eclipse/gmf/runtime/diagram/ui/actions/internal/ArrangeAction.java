@@ -35,6 +35,7 @@ import org.eclipse.gmf.runtime.diagram.ui.actions.internal.l10n.DiagramUIActions
 import org.eclipse.gmf.runtime.diagram.ui.editparts.DiagramEditPart;
 import org.eclipse.gmf.runtime.diagram.ui.editparts.IGraphicalEditPart;
 import org.eclipse.gmf.runtime.diagram.ui.editparts.ShapeCompartmentEditPart;
+import org.eclipse.gmf.runtime.diagram.ui.internal.editparts.ViewportVirtualizer;
 import org.eclipse.gmf.runtime.diagram.ui.preferences.IPreferenceConstants;
 import org.eclipse.gmf.runtime.diagram.ui.requests.ArrangeRequest;
 import org.eclipse.jface.preference.IPreferenceStore;
@@ -273,6 +274,16 @@ public class ArrangeAction extends DiagramAction {
         boolean animatedLayout = preferenceStore.getBoolean(
             IPreferenceConstants.PREF_ENABLE_ANIMATED_LAYOUT);
         
+        if (isArrangeAll()) {
+            // the layout must see all of the children of virtualized containers
+            for (Iterator iter = getOperationSet().iterator(); iter.hasNext();) {
+                ViewportVirtualizer virtualizer = ViewportVirtualizer.getVirtualizer(iter.next());
+                if (virtualizer != null) {
+                    virtualizer.materializeAll();
+                }
+            }
+        }
+        
         if (animatedLayout)
             Animation.markBegin();
             
@@ -35,6 +35,7 @@ import org.eclipse.gmf.runtime.diagram.ui.editparts.IBorderItemEditPart;
 import org.eclipse.gmf.runtime.diagram.ui.editparts.IGraphicalEditPart;
 import org.eclipse.gmf.runtime.diagram.ui.editparts.IPrimaryEditPart;
 import org.eclipse.gmf.runtime.diagram.ui.internal.editparts.ISurfaceEditPart;
+import org.eclipse.gmf.runtime.diagram.ui.internal.editparts.ViewportVirtualizer;
 import org.eclipse.jface.viewers.StructuredSelection;
 import org.eclipse.ui.IWorkbenchPage;
 import org.eclipse.ui.actions.ActionFactory;
@@ -49,6 +50,8 @@ public class SelectAllAction extends DiagramAction {
 	private boolean selectShapes;
 	/** whether to select connections */
 	private boolean selectConnections;
+	/** whether to materialize the children of virtualized surfaces */
+	private boolean materializing = false;
 
 	/**
 	 * @param partService
@@ -146,6 +149,12 @@ public class SelectAllAction extends DiagramAction {
 	}
 
 	private void getSelectableChildrenNodes(EditPart editpart, List retval) {
+		if (materializing) {
+			ViewportVirtualizer virtualizer = ViewportVirtualizer.getVirtualizer(editpart);
+			if (virtualizer != null) {
+				virtualizer.materializeAll();
+			}
+		}
 		Iterator iter = editpart.getChildren().iterator();
 		while( iter.hasNext() ) {
 			EditPart child = (EditPart)iter.next();
@@ -254,8 +263,17 @@ public class SelectAllAction extends DiagramAction {
 	}
 
 	protected void doRun(IProgressMonitor progressMonitor) {
+		// the cached operation set only has the editparts of virtualized
+		// surfaces that are near the viewport
+		List operationSet;
+		materializing = true;
+		try {
+			operationSet = createOperationSet();
+		} finally {
+			materializing = false;
+		}
 		getDiagramGraphicalViewer().setSelection(
-			new StructuredSelection(getOperationSet()));
+			new StructuredSelection(operationSet));
 	}
 
 	protected boolean isSelectionListener() {
@@ -14,13 +14,14 @@ package org.eclipse.gmf.runtime.diagram.ui.providers.ide.providers;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 
 import org.eclipse.emf.ecore.xmi.XMLResource;
 import org.eclipse.gef.EditPart;
+import org.eclipse.gef.EditPartViewer;
 import org.eclipse.gmf.runtime.common.core.service.IOperation;
 import org.eclipse.gmf.runtime.common.ui.services.marker.GotoMarkerOperation;
 import org.eclipse.gmf.runtime.diagram.core.util.ViewUtil;
+import org.eclipse.gmf.runtime.diagram.ui.internal.editparts.ViewportVirtualizer;
 import org.eclipse.gmf.runtime.diagram.ui.parts.IDiagramWorkbenchPart;
 import org.eclipse.gmf.runtime.emf.ui.providers.marker.AbstractModelMarkerNavigationProvider;
 import org.eclipse.gmf.runtime.notation.Diagram;
@@ -134,17 +135,16 @@ public abstract class AbstractDiagramMarkerNavigationProvider
      */
     protected final List findEditParts(List views) {
     	
-        // Obtain the edit part registry for this diagram.
-        Map editPartRegistry =
-            getDiagramEditor()
-                .getDiagramGraphicalViewer()
-                .getEditPartRegistry();
+        // Obtain the viewer of this diagram.
+        EditPartViewer viewer = getDiagramEditor().getDiagramGraphicalViewer();
 
-        // Convert the list of views (IView) into a list of edit parts.
+        // Convert the list of views (IView) into a list of edit parts,
+        // materializing the views left off the viewport.
         List result = new ArrayList();
         Iterator iterator = views.listIterator();
         while (iterator.hasNext()) {
-            EditPart part = (EditPart)editPartRegistry.get(iterator.next());
+            EditPart part = ViewportVirtualizer.materialize(viewer,
+                (View) iterator.next());
             if (part != null) {
                 result.add(part);
             }
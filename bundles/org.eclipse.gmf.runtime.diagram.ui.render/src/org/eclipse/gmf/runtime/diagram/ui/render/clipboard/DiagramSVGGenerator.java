@@ -37,6 +37,7 @@ import org.eclipse.gmf.runtime.diagram.ui.render.internal.DiagramUIRenderPlugin;
 import org.eclipse.gmf.runtime.draw2d.ui.render.RenderedImage;
 import org.eclipse.gmf.runtime.draw2d.ui.render.awt.internal.image.ImageConverter;
 import org.eclipse.gmf.runtime.draw2d.ui.render.awt.internal.svg.export.GraphicsSVG;
+import org.eclipse.gmf.runtime.draw2d.ui.render.awt.internal.svg.export.StreamingGraphicsSVG;
 import org.eclipse.gmf.runtime.draw2d.ui.render.factory.RenderedImageFactory;
 import org.eclipse.gmf.runtime.draw2d.ui.render.internal.RenderedImageDescriptor;
 import org.eclipse.jface.resource.ImageDescriptor;
@@ -57,6 +58,14 @@ public class DiagramSVGGenerator
 
 	private Rectangle viewBox = null;
 
+	/**
+	 * The stream to which the SVG document is written while it is painted,
+	 * or <code>null</code> to build an SVG DOM.
+	 */
+	private OutputStream streamTarget = null;
+
+	private IOException streamError = null;
+
 	/**
 	 * Creates a new instance.
 	 * 
@@ -72,6 +81,9 @@ public class DiagramSVGGenerator
 	 */
 	protected Graphics setUpGraphics(int width, int height) {
 		viewBox = new Rectangle(0, 0, width, height);
+		if (streamTarget != null) {
+			return StreamingGraphicsSVG.getInstance(viewBox, streamTarget);
+		}
 		return GraphicsSVG.getInstance(viewBox);
 	}
 
@@ -79,6 +91,15 @@ public class DiagramSVGGenerator
 	 * @see org.eclipse.gmf.runtime.diagram.ui.render.clipboard.DiagramGenerator#getImageDescriptor(org.eclipse.draw2d.Graphics)
 	 */
 	protected ImageDescriptor getImageDescriptor(Graphics g) {
+		if (g instanceof StreamingGraphicsSVG) {
+			try {
+				((StreamingGraphicsSVG) g).close();
+			} catch (IOException ex) {
+				streamError = ex;
+			}
+			return null;
+		}
+
 		try {
 			GraphicsSVG svgG = (GraphicsSVG) g;
 			// Get the root element (the svg element)
@@ -133,6 +154,87 @@ public class DiagramSVGGenerator
 		}
 	}
 
+	/**
+	 * Writes the SVG document of the editparts to a stream while they are
+	 * painted, without building an SVG DOM. This keeps the memory needed
+	 * bounded whatever the size of the diagram, so it should be preferred
+	 * for exporting large diagrams. No rendered image is kept afterwards.
+	 * 
+	 * @param editparts
+	 *            the list of <code>IGraphicalEditParts</code> to render
+	 * @param sourceRect
+	 *            the area of the diagram to render, in logical coordinates
+	 * @param outputStream
+	 *            the stream to which the SVG document is written; it is not
+	 *            closed
+	 * @throws IOException
+	 *             if the document could not be written
+	 * @since 1.9
+	 */
+	public void stream(final List editparts,
+			final org.eclipse.swt.graphics.Rectangle sourceRect,
+			OutputStream outputStream)
+		throws IOException {
+		stream(outputStream, new Runnable() {
+
+			public void run() {
+				createSWTImageDescriptorForParts(editparts, sourceRect);
+			}
+		});
+	}
+
+	/**
+	 * Writes the SVG document of the editparts, scaled to fit in the given
+	 * frame, to a stream while they are painted, without building an SVG
+	 * DOM. No rendered image is kept afterwards.
+	 * 
+	 * @param editParts
+	 *            the list of <code>IGraphicalEditParts</code> to render
+	 * @param maxDeviceWidth
+	 *            max width for the image
+	 * @param maxDeviceHeight
+	 *            max height for the image
+	 * @param useMargins
+	 *            true if 10 pixels margins are required to bound the
+	 *            editparts image
+	 * @param outputStream
+	 *            the stream to which the SVG document is written; it is not
+	 *            closed
+	 * @throws IOException
+	 *             if the document could not be written
+	 * @since 1.9
+	 */
+	public void streamConstrained(final List editParts,
+			final int maxDeviceWidth, final int maxDeviceHeight,
+			final boolean useMargins, OutputStream outputStream)
+		throws IOException {
+		stream(outputStream, new Runnable() {
+
+			public void run() {
+				createConstrainedSWTImageDecriptorForParts(editParts,
+					maxDeviceWidth, maxDeviceHeight, useMargins);
+			}
+		});
+	}
+
+	private void stream(OutputStream outputStream, Runnable render)
+		throws IOException {
+		svgRoot = null;
+		setRenderedImage(null);
+		streamTarget = outputStream;
+		streamError = null;
+		try {
+			render.run();
+		} finally {
+			streamTarget = null;
+		}
+		if (streamError != null) {
+			IOException ex = streamError;
+			streamError = null;
+			throw ex;
+		}
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
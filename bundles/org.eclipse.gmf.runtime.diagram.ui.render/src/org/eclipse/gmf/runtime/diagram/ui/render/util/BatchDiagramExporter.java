@@ -0,0 +1,381 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ ****************************************************************************/
+
+package org.eclipse.gmf.runtime.diagram.ui.render.util;
+
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.emf.transaction.util.TransactionUtil;
+import org.eclipse.gef.EditPart;
+import org.eclipse.gef.RootEditPart;
+import org.eclipse.gmf.runtime.common.core.util.StringStatics;
+import org.eclipse.gmf.runtime.common.core.util.Trace;
+import org.eclipse.gmf.runtime.diagram.core.listener.DiagramEventBroker;
+import org.eclipse.gmf.runtime.diagram.core.preferences.PreferencesHint;
+import org.eclipse.gmf.runtime.diagram.core.util.ViewUtil;
+import org.eclipse.gmf.runtime.diagram.ui.editparts.DiagramEditPart;
+import org.eclipse.gmf.runtime.diagram.ui.editparts.IDiagramPreferenceSupport;
+import org.eclipse.gmf.runtime.diagram.ui.image.ImageFileFormat;
+import org.eclipse.gmf.runtime.diagram.ui.parts.DiagramCommandStack;
+import org.eclipse.gmf.runtime.diagram.ui.parts.DiagramEditDomain;
+import org.eclipse.gmf.runtime.diagram.ui.parts.DiagramGraphicalViewer;
+import org.eclipse.gmf.runtime.diagram.ui.render.clipboard.DiagramGenerator;
+import org.eclipse.gmf.runtime.diagram.ui.render.internal.DiagramUIRenderPlugin;
+import org.eclipse.gmf.runtime.diagram.ui.services.editpart.EditPartService;
+import org.eclipse.gmf.runtime.notation.Diagram;
+import org.eclipse.jface.preference.IPreferenceStore;
+import org.eclipse.swt.widgets.Shell;
+
+/**
+ * Exports many diagrams to image files without opening editors.
+ * <P>
+ * Unlike {@link CopyToImageUtil#copyToImage(Diagram, IPath, ImageFileFormat, IProgressMonitor, PreferencesHint)},
+ * which creates a shell, a viewer and an edit domain for every diagram, the
+ * exporter creates them once and only replaces the editparts of the viewer
+ * from one diagram to the next. No editor, palette or selection is involved,
+ * so no tool is active and no handles are created.
+ * <P>
+ * The export of a diagram is done in three stages: the editparts are
+ * created, the diagram is rendered, and the image is encoded and written.
+ * The first two stages run on the calling thread, which must be the user
+ * interface thread. The images of raster formats are encoded on worker
+ * threads while the next diagrams are created and rendered. The time spent in
+ * each stage is returned as {@link Timings}.
+ * <P>
+ * The exporter must be disposed when it is no longer needed.
+ *
+ * @since 1.9
+ */
+public class BatchDiagramExporter {
+
+	/**
+	 * The time spent in each stage of a batch export.
+	 */
+	public static final class Timings {
+
+		private int diagramCount;
+
+		private long createTime;
+
+		private long renderTime;
+
+		private long encodeTime;
+
+		private long totalTime;
+
+		/**
+		 * Gets the number of diagrams that were exported.
+		 *
+		 * @return the number of diagrams
+		 */
+		public int getDiagramCount() {
+			return diagramCount;
+		}
+
+		/**
+		 * Gets the time spent creating the editparts of the diagrams.
+		 *
+		 * @return the time in milliseconds
+		 */
+		public long getCreateTime() {
+			return createTime / 1000000;
+		}
+
+		/**
+		 * Gets the time spent rendering the diagrams. For formats that are
+		 * written while they are rendered, this includes the writing.
+		 *
+		 * @return the time in milliseconds
+		 */
+		public long getRenderTime() {
+			return renderTime / 1000000;
+		}
+
+		/**
+		 * Gets the time spent encoding and writing the images of raster
+		 * formats, summed over the worker threads.
+		 *
+		 * @return the time in milliseconds
+		 */
+		public long getEncodeTime() {
+			return encodeTime / 1000000;
+		}
+
+		/**
+		 * Gets the elapsed time of the export.
+		 *
+		 * @return the time in milliseconds
+		 */
+		public long getTotalTime() {
+			return totalTime / 1000000;
+		}
+
+		public String toString() {
+			return diagramCount + " diagrams in " + getTotalTime() //$NON-NLS-1$
+				+ " ms (editparts " + getCreateTime() + " ms, rendering " //$NON-NLS-1$ //$NON-NLS-2$
+				+ getRenderTime() + " ms, encoding " + getEncodeTime() //$NON-NLS-1$
+				+ " ms)"; //$NON-NLS-1$
+		}
+	}
+
+	private final CopyToImageUtil copyToImageUtil;
+
+	private int encoderThreads = Math.max(1, Math.min(4, Runtime
+		.getRuntime().availableProcessors()));
+
+	private Shell shell;
+
+	private DiagramGraphicalViewer viewer;
+
+	/**
+	 * Creates an exporter that renders with a {@link CopyToImageUtil}.
+	 */
+	public BatchDiagramExporter() {
+		this(new CopyToImageUtil());
+	}
+
+	/**
+	 * Creates an exporter.
+	 *
+	 * @param copyToImageUtil
+	 *            the utility that creates the diagram generators and writes
+	 *            the images
+	 */
+	public BatchDiagramExporter(CopyToImageUtil copyToImageUtil) {
+		Assert.isNotNull(copyToImageUtil);
+		this.copyToImageUtil = copyToImageUtil;
+	}
+
+	/**
+	 * Gets the number of images that are encoded and written at the same
+	 * time.
+	 *
+	 * @return the number of encoder threads
+	 */
+	public int getEncoderThreads() {
+		return encoderThreads;
+	}
+
+	/**
+	 * Sets the number of images that are encoded and written at the same
+	 * time. Each of them holds a rendered image in memory until it is written.
+	 * The default is the number of processors, up to 4.
+	 *
+	 * @param encoderThreads
+	 *            the number of encoder threads, at least 1
+	 */
+	public void setEncoderThreads(int encoderThreads) {
+		if (encoderThreads < 1)
+			throw new IllegalArgumentException();
+		this.encoderThreads = encoderThreads;
+	}
+
+	/**
+	 * Exports diagrams to image files in a folder. Each file is named after
+	 * the identifier of its diagram; see
+	 * {@link #getDestination(Diagram, IPath, ImageFileFormat)}.
+	 *
+	 * @param diagrams
+	 *            the <code>Diagram</code>s to export
+	 * @param destinationFolder
+	 *            the folder of the image files
+	 * @param format
+	 *            the image file format
+	 * @param preferencesHint
+	 *            the preference hint that is to be used to find the
+	 *            preference store from which to retrieve diagram preference
+	 *            values; if null, the preferences hint of the root editpart
+	 *            of each diagram is used
+	 * @param monitor
+	 *            progress monitor
+	 * @return the time spent in each stage of the export
+	 * @throws CoreException
+	 *             if a diagram could not be exported
+	 */
+	public Timings export(List diagrams, IPath destinationFolder,
+			ImageFileFormat format, PreferencesHint preferencesHint,
+			IProgressMonitor monitor)
+		throws CoreException {
+
+		Timings timings = new Timings();
+		long start = System.nanoTime();
+		final AtomicLong encodeTime = new AtomicLong();
+		boolean raster = !ImageFileFormat.SVG.equals(format)
+			&& !ImageFileFormat.PDF.equals(format);
+		TileWriter writer = raster ? new TileWriter(getEncoderThreads())
+			: null;
+
+		monitor.beginTask(StringStatics.BLANK, diagrams.size() + 1);
+		try {
+			for (Iterator i = diagrams.iterator(); i.hasNext();) {
+				if (monitor.isCanceled()) {
+					break;
+				}
+				Diagram diagram = (Diagram) i.next();
+				IPath destination = getDestination(diagram, destinationFolder,
+					format);
+				monitor.subTask(destination.toOSString());
+
+				long time = System.nanoTime();
+				DiagramEditPart diagramEP = setContents(diagram,
+					preferencesHint);
+				timings.createTime += System.nanoTime() - time;
+
+				try {
+					time = System.nanoTime();
+					DiagramGenerator gen = copyToImageUtil.getDiagramGenerator(
+						diagramEP, format);
+					List editParts = diagramEP.getPrimaryEditParts();
+					org.eclipse.swt.graphics.Rectangle imageRect = gen
+						.calculateImageRectangle(editParts);
+					if (writer == null) {
+						copyToImageUtil.copyToImage(gen, editParts, imageRect,
+							destination, format, monitor);
+					} else if (copyToImageUtil.createFile(destination).isOK()) {
+						final TileWriter.Tile image = copyToImageUtil
+							.renderTile(gen, editParts, imageRect, format);
+						writer.submit(destination, new TileWriter.Tile() {
+
+							public void write(OutputStream stream)
+								throws Exception {
+								long encodeStart = System.nanoTime();
+								try {
+									image.write(stream);
+								} finally {
+									encodeTime.addAndGet(System.nanoTime()
+										- encodeStart);
+								}
+							}
+						});
+					}
+					timings.renderTime += System.nanoTime() - time;
+				} finally {
+					time = System.nanoTime();
+					viewer.setContents((EditPart) null);
+					timings.createTime += System.nanoTime() - time;
+				}
+				timings.diagramCount++;
+				monitor.worked(1);
+			}
+			if (writer != null) {
+				writer.finish();
+			}
+			IContainer container = ResourcesPlugin.getWorkspace().getRoot()
+				.getContainerForLocation(destinationFolder);
+			if (container != null) {
+				container.refreshLocal(IResource.DEPTH_ONE, null);
+			}
+			monitor.worked(1);
+		} finally {
+			if (writer != null) {
+				writer.dispose();
+			}
+			monitor.done();
+		}
+
+		timings.encodeTime = encodeTime.get();
+		timings.totalTime = System.nanoTime() - start;
+		Trace.trace(DiagramUIRenderPlugin.getInstance(),
+			"Batch export to " + destinationFolder + " as " + format + ": " + timings); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		return timings;
+	}
+
+	/**
+	 * Gets the image file of a diagram. By default, it is named after the
+	 * identifier of the diagram.
+	 *
+	 * @param diagram
+	 *            the diagram
+	 * @param destinationFolder
+	 *            the folder of the image files
+	 * @param format
+	 *            the image file format
+	 * @return the path of the image file
+	 */
+	protected IPath getDestination(Diagram diagram, IPath destinationFolder,
+			ImageFileFormat format) {
+		return destinationFolder.append(ViewUtil.getIdStr(diagram)
+			+ StringStatics.PERIOD + format.getName().toLowerCase());
+	}
+
+	/**
+	 * Disposes the shell and the viewer of the exporter.
+	 */
+	public void dispose() {
+		if (shell != null) {
+			shell.dispose();
+			shell = null;
+			viewer = null;
+		}
+	}
+
+	/**
+	 * Creates the editparts of a diagram in the viewer of the exporter,
+	 * creating the viewer on first use.
+	 */
+	private DiagramEditPart setContents(Diagram diagram,
+			PreferencesHint preferencesHint) {
+		if (viewer == null) {
+			shell = new Shell();
+			viewer = new DiagramGraphicalViewer();
+			viewer.createControl(shell);
+
+			DiagramEditDomain editDomain = new DiagramEditDomain(null);
+			editDomain.setCommandStack(new DiagramCommandStack(editDomain));
+			viewer.setEditDomain(editDomain);
+			viewer.setEditPartFactory(EditPartService.getInstance());
+		}
+
+		// hook in preferences
+		RootEditPart rootEP = EditPartService.getInstance().createRootEditPart(
+			diagram);
+		if (rootEP instanceof IDiagramPreferenceSupport) {
+			if (preferencesHint == null) {
+				preferencesHint = ((IDiagramPreferenceSupport) rootEP)
+					.getPreferencesHint();
+			} else {
+				((IDiagramPreferenceSupport) rootEP)
+					.setPreferencesHint(preferencesHint);
+			}
+			viewer.hookWorkspacePreferenceStore((IPreferenceStore) preferencesHint
+				.getPreferenceStore());
+		}
+		viewer.setRootEditPart(rootEP);
+
+		DiagramEventBroker.startListening(TransactionUtil
+			.getEditingDomain(diagram));
+
+		viewer.setContents(diagram);
+		viewer.flush();
+		Assert.isTrue(viewer.getContents() instanceof DiagramEditPart);
+
+		/*
+		 * We need to flush all the deferred updates.
+		 */
+		while (shell.getDisplay().readAndDispatch()) {
+			// nothing
+		}
+
+		return (DiagramEditPart) viewer.getContents();
+	}
+
+}
@@ -111,6 +111,17 @@ public class CopyToHTMLImageUtil extends CopyToImageUtil {
 	 */
 	private static Dimension minimalTileSize = new Dimension(2, 2);
 
+	/**
+	 * The default number of tiles encoded and written at the same time
+	 */
+	private static final int DEFAULT_TILE_WRITER_THREADS = Math.max(1, Math
+			.min(4, Runtime.getRuntime().availableProcessors()));
+
+	/**
+	 * The number of tiles encoded and written at the same time
+	 */
+	private int tileWriterThreads = DEFAULT_TILE_WRITER_THREADS;
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -247,6 +258,17 @@ public class CopyToHTMLImageUtil extends CopyToImageUtil {
 				.beginTask(
 						DiagramUIMessages.CopyToHTMLImageTask_exportingToHTML,
 						jobsToDo);
+		/*
+		 * Raster tiles are encoded and written on worker threads while the
+		 * next tiles are rendered
+		 */
+		TileWriter writer = null;
+		if (!ImageFileFormat.SVG.equals(imageFormat)
+				&& !ImageFileFormat.PDF.equals(imageFormat)) {
+			writer = new TileWriter(getTileWriterThreads());
+		}
+		List<IPath> tilePaths = new ArrayList<IPath>();
+		try {
 		for (int i = 0; i < rows; i++) {
 			int sourceY =  i * logTileHeight + diagramArea.y;
 			int sourceHeight = i != rows - 1 ? logTileHeight : Math.max(diagramArea.height
@@ -267,7 +289,25 @@ public class CopyToHTMLImageUtil extends CopyToImageUtil {
 								+ tilePath);
 				sourceRect = new org.eclipse.swt.graphics.Rectangle(sourceX,
 						sourceY, sourceWidth, sourceHeight);
-				copyToImage(gen, editParts, sourceRect, tilePath, imageFormat, monitor);
+				if (writer == null) {
+					copyToImage(gen, editParts, sourceRect, tilePath, imageFormat, monitor);
+				} else if (createFile(tilePath).isOK()) {
+					writer.submit(tilePath, renderTile(gen, editParts, sourceRect, imageFormat));
+					tilePaths.add(tilePath);
+					monitor.worked(1);
+				}
+			}
+		}
+		if (writer != null) {
+			writer.finish();
+			for (IPath tilePath : tilePaths) {
+				refreshLocal(tilePath);
+				monitor.worked(5);
+			}
+		}
+		} finally {
+			if (writer != null) {
+				writer.dispose();
 			}
 		}
 		return new ExportInfo(gen, new Point(columns, rows), fileName, destinationFolder, imageFormat, new PrecisionDimension(logTileWidth, logTileHeight));
@@ -375,6 +415,33 @@ public class CopyToHTMLImageUtil extends CopyToImageUtil {
 		this.tileImageFileNameIndexDelimiter = tileImageFileNameIndexDelimiter;
 	}
 
+	/**
+	 * Gets the number of raster image tiles that are encoded and written to
+	 * their files at the same time, while the next tiles are rendered.
+	 * 
+	 * @return the number of tile writer threads
+	 * @since 1.9
+	 */
+	public int getTileWriterThreads() {
+		return tileWriterThreads;
+	}
+
+	/**
+	 * Sets the number of raster image tiles that are encoded and written to
+	 * their files at the same time. Each of them holds the image of a tile in
+	 * memory until it is written. The default is the number of processors, up
+	 * to 4.
+	 * 
+	 * @param tileWriterThreads
+	 *            the number of tile writer threads, at least 1
+	 * @since 1.9
+	 */
+	public void setTileWriterThreads(int tileWriterThreads) {
+		if (tileWriterThreads < 1)
+			throw new IllegalArgumentException();
+		this.tileWriterThreads = tileWriterThreads;
+	}
+
 	/**
 	 * Gets the map of image file formats to their corresponding safe tile sizes
 	 * 
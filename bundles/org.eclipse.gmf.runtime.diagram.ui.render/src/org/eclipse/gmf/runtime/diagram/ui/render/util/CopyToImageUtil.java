@@ -15,6 +15,7 @@ package org.eclipse.gmf.runtime.diagram.ui.render.util;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
@@ -35,6 +36,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.gmf.runtime.common.core.command.FileModificationValidator;
 import org.eclipse.gmf.runtime.common.core.util.Log;
@@ -199,8 +201,19 @@ public class CopyToImageUtil {
         if (editParts == null || editParts.isEmpty()) {
         	editParts = diagramEP.getPrimaryEditParts() ;
         }
-		if (format.equals(ImageFileFormat.SVG)
-				|| format.equals(ImageFileFormat.PDF)) {
+		if (format.equals(ImageFileFormat.SVG)) {
+			try {
+				((DiagramSVGGenerator) gen).streamConstrained(editParts, maxWidth, maxHeight, useMargins, stream);
+			} catch (IOException ex) {
+				Log.error(DiagramUIRenderPlugin.getInstance(), IStatus.ERROR, ex
+						.getMessage(), ex);
+				IStatus status = new Status(IStatus.ERROR,
+						"exportToFile", IStatus.OK, //$NON-NLS-1$
+						ex.getMessage(), null);
+				throw new CoreException(status);
+			}
+			monitor.worked(1);
+		} else if (format.equals(ImageFileFormat.PDF)) {
 			gen.createConstrainedSWTImageDecriptorForParts(editParts, maxWidth, maxHeight, useMargins);
 			monitor.worked(1);
 			saveToOutputStream(stream, (DiagramSVGGenerator)gen, format, monitor);
@@ -257,8 +270,11 @@ public class CopyToImageUtil {
 			ImageFileFormat format, int maxWidth, int maxHeight, IProgressMonitor monitor, boolean useMargins)
 			throws CoreException {
 		boolean found = false;
-		if (format.equals(ImageFileFormat.SVG)
-				|| format.equals(ImageFileFormat.PDF)) {
+		if (format.equals(ImageFileFormat.SVG)) {
+			streamSVGToFile(destination, (DiagramSVGGenerator) gen, editParts,
+					null, maxWidth, maxHeight, useMargins, monitor);
+			found = true;
+		} else if (format.equals(ImageFileFormat.PDF)) {
 			gen.createConstrainedSWTImageDecriptorForParts(editParts, maxWidth, maxHeight, useMargins);
 			monitor.worked(1);
 			saveToFile(destination, (DiagramSVGGenerator) gen, format, monitor);
@@ -372,8 +388,11 @@ public class CopyToImageUtil {
 			ImageFileFormat format, IProgressMonitor monitor)
 			throws CoreException {
 		boolean found = false;
-		if (format.equals(ImageFileFormat.SVG)
-				|| format.equals(ImageFileFormat.PDF)) {
+		if (format.equals(ImageFileFormat.SVG)) {
+			streamSVGToFile(destination, (DiagramSVGGenerator) gen, editParts,
+					imageRect, 0, 0, false, monitor);
+			found = true;
+		} else if (format.equals(ImageFileFormat.PDF)) {
 			gen.createSWTImageDescriptorForParts(editParts, imageRect);
 			monitor.worked(1);
 			saveToFile(destination, (DiagramSVGGenerator) gen, format, monitor);
@@ -399,6 +418,52 @@ public class CopyToImageUtil {
 		}
 	}
 
+	/**
+	 * Renders the image of editparts for a raster image file format. The
+	 * rendering is done on the calling thread, but the returned image may be
+	 * encoded on any thread.
+	 * 
+	 * @param gen
+	 *            diagram generator
+	 * @param editParts
+	 *            editparts
+	 * @param sourceRect
+	 *            the area of the image in logical units
+	 * @param imageFormat
+	 *            raster image file format
+	 * @return the rendered image, to be encoded
+	 */
+	TileWriter.Tile renderTile(DiagramGenerator gen, List editParts,
+			org.eclipse.swt.graphics.Rectangle sourceRect,
+			final ImageFileFormat imageFormat) {
+		if (ImageFileFormat.PNG.equals(imageFormat)) {
+			final java.awt.Image image = gen.createAWTImageForParts(editParts,
+					sourceRect);
+			if (image instanceof BufferedImage) {
+				return new TileWriter.Tile() {
+
+					public void write(OutputStream stream) throws CoreException {
+						ImageExporter.exportToOutputStream(stream,
+								(BufferedImage) image, ImageExporter.PNG_FILE,
+								new NullProgressMonitor(), imageFormat
+										.getQuality());
+					}
+				};
+			}
+		}
+
+		final ImageData imageData = gen.createSWTImageDescriptorForParts(
+				editParts, sourceRect).getImageData();
+		return new TileWriter.Tile() {
+
+			public void write(OutputStream stream) {
+				saveToOutputStream(stream, imageData,
+						imageFormat == ImageFileFormat.JPEG ? ImageFileFormat.JPG
+								: imageFormat, new NullProgressMonitor());
+			}
+		};
+	}
+
     /**
 	 * Saves the image to a file.
 	 * 
@@ -440,6 +505,23 @@ public class CopyToImageUtil {
     }
     
     private void saveToOutputStream(OutputStream stream, Image image, ImageFileFormat imageFormat, IProgressMonitor monitor) {
+        saveToOutputStream(stream, image.getImageData(), imageFormat, monitor);
+    }
+
+    /**
+     * Encodes image data to a stream. Unlike the encoding of an SWT image,
+     * this needs no display, so it may run on any thread.
+     * 
+     * @param stream
+     *            the stream to write the encoded image to
+     * @param imageData
+     *            the image data
+     * @param imageFormat
+     *            the raster image format
+     * @param monitor
+     *            progress monitor
+     */
+    void saveToOutputStream(OutputStream stream, ImageData imageData, ImageFileFormat imageFormat, IProgressMonitor monitor) {
         monitor.worked(1);
 
         if (imageFormat.equals(ImageFileFormat.JPEG) || imageFormat.equals(ImageFileFormat.JPG)) {
@@ -447,7 +529,7 @@ public class CopyToImageUtil {
             // platforms. Use Java's built-in ImageIO encoder instead, compositing
             // transparent pixels against white since JPEG has no alpha channel.
             try {
-                BufferedImage argbImage = ImageConverter.convertFromImageData(image.getImageData());
+                BufferedImage argbImage = ImageConverter.convertFromImageData(imageData);
                 BufferedImage rgbImage = new BufferedImage(argbImage.getWidth(), argbImage.getHeight(), BufferedImage.TYPE_INT_RGB);
                 Graphics2D g2d = rgbImage.createGraphics();
                 g2d.setColor(Color.WHITE);
@@ -459,16 +541,15 @@ public class CopyToImageUtil {
                 throw new RuntimeException(ex);
             }
         } else {
-            ImageData imageData = image.getImageData();
             if (imageFormat.equals(ImageFileFormat.GIF) || imageFormat.equals(ImageFileFormat.BMP)) {
-                imageData = createImageData(image);
+                imageData = createImageData(imageData);
             }
 
             monitor.worked(1);
             ImageLoader imageLoader = new ImageLoader();
             imageLoader.data = new ImageData[] {imageData};
-            imageLoader.logicalScreenHeight = image.getBounds().width;
-            imageLoader.logicalScreenHeight = image.getBounds().height;
+            imageLoader.logicalScreenHeight = imageData.width;
+            imageLoader.logicalScreenHeight = imageData.height;
             imageLoader.save(stream, imageFormat.getOrdinal());
         }
 
@@ -537,6 +618,71 @@ public class CopyToImageUtil {
 		}
 	}
         
+    /**
+	 * Writes the SVG file of the editparts while they are painted, without
+	 * building the SVG DOM of the whole diagram first.
+	 * 
+	 * @param destination
+	 *            the destination file, including path and file name
+	 * @param generator
+	 *            the svg generator for a diagram
+	 * @param editParts
+	 *            editparts to be present on the image
+	 * @param imageRect
+	 *            clipping rectangle for the image, or <code>null</code> to
+	 *            scale the editparts to fit in the maximum width and height
+	 * @param maxWidth
+	 *            the max width of the image, if there is no clipping
+	 *            rectangle
+	 * @param maxHeight
+	 *            the max height of the image, if there is no clipping
+	 *            rectangle
+	 * @param useMargins
+	 *            true if a 10 pixel margin is required around the diagram,
+	 *            if there is no clipping rectangle
+	 * @param monitor
+	 *            the progress monitor
+	 * @exception CoreException
+	 *                if this method fails
+	 */
+    private void streamSVGToFile(IPath destination,
+			DiagramSVGGenerator generator, List editParts,
+			org.eclipse.swt.graphics.Rectangle imageRect, int maxWidth,
+			int maxHeight, boolean useMargins, IProgressMonitor monitor)
+			throws CoreException {
+
+		IStatus fileModificationStatus = createFile(destination);
+		if (!fileModificationStatus.isOK()) {
+			// can't write to the file
+			return;
+		}
+		monitor.worked(1);
+
+		try {
+			OutputStream os = new BufferedOutputStream(new FileOutputStream(
+					destination.toOSString()));
+			try {
+				if (imageRect != null) {
+					generator.stream(editParts, imageRect, os);
+				} else {
+					generator.streamConstrained(editParts, maxWidth,
+							maxHeight, useMargins, os);
+				}
+			} finally {
+				os.close();
+			}
+			monitor.worked(1);
+			refreshLocal(destination);
+		} catch (IOException ex) {
+			Log.error(DiagramUIRenderPlugin.getInstance(), IStatus.ERROR, ex
+					.getMessage(), ex);
+			IStatus status = new Status(IStatus.ERROR,
+					"exportToFile", IStatus.OK, //$NON-NLS-1$
+					ex.getMessage(), null);
+			throw new CoreException(status);
+		}
+	}
+
     private void saveToOutputStream(OutputStream stream, DiagramSVGGenerator generator, ImageFileFormat format, IProgressMonitor monitor) throws CoreException {
 		if (format == ImageFileFormat.PDF) {
 			SVGImageConverter.exportToPDF((SVGImage) generator.getRenderedImage(), stream);
@@ -560,7 +706,7 @@ public class CopyToImageUtil {
      * @exception CoreException
      *                if this method fails
      */
-    private IStatus createFile(IPath destination)
+    IStatus createFile(IPath destination)
         throws CoreException {
         IFile file = ResourcesPlugin.getWorkspace().getRoot()
             .getFileForLocation(destination);
@@ -591,7 +737,7 @@ public class CopyToImageUtil {
      * @exception CoreException
      *                if this method fails
      */
-    private void refreshLocal(IPath destination)
+    void refreshLocal(IPath destination)
         throws CoreException {
         IFile file = ResourcesPlugin.getWorkspace().getRoot()
             .getFileForLocation(destination);
@@ -604,13 +750,11 @@ public class CopyToImageUtil {
      * Retrieve the image data for the image, using a palette of at most 256
      * colours.
      * 
-     * @param image
-     *            the SWT image.
+     * @param imageData
+     *            the image data of the SWT image.
      * @return new image data.
      */
-    private ImageData createImageData(Image image) {
-
-        ImageData imageData = image.getImageData();
+    private ImageData createImageData(ImageData imageData) {
 
         /**
          * If the image depth is 8 bits or less, then we can use the existing
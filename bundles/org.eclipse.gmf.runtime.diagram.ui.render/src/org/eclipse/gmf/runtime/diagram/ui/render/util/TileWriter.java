@@ -0,0 +1,197 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ ****************************************************************************/
+
+package org.eclipse.gmf.runtime.diagram.ui.render.util;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.gmf.runtime.common.core.util.Log;
+import org.eclipse.gmf.runtime.diagram.ui.render.internal.DiagramUIRenderPlugin;
+
+/**
+ * Encodes and writes the tiles of a tiled image export on a pool of worker
+ * threads, while the next tiles are rendered on the calling thread.
+ * <P>
+ * At most one tile per worker is waiting to be written or being written:
+ * {@link #submit(IPath, Tile)} blocks until a worker is free. Together with
+ * the tile being rendered, the memory needed is therefore proportional to
+ * the size of a tile and to the number of workers, not to the size of the
+ * diagram.
+ */
+final class TileWriter {
+
+	/**
+	 * A rendered tile, ready to be encoded.
+	 */
+	static interface Tile {
+
+		/**
+		 * Encodes the tile to a stream. Called on a worker thread.
+		 *
+		 * @param stream
+		 *            the stream of the tile file
+		 * @throws Exception
+		 *             if the tile could not be encoded
+		 */
+		void write(OutputStream stream)
+			throws Exception;
+	}
+
+	private final ExecutorService executor;
+
+	private final Semaphore permits;
+
+	private final int threads;
+
+	private final Object lock = new Object();
+
+	private Throwable error;
+
+	/**
+	 * Creates a tile writer.
+	 *
+	 * @param threads
+	 *            the number of tiles written at the same time
+	 */
+	TileWriter(int threads) {
+		this.threads = Math.max(1, threads);
+		permits = new Semaphore(this.threads);
+
+		ThreadPoolExecutor pool = new ThreadPoolExecutor(this.threads,
+			this.threads, 5, TimeUnit.SECONDS, new LinkedBlockingQueue(),
+			new ThreadFactory() {
+
+				private final AtomicInteger count = new AtomicInteger();
+
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable,
+						"GMF Image Tile Writer " + count.incrementAndGet()); //$NON-NLS-1$
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		pool.allowCoreThreadTimeOut(true);
+		executor = pool;
+	}
+
+	/**
+	 * Queues a tile to be written to a file, waiting for a free worker.
+	 *
+	 * @param destination
+	 *            the file of the tile
+	 * @param tile
+	 *            the rendered tile
+	 * @throws CoreException
+	 *             if a previous tile could not be written
+	 */
+	void submit(final IPath destination, final Tile tile)
+		throws CoreException {
+		checkError();
+		try {
+			permits.acquire();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw createException(e);
+		}
+
+		executor.execute(new Runnable() {
+
+			public void run() {
+				try {
+					synchronized (lock) {
+						if (error != null) {
+							return;
+						}
+					}
+					OutputStream stream = new BufferedOutputStream(
+						new FileOutputStream(destination.toOSString()));
+					try {
+						tile.write(stream);
+					} finally {
+						stream.close();
+					}
+				} catch (Throwable e) {
+					synchronized (lock) {
+						if (error == null) {
+							error = e;
+						}
+					}
+				} finally {
+					permits.release();
+				}
+			}
+		});
+	}
+
+	/**
+	 * Waits until all of the queued tiles are written and stops the workers.
+	 *
+	 * @throws CoreException
+	 *             if a tile could not be written
+	 */
+	void finish()
+		throws CoreException {
+		try {
+			permits.acquire(threads);
+			permits.release(threads);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw createException(e);
+		} finally {
+			executor.shutdown();
+		}
+		checkError();
+	}
+
+	/**
+	 * Stops the workers without waiting for the queued tiles.
+	 */
+	void dispose() {
+		executor.shutdownNow();
+	}
+
+	private void checkError()
+		throws CoreException {
+		Throwable e;
+		synchronized (lock) {
+			e = error;
+		}
+		if (e instanceof CoreException) {
+			throw (CoreException) e;
+		} else if (e != null) {
+			Log.error(DiagramUIRenderPlugin.getInstance(), IStatus.ERROR, e
+				.getMessage(), e);
+			throw createException(e);
+		}
+	}
+
+	private static CoreException createException(Throwable e) {
+		return new CoreException(new Status(IStatus.ERROR,
+			"exportToFile", IStatus.OK, //$NON-NLS-1$
+			e.getMessage(), e));
+	}
+
+}
@@ -35,6 +35,7 @@ import org.eclipse.gmf.runtime.diagram.ui.editpolicies.GraphicalNodeEditPolicy;
 import org.eclipse.gmf.runtime.diagram.ui.internal.DiagramUIDebugOptions;
 import org.eclipse.gmf.runtime.diagram.ui.internal.DiagramUIPlugin;
 import org.eclipse.gmf.runtime.diagram.ui.internal.DiagramUIStatusCodes;
+import org.eclipse.gmf.runtime.diagram.ui.internal.editparts.ViewportVirtualizer;
 import org.eclipse.gmf.runtime.diagram.ui.internal.editpolicies.NoteAttachmentReorientEditPolicy;
 import org.eclipse.gmf.runtime.draw2d.ui.figures.IAnchorableFigure;
 import org.eclipse.gmf.runtime.notation.Anchor;
@@ -79,14 +80,16 @@ abstract public class ConnectionNodeEditPart
 	 * @see org.eclipse.gef.editparts.AbstractGraphicalEditPart#getModelSourceConnections()
 	 */
 	protected List getModelSourceConnections(){
-		return ViewUtil.getSourceConnections(getEdge());
+		return ViewportVirtualizer.getMaterializedConnections(getViewer(),
+			ViewUtil.getSourceConnections(getEdge()), true);
 	}
 
 	/* (non-Javadoc)
 	 * @see org.eclipse.gef.editparts.AbstractGraphicalEditPart#getModelTargetConnections()
 	 */
 	protected List getModelTargetConnections(){
-		return ViewUtil.getTargetConnections(getEdge());
+		return ViewportVirtualizer.getMaterializedConnections(getViewer(),
+			ViewUtil.getTargetConnections(getEdge()), false);
 	}
 
 	protected ConnectionAnchor getSourceConnectionAnchor() {
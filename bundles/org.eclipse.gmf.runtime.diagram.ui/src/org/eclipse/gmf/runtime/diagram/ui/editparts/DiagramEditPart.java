@@ -64,6 +64,28 @@ import org.eclipse.swt.widgets.Scrollable;
 public class DiagramEditPart
 	extends GraphicalEditPart
 	implements LayerConstants, ISurfaceEditPart {
+	
+	/**
+	 * Viewer property that, if <code>Boolean.TRUE</code>, makes the diagram
+	 * and its shape compartments only create the editparts and figures of the
+	 * views whose bounds meet the viewport, plus a margin. The other editparts
+	 * are created as the viewport is scrolled or zoomed. The property must be
+	 * set before the contents of the viewer.
+	 *
+	 * @since 1.12
+	 */
+	public static final String VIRTUALIZED_VIEWER_PROPERTY = "DiagramEditPart.virtualized"; //$NON-NLS-1$
+	
+	/**
+	 * Viewer property giving the <code>Integer</code> margin around the
+	 * viewport, in pixels, within which the views are materialized in
+	 * virtualized viewers.
+	 * 
+	 * @see #VIRTUALIZED_VIEWER_PROPERTY
+	 * @since 1.12
+	 */
+	public static final String VIRTUALIZATION_MARGIN_VIEWER_PROPERTY = "DiagramEditPart.virtualizationMargin"; //$NON-NLS-1$
+	
 	private boolean shouldUpdatePageBreakLocation = false;
 	private boolean isSupportingViewActions = true;
     private boolean isActivatingDiagram = false;
@@ -250,6 +272,14 @@ public class DiagramEditPart
 		return Collections.EMPTY_LIST;
 	}
 
+	/**
+	 * The diagram can be virtualized.
+	 * @see org.eclipse.gmf.runtime.diagram.ui.editparts.GraphicalEditPart#isVirtualizable()
+	 */
+	protected boolean isVirtualizable() {
+		return true;
+	}
+
 	/**
 	 * Adds a figure listener to each figure that is added to the diagram so,
 	 * the the page breaks can be notified of changes.
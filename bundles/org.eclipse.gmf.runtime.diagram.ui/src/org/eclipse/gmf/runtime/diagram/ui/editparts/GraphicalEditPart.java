@@ -70,6 +70,7 @@ import org.eclipse.gmf.runtime.diagram.ui.internal.DiagramUIPlugin;
 import org.eclipse.gmf.runtime.diagram.ui.internal.DiagramUIStatusCodes;
 import org.eclipse.gmf.runtime.diagram.ui.internal.commands.ToggleCanonicalModeCommand;
 import org.eclipse.gmf.runtime.diagram.ui.internal.editparts.DummyEditPart;
+import org.eclipse.gmf.runtime.diagram.ui.internal.editparts.ViewportVirtualizer;
 import org.eclipse.gmf.runtime.diagram.ui.internal.ruler.SnapToHelperUtil;
 import org.eclipse.gmf.runtime.diagram.ui.internal.services.editpolicy.EditPolicyService;
 import org.eclipse.gmf.runtime.diagram.ui.l10n.DiagramColorRegistry;
@@ -140,6 +141,12 @@ public abstract class GraphicalEditPart
      */
     private FontData cachedFontData;
     
+    /**
+     * Materializes the children near the viewport in virtualized viewers, or
+     * <code>null</code> if all of the children are materialized.
+     */
+    private ViewportVirtualizer virtualizer;
+    
     /**
      * Flag to indicate if the edit part is in edit mode
      * @since 1.2
@@ -325,6 +332,11 @@ public abstract class GraphicalEditPart
         
         super.removeNotify();
         
+        if (virtualizer != null) {
+            virtualizer.dispose();
+            virtualizer = null;
+        }
+        
         if (cachedFontData != null) {
             getResourceManager().destroyFont(
                 FontDescriptor.createFrom(cachedFontData));
@@ -352,6 +364,10 @@ public abstract class GraphicalEditPart
     /** Adds the ability to adapt to the edit part's view class. */
     public Object getAdapter(Class key) {       
 
+        if (key == ViewportVirtualizer.class) {
+            return virtualizer;
+        }
+
         // Adapt to IActionFilter
         if (key == IActionFilter.class) {
             return ActionFilterService.getInstance();
@@ -698,11 +714,40 @@ public abstract class GraphicalEditPart
     protected List getModelChildren() {
         Object model = getModel();
         if(model!=null && model instanceof View){
-            return new ArrayList(((View)model).getVisibleChildren());
+            List children = new ArrayList(((View)model).getVisibleChildren());
+            ViewportVirtualizer childrenVirtualizer = getVirtualizer();
+            return childrenVirtualizer == null
+                ? children
+                : childrenVirtualizer.getMaterializedChildren(children);
         }
         return Collections.EMPTY_LIST;
     }
     
+    /**
+     * Return <tt>true</tt> if only the children of this editpart whose bounds
+     * meet the viewport should be materialized in viewers whose
+     * {@link DiagramEditPart#VIRTUALIZED_VIEWER_PROPERTY} property is set.
+     * 
+     * @return <tt>false</tt> by default
+     * @since 1.12
+     */
+    protected boolean isVirtualizable() {
+        return false;
+    }
+    
+    private ViewportVirtualizer getVirtualizer() {
+        if (virtualizer == null && isVirtualizable()
+            && ViewportVirtualizer.isVirtualized(getViewer())) {
+            virtualizer = new ViewportVirtualizer(this, new Runnable() {
+
+                public void run() {
+                    refreshChildren();
+                }
+            });
+        }
+        return virtualizer;
+    }
+    
     /**
      * Convenience method to retreive the value for the supplied value from the
      * editpart's associated view element. Same as calling
@@ -876,7 +921,7 @@ public abstract class GraphicalEditPart
 
     /** Refresh the editpart's figure background colour. */
     protected void refreshBackgroundColor() {
-        FillStyle style = (FillStyle)getPrimaryView().getStyle(NotationPackage.Literals.FILL_STYLE);
+        FillStyle style = (FillStyle)ViewUtil.getStyle(getPrimaryView(), NotationPackage.Literals.FILL_STYLE);
         if ( style != null ) {
             setBackgroundColor(DiagramColorRegistry.getInstance().getColor(Integer.valueOf(style.getFillColor())));
         }
@@ -884,7 +929,7 @@ public abstract class GraphicalEditPart
 
     /** Refresh the editpart's figure font. */
     protected void refreshFont() {
-        FontStyle style = (FontStyle) getPrimaryView().getStyle(NotationPackage.Literals.FONT_STYLE);
+        FontStyle style = (FontStyle) ViewUtil.getStyle(getPrimaryView(), NotationPackage.Literals.FONT_STYLE);
         if (style != null) {
             setFont(new FontData(
                 style.getFontName(), 
@@ -896,7 +941,7 @@ public abstract class GraphicalEditPart
 
     /** Refresh the editpart's figure font colour. */
     protected void refreshFontColor() {
-        FontStyle style = (FontStyle)  getPrimaryView().getStyle(NotationPackage.Literals.FONT_STYLE);
+        FontStyle style = (FontStyle)  ViewUtil.getStyle(getPrimaryView(), NotationPackage.Literals.FONT_STYLE);
         if ( style != null ) {
             setFontColor(DiagramColorRegistry.getInstance().getColor(Integer.valueOf(style.getFontColor())));
         }
@@ -904,7 +949,7 @@ public abstract class GraphicalEditPart
 
     /** Refresh the editpart's figure foreground colour. */
     protected void refreshForegroundColor() {
-        LineStyle style = (LineStyle)  getPrimaryView().getStyle(NotationPackage.Literals.LINE_STYLE);
+        LineStyle style = (LineStyle)  ViewUtil.getStyle(getPrimaryView(), NotationPackage.Literals.LINE_STYLE);
         if ( style != null ) {
             setForegroundColor(DiagramColorRegistry.getInstance().getColor(Integer.valueOf(style.getLineColor())));
         }
@@ -1434,9 +1479,35 @@ public abstract class GraphicalEditPart
 
     public void notifyChanged(Notification notification) {
         if (isActive()){
-            handleNotificationEvent(notification);
+            if (shouldCoalesceNotification(notification)) {
+                NotificationCoalescer.getInstance().queue(this, notification);
+            } else {
+                handleNotificationEvent(notification);
+            }
         }
     }
+
+    /**
+     * Queries whether the handling of the notification can be deferred to the
+     * next run of the UI event loop and coalesced with the notifications that
+     * follow it for the same notifier and feature, so that only the latest of
+     * them is passed to {@link #handleNotificationEvent(Notification)}.
+     * <P>
+     * This is only suitable for notifications whose handling depends on the
+     * current state of the model rather than on the notification, such as
+     * the ones that refresh the figure's visual properties. The default
+     * implementation coalesces nothing. Subclasses may override.
+     * 
+     * @param notification
+     *            the notification
+     * @return <code>true</code> to coalesce the notification,
+     *         <code>false</code> to handle it right away
+     * @see NotificationCoalescer
+     * @since 1.12
+     */
+    protected boolean shouldCoalesceNotification(Notification notification) {
+        return false;
+    }
     
     public Command transactionAboutToCommit(Notification notification) {
         return null;
@@ -1629,7 +1700,7 @@ public abstract class GraphicalEditPart
 		/* a default of -1 means the diagram does not implement line width */
 		int lineWidth = -1;
 
-		LineStyle style = (LineStyle) getPrimaryView().getStyle(
+		LineStyle style = (LineStyle) ViewUtil.getStyle(getPrimaryView(),
 				NotationPackage.eINSTANCE.getLineStyle());
 		if (style != null) {
 			lineWidth = style.getLineWidth();
@@ -1665,7 +1736,7 @@ public abstract class GraphicalEditPart
 		// default to a solid line.
 		int lineType = Graphics.LINE_SOLID;
 
-		LineTypeStyle style = (LineTypeStyle) getPrimaryView().getStyle(
+		LineTypeStyle style = (LineTypeStyle) ViewUtil.getStyle(getPrimaryView(),
 				NotationPackage.eINSTANCE.getLineTypeStyle());
 		if (style != null) {
 			if (style.getLineType() == LineType.SOLID_LITERAL) {
@@ -0,0 +1,315 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ ****************************************************************************/
+
+package org.eclipse.gmf.runtime.diagram.ui.editparts;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.transaction.TransactionalEditingDomain;
+import org.eclipse.gmf.runtime.common.core.util.Log;
+import org.eclipse.gmf.runtime.common.core.util.Trace;
+import org.eclipse.gmf.runtime.common.ui.util.DisplayUtils;
+import org.eclipse.gmf.runtime.diagram.ui.internal.DiagramUIDebugOptions;
+import org.eclipse.gmf.runtime.diagram.ui.internal.DiagramUIPlugin;
+import org.eclipse.gmf.runtime.diagram.ui.internal.DiagramUIStatusCodes;
+import org.eclipse.swt.widgets.Display;
+
+/**
+ * Defers the handling of the notifications that edit parts choose to coalesce
+ * (see {@link GraphicalEditPart#shouldCoalesceNotification(Notification)}) to
+ * the next run of the UI event loop.
+ * <P>
+ * Of the notifications queued for the same edit part, notifier and feature
+ * before they are handled, only the latest one is passed to
+ * {@link GraphicalEditPart#handleNotificationEvent(Notification)}, so that a
+ * property that changes many times in a transaction only refreshes the figure
+ * once. The notifications are handled in the order in which their edit part,
+ * notifier and feature were first queued, in a read-only transaction, and
+ * only for edit parts that are still active.
+ * <P>
+ * The coalescer counts the notifications that it queues, coalesces and
+ * delivers.
+ * <P>
+ * This class is not intended to be instantiated or subclassed by clients.
+ *
+ * @since 1.12
+ */
+public final class NotificationCoalescer {
+
+	private static final NotificationCoalescer INSTANCE = new NotificationCoalescer();
+
+	/**
+	 * Key of a pending notification, made of an edit part, a notifier and a
+	 * feature.
+	 */
+	private static final class Key {
+
+		final GraphicalEditPart editPart;
+
+		final Object notifier;
+
+		final Object feature;
+
+		Key(GraphicalEditPart editPart, Notification notification) {
+			this.editPart = editPart;
+			this.notifier = notification.getNotifier();
+			this.feature = notification.getFeature();
+		}
+
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return editPart == other.editPart && notifier == other.notifier
+				&& feature == other.feature;
+		}
+
+		public int hashCode() {
+			return (System.identityHashCode(editPart) * 31 + System
+				.identityHashCode(notifier)) * 31
+				+ System.identityHashCode(feature);
+		}
+	}
+
+	private final Object lock = new Object();
+
+	/**
+	 * Map of {@link Key} to the latest <code>Notification</code> queued for
+	 * it.
+	 */
+	private Map pending = new LinkedHashMap();
+
+	private boolean flushPending;
+
+	private long queued;
+
+	private long coalesced;
+
+	private long delivered;
+
+	private long flushes;
+
+	private final Runnable flushRunnable = new Runnable() {
+
+		public void run() {
+			flush();
+		}
+	};
+
+	private NotificationCoalescer() {
+		super();
+	}
+
+	/**
+	 * Gets the coalescer shared by all edit parts.
+	 *
+	 * @return the notification coalescer
+	 */
+	public static NotificationCoalescer getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Queues the <code>notification</code> to be handled by the
+	 * <code>editPart</code> on the next run of the UI event loop, replacing
+	 * the notification already queued for the same edit part, notifier and
+	 * feature, if any. May be called on any thread.
+	 *
+	 * @param editPart
+	 *            the edit part that handles the notification
+	 * @param notification
+	 *            the notification
+	 */
+	void queue(GraphicalEditPart editPart, Notification notification) {
+		boolean schedule;
+
+		synchronized (lock) {
+			queued++;
+			if (pending.put(new Key(editPart, notification), notification) != null) {
+				coalesced++;
+			}
+			schedule = !flushPending;
+			flushPending = true;
+		}
+
+		if (schedule) {
+			Display display = DisplayUtils.getDisplay();
+			if (display != null && !display.isDisposed()) {
+				display.asyncExec(flushRunnable);
+			} else {
+				synchronized (lock) {
+					flushPending = false;
+					pending.clear();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Handles all of the queued notifications now, rather than on the next
+	 * run of the UI event loop. Must be called on the UI thread.
+	 */
+	public void flush() {
+		Map toFlush;
+
+		synchronized (lock) {
+			toFlush = pending;
+			pending = new LinkedHashMap();
+			flushPending = false;
+			if (toFlush.isEmpty()) {
+				return;
+			}
+			flushes++;
+		}
+
+		// handle the notifications of each editing domain in one transaction
+		Map byDomain = new LinkedHashMap();
+		for (Iterator i = toFlush.entrySet().iterator(); i.hasNext();) {
+			Map.Entry entry = (Map.Entry) i.next();
+			GraphicalEditPart editPart = ((Key) entry.getKey()).editPart;
+			if (!editPart.isActive()) {
+				continue;
+			}
+			TransactionalEditingDomain domain = editPart.getEditingDomain();
+			List entries = (List) byDomain.get(domain);
+			if (entries == null) {
+				entries = new ArrayList();
+				byDomain.put(domain, entries);
+			}
+			entries.add(entry);
+		}
+
+		for (Iterator i = byDomain.entrySet().iterator(); i.hasNext();) {
+			Map.Entry next = (Map.Entry) i.next();
+			TransactionalEditingDomain domain = (TransactionalEditingDomain) next
+				.getKey();
+			final List entries = (List) next.getValue();
+			Runnable runnable = new Runnable() {
+
+				public void run() {
+					deliver(entries);
+				}
+			};
+
+			if (domain == null) {
+				runnable.run();
+			} else {
+				try {
+					domain.runExclusive(runnable);
+				} catch (InterruptedException e) {
+					Trace.catching(DiagramUIPlugin.getInstance(),
+						DiagramUIDebugOptions.EXCEPTIONS_CATCHING, getClass(),
+						"flush", e); //$NON-NLS-1$
+					Log.error(DiagramUIPlugin.getInstance(),
+						DiagramUIStatusCodes.GENERAL_UI_FAILURE,
+						"flush", e); //$NON-NLS-1$
+				}
+			}
+		}
+	}
+
+	/**
+	 * Passes the queued notifications to their edit parts.
+	 *
+	 * @param entries
+	 *            the list of pending map entries
+	 */
+	private void deliver(List entries) {
+		for (Iterator i = entries.iterator(); i.hasNext();) {
+			Map.Entry entry = (Map.Entry) i.next();
+			GraphicalEditPart editPart = ((Key) entry.getKey()).editPart;
+
+			// an earlier notification may have deactivated the edit part
+			if (editPart.isActive()) {
+				synchronized (lock) {
+					delivered++;
+				}
+				try {
+					editPart.handleNotificationEvent((Notification) entry
+						.getValue());
+				} catch (RuntimeException e) {
+					Trace.catching(DiagramUIPlugin.getInstance(),
+						DiagramUIDebugOptions.EXCEPTIONS_CATCHING, getClass(),
+						"deliver", e); //$NON-NLS-1$
+					Log.error(DiagramUIPlugin.getInstance(),
+						DiagramUIStatusCodes.GENERAL_UI_FAILURE,
+						"deliver", e); //$NON-NLS-1$
+				}
+			}
+		}
+	}
+
+	/**
+	 * Retrieves the number of notifications that edit parts have queued.
+	 *
+	 * @return the number of queued notifications
+	 */
+	public long getQueuedCount() {
+		synchronized (lock) {
+			return queued;
+		}
+	}
+
+	/**
+	 * Retrieves the number of queued notifications that replaced one queued
+	 * earlier for the same edit part, notifier and feature, that is, the
+	 * number of refreshes saved.
+	 *
+	 * @return the number of coalesced notifications
+	 */
+	public long getCoalescedCount() {
+		synchronized (lock) {
+			return coalesced;
+		}
+	}
+
+	/**
+	 * Retrieves the number of notifications passed to edit parts.
+	 *
+	 * @return the number of delivered notifications
+	 */
+	public long getDeliveredCount() {
+		synchronized (lock) {
+			return delivered;
+		}
+	}
+
+	/**
+	 * Retrieves the number of times that queued notifications were handled.
+	 *
+	 * @return the number of flushes
+	 */
+	public long getFlushCount() {
+		synchronized (lock) {
+			return flushes;
+		}
+	}
+
+	/**
+	 * Resets all of the counters to zero.
+	 */
+	public void resetCounters() {
+		synchronized (lock) {
+			queued = 0;
+			coalesced = 0;
+			delivered = 0;
+			flushes = 0;
+		}
+	}
+
+}
@@ -15,12 +15,15 @@ package org.eclipse.gmf.runtime.diagram.ui.editparts;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
 
 import org.eclipse.draw2d.Bendpoint;
 import org.eclipse.draw2d.Connection;
@@ -81,6 +84,15 @@ public abstract class ShapeCompartmentEditPart
 
 	private boolean _refreshQueued = false;
 
+	/** whether the queued refresh must consider all of the connections. */
+	private boolean _fullRefreshQueued = false;
+
+	/** whether the queued refresh follows a scroll. */
+	private boolean _scrollRefreshQueued = false;
+
+	/** the children whose figures moved since the queued refresh. */
+	private Set _movedChildren = new LinkedHashSet();
+
 	private boolean isSupportingViewActions = false;
     
     // Listen to editparts being added to or removed from this compartment
@@ -91,7 +103,13 @@ public abstract class ShapeCompartmentEditPart
         private FigureListener childFigureListener = new FigureListener() {
 
             public void figureMoved(IFigure source) {
-                refreshConnections();
+                Object child = getViewer() == null ? null
+                    : getViewer().getVisualPartMap().get(source);
+                if (child instanceof EditPart) {
+                    refreshConnections((EditPart) child);
+                } else {
+                    refreshConnections();
+                }
             }
         };
 
@@ -125,108 +143,232 @@ public abstract class ShapeCompartmentEditPart
 		 *            edit part to consider
 		 */
 		protected void refreshConnections(ShapeCompartmentEditPart scep) {
-			Iterator connectionNodes = getConnectionNodes(scep).iterator();
-			while (connectionNodes.hasNext()) {
-				ConnectionNodeEditPart cep = (ConnectionNodeEditPart) connectionNodes
-					.next();
-				Connection connection = (Connection) cep.getFigure();
-				View connectionView = cep.getNotationView();
-				if (connectionView != null && !connectionView.isVisible()) {
-					/*
-					 * Compartment is not responsible for refreshing a
-					 * connection, the view of which is not visible
-					 */
-					continue;
+			updateClientArea(scep);
+			refreshConnectionNodes(scep, getConnectionNodes(scep));
+		}
+
+		/**
+		 * Sets the visibility of the connections associated to some children
+		 * of the passed shape compartment, and to their children, after their
+		 * figures moved. The other connections keep their visibility.
+		 * 
+		 * @param scep
+		 *            edit part to consider
+		 * @param children
+		 *            the children of the shape compartment that moved
+		 * @since 1.12
+		 */
+		protected void refreshConnections(ShapeCompartmentEditPart scep,
+				Collection children) {
+			Set connectionNodes = new LinkedHashSet();
+			for (Iterator i = children.iterator(); i.hasNext();) {
+				EditPart child = (EditPart) i.next();
+				if (child.getParent() == scep && child instanceof IGraphicalEditPart) {
+					addConnectionNodes((IGraphicalEditPart) child, connectionNodes);
 				}
-				
-				IGraphicalEditPart source = (IGraphicalEditPart) getSourceEditPart(cep);
-				IGraphicalEditPart target = (IGraphicalEditPart) getTargetEditPart(cep);
-				if (source == null || target == null) {
-					connection.setVisible(false);
-					continue;
+			}
+			refreshConnectionNodes(scep, connectionNodes);
+		}
+
+		/**
+		 * Sets the visibility of the connections associated to the passed
+		 * shape compartment's children, after a scroll, unless the client
+		 * area of the shape compartment is where it was at the previous
+		 * refresh, relative to the diagram.
+		 * 
+		 * @param scep
+		 *            edit part to consider
+		 * @since 1.12
+		 */
+		protected void refreshScrolledConnections(ShapeCompartmentEditPart scep) {
+			if (isClientAreaChanged(scep)) {
+				refreshConnections(scep);
+			}
+		}
+
+		/**
+		 * Adds the {@link ConnectionNodeEditPart}s of an editpart and of its
+		 * children.
+		 */
+		private void addConnectionNodes(IGraphicalEditPart editPart,
+				Set connectionNodes) {
+			for (Iterator i = getSourceConnections(editPart).iterator(); i
+				.hasNext();) {
+				Object next = i.next();
+				if (next instanceof ConnectionNodeEditPart) {
+					connectionNodes.add(next);
 				}
-				
-				if (!source.getFigure().isShowing() || !target.getFigure().isShowing()) {
-					connection.setVisible(false);
-					continue;
+			}
+			for (Iterator i = getTargetConnections(editPart).iterator(); i
+				.hasNext();) {
+				Object next = i.next();
+				if (next instanceof ConnectionNodeEditPart) {
+					connectionNodes.add(next);
 				}
-				
-				ShapeCompartmentEditPart sContainer = getOwningShapeCompartment(source);
-				ShapeCompartmentEditPart tContainer = getOwningShapeCompartment(target);
-				// only deal with items contained within a shape compartment
-				if (sContainer == null && tContainer == null) {
-					continue;
+			}
+			for (Iterator i = editPart.getChildren().iterator(); i.hasNext();) {
+				Object next = i.next();
+				if (next instanceof IGraphicalEditPart) {
+					addConnectionNodes((IGraphicalEditPart) next,
+						connectionNodes);
 				}
-				boolean sfVisible = source != null;
-				boolean tfVisible = target != null;
-                
-                ConnectionAnchor sc = cep.getSourceConnectionAnchor();
-                ConnectionAnchor tc = cep.getTargetConnectionAnchor();
-                Point sRefPoint;
-                Point tRefPoint;
-                List bendpoints = (List) connection.getConnectionRouter()
-                    .getConstraint(connection);
-                if (bendpoints != null && bendpoints.size() >= 2) {
-                    sRefPoint = ((Bendpoint) bendpoints.get(0)).getLocation()
-                        .getCopy();
-                    connection.translateToAbsolute(sRefPoint);
-                    tRefPoint = ((Bendpoint) bendpoints
-                        .get(bendpoints.size() - 1)).getLocation().getCopy();
-                    connection.translateToAbsolute(tRefPoint);
-                } else {
-                    sRefPoint = tc.getReferencePoint();
-                    tRefPoint = sc.getReferencePoint();
-                }
-                Point sLoc = sc.getLocation(sRefPoint);
-                Point tLoc = tc.getLocation(tRefPoint);
-               
-				Diagram diagram = ((View) scep.getModel()).getDiagram();
-				Map registry = scep.getViewer().getEditPartRegistry();
-				IGraphicalEditPart dep = (IGraphicalEditPart) registry
-					.get(diagram);
-				IFigure stopFigure = dep == null ? null
-					: dep.getContentPane();
-                boolean noSource = false;
-                boolean noTarget = false;
-
-				//
-				// if sContainer is null, then the source connection is a child
-				// of the diagram and not
-				// a shape compartment. It's visibility is, therefore, true.
-				if (sContainer != null) {
-					ShapeCompartmentFigure fig = sContainer
-						.getShapeCompartmentFigure();
-                    noSource  = !fig.isVisible();
-					sfVisible = isFigureVisible(fig, sLoc, stopFigure);
-					if (!sfVisible) {
-						sfVisible = isBorderItem(sContainer, source);
-					}
+			}
+		}
+
+		/**
+		 * Map of shape compartments to the location of their client area,
+		 * relative to the diagram, and of their contents, at the last
+		 * refresh of all of their connections.
+		 */
+		private final Map clientAreas = new WeakHashMap();
+
+		private boolean isClientAreaChanged(ShapeCompartmentEditPart scep) {
+			Object clientArea = clientAreas.get(scep);
+			return clientArea == null
+				|| !clientArea.equals(getClientArea(scep));
+		}
+
+		private void updateClientArea(ShapeCompartmentEditPart scep) {
+			clientAreas.put(scep, getClientArea(scep));
+		}
+
+		/**
+		 * Gets the client area of a shape compartment, relative to the
+		 * diagram so that scrolling the diagram does not change it, followed
+		 * by the scrolled location of its contents.
+		 */
+		private List getClientArea(ShapeCompartmentEditPart scep) {
+			ShapeCompartmentFigure fig = scep.getShapeCompartmentFigure();
+			Rectangle area = fig.getClientArea().getCopy();
+			fig.translateToAbsolute(area);
+
+			IFigure stopFigure = getStopFigure(scep);
+			if (stopFigure != null) {
+				stopFigure.translateToRelative(area);
+			}
+
+			List result = new ArrayList(3);
+			result.add(area);
+			result.add(fig.getScrollPane().getViewport().getViewLocation());
+			result.add(Boolean.valueOf(fig.isShowing()));
+			return result;
+		}
+
+		private IFigure getStopFigure(ShapeCompartmentEditPart scep) {
+			Diagram diagram = ((View) scep.getModel()).getDiagram();
+			Map registry = scep.getViewer().getEditPartRegistry();
+			IGraphicalEditPart dep = (IGraphicalEditPart) registry
+				.get(diagram);
+			return dep == null ? null
+				: dep.getContentPane();
+		}
+
+		private void refreshConnectionNodes(ShapeCompartmentEditPart scep,
+				Set connectionNodes) {
+			if (connectionNodes.isEmpty()) {
+				return;
+			}
+			IFigure stopFigure = getStopFigure(scep);
+			Iterator iter = connectionNodes.iterator();
+			while (iter.hasNext()) {
+				refreshConnection((ConnectionNodeEditPart) iter.next(),
+					stopFigure);
+			}
+		}
+
+		private void refreshConnection(ConnectionNodeEditPart cep,
+				IFigure stopFigure) {
+			Connection connection = (Connection) cep.getFigure();
+			View connectionView = cep.getNotationView();
+			if (connectionView != null && !connectionView.isVisible()) {
+				/*
+				 * Compartment is not responsible for refreshing a
+				 * connection, the view of which is not visible
+				 */
+				return;
+			}
+			
+			IGraphicalEditPart source = (IGraphicalEditPart) getSourceEditPart(cep);
+			IGraphicalEditPart target = (IGraphicalEditPart) getTargetEditPart(cep);
+			if (source == null || target == null) {
+				connection.setVisible(false);
+				return;
+			}
+			
+			if (!source.getFigure().isShowing() || !target.getFigure().isShowing()) {
+				connection.setVisible(false);
+				return;
+			}
+			
+			ShapeCompartmentEditPart sContainer = getOwningShapeCompartment(source);
+			ShapeCompartmentEditPart tContainer = getOwningShapeCompartment(target);
+			// only deal with items contained within a shape compartment
+			if (sContainer == null && tContainer == null) {
+				return;
+			}
+			boolean sfVisible = source != null;
+			boolean tfVisible = target != null;
+            
+            ConnectionAnchor sc = cep.getSourceConnectionAnchor();
+            ConnectionAnchor tc = cep.getTargetConnectionAnchor();
+            Point sRefPoint;
+            Point tRefPoint;
+            List bendpoints = (List) connection.getConnectionRouter()
+                .getConstraint(connection);
+            if (bendpoints != null && bendpoints.size() >= 2) {
+                sRefPoint = ((Bendpoint) bendpoints.get(0)).getLocation()
+                    .getCopy();
+                connection.translateToAbsolute(sRefPoint);
+                tRefPoint = ((Bendpoint) bendpoints
+                    .get(bendpoints.size() - 1)).getLocation().getCopy();
+                connection.translateToAbsolute(tRefPoint);
+            } else {
+                sRefPoint = tc.getReferencePoint();
+                tRefPoint = sc.getReferencePoint();
+            }
+            Point sLoc = sc.getLocation(sRefPoint);
+            Point tLoc = tc.getLocation(tRefPoint);
+
+            boolean noSource = false;
+            boolean noTarget = false;
+
+			//
+			// if sContainer is null, then the source connection is a child
+			// of the diagram and not
+			// a shape compartment. It's visibility is, therefore, true.
+			if (sContainer != null) {
+				ShapeCompartmentFigure fig = sContainer
+					.getShapeCompartmentFigure();
+                noSource  = !fig.isVisible();
+				sfVisible = isFigureVisible(fig, sLoc, stopFigure);
+				if (!sfVisible) {
+					sfVisible = isBorderItem(sContainer, source);
 				}
-				//
-				// if tContainer is null, then the source connection is a child
-				// of the diagram and not
-				// a shape compartment. It's visibility is, therefore, true.
-				if (tContainer != null) {
-					ShapeCompartmentFigure fig = tContainer
-						.getShapeCompartmentFigure();
-                    noTarget = !fig.isVisible();
-                    tfVisible = isFigureVisible(fig, tLoc, stopFigure);
-					if (!tfVisible) {
-						tfVisible = isBorderItem(tContainer, target);
-					}
+			}
+			//
+			// if tContainer is null, then the source connection is a child
+			// of the diagram and not
+			// a shape compartment. It's visibility is, therefore, true.
+			if (tContainer != null) {
+				ShapeCompartmentFigure fig = tContainer
+					.getShapeCompartmentFigure();
+                noTarget = !fig.isVisible();
+                tfVisible = isFigureVisible(fig, tLoc, stopFigure);
+				if (!tfVisible) {
+					tfVisible = isBorderItem(tContainer, target);
 				}
-				// set connection visibility true iff both anchor points are
-                // visible
-                if (noSource || noTarget){
-                  if (noSource && cep.getTarget()!=null)
-                      cep.getTarget().refresh();
-                  if (noTarget && cep.getSource()!=null)
-                        cep.getSource().refresh();
-                }else{
-                    connection.setVisible(sfVisible && tfVisible);
-                    refreshConnectionEnds(cep);
-                }
 			}
+			// set connection visibility true iff both anchor points are
+            // visible
+            if (noSource || noTarget){
+              if (noSource && cep.getTarget()!=null)
+                  cep.getTarget().refresh();
+              if (noTarget && cep.getSource()!=null)
+                    cep.getSource().refresh();
+            }else{
+                connection.setVisible(sfVisible && tfVisible);
+                refreshConnectionEnds(cep);
+            }
 		}
         
         private void refreshConnectionEnds(ConnectionEditPart cEP){
@@ -473,6 +615,14 @@ public abstract class ShapeCompartmentEditPart
 		return new ConnectionRefreshMgr();
 	}
 
+	/**
+	 * Shape compartments can be virtualized.
+	 * @see org.eclipse.gmf.runtime.diagram.ui.editparts.GraphicalEditPart#isVirtualizable()
+	 */
+	protected boolean isVirtualizable() {
+		return true;
+	}
+
 	/**
 	 * Returns the layout manager to be used by this shape compartment. This
 	 * implemantion returns a {@link FreeformLayout} instance.
@@ -561,7 +711,8 @@ public abstract class ShapeCompartmentEditPart
 		String pName = event.getPropertyName();
 		if (RangeModel.PROPERTY_EXTENT.equals(pName)
 			|| RangeModel.PROPERTY_VALUE.equals(pName)) {
-			refreshConnections();
+			_scrollRefreshQueued = true;
+			queueRefreshConnections();
 		}
 	}
 
@@ -592,15 +743,65 @@ public abstract class ShapeCompartmentEditPart
 	 * compartment.
 	 */
 	protected void refreshConnections() {
+		_fullRefreshQueued = true;
+		queueRefreshConnections();
+	}
+
+	/**
+	 * Refresh the connections associated to a child of this shape compartment
+	 * and to its children, after its figure moved.
+	 * 
+	 * @param child
+	 *            the child
+	 */
+	private void refreshConnections(EditPart child) {
+		_movedChildren.add(child);
+		queueRefreshConnections();
+	}
+
+	private void queueRefreshConnections() {
 		if (!_refreshQueued) {
 			_refreshQueued = true;
 			DisplayUtils.getDisplay().asyncExec(new Runnable() {
 				public void run() {
-					forceRefreshConnections();
+					refreshQueuedConnections();
 				}
 			});
 		}
 	}
+
+	/**
+	 * Refresh all of the connections if that was requested, or only those
+	 * that may have changed since the refresh was queued.
+	 */
+	private void refreshQueuedConnections() {
+		if (_fullRefreshQueued) {
+			forceRefreshConnections();
+			return;
+		}
+
+		try {
+			if (ShapeCompartmentEditPart.this.isActive()) {
+				ConnectionRefreshMgr mgr = getConnectionRefreshMgr();
+				if (_scrollRefreshQueued) {
+					mgr.refreshScrolledConnections(ShapeCompartmentEditPart.this);
+				}
+				if (!_movedChildren.isEmpty()) {
+					mgr.refreshConnections(ShapeCompartmentEditPart.this,
+						_movedChildren);
+				}
+			}
+		} finally {
+			clearQueuedRefresh();
+		}
+	}
+
+	private void clearQueuedRefresh() {
+		_refreshQueued = false;
+		_fullRefreshQueued = false;
+		_scrollRefreshQueued = false;
+		_movedChildren.clear();
+	}
     
     /**
      * Refresh the connections associated the the children of this shape
@@ -617,7 +818,7 @@ public abstract class ShapeCompartmentEditPart
                     ShapeCompartmentEditPart.this);
             }
         } finally {
-            ShapeCompartmentEditPart.this._refreshQueued = false;
+            ShapeCompartmentEditPart.this.clearQueuedRefresh();
         }
         
     }
@@ -34,6 +34,7 @@ import org.eclipse.gmf.runtime.diagram.ui.editpolicies.SortFilterCompartmentItem
 import org.eclipse.gmf.runtime.diagram.ui.internal.DiagramUIDebugOptions;
 import org.eclipse.gmf.runtime.diagram.ui.internal.DiagramUIPlugin;
 import org.eclipse.gmf.runtime.diagram.ui.internal.DiagramUIStatusCodes;
+import org.eclipse.gmf.runtime.diagram.ui.internal.editparts.ViewportVirtualizer;
 import org.eclipse.gmf.runtime.diagram.ui.internal.editpolicies.NoteAttachmentReorientEditPolicy;
 import org.eclipse.gmf.runtime.diagram.ui.l10n.DiagramColorRegistry;
 import org.eclipse.gmf.runtime.gef.ui.figures.NodeFigure;
@@ -62,11 +63,13 @@ public abstract class ShapeNodeEditPart
 	}
 
 	protected List getModelSourceConnections() {
-        return ViewUtil.getSourceConnectionsConnectingVisibleViews((View)getModel());
+        return ViewportVirtualizer.getMaterializedConnections(getViewer(),
+            ViewUtil.getSourceConnectionsConnectingVisibleViews((View)getModel()), true);
 	}
 
 	protected List getModelTargetConnections() {
-        return ViewUtil.getTargetConnectionsConnectingVisibleViews((View)getModel());
+        return ViewportVirtualizer.getMaterializedConnections(getViewer(),
+            ViewUtil.getTargetConnectionsConnectingVisibleViews((View)getModel()), false);
 	}
 
 	protected void createDefaultEditPolicies() {
@@ -255,7 +258,7 @@ public abstract class ShapeNodeEditPart
 	 * @since 1.2
 	 */
     protected void refreshBackgroundColor() {
-        FillStyle style = (FillStyle)getPrimaryView().getStyle(NotationPackage.Literals.FILL_STYLE);
+        FillStyle style = (FillStyle)ViewUtil.getStyle(getPrimaryView(), NotationPackage.Literals.FILL_STYLE);
         if ( style != null ) {
         	if (style.getGradient() == null || !supportsGradient()) { 
         		setBackgroundColor(DiagramColorRegistry.getInstance().getColor(Integer.valueOf(style.getFillColor())));
@@ -270,7 +273,7 @@ public abstract class ShapeNodeEditPart
      * @since 1.2
      */
     protected void refreshTransparency() {
-        FillStyle style = (FillStyle)getPrimaryView().getStyle(NotationPackage.Literals.FILL_STYLE);
+        FillStyle style = (FillStyle)ViewUtil.getStyle(getPrimaryView(), NotationPackage.Literals.FILL_STYLE);
         if ( style != null ) {    	
         	setTransparency(style.getTransparency());
         }
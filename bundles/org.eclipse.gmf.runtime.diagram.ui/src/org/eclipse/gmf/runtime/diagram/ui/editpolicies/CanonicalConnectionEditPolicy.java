@@ -17,6 +17,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Set;
@@ -41,6 +42,7 @@ import org.eclipse.gmf.runtime.diagram.ui.editparts.IGraphicalEditPart;
 import org.eclipse.gmf.runtime.diagram.ui.editparts.INodeEditPart;
 import org.eclipse.gmf.runtime.diagram.ui.figures.ICanonicalShapeCompartmentLayout;
 import org.eclipse.gmf.runtime.diagram.ui.internal.DiagramUIPlugin;
+import org.eclipse.gmf.runtime.diagram.ui.internal.editparts.ViewportVirtualizer;
 import org.eclipse.gmf.runtime.diagram.ui.l10n.DiagramUIMessages;
 import org.eclipse.gmf.runtime.diagram.ui.parts.IDiagramGraphicalViewer;
 import org.eclipse.gmf.runtime.diagram.ui.requests.CreateConnectionViewRequest;
@@ -184,7 +186,9 @@ public abstract class CanonicalConnectionEditPolicy
 			}
 		}
 
-		return (EditPart) host().getViewer().getEditPartRegistry().get(element);
+		return (element instanceof View)
+			? ViewportVirtualizer.materialize(host().getViewer(), (View) element)
+			: (EditPart) host().getViewer().getEditPartRegistry().get(element);
 	}
 
 	/**
@@ -469,6 +473,14 @@ public abstract class CanonicalConnectionEditPolicy
 		Collection<EObject> semanticChildren = new HashSet<EObject>();
 		semanticChildren.addAll(getSemanticConnectionsList());
 
+		Set<EObject> elements = getElementsToSynchronize();
+		if (elements != null) {
+			// incremental refresh: leave the views of the other connections alone
+			elements = getConnectionsToSynchronize(elements, semanticChildren, viewChildren);
+			viewChildren = getViewsOf(viewChildren, elements);
+			semanticChildren.retainAll(elements);
+		}
+
 		List<View> orphaned = cleanCanonicalSemanticChildren(viewChildren,
 			semanticChildren);
 
@@ -511,6 +523,51 @@ public abstract class CanonicalConnectionEditPolicy
 		return viewDescriptors;
 	}
     
+	/**
+	 * Return the connections to resynchronize during an incremental refresh
+	 * of some semantic elements: the elements themselves, and the connections
+	 * attached to them, or to their contents, either in the semantic model or 
+	 * by their current views.
+	 * 
+	 * @param elements the semantic elements to resynchronize
+	 * @param semanticConnections the semantic connections of the host
+	 * @param connectionViews the connection views of the host
+	 * @return the semantic elements of the connections to resynchronize
+	 */
+	private Set<EObject> getConnectionsToSynchronize(Set<EObject> elements,
+			Collection<EObject> semanticConnections, Collection<Edge> connectionViews) {
+		Set<EObject> result = new HashSet<EObject>(elements);
+		
+		for (EObject connection : semanticConnections) {
+			if (isInOrUnder(getSourceElement(connection), elements)
+				|| isInOrUnder(getTargetElement(connection), elements)) {
+				result.add(connection);
+			}
+		}
+		
+		for (Edge edge : connectionViews) {
+			// an edge that lost one of its ends is attached to a removed view
+			View source = edge.getSource();
+			View target = edge.getTarget();
+			if (edge.getElement() != null
+				&& (source == null || target == null
+					|| isInOrUnder(source.getElement(), elements)
+					|| isInOrUnder(target.getElement(), elements))) {
+				result.add(edge.getElement());
+			}
+		}
+		return result;
+	}
+	
+	private static boolean isInOrUnder(EObject element, Set<EObject> elements) {
+		for (EObject next = element; next != null; next = next.eContainer()) {
+			if (elements.contains(next)) {
+				return true;
+			}
+		}
+		return false;
+	}
+    
 	@Override
     protected boolean isOrphaned(Collection<EObject> semanticChildren, View view) {
         EObject element = view.getElement();
@@ -583,7 +640,8 @@ public abstract class CanonicalConnectionEditPolicy
 	 * @return list of <code>Edge</code>s.
 	 */
 	protected Collection<Edge> getConnectionViews() {
-		Collection<View> children = getViewChildren();
+		// hashed, because every view attached to a connection is looked up in it
+		Collection<View> children = new LinkedHashSet<View>(getViewChildren());
 		Set<Edge> connections = new HashSet<Edge>();
 		if (getHost() instanceof IGraphicalEditPart) {
 			IGraphicalEditPart gep = (IGraphicalEditPart)getHost();
@@ -13,6 +13,7 @@
 
 package org.eclipse.gmf.runtime.diagram.ui.editpolicies;
 
+import java.util.AbstractCollection;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -20,8 +21,10 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.LinkedHashSet;
 import java.util.ListIterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.WeakHashMap;
 
@@ -176,6 +179,15 @@ implements NotificationListener {
 	/** flag signaling a refresh request made while the editpolicy was disabled. */
 	private boolean _deferredRefresh = false;
 	
+	/** enable incremental refresh flag. */
+	private boolean _incremental = false;
+	
+	/**
+	 * the semantic elements to resynchronize during an incremental refresh,
+	 * or <tt>null</tt> if all of the semantic children are resynchronized.
+	 */
+	private Set<EObject> _elementsToSynchronize = null;
+	
 	/** semantic listener. */
 	private Map<String, Object[]> _listenerFilters;
 		
@@ -678,6 +690,31 @@ implements NotificationListener {
 		}
 	}
 	
+	/**
+	 * Return <tt>true</tt> if the refreshes in response to the addition or
+	 * removal of semantic children only resynchronize the children named
+	 * in the notification; otherwise <tt>false</tt>.
+	 * @return <tt>false</tt> by default
+	 * @since 1.12
+	 */
+	public boolean isIncrementalRefresh() {
+		return _incremental;
+	}
+	
+	/**
+	 * Enables or disables the incremental refreshes.  While enabled, a
+	 * notification that semantic children were added to or removed from
+	 * the semantic host only resynchronizes the views of those children,
+	 * and of the connections attached to them or to their contents, and the
+	 * other views of the container are left as they are.  All other
+	 * notifications still resynchronize the whole container.
+	 * @param incremental 
+	 * @since 1.12
+	 */
+	public void setIncrementalRefresh( boolean incremental ) {
+		_incremental = incremental;
+	}
+	
 	/**
 	 * Sets enable(aBoolean) on all the edit policies of the semantic host.
 	 * @param enable
@@ -870,8 +907,54 @@ implements NotificationListener {
 			shouldRefresh = true;
 		}
 		
-		if (shouldRefresh)
-			refresh();
+		if (shouldRefresh) {
+			Set<EObject> elements = isIncrementalRefresh()
+				? getElementsToSynchronize(event)
+				: null;
+			refresh(elements);
+		}
+	}
+	
+	/**
+	 * Return the semantic elements named in a notification from the semantic
+	 * host, to be resynchronized by an incremental refresh.
+	 * 
+	 * @param event <code>NotificationEvent</code> to handle.
+	 * @return the added and removed elements, or <tt>null</tt> if the whole 
+	 * container must be resynchronized.
+	 */
+	private Set<EObject> getElementsToSynchronize(Notification event) {
+		if (event.getNotifier() != getSemanticHost()
+			|| !(event.getFeature() instanceof EReference)) {
+			return null;
+		}
+		
+		switch (event.getEventType()) {
+			case Notification.ADD:
+			case Notification.ADD_MANY:
+			case Notification.REMOVE:
+			case Notification.REMOVE_MANY:
+			case Notification.SET:
+			case Notification.UNSET:
+				Set<EObject> result = new HashSet<EObject>();
+				addElements(result, event.getOldValue());
+				addElements(result, event.getNewValue());
+				return result;
+			default:
+				return null;
+		}
+	}
+	
+	private static void addElements(Set<EObject> elements, Object value) {
+		if (value instanceof EObject) {
+			elements.add((EObject) value);
+		} else if (value instanceof Collection) {
+			for (Object next : (Collection<?>) value) {
+				if (next instanceof EObject) {
+					elements.add((EObject) next);
+				}
+			}
+		}
 	}
 	
 	/**
@@ -954,11 +1037,25 @@ implements NotificationListener {
 	 * Resynchronize the canonical container.
 	 */
 	public final void refresh() {
+		refresh(null);
+	}
+	
+	/**
+	 * Resynchronize the canonical container, or only some semantic elements
+	 * of it.  A refresh deferred while the editpolicy is disabled always 
+	 * resynchronizes the whole container.
+	 * 
+	 * @param elements the semantic elements to resynchronize, or <tt>null</tt>
+	 * to resynchronize all of the semantic children.
+	 */
+	private void refresh(Set<EObject> elements) {
+		Set<EObject> oldElements = _elementsToSynchronize;
 		try {
 			if ( isEnabled() ) {
 				// avoid re-entry
 				boolean defRefresh = _deferredRefresh;
 				_deferredRefresh = false;
+				_elementsToSynchronize = elements;
 				refreshSemantic();
 				_deferredRefresh = defRefresh;
 			}
@@ -971,6 +1068,37 @@ implements NotificationListener {
 			Log.error(DiagramUIPlugin.getInstance(), IStatus.WARNING,
 					eMsg, t);
 		}
+		finally {
+			_elementsToSynchronize = oldElements;
+		}
+	}
+	
+	/**
+	 * Return the semantic elements resynchronized by the current incremental
+	 * refresh.
+	 * 
+	 * @return the semantic elements, or <tt>null</tt> if all of the semantic
+	 * children are resynchronized.
+	 */
+	final Set<EObject> getElementsToSynchronize() {
+		return _elementsToSynchronize;
+	}
+	
+	/**
+	 * Return the views of some semantic elements, in their original order.
+	 * 
+	 * @param views the views to filter
+	 * @param elements the semantic elements
+	 * @return the <tt>views</tt> whose element is one of the <tt>elements</tt>
+	 */
+	static <T extends View> List<T> getViewsOf(Collection<T> views, Set<EObject> elements) {
+		List<T> result = new ArrayList<T>();
+		for (T view : views) {
+			if (elements.contains(view.getElement())) {
+				result.add(view);
+			}
+		}
+		return result;
 	}
 
 	/**
@@ -1086,6 +1214,13 @@ implements NotificationListener {
 		// current views
 		List<View> viewChildren = getViewChildren();
 		List<EObject> semanticChildren = new ArrayList<EObject>(getSemanticChildrenList());
+		
+		Set<EObject> elements = getElementsToSynchronize();
+		if (elements != null) {
+			// incremental refresh: leave the views of the other elements alone
+			viewChildren = getViewsOf(viewChildren, elements);
+			semanticChildren.retainAll(elements);
+		}
 
 		List<View> orphaned = cleanCanonicalSemanticChildren(viewChildren, semanticChildren);
 		boolean changed = false;
@@ -1133,6 +1268,10 @@ implements NotificationListener {
 	 * Synchronizes the semanticChildren the viewChildren to discover if any of the semanticChildren
 	 * don't have a corresponding view.  Any <code>semanticChildren</code> that do have a view are
 	 * removed from the list.
+	 * <P>
+	 * The semantic children are looked up in a hash table rather than in the
+	 * given collection, so that the synchronization takes linear time.  The 
+	 * collection passed to {@link #isOrphaned(Collection, View)} is that table.
 	 * 
 	 * @param viewChildren <code>List</code> of <code>View</code> elements that already exist in the container.
 	 * @param semanticChildren <code>List</code> of semantic elements that are candidates for synchronization
@@ -1141,14 +1280,22 @@ implements NotificationListener {
 	final protected List<View> cleanCanonicalSemanticChildren(Collection<? extends View> viewChildren, Collection<EObject> semanticChildren) {
 		EObject semanticChild;
 		
-		List<View> orphaned = new ArrayList<View>();
+		// a set keeps the order of the orphans while removing them in constant time
+		Set<View> orphaned = new LinkedHashSet<View>();
 		Map<EObject, View> viewToSemanticMap = new HashMap<EObject, View>();
 		
+		SemanticChildrenTable table = null;
+		Collection<EObject> candidates = semanticChildren;
+		if (!(semanticChildren instanceof Set)) {
+			table = new SemanticChildrenTable(semanticChildren);
+			candidates = table;
+		}
+		
 		for(View viewChild : viewChildren) {
 			
 			semanticChild = viewChild.getElement();
-			if (!isOrphaned(semanticChildren, viewChild)) {
-				semanticChildren.remove(semanticChild);
+			if (!isOrphaned(candidates, viewChild)) {
+				candidates.remove(semanticChild);
 				viewToSemanticMap.put(semanticChild, viewChild);
 			}
 			else {
@@ -1164,7 +1311,12 @@ implements NotificationListener {
 				}
 			}
 		}
-		return orphaned;
+		
+		if (table != null && table.isModified()) {
+			semanticChildren.clear();
+			semanticChildren.addAll(table);
+		}
+		return new ArrayList<View>(orphaned);
 	}
 
     /**
@@ -1265,4 +1417,118 @@ implements NotificationListener {
             : getSemanticChildrenList().contains(eObject);
     }
 
+
+	/**
+	 * A table of the semantic children that are candidates for synchronization,
+	 * that finds and removes them in constant time and iterates over the
+	 * remaining ones in their original order.
+	 */
+	private static final class SemanticChildrenTable extends AbstractCollection<EObject> {
+		
+		/** marker of the slots of the removed children. */
+		private static final Object REMOVED = new Object();
+		
+		/** the children in their original order, or {@link #REMOVED}. */
+		private final List<Object> slots;
+		
+		/** map of children to the ascending indices of their slots. */
+		private final Map<EObject, List<Integer>> indices;
+		
+		private int size = 0;
+		
+		private boolean modified = false;
+		
+		SemanticChildrenTable(Collection<EObject> children) {
+			slots = new ArrayList<Object>(children.size());
+			indices = new HashMap<EObject, List<Integer>>(children.size() * 4 / 3 + 1);
+			for (EObject child : children) {
+				add(child);
+			}
+			modified = false;
+		}
+		
+		/**
+		 * Return <tt>true</tt> if children were added or removed since I was
+		 * created; otherwise <tt>false</tt>.
+		 */
+		boolean isModified() {
+			return modified;
+		}
+		
+		public boolean add(EObject child) {
+			List<Integer> childIndices = indices.get(child);
+			if (childIndices == null) {
+				childIndices = new ArrayList<Integer>(1);
+				indices.put(child, childIndices);
+			}
+			childIndices.add(Integer.valueOf(slots.size()));
+			slots.add(child);
+			size++;
+			modified = true;
+			return true;
+		}
+		
+		public boolean contains(Object o) {
+			return indices.containsKey(o);
+		}
+		
+		public boolean remove(Object o) {
+			List<Integer> childIndices = indices.get(o);
+			if (childIndices == null) {
+				return false;
+			}
+			removeSlot(o, childIndices, 0);
+			return true;
+		}
+		
+		private void removeSlot(Object child, List<Integer> childIndices, int position) {
+			slots.set(childIndices.remove(position).intValue(), REMOVED);
+			if (childIndices.isEmpty()) {
+				indices.remove(child);
+			}
+			size--;
+			modified = true;
+		}
+		
+		public int size() {
+			return size;
+		}
+		
+		public Iterator<EObject> iterator() {
+			return new Iterator<EObject>() {
+				private int next = skipRemoved(0);
+				private int last = -1;
+				
+				private int skipRemoved(int index) {
+					while (index < slots.size() && slots.get(index) == REMOVED) {
+						index++;
+					}
+					return index;
+				}
+				
+				public boolean hasNext() {
+					return next < slots.size();
+				}
+				
+				public EObject next() {
+					if (!hasNext()) {
+						throw new NoSuchElementException();
+					}
+					last = next;
+					next = skipRemoved(next + 1);
+					return (EObject) slots.get(last);
+				}
+				
+				public void remove() {
+					if (last < 0 || slots.get(last) == REMOVED) {
+						throw new IllegalStateException();
+					}
+					Object child = slots.get(last);
+					List<Integer> childIndices = indices.get(child);
+					removeSlot(child, childIndices, childIndices.indexOf(Integer.valueOf(last)));
+					last = -1;
+				}
+			};
+		}
+	}
 }
@@ -14,6 +14,8 @@ package org.eclipse.gmf.runtime.diagram.ui.handles;
 
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.util.Iterator;
+import java.util.List;
 
 import org.eclipse.draw2d.Cursors;
 import org.eclipse.draw2d.IFigure;
@@ -27,7 +29,7 @@ import org.eclipse.emf.transaction.TransactionalEditingDomain;
 import org.eclipse.gef.DragTracker;
 import org.eclipse.gef.handles.AbstractHandle;
 import org.eclipse.gmf.runtime.diagram.core.listener.DiagramEventBroker;
-import org.eclipse.gmf.runtime.diagram.core.listener.NotificationListener;
+import org.eclipse.gmf.runtime.diagram.core.listener.NotificationBatchListener;
 import org.eclipse.gmf.runtime.diagram.ui.editparts.IGraphicalEditPart;
 import org.eclipse.gmf.runtime.diagram.ui.editparts.IResizableCompartmentEditPart;
 import org.eclipse.gmf.runtime.diagram.ui.internal.figures.CollapseFigure;
@@ -44,7 +46,7 @@ import org.eclipse.gmf.runtime.notation.View;
  */
 public class CompartmentCollapseHandle
 	extends AbstractHandle
-	implements PropertyChangeListener, NotificationListener {
+	implements PropertyChangeListener, NotificationBatchListener {
 
 	/** 
 	 * Positions the supplied figure in its owner's top left corner offset by [1,1] 
@@ -129,6 +131,26 @@ public class CompartmentCollapseHandle
 			collapseFigure.setCollapsed(notification.getNewBooleanValue());
 	}
 
+	/**
+	 * Handles the notifications of a transaction, of which only the last
+	 * change to the collapsed state is applied to the handle figure.
+	 * 
+	 * @see org.eclipse.gmf.runtime.diagram.core.listener.NotificationBatchListener#notifyBatchChanged(java.util.List)
+	 * @since 1.12
+	 */
+	public void notifyBatchChanged(List notifications) {
+		Notification lastCollapsed = null;
+		for (Iterator i = notifications.iterator(); i.hasNext();) {
+			Notification notification = (Notification) i.next();
+			if (NotationPackage.eINSTANCE.getDrawerStyle_Collapsed()==notification.getFeature())
+				lastCollapsed = notification;
+			else
+				notifyChanged(notification);
+		}
+		if (lastCollapsed != null)
+			notifyChanged(lastCollapsed);
+	}
+
 	/**
 	 * @see org.eclipse.draw2d.IFigure#addNotify()
 	 */
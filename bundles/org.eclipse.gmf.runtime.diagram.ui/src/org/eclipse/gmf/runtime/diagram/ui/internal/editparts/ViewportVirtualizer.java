@@ -0,0 +1,717 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ ****************************************************************************/
+
+package org.eclipse.gmf.runtime.diagram.ui.internal.editparts;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EventObject;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import org.eclipse.core.runtime.IAdaptable;
+import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.FigureCanvas;
+import org.eclipse.draw2d.FigureListener;
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.TreeSearch;
+import org.eclipse.draw2d.Viewport;
+import org.eclipse.draw2d.geometry.Dimension;
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.gef.EditPart;
+import org.eclipse.gef.EditPartViewer;
+import org.eclipse.gef.GraphicalEditPart;
+import org.eclipse.gef.commands.CommandStack;
+import org.eclipse.gef.commands.CommandStackListener;
+import org.eclipse.gef.editparts.ZoomListener;
+import org.eclipse.gef.editparts.ZoomManager;
+import org.eclipse.gmf.runtime.common.ui.util.DisplayUtils;
+import org.eclipse.gmf.runtime.diagram.ui.editparts.DiagramEditPart;
+import org.eclipse.gmf.runtime.emf.core.util.EMFCoreUtil;
+import org.eclipse.gmf.runtime.notation.Edge;
+import org.eclipse.gmf.runtime.notation.LayoutConstraint;
+import org.eclipse.gmf.runtime.notation.Location;
+import org.eclipse.gmf.runtime.notation.Node;
+import org.eclipse.gmf.runtime.notation.Size;
+import org.eclipse.gmf.runtime.notation.View;
+import org.eclipse.swt.widgets.Control;
+
+/**
+ * Materializes the children of a container editpart only if their bounds meet
+ * the viewport of the viewer, plus a margin, in the viewers whose
+ * {@link DiagramEditPart#VIRTUALIZED_VIEWER_PROPERTY} property is
+ * <code>Boolean.TRUE</code>.
+ * <P>
+ * The children off the viewport have no editparts, figures or listeners. They
+ * are represented by a single figure covering all of their bounds, so that the
+ * extent of the container, and thus its scroll bars, stay the same. The
+ * editparts are created and disposed as the viewport is scrolled, resized or
+ * zoomed, and after commands are executed. Selected editparts are never
+ * disposed, and connections are only materialized if both of their ends are.
+ * <P>
+ * Operations that must see every view, like selecting all of the shapes or
+ * arranging them, {@link #materializeAll() materialize} all of the children
+ * first. {@link #materialize(EditPartViewer, View)} gets the editpart of any
+ * view, and {@link #materializeElement(EditPartViewer, String)} materializes
+ * the views of a semantic element, for the callers that look editparts up.
+ */
+public final class ViewportVirtualizer {
+
+	/**
+	 * The default margin around the viewport, in pixels.
+	 */
+	public static final int DEFAULT_MARGIN = 256;
+
+	private final GraphicalEditPart container;
+
+	/** refreshes the children of the container */
+	private final Runnable refresher;
+
+	/** the children that are not materialized */
+	private Set offscreen = Collections.EMPTY_SET;
+
+	/** the children materialized on demand until the next update */
+	private final Set pinned = new HashSet();
+
+	/** the views whose connections must be refreshed */
+	private final Set changed = new LinkedHashSet();
+
+	/** the last preferred sizes of the figures of the auto-sized children */
+	private final Map sizes = new WeakHashMap();
+
+	/** whether all of the children are materialized until the next update */
+	private boolean suspended = false;
+
+	private boolean updatePending = false;
+
+	private boolean connectionsPending = false;
+
+	private boolean disposed = false;
+
+	private IFigure proxy;
+
+	private final List viewports = new ArrayList();
+
+	private ZoomManager zoomManager;
+
+	private CommandStack commandStack;
+
+	private IFigure contentPane;
+
+	private final PropertyChangeListener rangeListener = new PropertyChangeListener() {
+
+		public void propertyChange(PropertyChangeEvent evt) {
+			scheduleUpdate();
+		}
+	};
+
+	private final ZoomListener zoomListener = new ZoomListener() {
+
+		public void zoomChanged(double zoom) {
+			scheduleUpdate();
+		}
+	};
+
+	private final CommandStackListener commandStackListener = new CommandStackListener() {
+
+		public void commandStackChanged(EventObject event) {
+			scheduleUpdate();
+		}
+	};
+
+	private final FigureListener figureListener = new FigureListener() {
+
+		public void figureMoved(IFigure source) {
+			scheduleUpdate();
+		}
+	};
+
+	/**
+	 * Creates a virtualizer for the children of a container editpart.
+	 *
+	 * @param container
+	 *            the container editpart
+	 * @param refresher
+	 *            refreshes the children of the container
+	 */
+	public ViewportVirtualizer(GraphicalEditPart container, Runnable refresher) {
+		this.container = container;
+		this.refresher = refresher;
+	}
+
+	/**
+	 * Returns <code>true</code> if a viewer only materializes the children of
+	 * its containers that meet its viewport.
+	 *
+	 * @param viewer
+	 *            the viewer
+	 * @return <code>true</code> if the viewer is virtualized
+	 */
+	public static boolean isVirtualized(EditPartViewer viewer) {
+		return viewer != null
+			&& Boolean.TRUE.equals(viewer
+				.getProperty(DiagramEditPart.VIRTUALIZED_VIEWER_PROPERTY));
+	}
+
+	/**
+	 * Returns the virtualizer of the children of an editpart.
+	 *
+	 * @param editPart
+	 *            an editpart, or <code>null</code>
+	 * @return its virtualizer, or <code>null</code> if it has none
+	 */
+	public static ViewportVirtualizer getVirtualizer(Object editPart) {
+		return (editPart instanceof IAdaptable)
+			? (ViewportVirtualizer) ((IAdaptable) editPart)
+				.getAdapter(ViewportVirtualizer.class)
+			: null;
+	}
+
+	/**
+	 * Returns <code>true</code> if a view is materialized in a viewer, or will
+	 * be once the editparts of its containers are refreshed, that is if none
+	 * of its containers leaves it off the viewport.
+	 *
+	 * @param viewer
+	 *            the viewer
+	 * @param view
+	 *            the view
+	 * @return <code>true</code> if the view is materialized
+	 */
+	public static boolean isMaterialized(EditPartViewer viewer, View view) {
+		if (view == null || !isVirtualized(viewer)) {
+			return true;
+		}
+
+		Map registry = viewer.getEditPartRegistry();
+		View child = view;
+		for (EObject parent = view.eContainer(); parent instanceof View; parent = parent
+			.eContainer()) {
+			ViewportVirtualizer virtualizer = getVirtualizer(registry
+				.get(parent));
+			if (virtualizer != null && virtualizer.offscreen.contains(child)) {
+				return false;
+			}
+			child = (View) parent;
+		}
+		return true;
+	}
+
+	/**
+	 * Filters out the connections whose other end is not materialized.
+	 *
+	 * @param viewer
+	 *            the viewer
+	 * @param edges
+	 *            the source or target connections of a view
+	 * @param sourceEdges
+	 *            <code>true</code> if the view is the source of the
+	 *            <code>edges</code>, <code>false</code> if it is their target
+	 * @return the materialized <code>Edge</code>s
+	 */
+	public static List getMaterializedConnections(EditPartViewer viewer,
+			List edges, boolean sourceEdges) {
+		if (edges.isEmpty() || !isVirtualized(viewer)) {
+			return edges;
+		}
+
+		List result = new ArrayList(edges.size());
+		for (Iterator i = edges.iterator(); i.hasNext();) {
+			Edge edge = (Edge) i.next();
+			View end = sourceEdges ? edge.getTarget()
+				: edge.getSource();
+			if (isMaterialized(viewer, end)) {
+				result.add(edge);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Materializes a view in a viewer, with its containers.
+	 *
+	 * @param viewer
+	 *            the viewer
+	 * @param view
+	 *            the view
+	 * @return the editpart of the view, or <code>null</code> if it has none
+	 */
+	public static EditPart materialize(EditPartViewer viewer, View view) {
+		Map registry = viewer.getEditPartRegistry();
+		Object result = registry.get(view);
+
+		if (result == null && isVirtualized(viewer) && view instanceof Edge) {
+			// a connection is materialized with both of its ends
+			Edge edge = (Edge) view;
+			EditPart source = materialize(viewer, edge.getSource());
+			EditPart target = materialize(viewer, edge.getTarget());
+			result = registry.get(view);
+			if (result == null && source != null && target != null) {
+				source.refresh();
+				result = registry.get(view);
+			}
+		} else if (result == null && isVirtualized(viewer)) {
+			// from the outermost container down
+			LinkedList path = new LinkedList();
+			for (EObject next = view; next instanceof View; next = next
+				.eContainer()) {
+				path.addFirst(next);
+			}
+			for (int i = 1; i < path.size(); i++) {
+				ViewportVirtualizer virtualizer = getVirtualizer(registry
+					.get(path.get(i - 1)));
+				if (virtualizer != null
+					&& virtualizer.offscreen.contains(path.get(i))) {
+					virtualizer.pinned.add(path.get(i));
+					virtualizer.refresher.run();
+				}
+			}
+			result = registry.get(view);
+		}
+		return (EditPart) result;
+	}
+
+	/**
+	 * Materializes the views of a semantic element in a viewer, with their
+	 * containers.
+	 *
+	 * @param viewer
+	 *            the viewer
+	 * @param elementIdStr
+	 *            the proxy id of the semantic element
+	 * @return <code>true</code> if any view was materialized
+	 */
+	public static boolean materializeElement(EditPartViewer viewer,
+			String elementIdStr) {
+		if (elementIdStr == null || !isVirtualized(viewer)
+			|| viewer.getContents() == null
+			|| !(viewer.getContents().getModel() instanceof View)) {
+			return false;
+		}
+
+		// only the views that are left off the viewport, to materialize
+		//    after the walk
+		List views = new ArrayList();
+		View diagram = (View) viewer.getContents().getModel();
+		for (Iterator i = diagram.eAllContents(); i.hasNext();) {
+			Object next = i.next();
+			if (next instanceof View) {
+				EObject element = ((View) next).getElement();
+				if (element != null
+					&& !viewer.getEditPartRegistry().containsKey(next)
+					&& elementIdStr.equals(EMFCoreUtil.getProxyID(element))) {
+					views.add(next);
+				}
+			}
+		}
+
+		boolean result = false;
+		for (Iterator i = views.iterator(); i.hasNext();) {
+			result |= materialize(viewer, (View) i.next()) != null;
+		}
+		return result;
+	}
+
+	/**
+	 * Materializes all of the children of my container until the next
+	 * update.
+	 */
+	public void materializeAll() {
+		if (!suspended && !offscreen.isEmpty()) {
+			suspended = true;
+			refresher.run();
+			scheduleUpdate();
+		}
+	}
+
+	/**
+	 * Filters the model children of my container.
+	 *
+	 * @param children
+	 *            the model children
+	 * @return the children that are materialized
+	 */
+	public List getMaterializedChildren(List children) {
+		installListeners();
+
+		Rectangle visible = suspended ? null
+			: getVisibleRegion();
+		Set newOffscreen;
+		List result;
+
+		if (visible == null) {
+			newOffscreen = Collections.EMPTY_SET;
+			result = children;
+			updateProxy(null);
+		} else {
+			Set kept = getKeptViews();
+			Rectangle extent = null;
+
+			newOffscreen = new HashSet();
+			result = new ArrayList(children.size());
+			for (Iterator i = children.iterator(); i.hasNext();) {
+				View child = (View) i.next();
+				Rectangle bounds = getBounds(child);
+
+				if (bounds == null || bounds.intersects(visible)
+					|| kept.contains(child)) {
+					result.add(child);
+				} else {
+					newOffscreen.add(child);
+					extent = (extent == null) ? bounds
+						: extent.union(bounds);
+				}
+			}
+			updateProxy(extent);
+		}
+
+		// the other ends of the connections of the views that appear or
+		//    disappear must be refreshed, once the children are
+		addChanges(offscreen, newOffscreen);
+		addChanges(newOffscreen, offscreen);
+		offscreen = newOffscreen;
+		if (!changed.isEmpty()) {
+			scheduleConnectionsRefresh();
+		}
+		return result;
+	}
+
+	private void addChanges(Set views, Set others) {
+		for (Iterator i = views.iterator(); i.hasNext();) {
+			Object next = i.next();
+			if (!others.contains(next)) {
+				changed.add(next);
+			}
+		}
+	}
+
+	/**
+	 * Gets the views that are kept materialized, that is the pinned views,
+	 * and the views of the selected and focus editparts with their
+	 * containers.
+	 */
+	private Set getKeptViews() {
+		EditPartViewer viewer = container.getViewer();
+		List parts = new ArrayList(viewer.getSelectedEditParts());
+		if (viewer.getFocusEditPart() != null) {
+			parts.add(viewer.getFocusEditPart());
+		}
+
+		Set result = new HashSet(pinned);
+		for (Iterator i = parts.iterator(); i.hasNext();) {
+			Object model = ((EditPart) i.next()).getModel();
+			for (Object next = model; next instanceof View; next = ((View) next)
+				.eContainer()) {
+				result.add(next);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the region of the viewport, plus the margin, in the coordinates of
+	 * the children of my container.
+	 *
+	 * @return the region, or <code>null</code> if the viewer has no viewport
+	 */
+	private Rectangle getVisibleRegion() {
+		Control control = container.getViewer().getControl();
+		if (!(control instanceof FigureCanvas) || control.isDisposed()) {
+			return null;
+		}
+
+		int margin = getMargin();
+		Rectangle result = ((FigureCanvas) control).getViewport().getBounds()
+			.getCopy();
+		result.expand(margin, margin);
+		container.getContentPane().translateToRelative(result);
+		return result;
+	}
+
+	private int getMargin() {
+		Object margin = container.getViewer().getProperty(
+			DiagramEditPart.VIRTUALIZATION_MARGIN_VIEWER_PROPERTY);
+		return (margin instanceof Integer) ? ((Integer) margin).intValue()
+			: DEFAULT_MARGIN;
+	}
+
+	/**
+	 * Gets the bounds of a view from its layout constraint. The auto-sized
+	 * views take the preferred size of their figures, and stay materialized
+	 * until they have had one.
+	 *
+	 * @return the bounds, or <code>null</code> if the view has no location or
+	 *         no known size
+	 */
+	private Rectangle getBounds(View view) {
+		if (!(view instanceof Node)) {
+			return null;
+		}
+
+		LayoutConstraint constraint = ((Node) view).getLayoutConstraint();
+		if (!(constraint instanceof Location)) {
+			return null;
+		}
+
+		Location location = (Location) constraint;
+		int width = 1;
+		int height = 1;
+		if (constraint instanceof Size) {
+			Size size = (Size) constraint;
+			width = size.getWidth();
+			height = size.getHeight();
+			if (width < 0 || height < 0) {
+				Dimension preferred = getPreferredSize(view);
+				if (preferred == null) {
+					return null;
+				}
+				if (width < 0) {
+					width = preferred.width;
+				}
+				if (height < 0) {
+					height = preferred.height;
+				}
+			}
+			width = Math.max(1, width);
+			height = Math.max(1, height);
+		}
+		return new Rectangle(location.getX(), location.getY(), width, height);
+	}
+
+	/**
+	 * Gets the preferred size of the figure of a view, or the last one it had
+	 * if it is not materialized.
+	 *
+	 * @return the size, or <code>null</code> if the view never had a figure
+	 */
+	private Dimension getPreferredSize(View view) {
+		Object part = container.getViewer().getEditPartRegistry().get(view);
+		if (part instanceof GraphicalEditPart) {
+			Dimension result = ((GraphicalEditPart) part).getFigure()
+				.getPreferredSize().getCopy();
+			sizes.put(view, result);
+			return result;
+		}
+		return (Dimension) sizes.get(view);
+	}
+
+	/**
+	 * Sets the bounds of the figure that represents the children off the
+	 * viewport.
+	 *
+	 * @param extent
+	 *            the bounds of those children, or <code>null</code> if there
+	 *            are none
+	 */
+	private void updateProxy(Rectangle extent) {
+		if (extent == null) {
+			if (proxy != null) {
+				if (proxy.getParent() != null) {
+					proxy.getParent().remove(proxy);
+				}
+				proxy = null;
+			}
+			return;
+		}
+
+		if (proxy == null) {
+			proxy = new ProxyFigure();
+		}
+		IFigure pane = container.getContentPane();
+		if (proxy.getParent() != pane) {
+			// the editparts add their figures before it
+			pane.add(proxy);
+		}
+		proxy.setBounds(extent);
+	}
+
+	private void installListeners() {
+		if (disposed) {
+			return;
+		}
+
+		if (viewports.isEmpty()) {
+			for (IFigure figure = container.getContentPane(); figure != null; figure = figure
+				.getParent()) {
+				if (figure instanceof Viewport) {
+					Viewport viewport = (Viewport) figure;
+					viewport.getHorizontalRangeModel().addPropertyChangeListener(
+						rangeListener);
+					viewport.getVerticalRangeModel().addPropertyChangeListener(
+						rangeListener);
+					viewports.add(viewport);
+				}
+			}
+		}
+
+		if (contentPane == null) {
+			contentPane = container.getContentPane();
+			contentPane.addFigureListener(figureListener);
+		}
+
+		EditPartViewer viewer = container.getViewer();
+		if (zoomManager == null) {
+			Object zoom = viewer.getProperty(ZoomManager.class.toString());
+			if (zoom instanceof ZoomManager) {
+				zoomManager = (ZoomManager) zoom;
+				zoomManager.addZoomListener(zoomListener);
+			}
+		}
+
+		if (commandStack == null && viewer.getEditDomain() != null) {
+			commandStack = viewer.getEditDomain().getCommandStack();
+			commandStack.addCommandStackListener(commandStackListener);
+		}
+	}
+
+	/**
+	 * Stops materializing children as the viewport changes, when my container
+	 * is removed from its viewer.
+	 */
+	public void dispose() {
+		disposed = true;
+
+		for (Iterator i = viewports.iterator(); i.hasNext();) {
+			Viewport viewport = (Viewport) i.next();
+			viewport.getHorizontalRangeModel().removePropertyChangeListener(
+				rangeListener);
+			viewport.getVerticalRangeModel().removePropertyChangeListener(
+				rangeListener);
+		}
+		viewports.clear();
+
+		if (contentPane != null) {
+			contentPane.removeFigureListener(figureListener);
+			contentPane = null;
+		}
+		if (zoomManager != null) {
+			zoomManager.removeZoomListener(zoomListener);
+			zoomManager = null;
+		}
+		if (commandStack != null) {
+			commandStack.removeCommandStackListener(commandStackListener);
+			commandStack = null;
+		}
+
+		updateProxy(null);
+		offscreen = Collections.EMPTY_SET;
+		pinned.clear();
+		changed.clear();
+		sizes.clear();
+	}
+
+	/**
+	 * Refreshes the children of my container once the current event is
+	 * handled.
+	 */
+	private void scheduleUpdate() {
+		if (updatePending || disposed) {
+			return;
+		}
+		updatePending = true;
+		DisplayUtils.getDisplay().asyncExec(new Runnable() {
+
+			public void run() {
+				updatePending = false;
+				if (!disposed) {
+					suspended = false;
+					pinned.clear();
+					refresher.run();
+				}
+			}
+		});
+	}
+
+	/**
+	 * Refreshes the editparts at the other ends of the connections of the
+	 * changed views once the current event is handled.
+	 */
+	private void scheduleConnectionsRefresh() {
+		if (connectionsPending || disposed) {
+			return;
+		}
+		connectionsPending = true;
+		DisplayUtils.getDisplay().asyncExec(new Runnable() {
+
+			public void run() {
+				connectionsPending = false;
+				if (!disposed) {
+					refreshConnectionEnds();
+				}
+			}
+		});
+	}
+
+	private void refreshConnectionEnds() {
+		Map registry = container.getViewer().getEditPartRegistry();
+		Set ends = new LinkedHashSet();
+
+		for (Iterator i = changed.iterator(); i.hasNext();) {
+			View view = (View) i.next();
+			addConnectionEnds(view, registry, ends);
+			for (Iterator j = view.eAllContents(); j.hasNext();) {
+				Object next = j.next();
+				if (next instanceof View) {
+					addConnectionEnds((View) next, registry, ends);
+				}
+			}
+		}
+		changed.clear();
+
+		for (Iterator i = ends.iterator(); i.hasNext();) {
+			EditPart end = (EditPart) i.next();
+			if (end.isActive()) {
+				end.refresh();
+			}
+		}
+	}
+
+	private static void addConnectionEnds(View view, Map registry, Set ends) {
+		for (Iterator i = view.getSourceEdges().iterator(); i.hasNext();) {
+			Object end = registry.get(((Edge) i.next()).getTarget());
+			if (end != null) {
+				ends.add(end);
+			}
+		}
+		for (Iterator i = view.getTargetEdges().iterator(); i.hasNext();) {
+			Object end = registry.get(((Edge) i.next()).getSource());
+			if (end != null) {
+				ends.add(end);
+			}
+		}
+	}
+
+	/**
+	 * An invisible figure covering the children off the viewport, that is
+	 * never found at any location.
+	 */
+	private static class ProxyFigure
+		extends Figure {
+
+		public boolean containsPoint(int x, int y) {
+			return false;
+		}
+
+		public IFigure findFigureAt(int x, int y, TreeSearch search) {
+			return null;
+		}
+	}
+}
@@ -14,9 +14,11 @@ package org.eclipse.gmf.runtime.diagram.ui.internal.services.editpart;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IConfigurationElement;
@@ -35,6 +37,8 @@ public class EditPartProviderConfiguration extends AbstractProviderConfiguration
 	private static final String CONTEXT = "context"; //$NON-NLS-1$
 	private static final String VIEWS = "views"; //$NON-NLS-1$
 	private static final String PROVIDES_ROOT_EDITPART = "providesRootEditPart"; //$NON-NLS-1$
+	private static final String GET_TYPE = "getType"; //$NON-NLS-1$
+	private static final String NOTATION_PACKAGE = "org.eclipse.gmf.runtime.notation."; //$NON-NLS-1$
 
 	/** a map of requests supported by this provider to their target contexts*/
 	private List requests = new ArrayList();
@@ -129,6 +133,53 @@ public class EditPartProviderConfiguration extends AbstractProviderConfiguration
 		}
 		return false;
 	}
+	/**
+	 * Gets the dispatch keys under which a provider with this configuration
+	 * is indexed, which are the view types listed in the <code>getType()</code>
+	 * method values of its view object descriptors.
+	 * 
+	 * @return the set of view types, or <code>null</code> if the provider may
+	 *         support views of any type
+	 * @see #getDispatchKeys(View)
+	 */
+	public Set getDispatchKeys() {
+		if (requests.isEmpty())
+			return null;
+
+		Set keys = new HashSet();
+		for (Iterator iter = requests.iterator(); iter.hasNext();) {
+			ContextDescriptor request = (ContextDescriptor) iter.next();
+			if (request.views == null)
+				continue;
+
+			for (Iterator views = request.views.iterator(); views.hasNext();) {
+				ObjectDescriptor view = (ObjectDescriptor) views.next();
+				String className = view.getContextClassName();
+				// getType() of an adapter of the view is not the view type
+				if (className != null && !className.startsWith(NOTATION_PACKAGE))
+					return null;
+
+				Set types = view.getValueLiterals(GET_TYPE);
+				if (types == null)
+					return null;
+				keys.addAll(types);
+			}
+		}
+		return keys;
+	}
+
+	/**
+	 * Gets the dispatch keys under which the providers that may support the
+	 * given view are indexed.
+	 * 
+	 * @param view The view
+	 * @return the dispatch keys
+	 * @see #getDispatchKeys()
+	 */
+	public static Object[] getDispatchKeys(View view) {
+		return new Object[] {String.valueOf(view.getType())};
+	}
+
 	/**
 	 * A descriptor for a provider context
 	 */
@@ -839,6 +839,8 @@ public abstract class DiagramEditor
 
         IDiagramGraphicalViewer viewer = getDiagramGraphicalViewer();
 
+        warmUpEditPartProviders();
+
         RootEditPart rootEP = EditPartService.getInstance().createRootEditPart(
             getDiagram());
         if (rootEP instanceof IDiagramPreferenceSupport) {
@@ -869,6 +871,22 @@ public abstract class DiagramEditor
         }
     }
 
+    /**
+     * Starts instantiating in the background the editpart providers that are
+     * predicted to be needed to open the diagram, before the viewer is
+     * configured and its contents are set. Subclasses may override to do
+     * nothing.
+     * 
+     * @see EditPartService#warmUpProviders(Diagram)
+     * @since 1.12
+     */
+    protected void warmUpEditPartProviders() {
+        Diagram diagram = getDiagram();
+        if (diagram != null) {
+            EditPartService.getInstance().warmUpProviders(diagram);
+        }
+    }
+
     /**
      * @see org.eclipse.gef.ui.parts.GraphicalEditor#initializeGraphicalViewer()
      */
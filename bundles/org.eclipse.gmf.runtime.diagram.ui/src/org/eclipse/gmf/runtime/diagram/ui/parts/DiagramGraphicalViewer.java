@@ -19,6 +19,7 @@ import org.eclipse.draw2d.LightweightSystem;
 import org.eclipse.gef.EditPart;
 import org.eclipse.gef.ui.parts.ScrollingGraphicalViewer;
 import org.eclipse.gmf.runtime.common.ui.util.DisplayUtils;
+import org.eclipse.gmf.runtime.diagram.ui.internal.editparts.ViewportVirtualizer;
 import org.eclipse.gmf.runtime.diagram.ui.internal.parts.ElementToEditPartsMap;
 import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.jface.util.TransferDragSourceListener;
@@ -286,8 +287,15 @@ public class DiagramGraphicalViewer
      *      java.lang.Class)
      */
     public List findEditPartsForElement(String elementIdStr, Class editPartClass) {
-        return elementToEditPartsMap.findEditPartsForElement(elementIdStr,
-            editPartClass);
+        List result = elementToEditPartsMap.findEditPartsForElement(
+            elementIdStr, editPartClass);
+        if (result.isEmpty()
+            && ViewportVirtualizer.materializeElement(this, elementIdStr)) {
+            // the views of the element were off the viewport
+            result = elementToEditPartsMap.findEditPartsForElement(
+                elementIdStr, editPartClass);
+        }
+        return result;
     }
 
     /**
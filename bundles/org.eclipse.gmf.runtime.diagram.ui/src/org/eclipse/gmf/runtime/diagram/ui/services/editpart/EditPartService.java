@@ -12,13 +12,18 @@
 
 package org.eclipse.gmf.runtime.diagram.ui.services.editpart;
 
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Future;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IConfigurationElement;
+import org.eclipse.emf.common.util.TreeIterator;
 import org.eclipse.emf.transaction.RunnableWithResult;
+import org.eclipse.emf.transaction.TransactionalEditingDomain;
 import org.eclipse.emf.transaction.util.TransactionUtil;
 import org.eclipse.gef.EditPart;
 import org.eclipse.gef.EditPartFactory;
@@ -61,8 +66,14 @@ final public class EditPartService
 	protected static class ProviderDescriptor
 		extends Service.ProviderDescriptor {
 
-		/** the provider configuration parsed from XML */
-		private EditPartProviderConfiguration providerConfiguration;
+		/**
+		 * the provider configuration parsed from XML, released by any
+		 * thread once the provider is needed
+		 */
+		private volatile EditPartProviderConfiguration providerConfiguration;
+
+		/** the dispatch keys computed from the provider configuration */
+		private final Collection dispatchKeys;
 
 		/**
 		 * Constructs a <code>ISemanticProvider</code> descriptor for
@@ -76,6 +87,15 @@ final public class EditPartService
 			this.providerConfiguration =
 				EditPartProviderConfiguration.parse(element);
 			Assert.isNotNull(providerConfiguration);
+			this.dispatchKeys = hasPolicy() ? null
+				: providerConfiguration.getDispatchKeys();
+		}
+
+		/**
+		 * @see org.eclipse.gmf.runtime.common.core.service.Service.ProviderDescriptor#getDispatchKeys()
+		 */
+		protected Collection getDispatchKeys() {
+			return dispatchKeys;
 		}
 
 		/**
@@ -88,8 +108,9 @@ final public class EditPartService
 			}
 			if (policy != null)
 				return policy.provides(operation);
-			if (provider == null) {
-				if (isSupportedInExtention(operation)) {
+			EditPartProviderConfiguration configuration = providerConfiguration;
+			if (provider == null && configuration != null) {
+				if (isSupportedInExtention(configuration, operation)) {
 					providerConfiguration = null;
 					return getProvider().provides(operation);
 				}
@@ -98,17 +119,33 @@ final public class EditPartService
 			return getProvider().provides(operation);
 		}
 
+		/**
+		 * Predicts the activation of the provider from its XML extension,
+		 * unless the provider declares a policy.
+		 * 
+		 * @see org.eclipse.gmf.runtime.common.core.service.Service.ProviderDescriptor#isActivationPredicted(org.eclipse.gmf.runtime.common.core.service.IOperation)
+		 */
+		protected boolean isActivationPredicted(IOperation operation) {
+			// the configuration is discarded once the provider is activated,
+			//    possibly by another thread
+			EditPartProviderConfiguration configuration = providerConfiguration;
+			return provider == null && configuration != null
+				&& !hasPolicy() && isSupportedInExtention(configuration, operation);
+		}
+
 		/**
 		 * Cheks if the operation is supported by the XML extension
+		 * @param configuration the provider configuration parsed from XML
 		 * @param operation
 		 * @return <code> true</code> or <code>false</code>
 		 */
-		private boolean isSupportedInExtention(IOperation operation) {
+		private boolean isSupportedInExtention(
+				EditPartProviderConfiguration configuration, IOperation operation) {
 			if (operation instanceof CreateGraphicEditPartOperation) {
 				CreateGraphicEditPartOperation o = (CreateGraphicEditPartOperation) operation;
-				return providerConfiguration.supports(o.getView());
+				return configuration.supports(o.getView());
 			} else if (operation instanceof CreateRootEditPartOperation) {
-				return providerConfiguration.supportsRootEditPart();
+				return configuration.supportsRootEditPart();
 			}
 			return false;
 		}
@@ -124,6 +161,12 @@ final public class EditPartService
 		}
 	}
 
+	/**
+	 * The maximum number of views of a diagram visited to predict the
+	 * providers to warm up.
+	 */
+	private static final int MAX_WARM_UP_VIEWS = 1000;
+
 	/** singelton instance. */
 	private final static EditPartService instance = new EditPartService();
 
@@ -158,6 +201,18 @@ final public class EditPartService
 		return new HashMap();
 	}
 	
+	/**
+	 * @see org.eclipse.gmf.runtime.common.core.service.Service#getDispatchKeys(org.eclipse.gmf.runtime.common.core.service.IOperation)
+	 */
+	protected Object[] getDispatchKeys(IOperation operation) {
+		if (operation instanceof CreateGraphicEditPartOperation) {
+			View view = ((CreateGraphicEditPartOperation) operation).getView();
+			if (view != null)
+				return EditPartProviderConfiguration.getDispatchKeys(view);
+		}
+		return null;
+	}
+
 	/* (non-Javadoc)
 	 * @see org.eclipse.gmf.runtime.common.core.service.Service#getCachingKey(org.eclipse.gmf.runtime.common.core.service.IOperation)
 	 */
@@ -237,6 +292,74 @@ final public class EditPartService
 		}
 	}
 
+	/**
+	 * Instantiates in the background the providers predicted, from their XML
+	 * extensions, to create the root editpart and the editparts of a diagram
+	 * that is about to be opened, so that their bundles are activated in
+	 * parallel rather than one after the other on the UI thread.
+	 * <P>
+	 * The views of the diagram are visited up to a limit, and only once per
+	 * type. The editparts are not created.
+	 * 
+	 * @param diagram
+	 *            the diagram about to be opened
+	 * @return a future that completes once the predicted providers have been
+	 *         instantiated
+	 * @see Service#warmUpProviders(IOperation[])
+	 * @since 1.12
+	 */
+	public Future warmUpProviders(final Diagram diagram) {
+		final Map operations = new LinkedHashMap();
+		operations.put(CreateRootEditPartOperation.class,
+			new CreateRootEditPartOperation(diagram));
+
+		Runnable collect = new Runnable() {
+
+			public void run() {
+				addWarmUpOperation(diagram, operations);
+
+				// the nodes and edges, but not the styles and such
+				int visited = 0;
+				for (TreeIterator i = diagram.eAllContents(); i.hasNext()
+					&& visited < MAX_WARM_UP_VIEWS;) {
+					Object next = i.next();
+					if (next instanceof View) {
+						addWarmUpOperation((View) next, operations);
+						visited++;
+					} else {
+						i.prune();
+					}
+				}
+			}
+		};
+
+		TransactionalEditingDomain domain = TransactionUtil
+			.getEditingDomain(diagram);
+		try {
+			if (domain != null) {
+				domain.runExclusive(collect);
+			} else {
+				collect.run();
+			}
+		} catch (InterruptedException e) {
+			Trace.catching(DiagramUIPlugin.getInstance(),
+				DiagramUIDebugOptions.EXCEPTIONS_CATCHING, getClass(),
+				"warmUpProviders", e); //$NON-NLS-1$
+		}
+
+		return warmUpProviders((IOperation[]) operations.values().toArray(
+			new IOperation[operations.size()]));
+	}
+
+	private static void addWarmUpOperation(View view, Map operations) {
+		CreateGraphicEditPartOperation operation = new CreateGraphicEditPartOperation(
+			view);
+		String key = operation.getCachingKey();
+		if (!operations.containsKey(key)) {
+			operations.put(key, operation);
+		}
+	}
+
 	/* 
 	 * (non-Javadoc)
 	 * @see org.eclipse.gmf.runtime.diagram.ui.internal.services.editpart.IEditPartProvider#createRootEditPart(org.eclipse.gmf.runtime.notation.Diagram)
@@ -0,0 +1,1538 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ ****************************************************************************/
+
+package org.eclipse.gmf.runtime.draw2d.ui.render.awt.internal.svg.export;
+
+import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Composite;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.GradientPaint;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.Paint;
+import java.awt.Polygon;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.Stroke;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Arc2D;
+import java.awt.geom.Area;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Line2D;
+import java.awt.geom.NoninvertibleTransformException;
+import java.awt.geom.Path2D;
+import java.awt.geom.PathIterator;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.BufferedImageOp;
+import java.awt.image.ColorModel;
+import java.awt.image.ImageObserver;
+import java.awt.image.RenderedImage;
+import java.awt.image.WritableRaster;
+import java.awt.image.renderable.RenderableImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.text.AttributedCharacterIterator;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.imageio.ImageIO;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+import org.w3c.dom.Element;
+
+/**
+ * A <code>Graphics2D</code> that writes each painting operation as an SVG
+ * element to a <code>Writer</code>, instead of building an SVG DOM.
+ * <P>
+ * Shapes, text and images are written in device coordinates, inside groups
+ * that share their clipping path. The style of the elements, including their
+ * font, is written once as a CSS class that all of the elements with the same
+ * style refer to, and likewise for the clipping paths and gradients. Only the
+ * most recently used definitions are remembered, so the memory used does not
+ * depend on the size of the painting; a definition that was forgotten is
+ * simply written again.
+ * <P>
+ * Errors of the writer are remembered and reported by {@link #close()}, since
+ * the painting methods cannot throw them.
+ */
+final class SVGStreamGraphics2D
+	extends Graphics2D {
+
+	/**
+	 * The SVG name space.
+	 */
+	static final String SVG_NAMESPACE = "http://www.w3.org/2000/svg"; //$NON-NLS-1$
+
+	/**
+	 * The XLink name space, for the references of images.
+	 */
+	static final String XLINK_NAMESPACE = "http://www.w3.org/1999/xlink"; //$NON-NLS-1$
+
+	/**
+	 * The maximum number of style classes remembered for reuse.
+	 */
+	private static final int MAXIMUM_STYLES = 4096;
+
+	/**
+	 * The maximum number of clipping paths remembered for reuse.
+	 */
+	private static final int MAXIMUM_CLIPS = 1024;
+
+	/**
+	 * The maximum number of gradients remembered for reuse.
+	 */
+	private static final int MAXIMUM_GRADIENTS = 256;
+
+	/**
+	 * Graphics used to obtain font metrics.
+	 */
+	private static final Graphics2D METRICS_GRAPHICS = new BufferedImage(1,
+		1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+
+	/**
+	 * Map of definitions to their identifiers, forgetting the least recently
+	 * used definitions beyond a maximum size.
+	 */
+	private static final class Definitions
+		extends LinkedHashMap {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int maximumSize;
+
+		Definitions(int maximumSize) {
+			super(16, 0.75f, true);
+			this.maximumSize = maximumSize;
+		}
+
+		protected boolean removeEldestEntry(Map.Entry eldest) {
+			return size() > maximumSize;
+		}
+	}
+
+	/**
+	 * The document being written, shared by a graphics and the graphics that
+	 * it creates.
+	 */
+	private static final class Output {
+
+		final Writer writer;
+
+		final Definitions styles = new Definitions(MAXIMUM_STYLES);
+
+		final Definitions clips = new Definitions(MAXIMUM_CLIPS);
+
+		final Definitions gradients = new Definitions(MAXIMUM_GRADIENTS);
+
+		/**
+		 * The identifier of the clipping path of the open group, or
+		 * <code>null</code> if no group is open.
+		 */
+		String group;
+
+		/**
+		 * The clip of the open group if it is a rectangle, otherwise
+		 * <code>null</code>.
+		 */
+		Rectangle2D groupRectangle;
+
+		int nextId;
+
+		Transformer transformer;
+
+		IOException error;
+
+		boolean closed;
+
+		Output(Writer writer) {
+			this.writer = writer;
+		}
+
+		void write(String text) {
+			if (error != null) {
+				return;
+			}
+			try {
+				writer.write(text);
+			} catch (IOException e) {
+				error = e;
+			}
+		}
+
+		String newId(String prefix) {
+			return prefix + (nextId++);
+		}
+
+		/**
+		 * Ensures that the next element is written inside a group clipped by
+		 * the given clipping path.
+		 *
+		 * @param clipId
+		 *            the identifier of the clipping path, or <code>null</code>
+		 *            for no clipping
+		 * @param clipRectangle
+		 *            the clip if it is a rectangle, otherwise
+		 *            <code>null</code>
+		 */
+		void setGroup(String clipId, Rectangle2D clipRectangle) {
+			if (clipId == null ? group == null : clipId.equals(group)) {
+				return;
+			}
+			if (group != null) {
+				write("</g>\n"); //$NON-NLS-1$
+			}
+			if (clipId != null) {
+				write("<g clip-path=\"url(#" + clipId + ")\">\n"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			group = clipId;
+			groupRectangle = clipRectangle;
+		}
+	}
+
+	private final Output output;
+
+	private AffineTransform transform;
+
+	/**
+	 * The clip in device coordinates, or <code>null</code> if there is none.
+	 */
+	private Shape clip;
+
+	private Paint paint = Color.black;
+
+	private Color color = Color.black;
+
+	private Color background = Color.white;
+
+	private Stroke stroke = new BasicStroke();
+
+	private Font font = new Font("Dialog", Font.PLAIN, 12); //$NON-NLS-1$
+
+	private Composite composite = AlphaComposite.SrcOver;
+
+	private RenderingHints hints = new RenderingHints(null);
+
+	/**
+	 * Creates a graphics that writes to the given writer.
+	 *
+	 * @param writer
+	 *            the writer of the document
+	 */
+	SVGStreamGraphics2D(Writer writer) {
+		output = new Output(writer);
+		transform = new AffineTransform();
+	}
+
+	private SVGStreamGraphics2D(SVGStreamGraphics2D other) {
+		output = other.output;
+		transform = new AffineTransform(other.transform);
+		clip = other.clip;
+		paint = other.paint;
+		color = other.color;
+		background = other.background;
+		stroke = other.stroke;
+		font = other.font;
+		composite = other.composite;
+		hints = (RenderingHints) other.hints.clone();
+	}
+
+	/**
+	 * Writes the start of the document.
+	 *
+	 * @param width
+	 *            the width of the document
+	 * @param height
+	 *            the height of the document
+	 * @param viewBox
+	 *            the view box of the document, as four numbers
+	 */
+	void open(int width, int height, String viewBox) {
+		output.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"); //$NON-NLS-1$
+		output.write("<svg xmlns=\"" + SVG_NAMESPACE //$NON-NLS-1$
+			+ "\" xmlns:xlink=\"" + XLINK_NAMESPACE //$NON-NLS-1$
+			+ "\" width=\"" + width + "\" height=\"" + height //$NON-NLS-1$ //$NON-NLS-2$
+			+ "\" viewBox=\"" + viewBox + "\">\n"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Writes the end of the document and flushes the writer, unless it was
+	 * already done. The writer itself is not closed.
+	 *
+	 * @throws IOException
+	 *             the first error of the writer, if any
+	 */
+	void close()
+		throws IOException {
+		if (!output.closed) {
+			output.closed = true;
+			output.setGroup(null, null);
+			output.write("</svg>\n"); //$NON-NLS-1$
+			if (output.error == null) {
+				try {
+					output.writer.flush();
+				} catch (IOException e) {
+					output.error = e;
+				}
+			}
+		}
+		if (output.error != null) {
+			throw output.error;
+		}
+	}
+
+	/**
+	 * Writes an element of another SVG document, with the current clip.
+	 *
+	 * @param element
+	 *            the element
+	 */
+	void writeElement(Element element) {
+		if (!begin(null)) {
+			return;
+		}
+		try {
+			if (output.transformer == null) {
+				output.transformer = TransformerFactory.newInstance()
+					.newTransformer();
+				output.transformer.setOutputProperty(
+					OutputKeys.OMIT_XML_DECLARATION, "yes"); //$NON-NLS-1$
+			}
+			output.transformer.transform(new DOMSource(element),
+				new StreamResult(output.writer));
+			output.write("\n"); //$NON-NLS-1$
+		} catch (TransformerException e) {
+			output.error = new IOException(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Prepares the writing of an element: writes the clipping path if it is
+	 * new and opens the group of the clip.
+	 *
+	 * @param bounds
+	 *            the bounds of everything that the element paints, in device
+	 *            coordinates, or <code>null</code> if unknown
+	 * @return <code>false</code> if the element must not be written, because
+	 *         it is clipped away or the writer failed
+	 */
+	private boolean begin(Rectangle2D bounds) {
+		if (output.error != null || output.closed) {
+			return false;
+		}
+		if (clip == null) {
+			output.setGroup(null, null);
+			return true;
+		}
+		Rectangle2D clipBounds = clip.getBounds2D();
+		if (clipBounds.isEmpty()
+			|| (bounds != null && !intersects(clipBounds, bounds))) {
+			return false;
+		}
+		if (bounds != null && clip instanceof Rectangle2D
+			&& clipBounds.contains(bounds)
+			&& (output.group == null || output.groupRectangle != null
+				&& output.groupRectangle.contains(bounds))) {
+			// neither the clip nor the clip of the open group cut the
+			// element, so there is no need to switch groups
+			return true;
+		}
+		output.setGroup(defineClip(), clip instanceof Rectangle2D ? clipBounds
+			: null);
+		return true;
+	}
+
+	private static boolean intersects(Rectangle2D a, Rectangle2D b) {
+		// unlike Rectangle2D.intersects(), allows lines of no width or height
+		return b.getMaxX() >= a.getMinX() && b.getMinX() <= a.getMaxX()
+			&& b.getMaxY() >= a.getMinY() && b.getMinY() <= a.getMaxY();
+	}
+
+	private String defineClip() {
+		String shape;
+		if (clip instanceof Rectangle2D) {
+			Rectangle2D r = (Rectangle2D) clip;
+			StringBuffer buffer = new StringBuffer("<rect x=\""); //$NON-NLS-1$
+			appendNumber(buffer, r.getX());
+			buffer.append("\" y=\""); //$NON-NLS-1$
+			appendNumber(buffer, r.getY());
+			buffer.append("\" width=\""); //$NON-NLS-1$
+			appendNumber(buffer, r.getWidth());
+			buffer.append("\" height=\""); //$NON-NLS-1$
+			appendNumber(buffer, r.getHeight());
+			buffer.append("\"/>"); //$NON-NLS-1$
+			shape = buffer.toString();
+		} else {
+			PathIterator iterator = clip.getPathIterator(null);
+			shape = "<path d=\"" + toPathData(iterator) //$NON-NLS-1$
+				+ (iterator.getWindingRule() == PathIterator.WIND_EVEN_ODD
+					? "\" clip-rule=\"evenodd\"/>" //$NON-NLS-1$
+					: "\"/>"); //$NON-NLS-1$
+		}
+
+		String id = (String) output.clips.get(shape);
+		if (id == null) {
+			id = output.newId("c"); //$NON-NLS-1$
+			output.clips.put(shape, id);
+			output.write("<clipPath id=\"" + id + "\">" + shape //$NON-NLS-1$ //$NON-NLS-2$
+				+ "</clipPath>\n"); //$NON-NLS-1$
+		}
+		return id;
+	}
+
+	/**
+	 * Gets the class of a style, writing the style the first time that it is
+	 * used.
+	 *
+	 * @param style
+	 *            the CSS declarations of the style
+	 * @return the name of the class
+	 */
+	private String getStyleClass(String style) {
+		String id = (String) output.styles.get(style);
+		if (id == null) {
+			id = output.newId("s"); //$NON-NLS-1$
+			output.styles.put(style, id);
+			output.write("<style type=\"text/css\"><![CDATA[." + id + "{" //$NON-NLS-1$ //$NON-NLS-2$
+				+ style + "}]]></style>\n"); //$NON-NLS-1$
+		}
+		return id;
+	}
+
+	/**
+	 * Appends the CSS declarations of the current paint for a property.
+	 *
+	 * @param buffer
+	 *            the buffer
+	 * @param property
+	 *            <code>fill</code> or <code>stroke</code>
+	 */
+	private void appendPaint(StringBuffer buffer, String property) {
+		float opacity = 1f;
+		if (composite instanceof AlphaComposite) {
+			opacity = ((AlphaComposite) composite).getAlpha();
+		}
+
+		buffer.append(property).append(':');
+		if (paint instanceof GradientPaint) {
+			buffer.append("url(#") //$NON-NLS-1$
+				.append(defineGradient((GradientPaint) paint)).append(')');
+		} else {
+			// other kinds of paint are not used by the adaptor, so they are
+			// approximated by the current color
+			Color c = paint instanceof Color ? (Color) paint
+				: color;
+			appendColor(buffer, c);
+			opacity *= c.getAlpha() / 255f;
+		}
+		if (opacity < 1f) {
+			buffer.append(';').append(property).append("-opacity:"); //$NON-NLS-1$
+			appendNumber(buffer, opacity);
+		}
+	}
+
+	private String defineGradient(GradientPaint gradient) {
+		Point2D p1 = transform.transform(gradient.getPoint1(), null);
+		Point2D p2 = transform.transform(gradient.getPoint2(), null);
+
+		StringBuffer buffer = new StringBuffer(" gradientUnits=\"userSpaceOnUse\" x1=\""); //$NON-NLS-1$
+		appendNumber(buffer, p1.getX());
+		buffer.append("\" y1=\""); //$NON-NLS-1$
+		appendNumber(buffer, p1.getY());
+		buffer.append("\" x2=\""); //$NON-NLS-1$
+		appendNumber(buffer, p2.getX());
+		buffer.append("\" y2=\""); //$NON-NLS-1$
+		appendNumber(buffer, p2.getY());
+		if (gradient.isCyclic()) {
+			buffer.append("\" spreadMethod=\"reflect"); //$NON-NLS-1$
+		}
+		buffer.append("\">"); //$NON-NLS-1$
+		appendStop(buffer, "0", gradient.getColor1()); //$NON-NLS-1$
+		appendStop(buffer, "1", gradient.getColor2()); //$NON-NLS-1$
+		String definition = buffer.toString();
+
+		String id = (String) output.gradients.get(definition);
+		if (id == null) {
+			id = output.newId("g"); //$NON-NLS-1$
+			output.gradients.put(definition, id);
+			output.write("<linearGradient id=\"" + id + "\"" + definition //$NON-NLS-1$ //$NON-NLS-2$
+				+ "</linearGradient>\n"); //$NON-NLS-1$
+		}
+		return id;
+	}
+
+	private static void appendStop(StringBuffer buffer, String offset,
+			Color c) {
+		buffer.append("<stop offset=\"").append(offset) //$NON-NLS-1$
+			.append("\" stop-color=\""); //$NON-NLS-1$
+		appendColor(buffer, c);
+		if (c.getAlpha() < 255) {
+			buffer.append("\" stop-opacity=\""); //$NON-NLS-1$
+			appendNumber(buffer, c.getAlpha() / 255.0);
+		}
+		buffer.append("\"/>"); //$NON-NLS-1$
+	}
+
+	private static void appendColor(StringBuffer buffer, Color c) {
+		String hex = Integer.toHexString(c.getRGB() & 0xFFFFFF);
+		buffer.append('#');
+		for (int i = hex.length(); i < 6; i++) {
+			buffer.append('0');
+		}
+		buffer.append(hex);
+	}
+
+	/**
+	 * Appends a number with at most three decimals, which is more than
+	 * enough for device coordinates.
+	 *
+	 * @param buffer
+	 *            the buffer
+	 * @param value
+	 *            the number
+	 */
+	static void appendNumber(StringBuffer buffer, double value) {
+		if (Double.isNaN(value) || Double.isInfinite(value)) {
+			value = 0;
+		}
+		long rounded = Math.round(value * 1000);
+		if (rounded % 1000 == 0) {
+			buffer.append(rounded / 1000);
+			return;
+		}
+		if (rounded < 0) {
+			buffer.append('-');
+			rounded = -rounded;
+		}
+		buffer.append(rounded / 1000).append('.');
+		int fraction = (int) (rounded % 1000);
+		if (fraction < 100) {
+			buffer.append('0');
+		}
+		if (fraction < 10) {
+			buffer.append('0');
+		}
+		while (fraction % 10 == 0) {
+			fraction /= 10;
+		}
+		buffer.append(fraction);
+	}
+
+	/**
+	 * Converts a path to SVG path data.
+	 *
+	 * @param iterator
+	 *            the path, in device coordinates
+	 * @return the path data
+	 */
+	static String toPathData(PathIterator iterator) {
+		StringBuffer buffer = new StringBuffer();
+		double[] coords = new double[6];
+		for (; !iterator.isDone(); iterator.next()) {
+			int points;
+			switch (iterator.currentSegment(coords)) {
+				case PathIterator.SEG_MOVETO:
+					buffer.append('M');
+					points = 1;
+					break;
+				case PathIterator.SEG_LINETO:
+					buffer.append('L');
+					points = 1;
+					break;
+				case PathIterator.SEG_QUADTO:
+					buffer.append('Q');
+					points = 2;
+					break;
+				case PathIterator.SEG_CUBICTO:
+					buffer.append('C');
+					points = 3;
+					break;
+				default:
+					buffer.append('Z');
+					points = 0;
+			}
+			for (int i = 0; i < points * 2; i++) {
+				if (i > 0) {
+					buffer.append(' ');
+				}
+				appendNumber(buffer, coords[i]);
+			}
+		}
+		return buffer.toString();
+	}
+
+	/**
+	 * Appends an XML escaped text, leaving out the characters that XML does
+	 * not allow.
+	 *
+	 * @param buffer
+	 *            the buffer
+	 * @param text
+	 *            the text
+	 */
+	static void appendEscaped(StringBuffer buffer, String text) {
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			switch (c) {
+				case '&':
+					buffer.append("&amp;"); //$NON-NLS-1$
+					break;
+				case '<':
+					buffer.append("&lt;"); //$NON-NLS-1$
+					break;
+				case '>':
+					buffer.append("&gt;"); //$NON-NLS-1$
+					break;
+				case '"':
+					buffer.append("&quot;"); //$NON-NLS-1$
+					break;
+				default:
+					if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+						buffer.append(c);
+					}
+			}
+		}
+	}
+
+	private static void appendMatrix(StringBuffer buffer, AffineTransform at) {
+		buffer.append(" transform=\"matrix("); //$NON-NLS-1$
+		appendNumber(buffer, at.getScaleX());
+		buffer.append(' ');
+		appendNumber(buffer, at.getShearY());
+		buffer.append(' ');
+		appendNumber(buffer, at.getShearX());
+		buffer.append(' ');
+		appendNumber(buffer, at.getScaleY());
+		buffer.append(' ');
+		appendNumber(buffer, at.getTranslateX());
+		buffer.append(' ');
+		appendNumber(buffer, at.getTranslateY());
+		buffer.append(")\""); //$NON-NLS-1$
+	}
+
+	/**
+	 * Determines whether the current transform keeps rectangles axis
+	 * aligned.
+	 */
+	private boolean isRectilinear() {
+		return transform.getShearX() == 0 && transform.getShearY() == 0;
+	}
+
+	/**
+	 * Determines whether the current transform scales the same way in every
+	 * direction, so that a stroke can be written in device coordinates.
+	 */
+	private boolean isConformal() {
+		double a = transform.getScaleX();
+		double b = transform.getShearY();
+		double c = transform.getShearX();
+		double d = transform.getScaleY();
+		double tolerance = 1e-9 * (a * a + b * b + c * c + d * d);
+		return Math.abs(a * a + b * b - c * c - d * d) <= tolerance
+			&& Math.abs(a * c + b * d) <= tolerance;
+	}
+
+	private Shape toDevice(Shape s) {
+		if (s instanceof Rectangle2D && isRectilinear()) {
+			Rectangle2D r = (Rectangle2D) s;
+			Rectangle2D.Double result = new Rectangle2D.Double();
+			result.setFrameFromDiagonal(transform.getScaleX() * r.getMinX()
+				+ transform.getTranslateX(), transform.getScaleY()
+				* r.getMinY() + transform.getTranslateY(), transform
+				.getScaleX()
+				* r.getMaxX() + transform.getTranslateX(), transform
+				.getScaleY()
+				* r.getMaxY() + transform.getTranslateY());
+			return result;
+		}
+		return transform.createTransformedShape(s);
+	}
+
+	/**
+	 * Writes a shape.
+	 *
+	 * @param deviceShape
+	 *            the shape in device coordinates
+	 * @param style
+	 *            the CSS declarations of its style
+	 * @param outset
+	 *            how far the painting may extend beyond the shape, because
+	 *            of its stroke
+	 */
+	private void writeShape(Shape deviceShape, String style, double outset) {
+		Rectangle2D bounds = deviceShape.getBounds2D();
+		if (outset > 0) {
+			bounds = new Rectangle2D.Double(bounds.getX() - outset,
+				bounds.getY() - outset, bounds.getWidth() + 2 * outset,
+				bounds.getHeight() + 2 * outset);
+		}
+		if (!begin(bounds)) {
+			return;
+		}
+		StringBuffer buffer = new StringBuffer();
+		if (deviceShape instanceof Rectangle2D) {
+			Rectangle2D r = (Rectangle2D) deviceShape;
+			buffer.append("<rect class=\"").append(getStyleClass(style)) //$NON-NLS-1$
+				.append("\" x=\""); //$NON-NLS-1$
+			appendNumber(buffer, r.getX());
+			buffer.append("\" y=\""); //$NON-NLS-1$
+			appendNumber(buffer, r.getY());
+			buffer.append("\" width=\""); //$NON-NLS-1$
+			appendNumber(buffer, r.getWidth());
+			buffer.append("\" height=\""); //$NON-NLS-1$
+			appendNumber(buffer, r.getHeight());
+			buffer.append("\"/>\n"); //$NON-NLS-1$
+		} else {
+			PathIterator iterator = deviceShape.getPathIterator(null);
+			if (iterator.getWindingRule() == PathIterator.WIND_EVEN_ODD
+				&& style.startsWith("fill:")) { //$NON-NLS-1$
+				style = style + ";fill-rule:evenodd"; //$NON-NLS-1$
+			}
+			String data = toPathData(iterator);
+			if (data.length() == 0) {
+				return;
+			}
+			buffer.append("<path class=\"").append(getStyleClass(style)) //$NON-NLS-1$
+				.append("\" d=\"").append(data).append("\"/>\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		output.write(buffer.toString());
+	}
+
+	private String getFillStyle() {
+		StringBuffer buffer = new StringBuffer();
+		appendPaint(buffer, "fill"); //$NON-NLS-1$
+		buffer.append(";stroke:none"); //$NON-NLS-1$
+		return buffer.toString();
+	}
+
+	private String getStrokeStyle(BasicStroke basicStroke) {
+		double scale = Math.sqrt(Math.abs(transform.getDeterminant()));
+		StringBuffer buffer = new StringBuffer("fill:none;"); //$NON-NLS-1$
+		appendPaint(buffer, "stroke"); //$NON-NLS-1$
+		buffer.append(";stroke-width:"); //$NON-NLS-1$
+		// a zero width is the thinnest line in Java, but nothing in SVG
+		appendNumber(buffer, basicStroke.getLineWidth() == 0 ? 1
+			: basicStroke.getLineWidth() * scale);
+		switch (basicStroke.getEndCap()) {
+			case BasicStroke.CAP_ROUND:
+				buffer.append(";stroke-linecap:round"); //$NON-NLS-1$
+				break;
+			case BasicStroke.CAP_SQUARE:
+				buffer.append(";stroke-linecap:square"); //$NON-NLS-1$
+				break;
+			default:
+				break;
+		}
+		switch (basicStroke.getLineJoin()) {
+			case BasicStroke.JOIN_ROUND:
+				buffer.append(";stroke-linejoin:round"); //$NON-NLS-1$
+				break;
+			case BasicStroke.JOIN_BEVEL:
+				buffer.append(";stroke-linejoin:bevel"); //$NON-NLS-1$
+				break;
+			default:
+				buffer.append(";stroke-miterlimit:"); //$NON-NLS-1$
+				appendNumber(buffer, Math.max(1, basicStroke.getMiterLimit()));
+		}
+		float[] dash = basicStroke.getDashArray();
+		if (dash != null && dash.length > 0) {
+			buffer.append(";stroke-dasharray:"); //$NON-NLS-1$
+			for (int i = 0; i < dash.length; i++) {
+				if (i > 0) {
+					buffer.append(',');
+				}
+				appendNumber(buffer, dash[i] * scale);
+			}
+			if (basicStroke.getDashPhase() != 0) {
+				buffer.append(";stroke-dashoffset:"); //$NON-NLS-1$
+				appendNumber(buffer, basicStroke.getDashPhase() * scale);
+			}
+		}
+		return buffer.toString();
+	}
+
+	private String getTextStyle(float size) {
+		StringBuffer buffer = new StringBuffer();
+		appendPaint(buffer, "fill"); //$NON-NLS-1$
+		buffer.append(";stroke:none;font-family:'"); //$NON-NLS-1$
+		String family = font.getFamily();
+		for (int i = 0; i < family.length(); i++) {
+			char c = family.charAt(i);
+			if (c != '\'' && c != '\\' && c != ']' && c >= 0x20) {
+				buffer.append(c);
+			}
+		}
+		buffer.append("';font-size:"); //$NON-NLS-1$
+		appendNumber(buffer, size);
+		if (font.isBold()) {
+			buffer.append(";font-weight:bold"); //$NON-NLS-1$
+		}
+		if (font.isItalic()) {
+			buffer.append(";font-style:italic"); //$NON-NLS-1$
+		}
+		return buffer.toString();
+	}
+
+	private void writeImage(RenderedImage img, AffineTransform imageTransform,
+			Color bgcolor) {
+		if (img == null || img.getWidth() <= 0 || img.getHeight() <= 0) {
+			return;
+		}
+		AffineTransform at = new AffineTransform(transform);
+		if (imageTransform != null) {
+			at.concatenate(imageTransform);
+		}
+		Rectangle2D imageBounds = new Rectangle2D.Double(0, 0,
+			img.getWidth(), img.getHeight());
+		Shape deviceBounds = at.createTransformedShape(imageBounds);
+		if (bgcolor != null && img.getColorModel().hasAlpha()) {
+			Paint oldPaint = paint;
+			paint = bgcolor;
+			writeShape(deviceBounds, getFillStyle(), 0);
+			paint = oldPaint;
+		}
+		if (!begin(deviceBounds.getBounds2D())) {
+			return;
+		}
+
+		ByteArrayOutputStream png = new ByteArrayOutputStream();
+		try {
+			if (!ImageIO.write(img, "png", png)) { //$NON-NLS-1$
+				return;
+			}
+		} catch (IOException e) {
+			output.error = e;
+			return;
+		}
+
+		StringBuffer buffer = new StringBuffer("<image"); //$NON-NLS-1$
+		if (at.getType() == AffineTransform.TYPE_TRANSLATION
+			|| at.isIdentity()) {
+			buffer.append(" x=\""); //$NON-NLS-1$
+			appendNumber(buffer, at.getTranslateX());
+			buffer.append("\" y=\""); //$NON-NLS-1$
+			appendNumber(buffer, at.getTranslateY());
+			buffer.append('"');
+		} else {
+			appendMatrix(buffer, at);
+		}
+		buffer.append(" width=\"").append(img.getWidth()) //$NON-NLS-1$
+			.append("\" height=\"").append(img.getHeight()) //$NON-NLS-1$
+			.append("\" preserveAspectRatio=\"none\" xlink:href=\"data:image/png;base64,") //$NON-NLS-1$
+			.append(Base64.getEncoder().encodeToString(png.toByteArray()))
+			.append("\"/>\n"); //$NON-NLS-1$
+		output.write(buffer.toString());
+	}
+
+	private static RenderedImage toRenderedImage(Image img) {
+		if (img instanceof RenderedImage) {
+			return (RenderedImage) img;
+		}
+		if (img == null) {
+			return null;
+		}
+		int width = img.getWidth(null);
+		int height = img.getHeight(null);
+		if (width <= 0 || height <= 0) {
+			return null;
+		}
+		BufferedImage result = new BufferedImage(width, height,
+			BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = result.createGraphics();
+		g.drawImage(img, 0, 0, null);
+		g.dispose();
+		return result;
+	}
+
+	private static BufferedImage toBufferedImage(RenderedImage img) {
+		if (img instanceof BufferedImage) {
+			return (BufferedImage) img;
+		}
+		ColorModel cm = img.getColorModel();
+		WritableRaster raster = cm.createCompatibleWritableRaster(
+			img.getWidth(), img.getHeight());
+		img.copyData(raster);
+		return new BufferedImage(cm, raster, cm.isAlphaPremultiplied(), null);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics2D#draw(java.awt.Shape)
+	 */
+	public void draw(Shape s) {
+		if (stroke instanceof BasicStroke && isConformal()) {
+			BasicStroke basicStroke = (BasicStroke) stroke;
+			double width = basicStroke.getLineWidth()
+				* Math.sqrt(Math.abs(transform.getDeterminant()));
+			double outset = Math.max(1, width) / 2;
+			if (basicStroke.getLineJoin() == BasicStroke.JOIN_MITER) {
+				outset *= Math.max(1, basicStroke.getMiterLimit());
+			}
+			writeShape(toDevice(s), getStrokeStyle(basicStroke), outset);
+		} else {
+			fill(stroke.createStrokedShape(s));
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics2D#fill(java.awt.Shape)
+	 */
+	public void fill(Shape s) {
+		writeShape(toDevice(s), getFillStyle(), 0);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics2D#drawString(java.lang.String, float, float)
+	 */
+	public void drawString(String str, float x, float y) {
+		if (str.length() == 0) {
+			return;
+		}
+		boolean translation = isRectilinear() && transform.getScaleX() == 1
+			&& transform.getScaleY() == 1;
+		// the fonts of the viewer may differ, so text is always clipped
+		if (!begin(null)) {
+			return;
+		}
+
+		StringBuffer buffer = new StringBuffer("<text class=\""); //$NON-NLS-1$
+		buffer.append(getStyleClass(getTextStyle(font.getSize2D())))
+			.append("\" x=\""); //$NON-NLS-1$
+		appendNumber(buffer, translation ? x + transform.getTranslateX()
+			: x);
+		buffer.append("\" y=\""); //$NON-NLS-1$
+		appendNumber(buffer, translation ? y + transform.getTranslateY()
+			: y);
+		buffer.append('"');
+		if (!translation) {
+			appendMatrix(buffer, transform);
+		}
+		buffer.append(" xml:space=\"preserve\">"); //$NON-NLS-1$
+		appendEscaped(buffer, str);
+		buffer.append("</text>\n"); //$NON-NLS-1$
+		output.write(buffer.toString());
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics2D#drawString(java.lang.String, int, int)
+	 */
+	public void drawString(String str, int x, int y) {
+		drawString(str, (float) x, (float) y);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics2D#drawString(java.text.AttributedCharacterIterator, float, float)
+	 */
+	public void drawString(AttributedCharacterIterator iterator, float x,
+			float y) {
+		StringBuffer buffer = new StringBuffer();
+		for (char c = iterator.first(); c != AttributedCharacterIterator.DONE; c = iterator
+			.next()) {
+			buffer.append(c);
+		}
+		drawString(buffer.toString(), x, y);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics2D#drawString(java.text.AttributedCharacterIterator, int, int)
+	 */
+	public void drawString(AttributedCharacterIterator iterator, int x, int y) {
+		drawString(iterator, (float) x, (float) y);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics2D#drawGlyphVector(java.awt.font.GlyphVector, float, float)
+	 */
+	public void drawGlyphVector(GlyphVector g, float x, float y) {
+		fill(g.getOutline(x, y));
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics2D#drawImage(java.awt.Image, java.awt.geom.AffineTransform, java.awt.image.ImageObserver)
+	 */
+	public boolean drawImage(Image img, AffineTransform xform,
+			ImageObserver obs) {
+		writeImage(toRenderedImage(img), xform, null);
+		return true;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics2D#drawImage(java.awt.image.BufferedImage, java.awt.image.BufferedImageOp, int, int)
+	 */
+	public void drawImage(BufferedImage img, BufferedImageOp op, int x, int y) {
+		writeImage(op == null ? img
+			: op.filter(img, null), AffineTransform.getTranslateInstance(x,
+			y), null);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics2D#drawRenderedImage(java.awt.image.RenderedImage, java.awt.geom.AffineTransform)
+	 */
+	public void drawRenderedImage(RenderedImage img, AffineTransform xform) {
+		writeImage(img, xform, null);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics2D#drawRenderableImage(java.awt.image.renderable.RenderableImage, java.awt.geom.AffineTransform)
+	 */
+	public void drawRenderableImage(RenderableImage img, AffineTransform xform) {
+		writeImage(img.createDefaultRendering(), xform, null);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics#drawImage(java.awt.Image, int, int, java.awt.image.ImageObserver)
+	 */
+	public boolean drawImage(Image img, int x, int y, ImageObserver observer) {
+		return drawImage(img, x, y, null, observer);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics#drawImage(java.awt.Image, int, int, java.awt.Color, java.awt.image.ImageObserver)
+	 */
+	public boolean drawImage(Image img, int x, int y, Color bgcolor,
+			ImageObserver observer) {
+		writeImage(toRenderedImage(img), AffineTransform.getTranslateInstance(
+			x, y), bgcolor);
+		return true;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics#drawImage(java.awt.Image, int, int, int, int, java.awt.image.ImageObserver)
+	 */
+	public boolean drawImage(Image img, int x, int y, int width, int height,
+			ImageObserver observer) {
+		return drawImage(img, x, y, width, height, null, observer);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics#drawImage(java.awt.Image, int, int, int, int, java.awt.Color, java.awt.image.ImageObserver)
+	 */
+	public boolean drawImage(Image img, int x, int y, int width, int height,
+			Color bgcolor, ImageObserver observer) {
+		RenderedImage rendered = toRenderedImage(img);
+		if (rendered != null) {
+			AffineTransform at = AffineTransform.getTranslateInstance(x, y);
+			at.scale((double) width / rendered.getWidth(), (double) height
+				/ rendered.getHeight());
+			writeImage(rendered, at, bgcolor);
+		}
+		return true;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics#drawImage(java.awt.Image, int, int, int, int, int, int, int, int, java.awt.image.ImageObserver)
+	 */
+	public boolean drawImage(Image img, int dx1, int dy1, int dx2, int dy2,
+			int sx1, int sy1, int sx2, int sy2, ImageObserver observer) {
+		return drawImage(img, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, null,
+			observer);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics#drawImage(java.awt.Image, int, int, int, int, int, int, int, int, java.awt.Color, java.awt.image.ImageObserver)
+	 */
+	public boolean drawImage(Image img, int dx1, int dy1, int dx2, int dy2,
+			int sx1, int sy1, int sx2, int sy2, Color bgcolor,
+			ImageObserver observer) {
+		RenderedImage rendered = toRenderedImage(img);
+		if (rendered == null || sx1 == sx2 || sy1 == sy2) {
+			return true;
+		}
+		int sx = Math.max(0, Math.min(sx1, sx2));
+		int sy = Math.max(0, Math.min(sy1, sy2));
+		int sw = Math.min(rendered.getWidth(), Math.max(sx1, sx2)) - sx;
+		int sh = Math.min(rendered.getHeight(), Math.max(sy1, sy2)) - sy;
+		if (sw <= 0 || sh <= 0) {
+			return true;
+		}
+		BufferedImage part = toBufferedImage(rendered).getSubimage(sx, sy, sw,
+			sh);
+
+		// maps the source coordinates to the destination, flips included
+		double kx = (double) (dx2 - dx1) / (sx2 - sx1);
+		double ky = (double) (dy2 - dy1) / (sy2 - sy1);
+		AffineTransform at = new AffineTransform(kx, 0, 0, ky, dx1
+			+ (sx - sx1) * kx, dy1 + (sy - sy1) * ky);
+		writeImage(part, at, bgcolor);
+		return true;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics2D#hit(java.awt.Rectangle, java.awt.Shape, boolean)
+	 */
+	public boolean hit(Rectangle rect, Shape s, boolean onStroke) {
+		if (onStroke) {
+			s = stroke.createStrokedShape(s);
+		}
+		return transform.createTransformedShape(s).intersects(rect);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics2D#getDeviceConfiguration()
+	 */
+	public GraphicsConfiguration getDeviceConfiguration() {
+		return null;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics2D#setComposite(java.awt.Composite)
+	 */
+	public void setComposite(Composite comp) {
+		composite = comp;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics2D#getComposite()
+	 */
+	public Composite getComposite() {
+		return composite;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics2D#setPaint(java.awt.Paint)
+	 */
+	public void setPaint(Paint paint) {
+		if (paint == null) {
+			return;
+		}
+		this.paint = paint;
+		if (paint instanceof Color) {
+			color = (Color) paint;
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics2D#getPaint()
+	 */
+	public Paint getPaint() {
+		return paint;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics#setColor(java.awt.Color)
+	 */
+	public void setColor(Color c) {
+		setPaint(c);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics#getColor()
+	 */
+	public Color getColor() {
+		return color;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics2D#setBackground(java.awt.Color)
+	 */
+	public void setBackground(Color color) {
+		background = color;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics2D#getBackground()
+	 */
+	public Color getBackground() {
+		return background;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics2D#setStroke(java.awt.Stroke)
+	 */
+	public void setStroke(Stroke s) {
+		stroke = s;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics2D#getStroke()
+	 */
+	public Stroke getStroke() {
+		return stroke;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics2D#setRenderingHint(java.awt.RenderingHints.Key, java.lang.Object)
+	 */
+	public void setRenderingHint(RenderingHints.Key hintKey, Object hintValue) {
+		hints.put(hintKey, hintValue);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics2D#getRenderingHint(java.awt.RenderingHints.Key)
+	 */
+	public Object getRenderingHint(RenderingHints.Key hintKey) {
+		return hints.get(hintKey);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics2D#setRenderingHints(java.util.Map)
+	 */
+	public void setRenderingHints(Map newHints) {
+		hints = new RenderingHints(null);
+		hints.putAll(newHints);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics2D#addRenderingHints(java.util.Map)
+	 */
+	public void addRenderingHints(Map newHints) {
+		hints.putAll(newHints);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics2D#getRenderingHints()
+	 */
+	public RenderingHints getRenderingHints() {
+		return (RenderingHints) hints.clone();
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics2D#getFontRenderContext()
+	 */
+	public FontRenderContext getFontRenderContext() {
+		return new FontRenderContext(new AffineTransform(transform),
+			RenderingHints.VALUE_TEXT_ANTIALIAS_ON.equals(hints
+				.get(RenderingHints.KEY_TEXT_ANTIALIASING)),
+			RenderingHints.VALUE_FRACTIONALMETRICS_ON.equals(hints
+				.get(RenderingHints.KEY_FRACTIONALMETRICS)));
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics2D#translate(int, int)
+	 */
+	public void translate(int x, int y) {
+		transform.translate(x, y);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics2D#translate(double, double)
+	 */
+	public void translate(double tx, double ty) {
+		transform.translate(tx, ty);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics2D#rotate(double)
+	 */
+	public void rotate(double theta) {
+		transform.rotate(theta);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics2D#rotate(double, double, double)
+	 */
+	public void rotate(double theta, double x, double y) {
+		transform.rotate(theta, x, y);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics2D#scale(double, double)
+	 */
+	public void scale(double sx, double sy) {
+		transform.scale(sx, sy);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics2D#shear(double, double)
+	 */
+	public void shear(double shx, double shy) {
+		transform.shear(shx, shy);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics2D#transform(java.awt.geom.AffineTransform)
+	 */
+	public void transform(AffineTransform tx) {
+		transform.concatenate(tx);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics2D#setTransform(java.awt.geom.AffineTransform)
+	 */
+	public void setTransform(AffineTransform tx) {
+		transform = new AffineTransform(tx);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics2D#getTransform()
+	 */
+	public AffineTransform getTransform() {
+		return new AffineTransform(transform);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics2D#clip(java.awt.Shape)
+	 */
+	public void clip(Shape s) {
+		if (s == null) {
+			clip = null;
+			return;
+		}
+		Shape device = toDevice(s);
+		if (clip == null) {
+			clip = device;
+		} else if (clip instanceof Rectangle2D && device instanceof Rectangle2D) {
+			Rectangle2D.Double result = new Rectangle2D.Double();
+			Rectangle2D.intersect((Rectangle2D) clip, (Rectangle2D) device,
+				result);
+			if (result.width < 0 || result.height < 0) {
+				result.width = 0;
+				result.height = 0;
+			}
+			clip = result;
+		} else {
+			Area area = new Area(clip);
+			area.intersect(new Area(device));
+			clip = area.isRectangular() ? (Shape) area.getBounds2D()
+				: area;
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics#clipRect(int, int, int, int)
+	 */
+	public void clipRect(int x, int y, int width, int height) {
+		clip(new Rectangle(x, y, width, height));
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics#setClip(int, int, int, int)
+	 */
+	public void setClip(int x, int y, int width, int height) {
+		setClip(new Rectangle(x, y, width, height));
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics#setClip(java.awt.Shape)
+	 */
+	public void setClip(Shape s) {
+		clip = s == null ? null
+			: toDevice(s);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics#getClip()
+	 */
+	public Shape getClip() {
+		if (clip == null) {
+			return null;
+		}
+		try {
+			AffineTransform inverse = transform.createInverse();
+			if (clip instanceof Rectangle2D && isRectilinear()) {
+				Rectangle2D r = (Rectangle2D) clip;
+				Point2D p1 = inverse.transform(new Point2D.Double(
+					r.getMinX(), r.getMinY()), null);
+				Point2D p2 = inverse.transform(new Point2D.Double(
+					r.getMaxX(), r.getMaxY()), null);
+				Rectangle2D.Double result = new Rectangle2D.Double();
+				result.setFrameFromDiagonal(p1, p2);
+				return result;
+			}
+			return inverse.createTransformedShape(clip);
+		} catch (NoninvertibleTransformException e) {
+			return null;
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics#getClipBounds()
+	 */
+	public Rectangle getClipBounds() {
+		Shape userClip = getClip();
+		return userClip == null ? null
+			: userClip.getBounds();
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics#create()
+	 */
+	public Graphics create() {
+		return new SVGStreamGraphics2D(this);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics#setPaintMode()
+	 */
+	public void setPaintMode() {
+		composite = AlphaComposite.SrcOver;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics#setXORMode(java.awt.Color)
+	 */
+	public void setXORMode(Color c1) {
+		// not supported by SVG
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics#getFont()
+	 */
+	public Font getFont() {
+		return font;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics#setFont(java.awt.Font)
+	 */
+	public void setFont(Font font) {
+		if (font != null) {
+			this.font = font;
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics#getFontMetrics(java.awt.Font)
+	 */
+	public FontMetrics getFontMetrics(Font f) {
+		synchronized (METRICS_GRAPHICS) {
+			return METRICS_GRAPHICS.getFontMetrics(f);
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics#copyArea(int, int, int, int, int, int)
+	 */
+	public void copyArea(int x, int y, int width, int height, int dx, int dy) {
+		// nothing written can be read back
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics#drawLine(int, int, int, int)
+	 */
+	public void drawLine(int x1, int y1, int x2, int y2) {
+		draw(new Line2D.Float(x1, y1, x2, y2));
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics#fillRect(int, int, int, int)
+	 */
+	public void fillRect(int x, int y, int width, int height) {
+		fill(new Rectangle(x, y, width, height));
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics#clearRect(int, int, int, int)
+	 */
+	public void clearRect(int x, int y, int width, int height) {
+		Paint oldPaint = paint;
+		Composite oldComposite = composite;
+		paint = background;
+		composite = AlphaComposite.Src;
+		fillRect(x, y, width, height);
+		paint = oldPaint;
+		composite = oldComposite;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics#drawRoundRect(int, int, int, int, int, int)
+	 */
+	public void drawRoundRect(int x, int y, int width, int height,
+			int arcWidth, int arcHeight) {
+		draw(new RoundRectangle2D.Float(x, y, width, height, arcWidth,
+			arcHeight));
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics#fillRoundRect(int, int, int, int, int, int)
+	 */
+	public void fillRoundRect(int x, int y, int width, int height,
+			int arcWidth, int arcHeight) {
+		fill(new RoundRectangle2D.Float(x, y, width, height, arcWidth,
+			arcHeight));
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics#drawOval(int, int, int, int)
+	 */
+	public void drawOval(int x, int y, int width, int height) {
+		draw(new Ellipse2D.Float(x, y, width, height));
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics#fillOval(int, int, int, int)
+	 */
+	public void fillOval(int x, int y, int width, int height) {
+		fill(new Ellipse2D.Float(x, y, width, height));
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics#drawArc(int, int, int, int, int, int)
+	 */
+	public void drawArc(int x, int y, int width, int height, int startAngle,
+			int arcAngle) {
+		draw(new Arc2D.Float(x, y, width, height, startAngle, arcAngle,
+			Arc2D.OPEN));
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics#fillArc(int, int, int, int, int, int)
+	 */
+	public void fillArc(int x, int y, int width, int height, int startAngle,
+			int arcAngle) {
+		fill(new Arc2D.Float(x, y, width, height, startAngle, arcAngle,
+			Arc2D.PIE));
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics#drawPolyline(int[], int[], int)
+	 */
+	public void drawPolyline(int[] xPoints, int[] yPoints, int nPoints) {
+		if (nPoints < 1) {
+			return;
+		}
+		Path2D.Float path = new Path2D.Float();
+		path.moveTo(xPoints[0], yPoints[0]);
+		for (int i = 1; i < nPoints; i++) {
+			path.lineTo(xPoints[i], yPoints[i]);
+		}
+		draw(path);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics#drawPolygon(int[], int[], int)
+	 */
+	public void drawPolygon(int[] xPoints, int[] yPoints, int nPoints) {
+		draw(new Polygon(xPoints, yPoints, nPoints));
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics#fillPolygon(int[], int[], int)
+	 */
+	public void fillPolygon(int[] xPoints, int[] yPoints, int nPoints) {
+		fill(new Polygon(xPoints, yPoints, nPoints));
+	}
+
+	/* (non-Javadoc)
+	 * @see java.awt.Graphics#dispose()
+	 */
+	public void dispose() {
+		// the document is ended by close()
+	}
+
+}
@@ -0,0 +1,140 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ ****************************************************************************/
+
+package org.eclipse.gmf.runtime.draw2d.ui.render.awt.internal.svg.export;
+
+import java.awt.Color;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.batik.anim.dom.SVGDOMImplementation;
+import org.apache.batik.anim.dom.SVGOMDocument;
+import org.apache.batik.dom.util.DOMUtilities;
+import org.apache.batik.util.SVGConstants;
+import org.eclipse.draw2d.geometry.Point;
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.gmf.runtime.draw2d.ui.render.RenderInfo;
+import org.eclipse.gmf.runtime.draw2d.ui.render.RenderedImage;
+import org.eclipse.gmf.runtime.draw2d.ui.render.awt.internal.graphics.GraphicsToGraphics2DAdaptor;
+import org.eclipse.gmf.runtime.draw2d.ui.render.awt.internal.svg.SVGColorConverter;
+import org.eclipse.gmf.runtime.draw2d.ui.render.awt.internal.svg.SVGImage;
+import org.eclipse.gmf.runtime.draw2d.ui.render.internal.DrawableRenderedImage;
+import org.eclipse.gmf.runtime.draw2d.ui.render.internal.RenderingListener;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+/**
+ * Objects of this class can be used with draw2d to write an SVG document to
+ * an output stream while it is painted.
+ * <P>
+ * Unlike {@link GraphicsSVG}, no SVG DOM is built: each painting operation is
+ * written as soon as it is done, so the memory needed does not grow with the
+ * size of the diagram. Identical styles, fonts, clipping paths and gradients
+ * are written once and shared. The document is complete once
+ * {@link #close()} has been called.
+ */
+public class StreamingGraphicsSVG
+	extends GraphicsToGraphics2DAdaptor
+	implements DrawableRenderedImage {
+
+	private final SVGStreamGraphics2D svgGraphics;
+
+	/**
+	 * Static initializer that will return an instance of
+	 * <code>StreamingGraphicsSVG</code> that has written the start of the
+	 * document.
+	 *
+	 * @param viewPort
+	 *            the <code>Rectangle</code> area that is to be rendered.
+	 * @param outputStream
+	 *            the stream to which the document is written in UTF-8; it is
+	 *            not closed
+	 * @return a new <code>StreamingGraphicsSVG</code> object.
+	 */
+	public static StreamingGraphicsSVG getInstance(Rectangle viewPort,
+			OutputStream outputStream) {
+		SVGStreamGraphics2D svgGraphics = new SVGStreamGraphics2D(
+			new BufferedWriter(new OutputStreamWriter(outputStream,
+				StandardCharsets.UTF_8)));
+		svgGraphics.open(viewPort.width, viewPort.height, viewPort.x + " " //$NON-NLS-1$
+			+ viewPort.y + " " + viewPort.width + " " + viewPort.height); //$NON-NLS-1$ //$NON-NLS-2$
+		return new StreamingGraphicsSVG(svgGraphics, viewPort);
+	}
+
+	private StreamingGraphicsSVG(SVGStreamGraphics2D graphics,
+			Rectangle viewPort) {
+		super(graphics, viewPort);
+		this.svgGraphics = graphics;
+		paintNotCompatibleStringsAsBitmaps = false;
+	}
+
+	/**
+	 * Writes the end of the document and flushes the output stream.
+	 *
+	 * @throws IOException
+	 *             if the document could not be written
+	 */
+	public void close()
+		throws IOException {
+		svgGraphics.close();
+	}
+
+	/* (non-Javadoc)
+	 * @see org.eclipse.gmf.runtime.draw2d.ui.render.awt.internal.graphics.GraphicsToGraphics2DAdaptor#drawRenderedImage(org.eclipse.gmf.runtime.draw2d.ui.render.RenderedImage, org.eclipse.draw2d.geometry.Rectangle, org.eclipse.gmf.runtime.draw2d.ui.render.RenderingListener)
+	 */
+	public RenderedImage drawRenderedImage(RenderedImage srcImage,
+			Rectangle rect, RenderingListener listener) {
+
+		if (!(srcImage instanceof SVGImage)) {
+			return super.drawRenderedImage(srcImage, rect, listener);
+		}
+
+		// Check for a change in the state
+		checkState();
+
+		Document document = DOMUtilities.deepCloneDocument(
+			((SVGImage) srcImage).getDocument(), SVGDOMImplementation
+				.getDOMImplementation());
+		if (document instanceof SVGOMDocument) {
+			RenderInfo info = srcImage.getRenderInfo();
+			if (info != null && info.getBackgroundColor() != null
+				&& info.getForegroundColor() != null) {
+				SVGColorConverter.getInstance().replaceDocumentColors(
+					(SVGOMDocument) document,
+					new Color(info.getBackgroundColor().red, info
+						.getBackgroundColor().green, info
+						.getBackgroundColor().blue),
+					new Color(info.getForegroundColor().red, info
+						.getForegroundColor().green, info
+						.getForegroundColor().blue));
+			}
+		}
+
+		// Write the image as a nested svg element
+		Point trans = getTranslationOffset();
+		Element root = document.getDocumentElement();
+		root.setAttributeNS(null, SVGConstants.SVG_X_ATTRIBUTE, String
+			.valueOf(rect.x + trans.x));
+		root.setAttributeNS(null, SVGConstants.SVG_Y_ATTRIBUTE, String
+			.valueOf(rect.y + trans.y));
+		root.setAttributeNS(null, SVGConstants.SVG_WIDTH_ATTRIBUTE, String
+			.valueOf(rect.width));
+		root.setAttributeNS(null, SVGConstants.SVG_HEIGHT_ATTRIBUTE, String
+			.valueOf(rect.height));
+		svgGraphics.writeElement(root);
+		return srcImage;
+	}
+
+}
@@ -55,6 +55,10 @@ public interface RenderedImage extends IAdaptable {
 	 * this accessor should implemented for dynamic rendering of the image to an
 	 * SWT image. This avoid storing the heavy weight image buffer in memory
 	 * until it is needed.
+	 * <P>
+	 * The SWT image may be disposed on the display thread once the image has
+	 * not been used for a while, so clients should not keep it beyond the
+	 * current paint, and should call this method again whenever they need it.
 	 * 
 	 * @return SWT Image that this <code>RenderedImage</code> represents.
 	 */
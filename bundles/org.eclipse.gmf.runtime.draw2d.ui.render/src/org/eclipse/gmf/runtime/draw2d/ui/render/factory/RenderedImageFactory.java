@@ -35,6 +35,7 @@ import org.eclipse.gmf.runtime.draw2d.ui.render.RenderedImage;
 import org.eclipse.gmf.runtime.draw2d.ui.render.internal.AbstractRenderedImage;
 import org.eclipse.gmf.runtime.draw2d.ui.render.internal.Draw2dRenderDebugOptions;
 import org.eclipse.gmf.runtime.draw2d.ui.render.internal.Draw2dRenderPlugin;
+import org.eclipse.gmf.runtime.draw2d.ui.render.internal.RenderedImageCache;
 import org.eclipse.gmf.runtime.draw2d.ui.render.internal.factory.RenderedImageKey;
 import org.eclipse.gmf.runtime.draw2d.ui.render.internal.image.ImageRenderedImage;
 import org.eclipse.swt.graphics.RGB;
@@ -158,8 +159,7 @@ public class RenderedImageFactory {
         WeakReference ref = (WeakReference) instanceMap.get(key);
         RenderedImage image = null;
         if (ref != null)
-            image = (RenderedImage) (((WeakReference) instanceMap.get(key))
-                .get());
+            image = lookup(ref);
         else
             image = autodetectImage(buffer, key);
 
@@ -275,7 +275,7 @@ public class RenderedImageFactory {
             RenderedImageKey key = new RenderedImageKey(info, oldKey.getChecksum(), extraData);
             WeakReference ref = (WeakReference) instanceMap.get(key);
             if (ref != null) {
-                return (RenderedImage) ref.get();
+                return lookup(ref);
             } else {
                 return autodetectImage(((AbstractRenderedImage) image)
                     .getBuffer(), key);
@@ -307,8 +307,7 @@ public class RenderedImageFactory {
         WeakReference ref = (WeakReference) instanceMap.get(key);
         RenderedImage image = null;
         if (ref != null)
-            image = (RenderedImage) (((WeakReference) instanceMap.get(key))
-                .get());
+            image = lookup(ref);
         else
             image = autodetectImage(buffer, key);
 
@@ -323,6 +322,22 @@ public class RenderedImageFactory {
         return image;
     }
 
+    /**
+     * Retrieves a previously created image, marking it as recently used in the
+     * <code>RenderedImageCache</code> so that its rendering is kept longer.
+     * 
+     * @param ref
+     *            the weak reference to the image
+     * @return the image, or <code>null</code> if it has been garbage collected
+     */
+    static private RenderedImage lookup(WeakReference ref) {
+        RenderedImage image = (RenderedImage) ref.get();
+        if (image != null) {
+            RenderedImageCache.getInstance().touch(image);
+        }
+        return image;
+    }
+
     private static final String E_MODIFIER_FACTORY = "factory"; //$NON-NLS-1$
     private static final String A_CLASS = "class"; //$NON-NLS-1$
 
@@ -32,6 +32,7 @@ import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.ImageData;
 import org.eclipse.swt.graphics.ImageLoader;
 import org.eclipse.swt.graphics.RGB;
+import org.eclipse.swt.widgets.Display;
 
 /**
  * An implementation of {@link org.eclipse.draw2d.ImageFigure} that allows
@@ -53,6 +54,12 @@ public class ScalableImageFigure
 	private class RenderingListenerImpl
 		implements RenderingListener {
 
+		/**
+		 * The number of times in a row that the figure was painted again because
+		 * its image was rejected.
+		 */
+		private volatile int rejectedRepaints = 0;
+
 		public RenderingListenerImpl() {
 			super();
 		}
@@ -70,12 +77,41 @@ public class ScalableImageFigure
 		 * @see org.eclipse.gmf.runtime.draw2d.ui.render.RenderingListener#imageRendered(org.eclipse.gmf.runtime.draw2d.ui.render.RenderedImage)
 		 */
 		public void imageRendered(RenderedImage rndImg) {
+			rejectedRepaints = 0;
 			if (ScalableImageFigure.this.getParent() != null) {
 				ScalableImageFigure.this.setRenderedImage(rndImg);
 				ScalableImageFigure.this.repaint();
 			}
 		}
 
+		/*
+		 * (non-Javadoc)
+		 * 
+		 * @see org.eclipse.gmf.runtime.draw2d.ui.render.internal.RenderingListener#renderingRejected(org.eclipse.gmf.runtime.draw2d.ui.render.RenderedImage)
+		 */
+		public void renderingRejected(RenderedImage rndImg) {
+			// the rejection happens while figures are painted, so painting
+			// again right away would only reject another figure of the same
+			// paint
+			if (rejectedRepaints >= MAX_REJECTED_REPAINTS) {
+				return;
+			}
+			rejectedRepaints++;
+
+			Display display = Display.getCurrent();
+			if (display == null) {
+				display = Display.getDefault();
+			}
+			display.asyncExec(new Runnable() {
+
+				public void run() {
+					if (ScalableImageFigure.this.getParent() != null) {
+						ScalableImageFigure.this.repaint();
+					}
+				}
+			});
+		}
+
 		/**
 		 * @return <code>IFigure</code> that the listener wraps
 		 */
@@ -108,6 +144,13 @@ public class ScalableImageFigure
 
 	}
 
+	/**
+	 * The maximum number of times in a row that the figure is painted again
+	 * because its image was rejected. After that, the image is only requested
+	 * again when the figure is next painted for another reason.
+	 */
+	private static final int MAX_REJECTED_REPAINTS = 3;
+
 	/** The preferred size of the image */
 	private Dimension preferredSize = new Dimension(-1, -1);
 
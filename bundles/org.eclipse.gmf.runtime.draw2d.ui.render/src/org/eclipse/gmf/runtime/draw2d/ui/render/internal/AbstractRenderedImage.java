@@ -46,7 +46,7 @@ abstract public class AbstractRenderedImage implements RenderedImage {
 
 	private byte[] buffer = null;
 	private RenderedImageKey key = null;
-	private Image img = null;
+	private volatile Image img = null;
 	
 	/**
 	 * @return Returns the buffer.
@@ -109,7 +109,8 @@ abstract public class AbstractRenderedImage implements RenderedImage {
 	 * it needs to be rendered.
 	 */
 	public boolean isRendered() {
-		if (img != null)
+		Image image = img;
+		if (image != null && !image.isDisposed())
 			return true;
 		
 		return false;
@@ -119,17 +120,58 @@ abstract public class AbstractRenderedImage implements RenderedImage {
      * Accessor for retrieving the default image for the rendered SVG data.
      * This method will render the image if it doesn't exist yet. This allows
      * for "on-demand" loading. If no-one accesses the image, then it will not
-     * be rendered.
+     * be rendered. The image is also rendered again if the
+     * <code>RenderedImageCache</code> has disposed it.
      * 
 	 * @see org.eclipse.gmf.runtime.draw2d.ui.render.RenderedImage#getSWTImage()
 	 */
-	final public synchronized Image getSWTImage() {
-		if (img == null) {
-			img = renderImage();
+	final public Image getSWTImage() {
+		Image result;
+		boolean rendered = false;
+		synchronized (this) {
+			if (img == null || img.isDisposed()) {
+				img = renderImage();
+				rendered = img != null;
+			}
+			result = img;
+		}
+		if (rendered) {
+			RenderedImageCache.getInstance().imageRendered(this, result);
 		}
-		return img;
+		return result;
 	}
 	
+	/**
+	 * Holds the image again in the <code>RenderedImageCache</code>, if its SWT
+	 * image is still rendered.
+	 */
+	void holdRendered() {
+		synchronized (this) {
+			if (isRendered()) {
+				RenderedImageCache.getInstance().imageRendered(this, img);
+			}
+		}
+	}
+
+	/**
+	 * Disposes an SWT image of mine that the <code>RenderedImageCache</code>
+	 * has released, so that I am rendered again when I am next needed. Nothing
+	 * is disposed if I was rendered again or held again in the meantime.
+	 * 
+	 * @param swtImage
+	 *            the released SWT image
+	 */
+	void disposeReleased(Image swtImage) {
+		synchronized (this) {
+			if (img != swtImage
+				|| RenderedImageCache.getInstance().isHeld(this)) {
+				return;
+			}
+			img = null;
+		}
+		swtImage.dispose();
+	}
+
 	/**
 	 * @return the new <code>Image</code> rendered to the specification of the
 	 * <code>RenderInfo</code> structure stored with the this <code>RenderedImage</code>
@@ -12,9 +12,6 @@
 
 package org.eclipse.gmf.runtime.draw2d.ui.render.internal;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import org.eclipse.draw2d.Graphics;
 import org.eclipse.draw2d.geometry.Dimension;
 import org.eclipse.draw2d.geometry.Rectangle;
@@ -70,8 +67,6 @@ public class RenderHelper {
 		return maximumRenderSize;
 	}
 
-	private static Map threadMap = new HashMap();
-	
 	/**
 	 * Allows for asynchronous execution of the rendering. The
 	 * <code>RenderingListener</code
@@ -82,7 +77,7 @@ public class RenderHelper {
 	 * that be notified when the rendering operation has been completed.
 	 * @return <code>true</code> if rendering is already completed and clients can simply call
 	 * <code>getSWTImage</code> to retrieve image immediately, <code>false</code>
-	 * if it has to be calculated and has spawned a thread to do the rendering.  After the rendering
+	 * if it has to be calculated and has been queued on the {@link RenderQueue}.  After the rendering
 	 * is completed the <code>RenderingListener</code> listener will be notified
 	 */
 	private boolean renderSWTImage(RenderedImage srcImage,
@@ -90,33 +85,7 @@ public class RenderHelper {
 		if (srcImage.isRendered())
 			return true;
 
-		Thread existingThread = (Thread)threadMap.get(listener);
-		if (existingThread != null) {
-			existingThread.interrupt();
-			threadMap.remove(listener);
-		}
-		
-		final RenderedImage rndImg = srcImage;
-		final Thread renderThread = new Thread(new Runnable() {
-			public void run() {
-				
-				Image img = null;
-				try {
-					img = rndImg.getSWTImage();
-				} catch (RuntimeException e) {
-					threadMap.remove(listener);
-					throw e;
-				}
-				
-				if (img != null)
-					listener.imageRendered(rndImg);
-					threadMap.remove(listener);
-			}
-		});
-		
-		threadMap.put(listener, renderThread);
-		renderThread.start();
-
+		RenderQueue.getInstance().submit(srcImage, listener);
 		return false;
 	}
 
@@ -147,6 +116,7 @@ public class RenderHelper {
 			if (!shouldAllowDelayRender() || renderSWTImage(trgImage, listener)) {
 				Image swtImg = trgImage.getSWTImage();
 				if (swtImg != null) {
+					RenderedImageCache.getInstance().touch(trgImage);
 					org.eclipse.swt.graphics.Rectangle imgBox = swtImg.getBounds();
 					g.drawImage(swtImg, 0, 0, imgBox.width, imgBox.height, 
 						targetRect.x, targetRect.y, targetRect.width, targetRect.height);
@@ -156,6 +126,7 @@ public class RenderHelper {
 				// display
 				if (srcImage.isRendered()) {
 					Image swtImg = srcImage.getSWTImage();
+					RenderedImageCache.getInstance().touch(srcImage);
 					
 					org.eclipse.swt.graphics.Rectangle imgBox = swtImg.getBounds();
 					g.drawImage(swtImg, 0, 0, imgBox.width, imgBox.height, 
@@ -168,6 +139,28 @@ public class RenderHelper {
 		}
 	}
 
+	/**
+	 * Rounds a render size up to its zoom bucket, keeping its aspect ratio.
+	 * The larger dimension is rounded up to a multiple of an eighth of the
+	 * largest power of two that it contains, so that a bucket is at most an
+	 * eighth larger than the sizes that it serves.
+	 * 
+	 * @param width the requested width
+	 * @param height the requested height
+	 * @return the size of the bucket
+	 */
+	static Dimension getZoomBucket(int width, int height) {
+		int larger = Math.max(width, height);
+		int step = Integer.highestOneBit(larger) >> 3;
+		if (step <= 1)
+			return new Dimension(width, height);
+		
+		int bucket = (larger + step - 1) / step * step;
+		double factor = (double)bucket / larger;
+		return width >= height ? new Dimension(bucket, (int)Math.round(height * factor))
+			: new Dimension((int)Math.round(width * factor), bucket);
+	}
+
 	/**
 	 * @param srcImage
 	 * @param sourceRect
@@ -178,14 +171,19 @@ public class RenderHelper {
 		RenderInfo info = trgImage.getRenderInfo();
 		// Account for rounding errors - if the size of the image and source rectangle
 		// are within a tolerance, don't re-render the image.
+		// Nearby zoom levels share the raster of their zoom bucket, which is
+		// scaled down when drawn.
 		if (Math.abs(sourceRect.width - info.getWidth()) > RENDER_TOLERANCE ||
 			Math.abs(sourceRect.height - info.getHeight()) > RENDER_TOLERANCE) {
-			info.setValues(sourceRect.width, sourceRect.height, info.shouldMaintainAspectRatio(), info
-				.shouldAntiAlias(), info.getBackgroundColor(), info
-				.getForegroundColor());
-
-			trgImage = srcImage.getNewRenderedImage(info);
-			info = trgImage.getRenderInfo();
+			Dimension bucket = getZoomBucket(sourceRect.width, sourceRect.height);
+			if (bucket.width != info.getWidth() || bucket.height != info.getHeight()) {
+				info.setValues(bucket.width, bucket.height, info.shouldMaintainAspectRatio(), info
+					.shouldAntiAlias(), info.getBackgroundColor(), info
+					.getForegroundColor());
+
+				trgImage = srcImage.getNewRenderedImage(info);
+				info = trgImage.getRenderInfo();
+			}
 		}
 		
 		// test for maximum rendering size
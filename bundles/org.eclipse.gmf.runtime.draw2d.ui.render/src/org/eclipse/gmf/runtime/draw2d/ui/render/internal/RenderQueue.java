@@ -0,0 +1,534 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ ****************************************************************************/
+
+package org.eclipse.gmf.runtime.draw2d.ui.render.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.gmf.runtime.common.core.util.Log;
+import org.eclipse.gmf.runtime.common.core.util.Trace;
+import org.eclipse.gmf.runtime.draw2d.ui.render.RenderedImage;
+
+/**
+ * Renders <code>RenderedImage</code>s into SWT images in the background, on
+ * behalf of the {@link RenderHelper}, on a small pool of daemon threads shared
+ * by all figures.
+ * <P>
+ * Requests for the same <code>RenderedImageKey</code> are coalesced into one
+ * rendering, whose listeners are all notified. A request from a listener that
+ * is already waiting for a different image cancels the listener's earlier
+ * request, which is dropped from the queue if no other listener waits for it.
+ * The most recently requested images are rendered first, since they belong to
+ * the figures that were painted last, that is, the visible ones. When the
+ * queue is full, the least recently requested image is rejected and its
+ * listeners are told, on the requesting thread, to paint their figures again
+ * later, so that the figures that are still visible request it again.
+ * <P>
+ * Rendering cannot be interrupted: an image whose rendering has started is
+ * rendered completely, even if all of its listeners have cancelled their
+ * requests in the meantime, because the transcoders offer no point at which
+ * to stop. Only the listeners that still wait for the image are notified.
+ * <P>
+ * The queue keeps statistics of its depth, the rendering times and the
+ * coalesced, cancelled and rejected requests.
+ */
+public final class RenderQueue {
+
+	/**
+	 * The default maximum number of images rendered at the same time.
+	 */
+	private static final int DEFAULT_THREADS = Math.max(1,
+		Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+	/**
+	 * The default maximum number of images waiting to be rendered.
+	 */
+	private static final int DEFAULT_CAPACITY = 256;
+
+	private static final RenderQueue INSTANCE = new RenderQueue(
+		DEFAULT_THREADS, DEFAULT_CAPACITY);
+
+	/**
+	 * A rendering of one image, for one or more listeners.
+	 */
+	private static final class Task
+		implements Comparable {
+
+		final Object key;
+
+		final RenderedImage image;
+
+		final List listeners = new ArrayList(1);
+
+		long sequence;
+
+		boolean started;
+
+		Task(Object key, RenderedImage image) {
+			this.key = key;
+			this.image = image;
+		}
+
+		/**
+		 * Orders the most recently requested tasks first.
+		 */
+		public int compareTo(Object o) {
+			long other = ((Task) o).sequence;
+			return sequence > other ? -1
+				: (sequence < other ? 1
+					: 0);
+		}
+	}
+
+	private final Object lock = new Object();
+
+	private final ExecutorService executor;
+
+	private final int threads;
+
+	private final int capacity;
+
+	/**
+	 * The tasks waiting to be rendered, most recent first.
+	 */
+	private final TreeSet pending = new TreeSet();
+
+	/**
+	 * Map of image keys to their waiting or running {@link Task}.
+	 */
+	private final Map tasks = new HashMap();
+
+	/**
+	 * Map of <code>RenderingListener</code>s to the {@link Task} that they
+	 * wait for.
+	 */
+	private final Map listenerTasks = new HashMap();
+
+	private long nextSequence;
+
+	private int activeWorkers;
+
+	private int maximumDepth;
+
+	private long requested;
+
+	private long coalesced;
+
+	private long cancelled;
+
+	private long rejected;
+
+	private long rendered;
+
+	private long totalRenderTime;
+
+	private long maximumRenderTime;
+
+	/**
+	 * Initializes me with my limits. Clients should use the shared instance
+	 * returned by {@link #getInstance()}.
+	 *
+	 * @param threads
+	 *            the maximum number of images rendered at the same time
+	 * @param capacity
+	 *            the maximum number of images waiting to be rendered
+	 */
+	public RenderQueue(int threads, int capacity) {
+		this.threads = Math.max(1, threads);
+		this.capacity = Math.max(1, capacity);
+
+		ThreadPoolExecutor pool = new ThreadPoolExecutor(this.threads,
+			this.threads, 5, TimeUnit.SECONDS, new LinkedBlockingQueue(),
+			new ThreadFactory() {
+
+				private final AtomicInteger count = new AtomicInteger();
+
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable,
+						"GMF Image Rendering " + count.incrementAndGet()); //$NON-NLS-1$
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		pool.allowCoreThreadTimeOut(true);
+		executor = pool;
+	}
+
+	/**
+	 * Gets the queue shared by all figures.
+	 *
+	 * @return the shared render queue
+	 */
+	public static RenderQueue getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Requests the rendering of an image in the background. The
+	 * <code>listener</code> is notified on a rendering thread once the image
+	 * is rendered, unless it requests another image before that.
+	 *
+	 * @param image
+	 *            the image to render
+	 * @param listener
+	 *            the listener to notify, or <code>null</code>
+	 */
+	public void submit(RenderedImage image, RenderingListener listener) {
+		Object key = getKey(image);
+		boolean startWorker = false;
+		Task rejectedTask = null;
+		Object[] rejectedListeners = null;
+
+		synchronized (lock) {
+			requested++;
+
+			if (listener != null) {
+				Task previous = (Task) listenerTasks.get(listener);
+				if (previous != null && !previous.key.equals(key)) {
+					// the listener now wants an image of another size
+					cancelled++;
+					previous.listeners.remove(listener);
+					listenerTasks.remove(listener);
+					if (previous.listeners.isEmpty() && !previous.started) {
+						pending.remove(previous);
+						tasks.remove(previous.key);
+					}
+				}
+			}
+
+			Task task = (Task) tasks.get(key);
+			if (task != null) {
+				coalesced++;
+				if (!task.started) {
+					// requested again, so still visible: render it sooner
+					pending.remove(task);
+					task.sequence = nextSequence++;
+					pending.add(task);
+				}
+			} else {
+				if (pending.size() >= capacity) {
+					rejectedTask = (Task) pending.last();
+					rejectedListeners = reject(rejectedTask);
+				}
+				task = new Task(key, image);
+				task.sequence = nextSequence++;
+				tasks.put(key, task);
+				pending.add(task);
+				maximumDepth = Math.max(maximumDepth, pending.size());
+
+				if (activeWorkers < threads) {
+					activeWorkers++;
+					startWorker = true;
+				}
+			}
+
+			if (listener != null && !task.listeners.contains(listener)) {
+				task.listeners.add(listener);
+				listenerTasks.put(listener, task);
+			}
+		}
+
+		if (rejectedListeners != null) {
+			for (int i = 0; i < rejectedListeners.length; i++) {
+				notifyRejected((RenderingListener) rejectedListeners[i],
+					rejectedTask.image);
+			}
+		}
+
+		if (startWorker) {
+			startWorker();
+		}
+	}
+
+	private void startWorker() {
+		executor.execute(new Runnable() {
+
+			public void run() {
+				work();
+			}
+		});
+	}
+
+	/**
+	 * Drops a waiting task, because the queue is full.
+	 *
+	 * @param task
+	 *            the least recently requested task
+	 * @return the listeners that waited for the task
+	 */
+	private Object[] reject(Task task) {
+		rejected++;
+		pending.remove(task);
+		tasks.remove(task.key);
+		Object[] result = task.listeners.toArray();
+		for (int i = 0; i < result.length; i++) {
+			listenerTasks.remove(result[i]);
+		}
+		task.listeners.clear();
+		return result;
+	}
+
+	/**
+	 * Renders the waiting tasks, most recent first, until there are none
+	 * left. If the worker dies, another one takes over the waiting tasks.
+	 */
+	private void work() {
+		boolean idle = false;
+		try {
+			for (;;) {
+				Task task;
+				synchronized (lock) {
+					if (pending.isEmpty()) {
+						activeWorkers--;
+						idle = true;
+						return;
+					}
+					task = (Task) pending.first();
+					pending.remove(task);
+					task.started = true;
+				}
+
+				render(task);
+			}
+		} finally {
+			if (!idle) {
+				boolean restart;
+				synchronized (lock) {
+					activeWorkers--;
+					restart = !pending.isEmpty();
+					if (restart) {
+						activeWorkers++;
+					}
+				}
+				if (restart) {
+					startWorker();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Renders a task and notifies its listeners.
+	 *
+	 * @param task
+	 *            the task, that is no longer waiting
+	 */
+	private void render(Task task) {
+		long start = System.nanoTime();
+		boolean success = false;
+		Object[] listeners;
+		try {
+			success = task.image.getSWTImage() != null;
+		} catch (RuntimeException e) {
+			Trace.catching(Draw2dRenderPlugin.getInstance(),
+				Draw2dRenderDebugOptions.EXCEPTIONS_CATCHING, getClass(),
+				"render", e); //$NON-NLS-1$
+			Log.error(Draw2dRenderPlugin.getInstance(),
+				Draw2dRenderStatusCodes.RENDERING_FAILURE,
+				"Failed to render image", e); //$NON-NLS-1$
+		} finally {
+			long time = System.nanoTime() - start;
+
+			synchronized (lock) {
+				rendered++;
+				totalRenderTime += time;
+				maximumRenderTime = Math.max(maximumRenderTime, time);
+
+				// so that the image can be requested again, even if the
+				// rendering failed
+				tasks.remove(task.key);
+				listeners = task.listeners.toArray();
+				for (int i = 0; i < listeners.length; i++) {
+					listenerTasks.remove(listeners[i]);
+				}
+			}
+		}
+
+		if (success) {
+			for (int i = 0; i < listeners.length; i++) {
+				notifyRendered((RenderingListener) listeners[i], task.image);
+			}
+		}
+	}
+
+	private void notifyRendered(RenderingListener listener,
+			RenderedImage image) {
+		try {
+			listener.imageRendered(image);
+		} catch (RuntimeException e) {
+			Trace.catching(Draw2dRenderPlugin.getInstance(),
+				Draw2dRenderDebugOptions.EXCEPTIONS_CATCHING, getClass(),
+				"notifyRendered", e); //$NON-NLS-1$
+			Log.error(Draw2dRenderPlugin.getInstance(),
+				Draw2dRenderStatusCodes.RENDERING_FAILURE,
+				"Failed to notify rendering listener", e); //$NON-NLS-1$
+		}
+	}
+
+	private void notifyRejected(RenderingListener listener,
+			RenderedImage image) {
+		try {
+			listener.renderingRejected(image);
+		} catch (RuntimeException e) {
+			Trace.catching(Draw2dRenderPlugin.getInstance(),
+				Draw2dRenderDebugOptions.EXCEPTIONS_CATCHING, getClass(),
+				"notifyRejected", e); //$NON-NLS-1$
+			Log.error(Draw2dRenderPlugin.getInstance(),
+				Draw2dRenderStatusCodes.RENDERING_FAILURE,
+				"Failed to notify rendering listener", e); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Obtains the key that identifies an image for coalescing.
+	 *
+	 * @param image
+	 *            the image
+	 * @return its <code>RenderedImageKey</code>, or the image itself if it
+	 *         has none
+	 */
+	private static Object getKey(RenderedImage image) {
+		if (image instanceof AbstractRenderedImage) {
+			return ((AbstractRenderedImage) image).getKey();
+		}
+		return image;
+	}
+
+	/**
+	 * Retrieves the number of images waiting to be rendered.
+	 *
+	 * @return the current queue depth
+	 */
+	public int getQueueDepth() {
+		synchronized (lock) {
+			return pending.size();
+		}
+	}
+
+	/**
+	 * Retrieves the largest number of images that were waiting to be rendered
+	 * at the same time.
+	 *
+	 * @return the maximum queue depth
+	 */
+	public int getMaximumQueueDepth() {
+		synchronized (lock) {
+			return maximumDepth;
+		}
+	}
+
+	/**
+	 * Retrieves the number of requests.
+	 *
+	 * @return the number of requests
+	 */
+	public long getRequestCount() {
+		synchronized (lock) {
+			return requested;
+		}
+	}
+
+	/**
+	 * Retrieves the number of requests for an image that was already waiting
+	 * or being rendered.
+	 *
+	 * @return the number of coalesced requests
+	 */
+	public long getCoalescedCount() {
+		synchronized (lock) {
+			return coalesced;
+		}
+	}
+
+	/**
+	 * Retrieves the number of requests that were cancelled by a later request
+	 * of the same listener.
+	 *
+	 * @return the number of cancelled requests
+	 */
+	public long getCancelledCount() {
+		synchronized (lock) {
+			return cancelled;
+		}
+	}
+
+	/**
+	 * Retrieves the number of images dropped because the queue was full.
+	 *
+	 * @return the number of rejected images
+	 */
+	public long getRejectedCount() {
+		synchronized (lock) {
+			return rejected;
+		}
+	}
+
+	/**
+	 * Retrieves the number of images rendered.
+	 *
+	 * @return the number of rendered images
+	 */
+	public long getRenderedCount() {
+		synchronized (lock) {
+			return rendered;
+		}
+	}
+
+	/**
+	 * Retrieves the total time spent rendering images.
+	 *
+	 * @return the total rendering time, in nanoseconds
+	 */
+	public long getTotalRenderTime() {
+		synchronized (lock) {
+			return totalRenderTime;
+		}
+	}
+
+	/**
+	 * Retrieves the longest time spent rendering an image.
+	 *
+	 * @return the maximum rendering time, in nanoseconds
+	 */
+	public long getMaximumRenderTime() {
+		synchronized (lock) {
+			return maximumRenderTime;
+		}
+	}
+
+	/**
+	 * Resets all of the statistics to zero.
+	 */
+	public void resetStatistics() {
+		synchronized (lock) {
+			maximumDepth = pending.size();
+			requested = 0;
+			coalesced = 0;
+			cancelled = 0;
+			rejected = 0;
+			rendered = 0;
+			totalRenderTime = 0;
+			maximumRenderTime = 0;
+		}
+	}
+
+}
@@ -0,0 +1,341 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ ****************************************************************************/
+
+package org.eclipse.gmf.runtime.draw2d.ui.render.internal;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import org.eclipse.gmf.runtime.draw2d.ui.render.RenderedImage;
+import org.eclipse.swt.graphics.Device;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Display;
+
+/**
+ * Keeps the most recently used rendered images, within a soft budget of bytes
+ * of image data and of SWT image handles.
+ * <P>
+ * The <code>RenderedImageFactory</code> only holds its images weakly, so
+ * without this cache a rendered image that no figure currently displays is
+ * garbage collected, and rendered again the next time that it is needed, for
+ * instance when zooming back. This cache holds each rendered
+ * {@link AbstractRenderedImage} strongly from the moment that it is rendered,
+ * and marks it as the most recently used whenever it is looked up or drawn.
+ * When the budget is exceeded, the least recently used images are released:
+ * the cache stops holding them and disposes their SWT images later, on the
+ * display thread, so that no SWT image is disposed in the middle of a paint.
+ * A released image that is drawn or looked up again before that is held
+ * again and keeps its SWT image. Otherwise it is rendered again the next time
+ * that its SWT image is requested, so figures must request the SWT image
+ * whenever they paint rather than keep it.
+ * <P>
+ * The cache counts its hits, misses and evictions.
+ */
+public final class RenderedImageCache {
+
+	/**
+	 * The default budget of image data, in bytes.
+	 */
+	private static final long DEFAULT_MAXIMUM_BYTES = 64L * 1024 * 1024;
+
+	/**
+	 * The default budget of SWT image handles.
+	 */
+	private static final int DEFAULT_MAXIMUM_IMAGES = 512;
+
+	/**
+	 * The assumed number of bytes per pixel of a rendered image.
+	 */
+	private static final int BYTES_PER_PIXEL = 4;
+
+	private static final RenderedImageCache INSTANCE = new RenderedImageCache();
+
+	private final Object lock = new Object();
+
+	/**
+	 * A cached image, with its SWT image and the size of the SWT image.
+	 */
+	private static final class Entry {
+
+		final AbstractRenderedImage image;
+
+		final Image swtImage;
+
+		final long bytes;
+
+		Entry(AbstractRenderedImage image, Image swtImage, long bytes) {
+			this.image = image;
+			this.swtImage = swtImage;
+			this.bytes = bytes;
+		}
+	}
+
+	/**
+	 * Map of the rendered {@link AbstractRenderedImage}s to the {@link Entry}
+	 * of their SWT image, least recently used first. The images do not
+	 * override <code>equals()</code>, so each one is its own key.
+	 */
+	private final LinkedHashMap images = new LinkedHashMap(16, 0.75f, true);
+
+	private long maximumBytes = DEFAULT_MAXIMUM_BYTES;
+
+	private int maximumImages = DEFAULT_MAXIMUM_IMAGES;
+
+	private long bytes;
+
+	private long hits;
+
+	private long misses;
+
+	private long evictions;
+
+	private RenderedImageCache() {
+		super();
+	}
+
+	/**
+	 * Gets the cache shared by all rendered images.
+	 *
+	 * @return the rendered image cache
+	 */
+	public static RenderedImageCache getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Sets the budget of the cache, releasing images if needed.
+	 *
+	 * @param bytes
+	 *            the maximum number of bytes of image data
+	 * @param images
+	 *            the maximum number of SWT images
+	 */
+	public void setBudget(long bytes, int images) {
+		List released = new ArrayList();
+		synchronized (lock) {
+			maximumBytes = Math.max(0, bytes);
+			maximumImages = Math.max(0, images);
+			evict(released);
+		}
+		dispose(released);
+	}
+
+	/**
+	 * Adds an image that has just been rendered, as the most recently used.
+	 *
+	 * @param image
+	 *            the rendered image
+	 * @param swtImage
+	 *            its SWT image
+	 */
+	void imageRendered(AbstractRenderedImage image, Image swtImage) {
+		long size = getSize(swtImage);
+		List released = new ArrayList();
+
+		synchronized (lock) {
+			Entry previous = (Entry) images.put(image, new Entry(image, swtImage, size));
+			if (previous != null) {
+				bytes -= previous.bytes;
+			}
+			bytes += size;
+			evict(released);
+		}
+		dispose(released);
+	}
+
+	/**
+	 * Marks an image as the most recently used, if it is cached. A rendered
+	 * image that was released is held again. Called whenever an image is
+	 * looked up in the factory or drawn.
+	 *
+	 * @param image
+	 *            the image
+	 */
+	public void touch(RenderedImage image) {
+		if (!(image instanceof AbstractRenderedImage)) {
+			return;
+		}
+		synchronized (lock) {
+			if (images.get(image) != null) {
+				hits++;
+				return;
+			}
+			misses++;
+		}
+
+		((AbstractRenderedImage) image).holdRendered();
+	}
+
+	/**
+	 * Queries whether an image is held by the cache.
+	 *
+	 * @param image
+	 *            the image
+	 * @return <code>true</code> if the image is cached, <code>false</code>
+	 *         if it was released or never rendered
+	 */
+	boolean isHeld(AbstractRenderedImage image) {
+		synchronized (lock) {
+			return images.containsKey(image);
+		}
+	}
+
+	/**
+	 * Computes the number of bytes of an image.
+	 *
+	 * @param swtImage
+	 *            the SWT image
+	 * @return its assumed size, in bytes
+	 */
+	private static long getSize(Image swtImage) {
+		org.eclipse.swt.graphics.Rectangle bounds = swtImage.getBounds();
+		return (long) bounds.width * bounds.height * BYTES_PER_PIXEL;
+	}
+
+	/**
+	 * Releases the least recently used images until the cache is within its
+	 * budget. The most recently used image is always kept.
+	 *
+	 * @param released
+	 *            the list to which to add the {@link Entry}s of the released
+	 *            images
+	 */
+	private void evict(List released) {
+		for (Iterator i = images.values().iterator(); i.hasNext()
+			&& images.size() > 1
+			&& (bytes > maximumBytes || images.size() > maximumImages);) {
+			Entry entry = (Entry) i.next();
+			i.remove();
+			bytes -= entry.bytes;
+			evictions++;
+			released.add(entry);
+		}
+	}
+
+	/**
+	 * Disposes the SWT images of released images on the display thread,
+	 * unless the images are held again or rendered again by then. Called
+	 * without holding the lock of the cache, since disposing an image locks
+	 * the image first.
+	 *
+	 * @param released
+	 *            the {@link Entry}s of the released images
+	 */
+	private static void dispose(List released) {
+		for (Iterator i = released.iterator(); i.hasNext();) {
+			Entry entry = (Entry) i.next();
+			final AbstractRenderedImage image = entry.image;
+			final Image swtImage = entry.swtImage;
+			if (swtImage.isDisposed()) {
+				continue;
+			}
+
+			Runnable disposal = new Runnable() {
+
+				public void run() {
+					image.disposeReleased(swtImage);
+				}
+			};
+			Device device = swtImage.getDevice();
+			if (device instanceof Display && !device.isDisposed()) {
+				((Display) device).asyncExec(disposal);
+			} else {
+				disposal.run();
+			}
+		}
+	}
+
+	/**
+	 * Releases all of the cached images, disposing their SWT images as when
+	 * they are evicted.
+	 */
+	public void clear() {
+		List released;
+		synchronized (lock) {
+			released = new ArrayList(images.values());
+			images.clear();
+			bytes = 0;
+		}
+		dispose(released);
+	}
+
+	/**
+	 * Retrieves the number of cached images, that is, of SWT image handles
+	 * held by the cache. Released images whose SWT images are not disposed
+	 * yet are not counted.
+	 *
+	 * @return the number of cached images
+	 */
+	public int getImageCount() {
+		synchronized (lock) {
+			return images.size();
+		}
+	}
+
+	/**
+	 * Retrieves the number of bytes of image data held by the cache.
+	 *
+	 * @return the size of the cached images, in bytes
+	 */
+	public long getByteCount() {
+		synchronized (lock) {
+			return bytes;
+		}
+	}
+
+	/**
+	 * Retrieves the number of lookups of an image that was cached.
+	 *
+	 * @return the number of hits
+	 */
+	public long getHitCount() {
+		synchronized (lock) {
+			return hits;
+		}
+	}
+
+	/**
+	 * Retrieves the number of lookups of an image that was not cached.
+	 *
+	 * @return the number of misses
+	 */
+	public long getMissCount() {
+		synchronized (lock) {
+			return misses;
+		}
+	}
+
+	/**
+	 * Retrieves the number of images released to stay within the budget.
+	 *
+	 * @return the number of evictions
+	 */
+	public long getEvictionCount() {
+		synchronized (lock) {
+			return evictions;
+		}
+	}
+
+	/**
+	 * Resets the hit, miss and eviction counters to zero.
+	 */
+	public void resetCounters() {
+		synchronized (lock) {
+			hits = 0;
+			misses = 0;
+			evictions = 0;
+		}
+	}
+
+}
@@ -36,4 +36,21 @@ public interface RenderingListener {
 	 * @param source The <code>RenderedImage</code> that was being rendered.
 	 */
 	public void imageRendered(RenderedImage rndImg);
+
+	/**
+	 * Called when the given <code>RenderedImage</code> was dropped before it
+	 * was rendered, because too many images were waiting to be rendered. The
+	 * listener should paint its figure again, so that the image is requested
+	 * again if it is still needed.
+	 * <P>
+	 * This is called on the thread that requested another image, usually while
+	 * figures are painted. The listener should therefore schedule the new
+	 * paint for later, and give up after a few rejections in a row, rather
+	 * than paint its figure right away: when more figures are visible than
+	 * the queue holds, each new request rejects another image of the same
+	 * paint.
+	 * 
+	 * @param rndImg The <code>RenderedImage</code> that was not rendered.
+	 */
+	public void renderingRejected(RenderedImage rndImg);
 }
@@ -206,6 +206,7 @@ public class PolylineConnectionEx extends PolylineConnection implements IPolygon
      */
     public void addPoint(Point pt) {
         super.addPoint(pt);
+        segmentsChanged();
         refreshLine();
     }
 
@@ -398,6 +399,36 @@ public class PolylineConnectionEx extends PolylineConnection implements IPolygon
      */
     public void insertPoint(Point pt, int index) {
         super.insertPoint(pt, index);
+        segmentsChanged();
+        refreshLine();
+    }
+
+    /**
+     * Set the point at the given index of the polyline connection. Also
+     * called by {@link #setStart(Point)} and {@link #setEnd(Point)} when the
+     * connection already has its start or end point.
+     */
+    public void setPoint(Point pt, int index) {
+        super.setPoint(pt, index);
+        segmentsChanged();
+        refreshLine();
+    }
+
+    /**
+     * Remove the point at the given index from the polyline connection.
+     */
+    public void removePoint(int index) {
+        super.removePoint(index);
+        segmentsChanged();
+        refreshLine();
+    }
+
+    /**
+     * Remove all of the points of the polyline connection.
+     */
+    public void removeAllPoints() {
+        super.removeAllPoints();
+        segmentsChanged();
         refreshLine();
     }
 
@@ -676,6 +707,7 @@ public class PolylineConnectionEx extends PolylineConnection implements IPolygon
     public void setPoints(PointList points) {
         super.setPoints(points);
 
+        segmentsChanged();
         dirtyAllJumpLinks();
         refreshLine();
     }
@@ -725,6 +757,16 @@ public class PolylineConnectionEx extends PolylineConnection implements IPolygon
     	return 0;
     }
     
+    /**
+     * Notifies the connection layer that the displayed points of this connection
+     * have changed, so that they are indexed again for the jump links calculation.
+     */
+    private void segmentsChanged() {
+        IFigure pParent = getParent();
+        if (pParent instanceof ConnectionLayerEx)
+            ((ConnectionLayerEx)pParent).segmentsChanged(this);
+    }
+
     /**
      * Dirty all connection jump links in the diagram
      */
@@ -878,7 +920,10 @@ public class PolylineConnectionEx extends PolylineConnection implements IPolygon
             long jumpType = (styleBits & JUMPLINK_FLAG_ALL);
 
             // only check intersections with connect views which are below this one.
-            List children = pParent.getChildren();
+            // The connection layer narrows them down to the ones near this connection.
+            List children = pParent instanceof ConnectionLayerEx
+                ? ((ConnectionLayerEx) pParent).getConnectionsNear(connect, tmpLine)
+                : pParent.getChildren();
             int nIndex = children.indexOf(connect);
 
             ListIterator childIter = children.listIterator();
@@ -1099,6 +1144,7 @@ public class PolylineConnectionEx extends PolylineConnection implements IPolygon
             || smooth == SMOOTH_MORE) {
             styleBits |= smooth;
         }
+        segmentsChanged();
     }
 
     /**
@@ -1203,6 +1249,7 @@ public class PolylineConnectionEx extends PolylineConnection implements IPolygon
     	if (origRoundedBendpointsRad > 0) {
     		origRoundedBendpointsRad = radius;
     	}
+    	segmentsChanged();
     }
     
     /**
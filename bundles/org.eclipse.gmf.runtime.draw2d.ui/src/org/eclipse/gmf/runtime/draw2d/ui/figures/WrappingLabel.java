@@ -36,6 +36,7 @@ import org.eclipse.gmf.runtime.draw2d.ui.internal.mapmode.IMapModeHolder;
 import org.eclipse.gmf.runtime.draw2d.ui.mapmode.IMapMode;
 import org.eclipse.gmf.runtime.draw2d.ui.mapmode.MapModeUtil;
 import org.eclipse.gmf.runtime.draw2d.ui.text.TextFlowEx;
+import org.eclipse.gmf.runtime.draw2d.ui.text.TextMeasurementCache;
 import org.eclipse.gmf.runtime.draw2d.ui.text.TextUtilitiesEx;
 import org.eclipse.gmf.runtime.draw2d.ui.text.TruncatedSingleLineTextLayout;
 import org.eclipse.swt.graphics.Font;
@@ -1000,10 +1001,11 @@ public class WrappingLabel
             } else {
                 Font f = getFont();
                 IMapMode mapMode = getFigureMapMode();
-                truncationStringSize = FigureUtilities.getTextExtents(
+                TextMeasurementCache cache = TextMeasurementCache
+                    .getInstance();
+                truncationStringSize = cache.getTextExtents(
                     getTruncationString(), f);
-                truncationStringSize.height = FigureUtilities.getFontMetrics(f)
-                    .getHeight();
+                truncationStringSize.height = cache.getFontHeight(f);
                 truncationStringSize = new Dimension(mapMode
                     .DPtoLP(truncationStringSize.width), mapMode
                     .DPtoLP(truncationStringSize.height));
@@ -12,19 +12,27 @@
 
 package org.eclipse.gmf.runtime.draw2d.ui.internal.figures;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
-import java.util.ListIterator;
+import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.draw2d.AutomaticRouter;
 import org.eclipse.draw2d.ConnectionLayer;
 import org.eclipse.draw2d.ConnectionRouter;
 import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.geometry.PointList;
 import org.eclipse.draw2d.geometry.Rectangle;
 import org.eclipse.gmf.runtime.draw2d.ui.figures.PolylineConnectionEx;
 import org.eclipse.gmf.runtime.draw2d.ui.internal.routers.FanRouter;
 import org.eclipse.gmf.runtime.draw2d.ui.internal.routers.ForestRouter;
 import org.eclipse.gmf.runtime.draw2d.ui.internal.routers.ObliqueRouter;
 import org.eclipse.gmf.runtime.draw2d.ui.internal.routers.RectilinearRouter;
+import org.eclipse.gmf.runtime.draw2d.ui.mapmode.MapModeUtil;
 
 
 /**
@@ -38,6 +46,22 @@ public class ConnectionLayerEx extends ConnectionLayer {
 	private boolean dirtied = false;
 	static private boolean allowJumpLinks = true;
 	
+	/**
+	 * The size of the cells of the segment index, in device units.
+	 */
+	private static final int SEGMENT_CELL_SIZE = 64;
+	
+	/**
+	 * The grid of connection segments, created on first use.
+	 */
+	private ConnectionSegmentIndex segmentIndex = null;
+	
+	/**
+	 * Map of children to their <code>Integer</code> index, rebuilt when the
+	 * children change.
+	 */
+	private Map childPositions = null;
+	
 	/**
 	 * Adds the given figure with the given contraint at the given index.
 	 * If the figure is a connection, its connection router is set.
@@ -51,6 +75,10 @@ public class ConnectionLayerEx extends ConnectionLayer {
 	public void add(IFigure figure, Object constraint, int index) {
 		super.add(figure, constraint, index);
 
+		childPositions = null;
+		if (segmentIndex != null)
+			segmentIndex.update(figure);
+		
 		dirtyJumpLinks(figure.getBounds());
 	}
 
@@ -64,8 +92,83 @@ public class ConnectionLayerEx extends ConnectionLayer {
 	public void remove(IFigure figure) {
 		super.remove(figure);
 
+		childPositions = null;
+		if (segmentIndex != null)
+			segmentIndex.remove(figure);
+		
 		dirtyJumpLinks(figure.getBounds());
 	}
+	
+	/**
+	 * Notifies the layer that the points of one of its connections have
+	 * changed, so that its segments are indexed again before the next jump
+	 * links calculation.
+	 * 
+	 * @param connection the <code>IFigure</code> connection whose points changed
+	 */
+	public void segmentsChanged(IFigure connection) {
+		if (segmentIndex != null && connection.getParent() == this)
+			segmentIndex.update(connection);
+	}
+	
+	/**
+	 * Retrieves the connections of this layer that may intersect the given
+	 * points, that is, those with a segment near one of the segments of the
+	 * points. The given connection is always included, so that the connections
+	 * below and above it can be told apart.
+	 * 
+	 * @param connection the <code>IFigure</code> connection whose points are given
+	 * @param points the <code>PointList</code> of the connection
+	 * @return the <code>List</code> of connections, in the order of the
+	 * children of this layer
+	 */
+	public List getConnectionsNear(IFigure connection, PointList points) {
+		Set near = Collections.newSetFromMap(new IdentityHashMap());
+		getSegmentIndex().collectNear(points, near);
+		near.add(connection);
+		
+		final Map positions = getChildPositions();
+		List result = new ArrayList(near.size());
+		for (Iterator i = near.iterator(); i.hasNext();) {
+			Object next = i.next();
+			if (positions.containsKey(next))
+				result.add(next);
+		}
+		Collections.sort(result, new Comparator() {
+			public int compare(Object o1, Object o2) {
+				int p1 = ((Integer) positions.get(o1)).intValue();
+				int p2 = ((Integer) positions.get(o2)).intValue();
+				return p1 < p2 ? -1 : (p1 == p2 ? 0 : 1);
+			}
+		});
+		return result;
+	}
+	
+	/**
+	 * Gets the segment index, creating it from the current children the first
+	 * time.
+	 */
+	private ConnectionSegmentIndex getSegmentIndex() {
+		if (segmentIndex == null) {
+			segmentIndex = new ConnectionSegmentIndex(
+				MapModeUtil.getMapMode(this).DPtoLP(SEGMENT_CELL_SIZE));
+			for (Iterator i = getChildren().iterator(); i.hasNext();) {
+				segmentIndex.update((IFigure) i.next());
+			}
+		}
+		return segmentIndex;
+	}
+	
+	private Map getChildPositions() {
+		if (childPositions == null) {
+			List children = getChildren();
+			childPositions = new IdentityHashMap(children.size() * 2);
+			for (int i = 0; i < children.size(); i++) {
+				childPositions.put(children.get(i), Integer.valueOf(i));
+			}
+		}
+		return childPositions;
+	}
 
 	/**
 	 * Determines if we should jump links at all in the connection layer.
@@ -101,7 +204,8 @@ public class ConnectionLayerEx extends ConnectionLayer {
 	}
 	
 	/**
-	 * Iterates through all the connections and set a 
+	 * Iterates through the connections near the given region, found through
+	 * the segment index, and set a 
 	 * flag indicating that the jump link information needs to be updated.
 	 * At display time, the connection will regenerate the jump link information.
 	 * 
@@ -111,8 +215,11 @@ public class ConnectionLayerEx extends ConnectionLayer {
 	public void dirtyJumpLinks(Rectangle region) {
 		
 		if (!dirtied && shouldJumpLinks()) {
-			List children = getChildren();
-			ListIterator childIter = children.listIterator();
+			// only connections with a segment near the region can have jump
+			// links in it
+			Set near = Collections.newSetFromMap(new IdentityHashMap());
+			getSegmentIndex().collectNear(region, near);
+			Iterator childIter = near.iterator();
 			while (childIter.hasNext()) {
 				IFigure poly = (IFigure) childIter.next();
 				if (poly instanceof PolylineConnectionEx)
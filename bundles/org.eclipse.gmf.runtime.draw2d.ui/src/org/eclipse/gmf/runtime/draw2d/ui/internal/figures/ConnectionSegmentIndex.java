@@ -0,0 +1,285 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ ****************************************************************************/
+
+package org.eclipse.gmf.runtime.draw2d.ui.internal.figures;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.draw2d.Connection;
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.geometry.PointList;
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.gmf.runtime.draw2d.ui.figures.PolylineConnectionEx;
+
+/**
+ * A uniform grid over the line segments of the connections of a
+ * {@link ConnectionLayerEx}, used to find the connections that may intersect
+ * a connection or a region without testing every connection of the layer.
+ * <P>
+ * Each segment is registered in the cells covered by its bounding box, so two
+ * segments that intersect always share the cell of their intersection point.
+ * The segments of a connection are only recomputed, from its smoothed points,
+ * when the index is next queried after the connection reported a change.
+ * Connections that are not <code>PolylineConnectionEx</code>s cannot report
+ * changes, so they are not indexed and are always returned as candidates.
+ */
+final class ConnectionSegmentIndex {
+
+	/**
+	 * The maximum number of cells in which a single segment is registered.
+	 * Longer segments are registered in a band of cells along the segment.
+	 */
+	private static final int MAXIMUM_CELLS_PER_SEGMENT = 1024;
+
+	private static final long[] NO_CELLS = new long[0];
+
+	private final int cellSize;
+
+	/**
+	 * Map of <code>Long</code> cell keys to the <code>List</code> of
+	 * connections with a segment in the cell.
+	 */
+	private final Map cells = new HashMap();
+
+	/**
+	 * Map of indexed connections to the <code>long[]</code> keys of their
+	 * cells.
+	 */
+	private final Map connectionCells = new IdentityHashMap();
+
+	/**
+	 * The connections whose segments changed since they were indexed.
+	 */
+	private final Set stale = new LinkedHashSet();
+
+	/**
+	 * The connections that are not indexed.
+	 */
+	private final Set others = new LinkedHashSet();
+
+	/**
+	 * Creates an empty index.
+	 *
+	 * @param cellSize the width and height of the cells, in the coordinates of
+	 *            the connections
+	 */
+	ConnectionSegmentIndex(int cellSize) {
+		this.cellSize = Math.max(1, cellSize);
+	}
+
+	/**
+	 * Gets the size of the cells of this index.
+	 *
+	 * @return the width and height of the cells
+	 */
+	int getCellSize() {
+		return cellSize;
+	}
+
+	/**
+	 * Adds a connection, or marks it for reindexing if its segments have
+	 * changed.
+	 *
+	 * @param connection the connection
+	 */
+	void update(IFigure connection) {
+		if (connection instanceof PolylineConnectionEx) {
+			stale.add(connection);
+		} else if (connection instanceof Connection) {
+			others.add(connection);
+		}
+	}
+
+	/**
+	 * Removes a connection.
+	 *
+	 * @param connection the connection
+	 */
+	void remove(IFigure connection) {
+		stale.remove(connection);
+		others.remove(connection);
+		unregister(connection);
+	}
+
+	/**
+	 * Collects the connections with a segment in a cell covered by the
+	 * segments of the given points, plus the connections that are not indexed.
+	 *
+	 * @param points the points of a polyline
+	 * @param result the set to which the connections are added
+	 */
+	void collectNear(PointList points, Set result) {
+		validate();
+		long[] keys = getCells(points);
+		for (int i = 0; i < keys.length; i++) {
+			List list = (List) cells.get(Long.valueOf(keys[i]));
+			if (list != null) {
+				result.addAll(list);
+			}
+		}
+		result.addAll(others);
+	}
+
+	/**
+	 * Collects the connections with a segment in a cell covered by the given
+	 * region, plus the connections that are not indexed.
+	 *
+	 * @param region the region
+	 * @param result the set to which the connections are added
+	 */
+	void collectNear(Rectangle region, Set result) {
+		validate();
+		int x1 = cell(region.x);
+		int y1 = cell(region.y);
+		int x2 = cell(region.x + region.width);
+		int y2 = cell(region.y + region.height);
+		if ((long) (x2 - x1 + 1) * (y2 - y1 + 1) > cells.size()) {
+			// cheaper to look at every occupied cell
+			for (Iterator i = cells.entrySet().iterator(); i.hasNext();) {
+				Map.Entry entry = (Map.Entry) i.next();
+				long key = ((Long) entry.getKey()).longValue();
+				int x = (int) (key >> 32);
+				int y = (int) key;
+				if (x >= x1 && x <= x2 && y >= y1 && y <= y2) {
+					result.addAll((List) entry.getValue());
+				}
+			}
+		} else {
+			for (int x = x1; x <= x2; x++) {
+				for (int y = y1; y <= y2; y++) {
+					List list = (List) cells.get(Long.valueOf(key(x, y)));
+					if (list != null) {
+						result.addAll(list);
+					}
+				}
+			}
+		}
+		result.addAll(others);
+	}
+
+	/**
+	 * Reindexes the connections whose segments changed.
+	 */
+	private void validate() {
+		if (stale.isEmpty()) {
+			return;
+		}
+		Object[] connections = stale.toArray();
+		stale.clear();
+		for (int i = 0; i < connections.length; i++) {
+			PolylineConnectionEx connection = (PolylineConnectionEx) connections[i];
+			unregister(connection);
+			long[] keys = getCells(connection.getSmoothPoints());
+			for (int j = 0; j < keys.length; j++) {
+				Long key = Long.valueOf(keys[j]);
+				List list = (List) cells.get(key);
+				if (list == null) {
+					list = new ArrayList(4);
+					cells.put(key, list);
+				}
+				list.add(connection);
+			}
+			connectionCells.put(connection, keys);
+		}
+	}
+
+	private void unregister(IFigure connection) {
+		long[] keys = (long[]) connectionCells.remove(connection);
+		if (keys == null) {
+			return;
+		}
+		for (int i = 0; i < keys.length; i++) {
+			Long key = Long.valueOf(keys[i]);
+			List list = (List) cells.get(key);
+			if (list != null) {
+				list.remove(connection);
+				if (list.isEmpty()) {
+					cells.remove(key);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets the distinct cells covered by the segments of a polyline.
+	 *
+	 * @param points the points of the polyline
+	 * @return the keys of the cells
+	 */
+	private long[] getCells(PointList points) {
+		int size = points.size();
+		if (size == 0) {
+			return NO_CELLS;
+		}
+		Set keys = new LinkedHashSet();
+		int[] ints = points.toIntArray();
+		if (size == 1) {
+			keys.add(Long.valueOf(key(cell(ints[0]), cell(ints[1]))));
+		}
+		for (int i = 0; i < ints.length - 3; i += 2) {
+			addSegmentCells(ints[i], ints[i + 1], ints[i + 2], ints[i + 3],
+				keys);
+		}
+		long[] result = new long[keys.size()];
+		int index = 0;
+		for (Iterator i = keys.iterator(); i.hasNext();) {
+			result[index++] = ((Long) i.next()).longValue();
+		}
+		return result;
+	}
+
+	private void addSegmentCells(int ax, int ay, int bx, int by, Set keys) {
+		int x1 = cell(Math.min(ax, bx));
+		int x2 = cell(Math.max(ax, bx));
+		int y1 = cell(Math.min(ay, by));
+		int y2 = cell(Math.max(ay, by));
+
+		if ((long) (x2 - x1 + 1) * (y2 - y1 + 1) <= MAXIMUM_CELLS_PER_SEGMENT) {
+			for (int x = x1; x <= x2; x++) {
+				for (int y = y1; y <= y2; y++) {
+					keys.add(Long.valueOf(key(x, y)));
+				}
+			}
+			return;
+		}
+
+		// a long diagonal: cover the cells along the segment, widened by one
+		// cell on each side so that no cell that it crosses is missed
+		int steps = Math.max(x2 - x1, y2 - y1) + 1;
+		for (int step = 0; step <= steps; step++) {
+			double t = (double) step / steps;
+			int x = cell((int) Math.round(ax + (bx - ax) * t));
+			int y = cell((int) Math.round(ay + (by - ay) * t));
+			for (int dx = -1; dx <= 1; dx++) {
+				for (int dy = -1; dy <= 1; dy++) {
+					keys.add(Long.valueOf(key(x + dx, y + dy)));
+				}
+			}
+		}
+	}
+
+	private int cell(int coordinate) {
+		return Math.floorDiv(coordinate, cellSize);
+	}
+
+	private static long key(int x, int y) {
+		return ((long) x << 32) | (y & 0xFFFFFFFFL);
+	}
+
+}
@@ -297,6 +297,8 @@ public class ObliqueRouter extends BendpointConnectionRouter {
 					List<? extends Path> allPaths = spcr.getPathsAfterRouting();
 					if (allPaths != null && allPaths.size() > 0) {
 						routed = true;
+						RoutedPathIndex index = helper.getRoutedPathIndex(spcr);
+						index.beginPass();
 						IFigure container = helper.getSourceContainer(conn);
 						// Source and target containers are the same (we know since GEF router is used)
 						// Exception: user is moving a connection anchor and it is currently not inside any figure.						
@@ -308,6 +310,14 @@ public class ObliqueRouter extends BendpointConnectionRouter {
 							for (int i = 0; i < allPaths.size(); i++) {
 								Path path = allPaths.get(i);								
 								Connection currentConn = (Connection) path.data;
+								// Only the connections whose path or surroundings changed need to
+								// be translated, adjusted and revalidated again
+								if (currentConn != conn && !index.needsRoute(currentConn, path.getPoints())) {
+									helper.routeSkipped();
+									continue;
+								}
+								helper.routeRecomputed();
+								index.update(currentConn, path.getPoints());
 								points = new PointList();
 								// spcr needed path coordinates to be relative to the container.
 								// Now translate them back to be relative to the connection.  
@@ -380,6 +390,27 @@ public class ObliqueRouter extends BendpointConnectionRouter {
 		return routed;
     }	
 
+	/**
+	 * Returns the number of connections that were routed again after GEF's
+	 * router solved their container, since the start of the session.
+	 * 
+	 * @return the number of recomputed routes
+	 */
+	public static long getRecomputedRouteCount() {
+		return RouterHelper.getInstance().getRecomputedRouteCount();
+	}
+
+	/**
+	 * Returns the number of connections that were not routed again after GEF's
+	 * router solved their container, because neither their path nor the
+	 * obstacles around it changed, since the start of the session.
+	 * 
+	 * @return the number of skipped routes
+	 */
+	public static long getSkippedRouteCount() {
+		return RouterHelper.getInstance().getSkippedRouteCount();
+	}
+
 	/**
 	 * Method removePointsInViews.
 	 * This method will parse through all the points in the given 
@@ -0,0 +1,311 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ ****************************************************************************/
+
+package org.eclipse.gmf.runtime.draw2d.ui.internal.routers;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.draw2d.Connection;
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.geometry.PointList;
+import org.eclipse.draw2d.geometry.Rectangle;
+
+/**
+ * Remembers the paths that GEF's <code>ShortestPathConnectionRouter</code>
+ * last returned for the connections of a container, so that the connections
+ * whose path and surroundings did not change are not routed again.
+ * <P>
+ * The bounds of the obstacles, the children of the container, are compared
+ * with their bounds at the previous routing pass. The regions where an
+ * obstacle was added, removed, moved or resized are dirty. The corridor of a
+ * routed connection, the bounds of its path, is registered in the cells of a
+ * uniform grid, so that the connections whose corridor crosses a dirty region
+ * are found without testing every connection. A connection needs to be routed
+ * again when its path changed, when its corridor crosses a dirty region (its
+ * source or target may have been resized), or when the container moved or
+ * was zoomed.
+ */
+final class RoutedPathIndex {
+
+	/**
+	 * The maximum number of cells in which a corridor is registered. Larger
+	 * corridors are tested against each dirty region instead.
+	 */
+	private static final int MAXIMUM_CELLS_PER_CORRIDOR = 256;
+
+	private static final class Route {
+
+		final PointList path;
+
+		final Rectangle corridor;
+
+		final long[] cells;
+
+		Route(PointList path, Rectangle corridor, long[] cells) {
+			this.path = path;
+			this.corridor = corridor;
+			this.cells = cells;
+		}
+	}
+
+	private final IFigure container;
+
+	private final int cellSize;
+
+	/**
+	 * The absolute bounds of the container at the previous routing pass
+	 */
+	private Rectangle containerBounds;
+
+	/**
+	 * The bounds of the obstacles at the previous routing pass
+	 */
+	private Map<IFigure, Rectangle> obstacles = new IdentityHashMap<IFigure, Rectangle>();
+
+	private final Map<Connection, Route> routes = new IdentityHashMap<Connection, Route>();
+
+	private final Map<Long, Set<Connection>> cells = new HashMap<Long, Set<Connection>>();
+
+	/**
+	 * The connections whose corridor is too large to be registered in cells
+	 */
+	private final Set<Connection> large = new HashSet<Connection>();
+
+	/**
+	 * The connections whose corridor crosses a region that is dirty in the
+	 * current routing pass
+	 */
+	private final Set<Connection> affected = new HashSet<Connection>();
+
+	private boolean allDirty;
+
+	/**
+	 * Creates an empty index.
+	 *
+	 * @param container the container whose connections are routed
+	 * @param cellSize the width and height of the cells, in the coordinates of
+	 *            the container
+	 */
+	RoutedPathIndex(IFigure container, int cellSize) {
+		this.container = container;
+		this.cellSize = Math.max(1, cellSize);
+	}
+
+	/**
+	 * Starts a routing pass: finds the dirty regions since the previous pass
+	 * and the connections whose corridor crosses them.
+	 */
+	void beginPass() {
+		affected.clear();
+
+		Rectangle bounds = container.getBounds().getCopy();
+		container.translateToAbsolute(bounds);
+		allDirty = !bounds.equals(containerBounds);
+		containerBounds = bounds;
+
+		List<Rectangle> dirty = new ArrayList<Rectangle>();
+		List children = container.getChildren();
+		Map<IFigure, Rectangle> current = new IdentityHashMap<IFigure, Rectangle>(
+			children.size());
+		for (int i = 0; i < children.size(); i++) {
+			IFigure child = (IFigure) children.get(i);
+			Rectangle previous = obstacles.remove(child);
+			Rectangle childBounds = child.getBounds();
+			if (previous == null) {
+				previous = childBounds.getCopy();
+				dirty.add(previous);
+			} else if (!previous.equals(childBounds)) {
+				dirty.add(previous);
+				previous = childBounds.getCopy();
+				dirty.add(previous);
+			}
+			current.put(child, previous);
+		}
+		// the remaining obstacles were removed
+		dirty.addAll(obstacles.values());
+		obstacles = current;
+
+		if (allDirty) {
+			return;
+		}
+		for (int i = 0; i < dirty.size(); i++) {
+			collectAffected(dirty.get(i));
+		}
+	}
+
+	/**
+	 * Checks whether a connection needs to be routed again in the current
+	 * routing pass.
+	 *
+	 * @param conn the connection
+	 * @param path the path of the connection returned by GEF's router, in the
+	 *            coordinates of the container
+	 * @return <code>true</code> if the path or the surroundings of the
+	 *         connection changed
+	 */
+	boolean needsRoute(Connection conn, PointList path) {
+		if (allDirty || affected.contains(conn)) {
+			return true;
+		}
+		Route route = routes.get(conn);
+		return route == null || !equals(route.path, path);
+	}
+
+	/**
+	 * Records the path with which a connection was routed.
+	 *
+	 * @param conn the connection
+	 * @param path the path of the connection returned by GEF's router, in the
+	 *            coordinates of the container
+	 */
+	void update(Connection conn, PointList path) {
+		remove(conn);
+		Rectangle corridor = path.getBounds().getCopy().expand(1, 1);
+		long[] keys = getCells(corridor);
+		if (keys == null) {
+			large.add(conn);
+		} else {
+			for (int i = 0; i < keys.length; i++) {
+				Long key = Long.valueOf(keys[i]);
+				Set<Connection> set = cells.get(key);
+				if (set == null) {
+					set = new HashSet<Connection>(4);
+					cells.put(key, set);
+				}
+				set.add(conn);
+			}
+		}
+		routes.put(conn, new Route(path.getCopy(), corridor, keys));
+	}
+
+	/**
+	 * Forgets a connection.
+	 *
+	 * @param conn the connection
+	 */
+	void remove(Connection conn) {
+		Route route = routes.remove(conn);
+		if (route == null) {
+			return;
+		}
+		if (route.cells == null) {
+			large.remove(conn);
+			return;
+		}
+		for (int i = 0; i < route.cells.length; i++) {
+			Long key = Long.valueOf(route.cells[i]);
+			Set<Connection> set = cells.get(key);
+			if (set != null) {
+				set.remove(conn);
+				if (set.isEmpty()) {
+					cells.remove(key);
+				}
+			}
+		}
+	}
+
+	private void collectAffected(Rectangle region) {
+		int x1 = cell(region.x);
+		int y1 = cell(region.y);
+		int x2 = cell(region.x + region.width);
+		int y2 = cell(region.y + region.height);
+		if ((long) (x2 - x1 + 1) * (y2 - y1 + 1) > cells.size()) {
+			// cheaper to look at every occupied cell
+			for (Iterator<Map.Entry<Long, Set<Connection>>> i = cells
+				.entrySet().iterator(); i.hasNext();) {
+				Map.Entry<Long, Set<Connection>> entry = i.next();
+				long key = entry.getKey().longValue();
+				int x = (int) (key >> 32);
+				int y = (int) key;
+				if (x >= x1 && x <= x2 && y >= y1 && y <= y2) {
+					collectIntersecting(entry.getValue(), region);
+				}
+			}
+		} else {
+			for (int x = x1; x <= x2; x++) {
+				for (int y = y1; y <= y2; y++) {
+					Set<Connection> set = cells.get(Long.valueOf(key(x, y)));
+					if (set != null) {
+						collectIntersecting(set, region);
+					}
+				}
+			}
+		}
+		collectIntersecting(large, region);
+	}
+
+	private void collectIntersecting(Set<Connection> connections,
+			Rectangle region) {
+		for (Iterator<Connection> i = connections.iterator(); i.hasNext();) {
+			Connection conn = i.next();
+			if (!affected.contains(conn)
+				&& routes.get(conn).corridor.intersects(region)) {
+				affected.add(conn);
+			}
+		}
+	}
+
+	/**
+	 * Gets the cells covered by a corridor.
+	 *
+	 * @return the keys of the cells, or <code>null</code> if the corridor
+	 *         covers too many cells
+	 */
+	private long[] getCells(Rectangle corridor) {
+		int x1 = cell(corridor.x);
+		int y1 = cell(corridor.y);
+		int x2 = cell(corridor.x + corridor.width);
+		int y2 = cell(corridor.y + corridor.height);
+		long count = (long) (x2 - x1 + 1) * (y2 - y1 + 1);
+		if (count > MAXIMUM_CELLS_PER_CORRIDOR) {
+			return null;
+		}
+		long[] keys = new long[(int) count];
+		int index = 0;
+		for (int x = x1; x <= x2; x++) {
+			for (int y = y1; y <= y2; y++) {
+				keys[index++] = key(x, y);
+			}
+		}
+		return keys;
+	}
+
+	private int cell(int coordinate) {
+		return Math.floorDiv(coordinate, cellSize);
+	}
+
+	private static long key(int x, int y) {
+		return ((long) x << 32) | (y & 0xFFFFFFFFL);
+	}
+
+	private static boolean equals(PointList a, PointList b) {
+		if (a.size() != b.size()) {
+			return false;
+		}
+		int[] first = a.toIntArray();
+		int[] second = b.toIntArray();
+		for (int i = 0; i < a.size() * 2; i++) {
+			if (first[i] != second[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
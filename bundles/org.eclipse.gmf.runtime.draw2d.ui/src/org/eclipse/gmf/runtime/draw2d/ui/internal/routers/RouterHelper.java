@@ -80,6 +80,15 @@ class RouterHelper {
     // for routing each connection with avoid obstacles on
     private Map<Connection, ShortestPathConnectionRouter> lastUsedRouter = new WeakHashMap<Connection, ShortestPathConnectionRouter>();
 
+    // if useGEFRouter = true, holds the paths last routed by each router
+    private Map<ShortestPathConnectionRouter, RoutedPathIndex> routedPaths = new WeakHashMap<ShortestPathConnectionRouter, RoutedPathIndex>();
+
+    private final Object countLock = new Object();
+
+    private long recomputedRouteCount;
+
+    private long skippedRouteCount;
+
     /**
      * Added to support GEF's router.
      */
@@ -129,13 +138,76 @@ class RouterHelper {
     private void cleanUpAvoidObstaclesRouter(ShortestPathConnectionRouter router, Connection conn) {    	 
 		if (router != null) {
 			router.remove(conn);
+			RoutedPathIndex index = routedPaths.get(router);
+			if (index != null) {
+				index.remove(conn);
+			}
 			if (!router.hasMoreConnections()) {
 				routers.remove(router.getContainer());
+				routedPaths.remove(router);
 			}
 			lastUsedRouter.remove(conn);
 		}
     } 	
 
+    /**
+     * Retrieves the paths last routed by a GEF router, used to route again only
+     * the connections whose path or surroundings changed.
+     * 
+     * @param router the GEF router
+     * @return the index of the routed paths of the router
+     */
+    RoutedPathIndex getRoutedPathIndex(ShortestPathConnectionRouter router) {
+        RoutedPathIndex index = routedPaths.get(router);
+        if (index == null) {
+            IFigure container = router.getContainer();
+            index = new RoutedPathIndex(container, MapModeUtil.getMapMode(
+                container).DPtoLP(100));
+            routedPaths.put(router, index);
+        }
+        return index;
+    }
+
+    /**
+     * Counts a connection routed again after GEF's router solved its
+     * container.
+     */
+    void routeRecomputed() {
+        synchronized (countLock) {
+            recomputedRouteCount++;
+        }
+    }
+
+    /**
+     * Counts a connection not routed again after GEF's router solved its
+     * container, because its path and surroundings did not change.
+     */
+    void routeSkipped() {
+        synchronized (countLock) {
+            skippedRouteCount++;
+        }
+    }
+
+    /**
+     * @return the number of connections routed again after GEF's router
+     * solved their container
+     */
+    long getRecomputedRouteCount() {
+        synchronized (countLock) {
+            return recomputedRouteCount;
+        }
+    }
+
+    /**
+     * @return the number of connections not routed again after GEF's router
+     * solved their container
+     */
+    long getSkippedRouteCount() {
+        synchronized (countLock) {
+            return skippedRouteCount;
+        }
+    }
+
     /**
 	 * Added to support GEF's router.
 	 * 
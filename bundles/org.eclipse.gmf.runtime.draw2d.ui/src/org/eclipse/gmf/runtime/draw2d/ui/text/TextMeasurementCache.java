@@ -0,0 +1,385 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ ****************************************************************************/
+
+package org.eclipse.gmf.runtime.draw2d.ui.text;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.eclipse.draw2d.FigureUtilities;
+import org.eclipse.draw2d.geometry.Dimension;
+import org.eclipse.swt.graphics.Font;
+import org.eclipse.swt.graphics.FontData;
+
+/**
+ * A bounded cache of text measurements: the extents of strings in a font, the
+ * metrics of fonts, and the line breaks of strings confined to a width.
+ * Measuring text with SWT is expensive, and laying out a diagram measures the
+ * same labels, in the same fonts, many times over.
+ * <P>
+ * The measurements are keyed by the font data of the fonts, rather than the
+ * fonts themselves, so that equivalent fonts share them. When the cache is
+ * full, the least recently used measurements are discarded.
+ * <P>
+ * Each thread has its own cache, given by {@link #getInstance()}, so that it
+ * needs no synchronization. In practice, text is measured on the display
+ * thread.
+ *
+ * @see TextUtilitiesEx
+ * @since 1.11
+ */
+public final class TextMeasurementCache {
+
+    /**
+     * The default maximum number of measurements in a cache.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 4096;
+
+    /** Kind of the extents given by {@link FigureUtilities#getTextExtents(String, Font)}. */
+    static final int FIGURE_TEXT_EXTENTS = 0;
+
+    /** Kind of the extents given by {@link TextUtilitiesEx#getTextExtents(String, Font)}. */
+    static final int TEXT_EXTENTS = 1;
+
+    /** Kind of the extents given by {@link TextUtilitiesEx#getStringExtents(String, Font)}. */
+    static final int STRING_EXTENTS = 2;
+
+    /** Kind of the line breaks given by {@link TextUtilitiesEx#getLargestSubstringConfinedTo(String, Font, int)}. */
+    static final int LARGEST_SUBSTRING = 3;
+
+    /** Kind of the font heights. */
+    static final int FONT_HEIGHT = 4;
+
+    /** Kind of the font ascents. */
+    static final int FONT_ASCENT = 5;
+
+    /** Kind of the font descents. */
+    static final int FONT_DESCENT = 6;
+
+    private static final ThreadLocal<TextMeasurementCache> instance = new ThreadLocal<TextMeasurementCache>() {
+
+        protected TextMeasurementCache initialValue() {
+            return new TextMeasurementCache();
+        }
+    };
+
+    private int maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+    private final LinkedHashMap<Key, Object> measurements = new LinkedHashMap<Key, Object>(
+        256, 0.75f, true) {
+
+        private static final long serialVersionUID = 1L;
+
+        protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+            if (size() > maximumSize) {
+                evictionCount++;
+                return true;
+            }
+            return false;
+        }
+    };
+
+    /**
+     * Map of fonts to their font data, that are the keys of their
+     * measurements.
+     */
+    private final WeakHashMap<Font, FontKey> fontKeys = new WeakHashMap<Font, FontKey>();
+
+    private long hitCount;
+
+    private long missCount;
+
+    private long evictionCount;
+
+    private TextMeasurementCache() {
+        super();
+    }
+
+    /**
+     * Gets the measurement cache of the current thread.
+     *
+     * @return the cache
+     */
+    public static TextMeasurementCache getInstance() {
+        return instance.get();
+    }
+
+    /**
+     * Gets the text extents of a string in a font, in pixels, as given by
+     * {@link FigureUtilities#getTextExtents(String, Font)}.
+     *
+     * @param s
+     *            the string
+     * @param f
+     *            the font
+     * @return a new dimension
+     */
+    public Dimension getTextExtents(String s, Font f) {
+        Dimension result = (Dimension) get(FIGURE_TEXT_EXTENTS, f, s, 0, null);
+        if (result == null) {
+            result = FigureUtilities.getTextExtents(s, f);
+            put(FIGURE_TEXT_EXTENTS, f, s, 0, null, result.getCopy());
+            return result;
+        }
+        return result.getCopy();
+    }
+
+    /**
+     * Gets the height of a font, in pixels, as given by its font metrics.
+     *
+     * @param f
+     *            the font
+     * @return the height
+     */
+    public int getFontHeight(Font f) {
+        Integer result = (Integer) get(FONT_HEIGHT, f, null, 0, null);
+        if (result == null) {
+            result = Integer.valueOf(FigureUtilities.getFontMetrics(f)
+                .getHeight());
+            put(FONT_HEIGHT, f, null, 0, null, result);
+        }
+        return result.intValue();
+    }
+
+    /**
+     * Gets a measurement.
+     *
+     * @param kind
+     *            the kind of measurement
+     * @param f
+     *            the font
+     * @param s
+     *            the string, or <code>null</code> for a font metric
+     * @param width
+     *            the width that the string is confined to, if any
+     * @param context
+     *            the context of the measurement, such as the mapmode, or
+     *            <code>null</code> if it is in pixels
+     * @return the measurement, or <code>null</code> if it is not cached
+     */
+    Object get(int kind, Font f, String s, int width, Object context) {
+        Object result = measurements.get(new Key(kind, getFontKey(f), s,
+            width, context));
+        if (result == null) {
+            missCount++;
+        } else {
+            hitCount++;
+        }
+        return result;
+    }
+
+    /**
+     * Caches a measurement.
+     *
+     * @param kind
+     *            the kind of measurement
+     * @param f
+     *            the font
+     * @param s
+     *            the string, or <code>null</code> for a font metric
+     * @param width
+     *            the width that the string is confined to, if any
+     * @param context
+     *            the context of the measurement, such as the mapmode, or
+     *            <code>null</code> if it is in pixels
+     * @param measurement
+     *            the measurement, that must not be changed afterwards
+     */
+    void put(int kind, Font f, String s, int width, Object context,
+            Object measurement) {
+        if (maximumSize > 0) {
+            measurements.put(new Key(kind, getFontKey(f), s, width, context),
+                measurement);
+        }
+    }
+
+    private List<FontData> getFontKey(Font f) {
+        FontKey result = fontKeys.get(f);
+        // fonts are equal if they have the same handle, which a new font can
+        // reuse from a disposed one
+        if (result == null || result.font.get() != f) {
+            result = new FontKey(f);
+            fontKeys.remove(f);
+            fontKeys.put(f, result);
+        }
+        return result.fontData;
+    }
+
+    /**
+     * Gets the maximum number of measurements in this cache.
+     *
+     * @return the maximum size
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Sets the maximum number of measurements in this cache, discarding the
+     * least recently used measurements if there are more.
+     *
+     * @param maximumSize
+     *            the maximum size, or <code>0</code> to disable the cache
+     */
+    public void setMaximumSize(int maximumSize) {
+        this.maximumSize = Math.max(0, maximumSize);
+
+        Iterator<Key> iter = measurements.keySet().iterator();
+        while (measurements.size() > this.maximumSize) {
+            iter.next();
+            iter.remove();
+            evictionCount++;
+        }
+    }
+
+    /**
+     * Gets the number of measurements in this cache.
+     *
+     * @return the size
+     */
+    public int size() {
+        return measurements.size();
+    }
+
+    /**
+     * Gets the number of lookups that found their measurement in this cache
+     * since it was created or its statistics were reset.
+     *
+     * @return the number of hits
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Gets the number of lookups that did not find their measurement in this
+     * cache since it was created or its statistics were reset.
+     *
+     * @return the number of misses
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Gets the number of measurements discarded from this cache to respect
+     * its maximum size since it was created or its statistics were reset.
+     *
+     * @return the number of evictions
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Resets the statistics of this cache.
+     */
+    public void resetStatistics() {
+        hitCount = 0;
+        missCount = 0;
+        evictionCount = 0;
+    }
+
+    /**
+     * Discards all of the measurements of this cache.
+     */
+    public void clear() {
+        measurements.clear();
+        fontKeys.clear();
+    }
+
+    public String toString() {
+        return "TextMeasurementCache [size=" + size() //$NON-NLS-1$
+            + ", maximumSize=" + maximumSize //$NON-NLS-1$
+            + ", hits=" + hitCount //$NON-NLS-1$
+            + ", misses=" + missCount //$NON-NLS-1$
+            + ", evictions=" + evictionCount + ']'; //$NON-NLS-1$
+    }
+
+    /**
+     * The font data of a font, with the font that it was taken from.
+     */
+    private static final class FontKey {
+
+        /** weak, not to keep the key of its entry in the map of fonts */
+        final WeakReference<Font> font;
+
+        final List<FontData> fontData;
+
+        FontKey(Font f) {
+            this.font = new WeakReference<Font>(f);
+            this.fontData = Arrays.asList(f.getFontData());
+        }
+    }
+
+    /**
+     * The key of a measurement.
+     */
+    private static final class Key {
+
+        private final int kind;
+
+        private final List<FontData> font;
+
+        private final String text;
+
+        private final int width;
+
+        private final Object context;
+
+        private final int hashCode;
+
+        Key(int kind, List<FontData> font, String text, int width,
+                Object context) {
+            this.kind = kind;
+            this.font = font;
+            this.text = text;
+            this.width = width;
+            this.context = context;
+
+            int hash = kind;
+            hash = 31 * hash + font.hashCode();
+            hash = 31 * hash + (text == null ? 0
+                : text.hashCode());
+            hash = 31 * hash + width;
+            hash = 31 * hash + (context == null ? 0
+                : context.hashCode());
+            this.hashCode = hash;
+        }
+
+        public int hashCode() {
+            return hashCode;
+        }
+
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return kind == other.kind && width == other.width
+                && hashCode == other.hashCode
+                && (text == null ? other.text == null
+                    : text.equals(other.text))
+                && (context == null ? other.context == null
+                    : context.equals(other.context))
+                && font.equals(other.font);
+        }
+    }
+}
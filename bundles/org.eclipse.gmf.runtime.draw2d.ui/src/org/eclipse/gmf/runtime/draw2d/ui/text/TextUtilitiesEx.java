@@ -21,6 +21,9 @@ import org.eclipse.swt.graphics.GC;
 import org.eclipse.swt.widgets.Shell;
 
 /**
+ * The measurements are cached in the {@link TextMeasurementCache} of the
+ * current thread.
+ * 
  * @author satif, crevells
  * @since 2.1
  */
@@ -50,22 +53,38 @@ public class TextUtilitiesEx
      *  Gets the ascent, converted by the mapmode
      */
     public int getAscent(Font font) {
-        return mapmode.DPtoLP(super.getAscent(font));
+        TextMeasurementCache cache = TextMeasurementCache.getInstance();
+        Integer ascent = (Integer) cache.get(TextMeasurementCache.FONT_ASCENT,
+            font, null, 0, null);
+        if (ascent == null) {
+            ascent = Integer.valueOf(super.getAscent(font));
+            cache.put(TextMeasurementCache.FONT_ASCENT, font, null, 0, null,
+                ascent);
+        }
+        return mapmode.DPtoLP(ascent.intValue());
     }
 
     /**
      *  Gets the descent, converted by the mapmode
      */
     public int getDescent(Font font) {
-        return mapmode.DPtoLP(super.getDescent(font));
+        TextMeasurementCache cache = TextMeasurementCache.getInstance();
+        Integer descent = (Integer) cache.get(
+            TextMeasurementCache.FONT_DESCENT, font, null, 0, null);
+        if (descent == null) {
+            descent = Integer.valueOf(super.getDescent(font));
+            cache.put(TextMeasurementCache.FONT_DESCENT, font, null, 0, null,
+                descent);
+        }
+        return mapmode.DPtoLP(descent.intValue());
     }
 
     /**
      *  Gets a string's extents, converted by the mapmode
      */
     public Dimension getStringExtents(String s, Font f) {
-    	Dimension extents = new Dimension(getStringDimension(s, f, true));
-        applyItalicBugHack(s, f, extents);
+        Dimension extents = getExtents(TextMeasurementCache.STRING_EXTENTS,
+            s, f);
         applyMapModeConversion(extents);
         return extents;
     }
@@ -74,12 +93,58 @@ public class TextUtilitiesEx
      *  Gets text's extents, converted by the mapmode
      */
     public Dimension getTextExtents(String s, Font f) {
-        Dimension extents = new Dimension(getTextDimension(s, f, true));
-        applyItalicBugHack(s, f, extents);
+        Dimension extents = getExtents(TextMeasurementCache.TEXT_EXTENTS, s,
+            f);
         applyMapModeConversion(extents);
         return extents;
     }
 
+    /**
+     * Gets the largest substring of a string that fits in a width, in the
+     * units of the mapmode. This is where wrapped text is broken into lines.
+     *
+     * @since 1.11
+     */
+    public int getLargestSubstringConfinedTo(String s, Font f,
+            int availableWidth) {
+        TextMeasurementCache cache = TextMeasurementCache.getInstance();
+        Integer length = (Integer) cache.get(
+            TextMeasurementCache.LARGEST_SUBSTRING, f, s, availableWidth,
+            mapmode);
+        if (length == null) {
+            length = Integer.valueOf(super.getLargestSubstringConfinedTo(s, f,
+                availableWidth));
+            cache.put(TextMeasurementCache.LARGEST_SUBSTRING, f, s,
+                availableWidth, mapmode, length);
+        }
+        return length.intValue();
+    }
+
+    /**
+     * Gets the text or string extents of a string in pixels, from the cache
+     * if they were measured before.
+     * 
+     * @param kind
+     *            {@link TextMeasurementCache#TEXT_EXTENTS} or
+     *            {@link TextMeasurementCache#STRING_EXTENTS}
+     * @param s
+     * @param f
+     * @return a new dimension
+     */
+    private static Dimension getExtents(int kind, String s, Font f) {
+        TextMeasurementCache cache = TextMeasurementCache.getInstance();
+        Dimension extents = (Dimension) cache.get(kind, f, s, 0, null);
+        if (extents == null) {
+            extents = new Dimension(
+                kind == TextMeasurementCache.STRING_EXTENTS ? getStringDimension(
+                    s, f, true)
+                    : getTextDimension(s, f, true));
+            applyItalicBugHack(s, f, extents);
+            cache.put(kind, f, s, 0, null, extents);
+        }
+        return extents.getCopy();
+    }
+
     /**
      * Uses an offscreen GC to obtain text's rendered dimensions in pixels
      * 
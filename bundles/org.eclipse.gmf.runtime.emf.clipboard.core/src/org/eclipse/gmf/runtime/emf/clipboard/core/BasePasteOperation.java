@@ -15,6 +15,8 @@ package org.eclipse.gmf.runtime.emf.clipboard.core;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -68,6 +70,8 @@ public abstract class BasePasteOperation
 
 	private Set unmodifiablePasteFailuresObjectSet;
 
+	private Map nameIndexes;
+
 	/**
 	 * Initializes me.
 	 * 
@@ -235,6 +239,29 @@ public abstract class BasePasteOperation
 		}
 	}
 
+	/**
+	 * Obtains the index of the names of the elements of a list into which
+	 * objects are pasted, shared by the bigger paste operation.
+	 * 
+	 * @param list the current value of a many containment reference, or the
+	 *     contents of a resource
+	 * @return the name index of the <code>list</code>
+	 */
+	NameIndex getNameIndex(List list) {
+		if (getSpawningPasteOperation() != null) {
+			return getSpawningPasteOperation().getNameIndex(list);
+		}
+		if (nameIndexes == null) {
+			nameIndexes = new IdentityHashMap();
+		}
+		NameIndex result = (NameIndex) nameIndexes.get(list);
+		if (result == null) {
+			result = new NameIndex(list);
+			nameIndexes.put(list, result);
+		}
+		return result;
+	}
+
 	/**
 	 * Obtains my own subset map of merged elements.
 	 * 
@@ -672,8 +672,27 @@ public final class ClipboardSupportUtil {
 		if (isNameable(eObject) == false) {
 			return;
 		}
+		String new_name = getRenamedName(createClipboardSupport(eObject)
+			.getName(eObject), prefix);
+
+		createClipboardSupport(eObject).setName(eObject, new_name);
+
+		//check this new name itself does not collide with an existing one
+		if (hasNameCollision(list, eObject)) {
+			rename(list, eObject, prefix);
+		}
+	}
+
+	/**
+	 * Computes the next name that {@link #rename(Collection, EObject, String)}
+	 * tries for an object.
+	 * 
+	 * @param name the current name of the object
+	 * @param prefix the prefix to append
+	 * @return the new name
+	 */
+	static String getRenamedName(String name, String prefix) {
 		String new_name = null;
-		String name = createClipboardSupport(eObject).getName(eObject);
 		String prefix_underscore = prefix + UNDERSCORE;
 		if (name.startsWith(prefix_underscore)) {
 			int close_index = name.indexOf(UNDERSCORE, prefix_underscore
@@ -698,13 +717,7 @@ public final class ClipboardSupportUtil {
 		if (new_name == null) {
 			new_name = prefix_underscore + ONE + UNDERSCORE + name;
 		}
-
-		createClipboardSupport(eObject).setName(eObject, new_name);
-
-		//check this new name itself does not collide with an existing one
-		if (hasNameCollision(list, eObject)) {
-			rename(list, eObject, prefix);
-		}
+		return new_name;
 	}
 
 	/**
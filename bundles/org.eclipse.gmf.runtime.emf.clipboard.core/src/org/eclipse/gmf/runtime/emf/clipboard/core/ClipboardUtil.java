@@ -107,6 +107,36 @@ public class ClipboardUtil {
 	 */
 	public final static String HARVESTED_ELEMENT = "*paste=harvest"; //$NON-NLS-1$
 
+	/**
+	 * Hint to serialize the copied elements in EMF's binary resource format
+	 * instead of XMI.  The binary form is smaller and much faster to write
+	 * and to read for large selections, but can only be pasted by a client of
+	 * this API; the default XMI form remains the interchange format.  The
+	 * paste operation recognizes either form without any hint.
+	 * <p>
+	 * This hint applies to all objects:  use it as a key in the hint map with
+	 * a boolean value to indicate whether it is enabled.
+	 * </p>
+	 *
+	 * @see #COMPRESSED_FORMAT
+	 * @since 1.9
+	 */
+	public final static String BINARY_FORMAT = "*format=binary"; //$NON-NLS-1$
+
+	/**
+	 * Hint to compress the copied elements when they are serialized in the
+	 * {@link #BINARY_FORMAT binary format}.  It has no effect on the XMI
+	 * form.
+	 * <p>
+	 * This hint applies to all objects:  use it as a key in the hint map with
+	 * a boolean value to indicate whether it is enabled.
+	 * </p>
+	 *
+	 * @see #BINARY_FORMAT
+	 * @since 1.9
+	 */
+	public final static String COMPRESSED_FORMAT = "*format=compressed"; //$NON-NLS-1$
+
 
 	private static final String PASTE_SELECTION_FROM_STRING = "pasteElementsFromString"; //$NON-NLS-1$
 
@@ -14,6 +14,7 @@ package org.eclipse.gmf.runtime.emf.clipboard.core;
 
 import java.io.ByteArrayOutputStream;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -28,8 +29,10 @@ import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EAttribute;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.emf.ecore.util.FeatureMapUtil;
+import org.eclipse.emf.ecore.xmi.XMLResource;
 import org.eclipse.gmf.runtime.emf.clipboard.core.internal.ResourceInfoProcessor;
 import org.eclipse.gmf.runtime.emf.clipboard.core.internal.SavingEMFResource;
 import org.eclipse.gmf.runtime.emf.clipboard.core.internal.SerializationEMFResource;
@@ -144,6 +147,9 @@ public class CopyOperation
 				// detached view-element that renderes it un-copy-able.
 				throwUncopyableException();
 			}
+			if (Boolean.TRUE.equals(hints.get(ClipboardUtil.BINARY_FORMAT))) {
+				return saveEObjectsBinary(res, saveOptions, hints, copyObjects);
+			}
 			ByteArrayOutputStream out = new ByteArrayOutputStream(BUFFER_SIZE);
 			res.save(out, null);
 			String dataStr = out.toString(encoding);
@@ -157,6 +163,22 @@ public class CopyOperation
 		}
 	}
 
+	private String saveEObjectsBinary(SavingEMFResource res, Map saveOptions,
+		Map hints, CopyObjects copyObjects) throws Exception {
+		boolean compressed = Boolean.TRUE.equals(hints
+			.get(ClipboardUtil.COMPRESSED_FORMAT));
+		Map options = new HashMap(saveOptions);
+		options.put(XMLResource.OPTION_BINARY, Boolean.TRUE);
+		options.put(Resource.OPTION_ZIP, Boolean.valueOf(compressed));
+		ByteArrayOutputStream out = new ByteArrayOutputStream(BUFFER_SIZE);
+		res.save(out, options);
+		//the meta-data is plain text ahead of the data, so that it can be
+		//  read without decoding the data
+		String infoStr = ResourceInfoProcessor.getBinaryResourceInfo(
+			compressed, res, hints, copyObjects);
+		return infoStr + Base64.getEncoder().encodeToString(out.toByteArray());
+	}
+
 	private void extractCopyAlwaysObjects(Collection mainObjects,
 		Set combinedCopyAlwaysSet, Map copyAlwaysMap) {
 		Iterator mainEObjectIt = mainObjects.iterator();
@@ -0,0 +1,220 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ ****************************************************************************/
+
+package org.eclipse.gmf.runtime.emf.clipboard.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.ecore.EObject;
+
+/**
+ * An index of the names of the elements of a list into which objects are
+ * pasted, used to find {@linkplain ClipboardSupportUtil#hasNameCollision(EObject, EObject) name collisions}
+ * without comparing the pasted object with every element of the list.
+ * <P>
+ * The index is built when it is first used and is kept up to date by the
+ * paste operation as it adds and removes elements.  It is built again if the
+ * size of the list changes otherwise.
+ */
+final class NameIndex {
+
+	private final List list;
+
+	/**
+	 * The size of the list when it was last indexed, or <code>-1</code> if it
+	 * needs to be indexed again
+	 */
+	private int size = -1;
+
+	/**
+	 * Map of <code>EClass</code>es to maps of name keys to the
+	 * <code>List</code> of elements having that name
+	 */
+	private final Map names = new HashMap();
+
+	/**
+	 * Map of <code>EClass</code>es to maps of names to the last name given to
+	 * an object of that name by {@link #rename(EObject, String)}
+	 */
+	private final Map renames = new HashMap();
+
+	/**
+	 * Initializes me with the list that I index.
+	 *
+	 * @param list the current value of a many containment reference, or the
+	 *     contents of a resource
+	 */
+	NameIndex(List list) {
+		this.list = list;
+	}
+
+	/**
+	 * Finds an element of my list that has a name collision with an object.
+	 *
+	 * @param eObject an object
+	 * @return an element colliding with the <code>eObject</code>, or
+	 *     <code>null</code> if there is none
+	 *
+	 * @see ClipboardSupportUtil#hasNameCollision(java.util.Collection, EObject)
+	 */
+	EObject getCollision(EObject eObject) {
+		String name = getName(eObject);
+		if ((name == null) || (name.length() == 0)) {
+			return null;
+		}
+		synchronize();
+		Map classNames = (Map) names.get(eObject.eClass());
+		if (classNames == null) {
+			return null;
+		}
+		List elements = (List) classNames.get(getKey(name));
+		if (elements != null) {
+			for (Iterator it = elements.iterator(); it.hasNext();) {
+				EObject element = (EObject) it.next();
+				if (ClipboardSupportUtil.hasNameCollision(element, eObject)) {
+					return element;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Renames an object that has a name collision with an element of my list,
+	 * giving it the same unique name as
+	 * {@link ClipboardSupportUtil#rename(java.util.Collection, EObject, String)}.
+	 *
+	 * @param eObject an object whose name collides with my list
+	 * @param prefix the prefix to append
+	 */
+	void rename(EObject eObject, String prefix) {
+		IClipboardSupport cs = ClipboardUtil.createClipboardSupport(eObject);
+		if (cs.isNameable(eObject) == false) {
+			return;
+		}
+		String name = cs.getName(eObject);
+		Map classRenames = (Map) renames.get(eObject.eClass());
+		if (classRenames == null) {
+			classRenames = new HashMap();
+			renames.put(eObject.eClass(), classRenames);
+		}
+
+		// the names tried before the last name given to an object of the same
+		//    name are all taken, unless an element was removed since
+		String newName = (String) classRenames.get(name);
+		if (newName != null) {
+			cs.setName(eObject, newName);
+			if (getCollision(eObject) == null) {
+				newName = name;
+			}
+		} else {
+			newName = name;
+		}
+
+		do {
+			newName = ClipboardSupportUtil.getRenamedName(newName, prefix);
+			cs.setName(eObject, newName);
+		} while (getCollision(eObject) != null);
+
+		classRenames.put(name, newName);
+	}
+
+	/**
+	 * Notifies me that an element was added to my list.
+	 *
+	 * @param eObject the new element
+	 */
+	void add(EObject eObject) {
+		if ((size >= 0) && (list.size() == size + 1)) {
+			index(eObject);
+			size++;
+		}
+	}
+
+	/**
+	 * Notifies me that an element was removed from my list.
+	 *
+	 * @param eObject the removed element
+	 */
+	void remove(EObject eObject) {
+		renames.clear();
+		if ((size >= 0) && (list.size() == size - 1) && unindex(eObject)) {
+			size--;
+		} else {
+			size = -1;
+		}
+	}
+
+	private void synchronize() {
+		if (list.size() != size) {
+			names.clear();
+			for (Iterator it = list.iterator(); it.hasNext();) {
+				index((EObject) it.next());
+			}
+			size = list.size();
+		}
+	}
+
+	private void index(EObject eObject) {
+		String name = getName(eObject);
+		if ((name != null) && (name.length() > 0)) {
+			Map classNames = (Map) names.get(eObject.eClass());
+			if (classNames == null) {
+				classNames = new HashMap();
+				names.put(eObject.eClass(), classNames);
+			}
+			String key = getKey(name);
+			List elements = (List) classNames.get(key);
+			if (elements == null) {
+				elements = new ArrayList(1);
+				classNames.put(key, elements);
+			}
+			elements.add(eObject);
+		}
+	}
+
+	private boolean unindex(EObject eObject) {
+		String name = getName(eObject);
+		Map classNames = (Map) names.get(eObject.eClass());
+		if ((name == null) || (classNames == null)) {
+			return false;
+		}
+		List elements = (List) classNames.get(getKey(name));
+		return (elements != null) && elements.remove(eObject);
+	}
+
+	/**
+	 * Gets the name of an object, or <code>null</code> if it is not nameable.
+	 */
+	private static String getName(EObject eObject) {
+		IClipboardSupport cs = ClipboardUtil.createClipboardSupport(eObject);
+		return cs.isNameable(eObject) ? cs.getName(eObject)
+			: null;
+	}
+
+	/**
+	 * Gets the key of a name, which is the same for the names that are equal
+	 * ignoring case in the sense of {@link String#equalsIgnoreCase(String)}.
+	 */
+	private static String getKey(String name) {
+		char[] chars = name.toCharArray();
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+		}
+		return new String(chars);
+	}
+
+}
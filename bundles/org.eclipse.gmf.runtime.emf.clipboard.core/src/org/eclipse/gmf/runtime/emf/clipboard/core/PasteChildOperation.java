@@ -663,6 +663,9 @@ public class PasteChildOperation
 				getChildObjectInfo())) {
 				childElement = ClipboardSupportUtil.appendEObjectAt(
 					pasteIntoEObject, reference, getEObject());
+				if (childElement != null) {
+					getNameIndex((List) value).add(childElement);
+				}
 			} else if (getPastedElement() != null) {
 				// our pasted element was already assigned by a merge action
 				childElement = getPastedElement();
@@ -693,6 +696,9 @@ public class PasteChildOperation
 				getEObject(), getChildObjectInfo())) {
 			childElement = ClipboardSupportUtil.appendEObject(
 				pasteIntoResource, getEObject());
+			if (childElement != null) {
+				getNameIndex(pasteIntoResource.getContents()).add(childElement);
+			}
 		} else if (getPastedElement() != null) {
 			// our pasted element was already assigned by a merge action
 			childElement = getPastedElement();
@@ -831,51 +837,51 @@ public class PasteChildOperation
 			return true;
 		}
 
-		EObject object = null;
-		Iterator it = list.iterator();
-		while (it.hasNext()) {
-			object = (EObject) it.next();
-			if (ClipboardSupportUtil.hasNameCollision(object, eObject)) {
-				if (pasteCollisionAction.equals(PasteAction.ADD)) {
-					//Create new element with different name
-					ClipboardSupportUtil.rename(list, eObject, COPY);
-					return true; //insert child
-				} else if (pasteCollisionAction.equals(PasteAction.REPLACE)) {
-					if (canBeReplaced(object)) {
-						//Remove collision element, if any. Create new element
-						// in the same location.
-						if (reference == null) {
-							// paste target is the resouce
-							ClipboardSupportUtil.destroyEObjectInResource(object);
-						} else {
-							ClipboardSupportUtil.destroyEObjectInCollection(object
-								.eContainer(), reference, object);
-						}
-						return true;
+		//look up the colliding element in the index of the names in the list,
+		//   rather than comparing with every element
+		NameIndex nameIndex = getNameIndex(list);
+		EObject object = nameIndex.getCollision(eObject);
+		if (object != null) {
+			if (pasteCollisionAction.equals(PasteAction.ADD)) {
+				//Create new element with different name
+				nameIndex.rename(eObject, COPY);
+				return true; //insert child
+			} else if (pasteCollisionAction.equals(PasteAction.REPLACE)) {
+				if (canBeReplaced(object)) {
+					//Remove collision element, if any. Create new element
+					// in the same location.
+					if (reference == null) {
+						// paste target is the resouce
+						ClipboardSupportUtil.destroyEObjectInResource(object);
+					} else {
+						ClipboardSupportUtil.destroyEObjectInCollection(object
+							.eContainer(), reference, object);
 					}
-					return false; //ignore it since we can't replace the other
-				} else if (pasteCollisionAction.equals(PasteAction.IGNORE)) {
-					//Leave existing element, if found. Otherwise create new
-					// element.
-					return false;
-				} else if (pasteCollisionAction.equals(PasteAction.MERGE)) {
-					mergeEObjects(eObjectInfo
-						.hasHint(ClipboardUtil.MERGE_HINT_WEAK), object,
-						eObject, eObjectInfo);
-					
-					// record the existing object that we collided with as the
-					//    pasted element, so that we will know that the logical
-					//    paste operation succeeded
-					setPastedElement(object);
-					return false; //don't insert child since we merged it
-				} else if (pasteCollisionAction.equals(PasteAction.CLONE)) {
-					//Always copy, even if indirectly selected.
-					//Y.L. treat it as add???
-					ClipboardSupportUtil.rename(list, eObject, COPY);
-					return true; //insert child
+					nameIndex.remove(object);
+					return true;
 				}
-			} //hasNameCollision
-		} //while
+				return false; //ignore it since we can't replace the other
+			} else if (pasteCollisionAction.equals(PasteAction.IGNORE)) {
+				//Leave existing element, if found. Otherwise create new
+				// element.
+				return false;
+			} else if (pasteCollisionAction.equals(PasteAction.MERGE)) {
+				mergeEObjects(eObjectInfo
+					.hasHint(ClipboardUtil.MERGE_HINT_WEAK), object,
+					eObject, eObjectInfo);
+				
+				// record the existing object that we collided with as the
+				//    pasted element, so that we will know that the logical
+				//    paste operation succeeded
+				setPastedElement(object);
+				return false; //don't insert child since we merged it
+			} else if (pasteCollisionAction.equals(PasteAction.CLONE)) {
+				//Always copy, even if indirectly selected.
+				//Y.L. treat it as add???
+				nameIndex.rename(eObject, COPY);
+				return true; //insert child
+			}
+		} //hasNameCollision
 		return true; //insert child
 	}
 
@@ -985,6 +991,7 @@ public class PasteChildOperation
 			eObject = (EObject) childIt.next();
 			if (handleCollision(reference, mergedList, eObject, objectInfo)) {
 				mergedList.add(eObject);
+				getNameIndex(mergedList).add(eObject);
 			}
 		}
 		return mergedList;
@@ -28,6 +28,7 @@ import org.eclipse.emf.ecore.EAnnotation;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EReference;
 import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.util.EObjectWithInverseEList;
 import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.emf.ecore.util.FeatureMapUtil;
@@ -453,13 +454,22 @@ public class PasteIntoParentOperation
 
 	protected LoadingEMFResource loadEObjects()
 		throws Exception {
-		ByteArrayInputStream inputStream = new ByteArrayInputStream(
-			getResourceInfo().data.getBytes(getResourceInfo().encoding));
+		ResourceInfo resourceInfo = getResourceInfo();
 		LoadingEMFResource resource = new LoadingEMFResource(
 			getParentResource().getResourceSet(),
-			getResourceInfo().encoding, getLoadOptionsMap(),
+			resourceInfo.encoding, getLoadOptionsMap(),
 			getClipboardOperationHelper());
-		resource.load(inputStream, null);
+		if (resourceInfo.binary) {
+			Map options = new HashMap();
+			options.put(XMLResource.OPTION_BINARY, Boolean.TRUE);
+			options.put(Resource.OPTION_ZIP, Boolean
+				.valueOf(resourceInfo.compressed));
+			resource.load(resourceInfo.getBinaryData(), options);
+		} else {
+			ByteArrayInputStream inputStream = new ByteArrayInputStream(
+				resourceInfo.data.getBytes(resourceInfo.encoding));
+			resource.load(inputStream, null);
+		}
 		return resource;
 	}
 
@@ -12,7 +12,9 @@
 
 package org.eclipse.gmf.runtime.emf.clipboard.core.internal;
 
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -53,6 +55,25 @@ public class ResourceInfo {
 
 	public Map objects = new LinkedHashMap();
 
+	/**
+	 * Whether the resource was serialized in the binary format, in which case
+	 * {@link #data} is <code>null</code>.
+	 */
+	boolean binary;
+
+	/**
+	 * Whether the binary data is compressed.
+	 */
+	boolean compressed;
+
+	/**
+	 * The string containing the Base64 encoded binary data, from
+	 * {@link #binaryDataOffset}.
+	 */
+	String binaryData;
+
+	int binaryDataOffset;
+
 	private Map objectInfoTypeMap;
 
 	Map getObjectInfoTypeMap() {
@@ -80,6 +101,24 @@ public class ResourceInfo {
 			: Collections.EMPTY_LIST;
 	}
 
+	/**
+	 * Obtains a stream that decodes the binary data as it is read, so that
+	 * the data is not copied before it is loaded.
+	 * 
+	 * @return the binary data
+	 */
+	InputStream getBinaryData() {
+		return Base64.getMimeDecoder().wrap(new InputStream() {
+
+			private int position = binaryDataOffset;
+
+			public int read() {
+				return (position < binaryData.length()) ? binaryData
+					.charAt(position++) : -1;
+			}
+		});
+	}
+
 	void completeEObjectInitialization() {
 		Iterator it = objects.values().iterator();
 		ObjectInfo objectInfo = null;
@@ -65,6 +65,13 @@ public class ResourceInfoProcessor {
 
 	private static final String TYPE_VALUE = "EMF"; //$NON-NLS-1$
 
+	private static final String TYPE_VALUE_BINARY = "EMF_BINARY"; //$NON-NLS-1$
+
+	private static final String COMPRESSED = "COMPRESSED"; //$NON-NLS-1$
+
+	private static final String BINARY_PREFIX = BEGIN_COMMENT + TYPE
+		+ SEPARATOR + TYPE_VALUE_BINARY;
+
 	private static final String OFFSET = "OFFSET"; //$NON-NLS-1$
 
 	private static final String ENCODING = "ENCODING"; //$NON-NLS-1$
@@ -252,6 +259,9 @@ public class ResourceInfoProcessor {
 		Properties properties = getProperties(line);
 		resourceInfo.type = properties.getProperty(TYPE);
 		resourceInfo.version = properties.getProperty(VERSION);
+		resourceInfo.binary = TYPE_VALUE_BINARY.equals(resourceInfo.type);
+		resourceInfo.compressed = Boolean.valueOf(
+			properties.getProperty(COMPRESSED)).booleanValue();
 	}
 
 	private static void processVersion(StringBuffer stringBuffer) {
@@ -263,8 +273,56 @@ public class ResourceInfoProcessor {
 		stringBuffer.append(ENDL);
 	}
 
+	private static void processBinaryVersion(StringBuffer stringBuffer,
+			boolean compressed) {
+		stringBuffer.append(BEGIN_COMMENT);
+		stringBuffer.append(TYPE).append(SEPARATOR).append(TYPE_VALUE_BINARY)
+			.append(PLUS);
+		stringBuffer.append(VERSION).append(SEPARATOR).append(VERSION_VALUE)
+			.append(PLUS);
+		stringBuffer.append(COMPRESSED).append(SEPARATOR).append(compressed);
+		stringBuffer.append(END_COMMENT);
+		stringBuffer.append(ENDL);
+	}
+
+	/**
+	 * Reads the meta-data of a resource serialized in the binary format.  The
+	 * meta-data comments precede the data, which is not copied.
+	 */
+	private static ResourceInfo getBinaryResourceInfo(String str)
+		throws Exception {
+		ResourceInfo resourceInfo = new ResourceInfo();
+		List lines = new ArrayList();
+		int offset = 0;
+		while (str.startsWith(BEGIN_COMMENT, offset)) {
+			int end = str.indexOf(END_COMMENT, offset) + END_COMMENT.length();
+			lines.add(str.substring(offset, end));
+			offset = end;
+			while ((offset < str.length())
+				&& Character.isWhitespace(str.charAt(offset))) {
+				offset++;
+			}
+		}
+		resourceInfo.binaryData = str;
+		resourceInfo.binaryDataOffset = offset;
+
+		Iterator it = lines.iterator();
+		processVersion(resourceInfo, (String) it.next());
+		processResource(resourceInfo, (String) it.next());
+		while (it.hasNext()) {
+			processEObject(resourceInfo, (String) it.next());
+		}
+
+		resourceInfo.completeEObjectInitialization();
+
+		return resourceInfo;
+	}
+
 	static ResourceInfo getResourceInfo(String str)
 		throws Exception {
+		if (str.startsWith(BINARY_PREFIX)) {
+			return getBinaryResourceInfo(str);
+		}
 		ResourceInfo resourceInfo = new ResourceInfo();
 		processOffset(resourceInfo, str);
 		BufferedReader reader = new BufferedReader(new StringReader(
@@ -294,6 +352,44 @@ public class ResourceInfoProcessor {
 		processResource(stringBuffer, encoding);
 
 		//(3)generate ObjectInfo entries
+		processEObjects(stringBuffer, emfResource, hintMap, copyObjects);
+
+		//write offset at the end
+		processOffset(stringBuffer, offset);
+
+		return stringBuffer.toString();
+	}
+
+	/**
+	 * Obtains the meta-data of a resource serialized in the binary format.
+	 * Unlike the meta-data of the XMI format, it is written ahead of the
+	 * data, which follows it encoded in Base64.
+	 * 
+	 * @param compressed whether the binary data is compressed
+	 * @param emfResource the serialized resource
+	 * @param hintMap the copy hints
+	 * @param copyObjects the copied objects
+	 * @return the meta-data
+	 */
+	public static String getBinaryResourceInfo(boolean compressed,
+			SavingEMFResource emfResource, Map hintMap, CopyObjects copyObjects) {
+
+		StringBuffer stringBuffer = new StringBuffer();
+
+		//(1)type + version + compression
+		processBinaryVersion(stringBuffer, compressed);
+
+		//(2)general model + resource stuff
+		processResource(stringBuffer, emfResource.getEncoding());
+
+		//(3)generate ObjectInfo entries
+		processEObjects(stringBuffer, emfResource, hintMap, copyObjects);
+
+		return stringBuffer.toString();
+	}
+
+	private static void processEObjects(StringBuffer stringBuffer,
+			SavingEMFResource emfResource, Map hintMap, CopyObjects copyObjects) {
 		Set objectInfoSet = new LinkedHashSet(copyObjects.totalCopyObjects);
 		objectInfoSet.addAll(copyObjects.originalObjects);
 		Iterator it = objectInfoSet.iterator();
@@ -301,10 +397,5 @@ public class ResourceInfoProcessor {
 			processEObject(stringBuffer, (EObject) it.next(), emfResource,
 				hintMap, copyObjects);
 		}
-
-		//write offset at the end
-		processOffset(stringBuffer, offset);
-
-		return stringBuffer.toString();
 	}
 }
\ No newline at end of file
@@ -14,6 +14,7 @@ package org.eclipse.gmf.runtime.emf.clipboard.core.internal;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -34,8 +35,10 @@ import org.eclipse.emf.ecore.EStructuralFeature;
 import org.eclipse.emf.ecore.EcoreFactory;
 import org.eclipse.emf.ecore.InternalEObject;
 import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl;
 import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
 import org.eclipse.emf.ecore.util.EcoreEList;
+import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.emf.ecore.util.InternalEList;
 import org.eclipse.emf.ecore.xmi.XMLResource;
 import org.eclipse.emf.ecore.xmi.XMLSave;
@@ -59,6 +62,10 @@ public class SavingEMFResource
 
 	private Collection excludedObjects;
 
+	private Set copyParentCopies;
+
+	private EAnnotation serializationAnnotation;
+
 	public SavingEMFResource(URI uri, String encoding, Map defaultSaveOptions,
 		Map copy2ObjectMap, CopyObjects copyObjects,
 		IClipboardSupport clipboardOperationHelper) {
@@ -123,6 +130,7 @@ public class SavingEMFResource
 		EAnnotation eAnnotation = EcoreFactory.eINSTANCE.createEAnnotation();
 		eAnnotation.setSource(SERIALIZATION_ANNOTATIONS);
 		containmentAnnotations.getEAnnotations().add(eAnnotation);
+		serializationAnnotation = eAnnotation;
 		Set set = new HashSet(contentSet);
 		set.addAll(copyObjects.originalObjects);
 		Iterator it = set.iterator();
@@ -221,6 +229,141 @@ public class SavingEMFResource
 				"Can't call load on serializing resource"));//$NON-NLS-1$
 	}
 
+	/**
+	 * @see org.eclipse.emf.ecore.xmi.impl.XMLResourceImpl#doSave(java.io.OutputStream,
+	 *      java.util.Map)
+	 */
+	public void doSave(OutputStream outputStream, Map options)
+		throws IOException {
+		if ((options != null)
+			&& Boolean.TRUE.equals(options.get(OPTION_BINARY))) {
+			replaceSerializationAnnotationReferences();
+			BinarySave binarySave = new BinarySave(outputStream, options);
+			binarySave.saveResource(this);
+			binarySave.saveIDs();
+			binarySave.flush();
+		} else {
+			super.doSave(outputStream, options);
+		}
+	}
+
+	/**
+	 * The paste operation expects the references of the serialization
+	 * annotations to be proxies of the copied objects, as they are in the
+	 * XMI form.  The binary form saves every object only once, so these
+	 * references are replaced by distinct proxies.
+	 */
+	private void replaceSerializationAnnotationReferences() {
+		Iterator it = serializationAnnotation.getEAnnotations().iterator();
+		while (it.hasNext()) {
+			EList references = ((EAnnotation) it.next()).getReferences();
+			Object[] eObjects = references.toArray();
+			references.clear();
+			for (int i = 0; i < eObjects.length; i++) {
+				EObject proxy = createProxy((EObject) eObjects[i]);
+				if (proxy != null) {
+					references.add(proxy);
+				}
+			}
+		}
+	}
+
+	private EObject createProxy(EObject eObject) {
+		if (eObject.eIsProxy()) {
+			return eObject;
+		}
+		Resource res = eObject.eResource();
+		if (res == null) {
+			//dangling, discarded as in the XMI form
+			return null;
+		}
+		InternalEObject proxy = (InternalEObject) EcoreUtil.create(eObject
+			.eClass());
+		proxy.eSetProxyURI(res.getURI().appendFragment(
+			res.getURIFragment(eObject)));
+		return proxy;
+	}
+
+	/**
+	 * Saves the resource in EMF's binary format, with the same content as the
+	 * XMI form: the copied objects are saved, even though they belong to
+	 * other resources, excluded objects are not, and references to objects
+	 * that are not copied are saved as URIs.
+	 */
+	private class BinarySave
+		extends BinaryResourceImpl.EObjectOutputStream {
+
+		BinarySave(OutputStream outputStream, Map options)
+			throws IOException {
+			super(outputStream, options);
+		}
+
+		public void saveEObjects(InternalEList internalEObjects, Check check)
+			throws IOException {
+			List eObjects = new ArrayList(internalEObjects.size());
+			Iterator it = internalEObjects.basicIterator();
+			while (it.hasNext()) {
+				InternalEObject eObject = (InternalEObject) it.next();
+				if (isSaved(eObject)) {
+					eObjects.add(eObject);
+				}
+			}
+			super.saveEObjects(
+				(eObjects.size() == internalEObjects.size()) ? internalEObjects
+					: new ContentBasicEList(eObjects), check);
+		}
+
+		public void saveEObject(InternalEObject internalEObject, Check check)
+			throws IOException {
+			if ((internalEObject != null)
+				&& !eObjectIDMap.containsKey(internalEObject)) {
+				if (!isSaved(internalEObject)) {
+					internalEObject = null;
+				} else if (!internalEObject.eIsProxy()
+					&& isInSavingResource(internalEObject)) {
+					// save the copy here rather than a reference to the
+					//    resource of the original object
+					check = Check.NOTHING;
+				}
+			}
+			super.saveEObject(internalEObject, check);
+		}
+
+		/**
+		 * Saves the IDs of the saved objects, which are read by
+		 * {@link org.eclipse.emf.ecore.xmi.impl.XMLResourceImpl#doLoad(InputStream, Map)}.
+		 */
+		void saveIDs()
+			throws IOException {
+			List eObjects = new ArrayList();
+			List ids = new ArrayList();
+			Iterator it = eObjectIDMap.keySet().iterator();
+			while (it.hasNext()) {
+				EObject eObject = (EObject) it.next();
+				if (!eObject.eIsProxy() && isInSavingResource(eObject)) {
+					String id = getID(eObject);
+					if (id != null) {
+						eObjects.add(eObject);
+						ids.add(id);
+					}
+				}
+			}
+			writeCompressedInt(eObjects.size());
+			for (int i = 0; i < eObjects.size(); i++) {
+				saveEObject((InternalEObject) eObjects.get(i), Check.NOTHING);
+				writeString((String) ids.get(i));
+			}
+		}
+
+		private boolean isSaved(InternalEObject eObject) {
+			if (excludedObjects.contains(eObject)) {
+				return false;
+			}
+			return eObject.eIsProxy() || (eObject.eResource() != null)
+				|| isInSavingResource(eObject);
+		}
+	}
+
 	protected XMLSave createXMLSave() {
 		return new XMISaveImpl(createXMLHelper()) {
 
@@ -278,17 +421,21 @@ public class SavingEMFResource
 	}
 
 	boolean isInSavingResource(EObject eObject) {
+		if (copyParentCopies == null) {
+			copyParentCopies = new HashSet(copyObjects.copyParent2CopyMap
+				.values());
+		}
 		if (eObject.eResource() == this) {
 			return true;
 		} else if ((copyObjects.originalObjects.contains(eObject))
-			|| (copyObjects.copyParent2CopyMap.values().contains(eObject))
+			|| (copyParentCopies.contains(eObject))
 			|| (copyObjects.combinedCopyAlwaysSet.contains(eObject))) {
 			return true;
 		}
 		EObject eContainer = eObject.eContainer();
 		while (eContainer != null) {
 			if ((copyObjects.originalObjects.contains(eContainer))
-				|| (copyObjects.copyParent2CopyMap.values().contains(eContainer))
+				|| (copyParentCopies.contains(eContainer))
 				|| (copyObjects.combinedCopyAlwaysSet.contains(eContainer))) {
 				return true;
 			}
@@ -356,7 +503,7 @@ public class SavingEMFResource
 
 		private static final long serialVersionUID = -2551747854798104709L;
 
-		ContentBasicEList(Set contentSet) {
+		ContentBasicEList(Collection contentSet) {
 			super(null, null, contentSet.size(), contentSet.toArray());
 		}
 	}
@@ -29,6 +29,9 @@ import org.eclipse.emf.ecore.resource.Resource.Factory.Registry;
 import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.emf.transaction.Transaction;
 import org.eclipse.emf.transaction.TransactionalEditingDomain;
+import org.eclipse.emf.transaction.TransactionalEditingDomain.Lifecycle;
+import org.eclipse.emf.transaction.TransactionalEditingDomainEvent;
+import org.eclipse.emf.transaction.TransactionalEditingDomainListenerImpl;
 import org.eclipse.emf.transaction.impl.InternalTransactionalEditingDomain;
 import org.eclipse.emf.transaction.util.TransactionUtil;
 import org.eclipse.emf.workspace.AbstractResourceUndoContextPolicy;
@@ -109,8 +112,33 @@ public class GMFEditingDomainFactory extends WorkspaceEditingDomainFactory {
 		final ResourceSet rset = domain.getResourceSet();
 
 		// ensure that the cross-referencing adapter is installed
-		if (CrossReferenceAdapter.getExistingCrossReferenceAdapter(rset) == null) {
-			rset.eAdapters().add(new CrossReferenceAdapter());
+		CrossReferenceAdapter crossReferenceAdapter = CrossReferenceAdapter
+			.getExistingCrossReferenceAdapter(rset);
+		if (crossReferenceAdapter == null) {
+			crossReferenceAdapter = new CrossReferenceAdapter();
+			rset.eAdapters().add(crossReferenceAdapter);
+		}
+
+		// batch the import/export updates of each transaction
+		Lifecycle lifecycle = TransactionUtil.getAdapter(domain,
+			Lifecycle.class);
+		if (lifecycle != null) {
+			final CrossReferenceAdapter batchedAdapter = crossReferenceAdapter;
+			lifecycle
+				.addTransactionalEditingDomainListener(new TransactionalEditingDomainListenerImpl() {
+
+					@Override
+					public void transactionStarted(
+							TransactionalEditingDomainEvent event) {
+						batchedAdapter.beginBatch();
+					}
+
+					@Override
+					public void transactionClosed(
+							TransactionalEditingDomainEvent event) {
+						batchedAdapter.endBatch();
+					}
+				});
 		}
 
 		// ensure that the path map manager is installed
@@ -18,6 +18,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -48,17 +49,45 @@ import org.eclipse.emf.ecore.util.InternalEList;
  * <p>
  * This adapter maintain information on inverse references, resource imports,
  * and resource exports.
+ * <p>
+ * Between {@link #beginBatch()} and {@link #endBatch()}, which the GMF
+ * editing domain calls around each transaction, the imports and exports of
+ * the objects removed from their container are only updated at the end of
+ * the batch. Objects that are moved within their resource then do not need to
+ * be processed at all, and the references of objects moved to another
+ * resource are moved to their new resources in a single pass.
  * 
  * @author Christian Vogt (cvogt)
  * @author Christian W. Damus (cdamus)
  */
 public class CrossReferenceAdapter extends ECrossReferenceAdapter {
 
-	private Map imports = new HashMap();
-
-	private Map exports = new HashMap();
+	private final ResourcePairCounts references = new ResourcePairCounts();
 
 	private boolean resolve = true;
+
+	private int batchDepth;
+
+	/**
+	 * Map of the objects removed from their container during the batch to the
+	 * resource that their references are counted in, or <code>null</code> if
+	 * they are not counted in any.
+	 */
+	private Map pendingRemovals;
+
+	private boolean flushing;
+
+	/**
+	 * The objects attached to this adapter while a containment addition is
+	 * handled.
+	 */
+	private Set newlyAdapted;
+
+	/**
+	 * The last containment notification handled, so that the removal of a root
+	 * from a resource is not handled twice.
+	 */
+	private Notification lastContainment;
 	
     private Map eClassToChangeableFeatures = new HashMap();
 
@@ -90,6 +119,7 @@ public class CrossReferenceAdapter extends ECrossReferenceAdapter {
 	 *            the event notification
 	 */
 	public void selfAdapt(Notification notification) {
+		lastContainment = null;
 		super.selfAdapt(notification);
 		Object notifier = notification.getNotifier();
 		Object feature = notification.getFeature();
@@ -99,6 +129,7 @@ public class CrossReferenceAdapter extends ECrossReferenceAdapter {
 		if (notifier instanceof Resource) {
 			if (notification.getFeatureID(Resource.class) == Resource.RESOURCE__IS_LOADED) {
 				if (!notification.getNewBooleanValue()) {
+					flushRemovals();
 					deregisterReferences((Resource) notifier);
 				} else {
 					for (Iterator i = ((Resource) notifier).getContents()
@@ -110,6 +141,16 @@ public class CrossReferenceAdapter extends ECrossReferenceAdapter {
 						}
 					}
 				}
+			} else if (notification.getFeatureID(Resource.class) == Resource.RESOURCE__CONTENTS
+				&& ((Resource) notifier).isLoaded()) {
+				// the superclass may only handle the removal of roots from
+				// resources that are being unloaded
+				int eventType = notification.getEventType();
+				if ((eventType == Notification.REMOVE
+					|| eventType == Notification.REMOVE_MANY)
+					&& lastContainment != notification) {
+					handleContainment(notification);
+				}
 			}
 
 			return;
@@ -127,6 +168,8 @@ public class CrossReferenceAdapter extends ECrossReferenceAdapter {
 			return;
 		}
 
+		Resource referencer = getCountedResource((EObject) notifier);
+
 		switch (notification.getEventType()) {
 		case Notification.RESOLVE:
 		case Notification.SET:
@@ -134,13 +177,11 @@ public class CrossReferenceAdapter extends ECrossReferenceAdapter {
 			if (!reference.isMany() || notification.getPosition() != Notification.NO_INDEX) {
 				EObject oldValue = (EObject) notification.getOldValue();
 				if (oldValue != null) {
-					deregisterReference(((EObject) notification.getNotifier())
-							.eResource(), oldValue.eResource());
+					deregisterReference(referencer, getCountedResource(oldValue));
 				}
 				EObject newValue = (EObject) notification.getNewValue();
 				if (newValue != null) {
-					registerReference(((EObject) notification.getNotifier())
-							.eResource(), newValue.eResource());
+					registerReference(referencer, getCountedResource(newValue));
 				}
 			}
 			break;
@@ -148,8 +189,7 @@ public class CrossReferenceAdapter extends ECrossReferenceAdapter {
 		case Notification.ADD: {
 			EObject newValue = (EObject) notification.getNewValue();
 			if (newValue != null) {
-				registerReference(((EObject) notification.getNotifier())
-						.eResource(), newValue.eResource());
+				registerReference(referencer, getCountedResource(newValue));
 			}
 			break;
 		}
@@ -157,16 +197,14 @@ public class CrossReferenceAdapter extends ECrossReferenceAdapter {
 			Collection newValues = (Collection) notification.getNewValue();
 			for (Iterator i = newValues.iterator(); i.hasNext();) {
 				EObject newValue = (EObject) i.next();
-				registerReference(((EObject) notification.getNotifier())
-						.eResource(), newValue.eResource());
+				registerReference(referencer, getCountedResource(newValue));
 			}
 			break;
 		}
 		case Notification.REMOVE: {
 			EObject oldValue = (EObject) notification.getOldValue();
 			if (oldValue != null) {
-				deregisterReference(((EObject) notification.getNotifier())
-						.eResource(), oldValue.eResource());
+				deregisterReference(referencer, getCountedResource(oldValue));
 			}
 			break;
 		}
@@ -174,8 +212,7 @@ public class CrossReferenceAdapter extends ECrossReferenceAdapter {
 			Collection oldValues = (Collection) notification.getOldValue();
 			for (Iterator i = oldValues.iterator(); i.hasNext();) {
 				EObject oldValue = (EObject) i.next();
-				deregisterReference(((EObject) notification.getNotifier())
-						.eResource(), oldValue.eResource());
+				deregisterReference(referencer, getCountedResource(oldValue));
 			}
 			break;
 		}
@@ -187,14 +224,31 @@ public class CrossReferenceAdapter extends ECrossReferenceAdapter {
 	 * to tear down aggregate (resource-level) cross-references.
 	 */
 	protected void handleContainment(Notification notification) {
-		super.handleContainment(notification);
-
+		lastContainment = notification;
 		Object notifier = notification.getNotifier();
 		if (notifier instanceof ResourceSet) {
 			// not interested in removal of resources from the resource set
+			super.handleContainment(notification);
 			return;
 		}
 
+		// objects that already had this adapter are being moved, so their
+		// outgoing references must be registered again
+		Set adapted = null;
+		int eventType = notification.getEventType();
+		if (eventType == Notification.ADD || eventType == Notification.ADD_MANY) {
+			Set outerAdapted = newlyAdapted;
+			newlyAdapted = new HashSet();
+			try {
+				super.handleContainment(notification);
+			} finally {
+				adapted = newlyAdapted;
+				newlyAdapted = outerAdapted;
+			}
+		} else {
+			super.handleContainment(notification);
+		}
+
 		switch (notification.getEventType()) {
 		case Notification.ADD: {
 			EObject newValue = (EObject) notification.getNewValue();
@@ -204,12 +258,11 @@ public class CrossReferenceAdapter extends ECrossReferenceAdapter {
 				if (notifier instanceof Resource) {
 					resource = (Resource) notifier;
 				} else {
-					resource = ((EObject) notification.getNotifier())
-							.eResource();
+					resource = getCountedResource((EObject) notifier);
 				}
 
 				// handle processing of the new value that has been added
-				updateImportsAndExports(resource, newValue, true);
+				containmentAdded(resource, newValue, adapted);
 			}
 
 			break;
@@ -219,7 +272,7 @@ public class CrossReferenceAdapter extends ECrossReferenceAdapter {
 			if (notifier instanceof Resource) {
 				resource = (Resource) notifier;
 			} else {
-				resource = ((EObject) notification.getNotifier()).eResource();
+				resource = getCountedResource((EObject) notifier);
 			}
 
 			Collection newValues = (Collection) notification.getNewValue();
@@ -229,7 +282,7 @@ public class CrossReferenceAdapter extends ECrossReferenceAdapter {
 
 				if (next != null) {
 					// handle processing of the new value that has been added
-					updateImportsAndExports(resource, next, true);
+					containmentAdded(resource, next, adapted);
 				}
 			}
 			break;
@@ -243,12 +296,11 @@ public class CrossReferenceAdapter extends ECrossReferenceAdapter {
 				if (notifier instanceof Resource) {
 					resource = (Resource) notifier;
 				} else {
-					resource = ((EObject) notification.getNotifier())
-							.eResource();
+					resource = getCountedResource((EObject) notifier);
 				}
 
 				// handle processing of the old value that has been removed
-				updateImportsAndExports(resource, oldValue, false);
+				containmentRemoved(resource, oldValue);
 			}
 			break;
 		}
@@ -259,11 +311,12 @@ public class CrossReferenceAdapter extends ECrossReferenceAdapter {
                 
                 if (!resource.isLoaded()) {
                     // purge the resource from the imports/exports map
+                    flushRemovals();
                     deregisterReferences(resource);
                     return;
                 }
 			} else {
-				resource = ((EObject) notification.getNotifier()).eResource();
+				resource = getCountedResource((EObject) notifier);
 			}
 
 			Collection oldValues = (Collection) notification.getOldValue();
@@ -273,7 +326,7 @@ public class CrossReferenceAdapter extends ECrossReferenceAdapter {
 
 				if (next != null) {
 					// handle processing of the old value that has been removed
-					updateImportsAndExports(resource, next, false);
+					containmentRemoved(resource, next);
 				}
 			}
 			break;
@@ -281,6 +334,330 @@ public class CrossReferenceAdapter extends ECrossReferenceAdapter {
 		}
 	}
 
+	/**
+	 * Handles the addition of an object to a container or a resource.
+	 * 
+	 * @param resource
+	 *            the resource of the container
+	 * @param value
+	 *            the object that was added
+	 * @param adapted
+	 *            the objects that were attached to this adapter by the
+	 *            addition, whose outgoing references are already registered
+	 */
+	private void containmentAdded(Resource resource, EObject value,
+			Set adapted) {
+		if (pendingRemovals != null && pendingRemovals.containsKey(value)) {
+			// it was removed earlier in the batch: it is processed when the
+			// batch ends, if it did not end up in the same resource
+			return;
+		}
+		updateSubtreeImportsAndExports(resource, value, true, adapted);
+	}
+
+	/**
+	 * Handles the removal of an object from its container or resource.
+	 * 
+	 * @param resource
+	 *            the resource of the former container
+	 * @param value
+	 *            the object that was removed
+	 */
+	private void containmentRemoved(Resource resource, EObject value) {
+		if (batchDepth > 0) {
+			if (pendingRemovals == null) {
+				pendingRemovals = new LinkedHashMap();
+			}
+			if (!pendingRemovals.containsKey(value)) {
+				pendingRemovals.put(value, resource);
+			}
+		} else {
+			// a moved object is already in its new container, but its
+			// references were counted in the resource it was removed from
+			pendingRemovals = Collections.singletonMap(value, resource);
+			try {
+				updateSubtreeImportsAndExports(resource, value, false,
+					Collections.EMPTY_SET);
+			} finally {
+				pendingRemovals = null;
+			}
+		}
+	}
+
+	/**
+	 * Obtains the resource that the references of an object are counted in.
+	 * This is the object's resource, unless the object was removed from its
+	 * container during the current batch and not processed yet, in which case
+	 * its references are still counted in the resource that it was removed
+	 * from.
+	 * 
+	 * @param eObject
+	 *            an object
+	 * @return the resource its references are counted in, or
+	 *         <code>null</code> if none
+	 */
+	private Resource getCountedResource(EObject eObject) {
+		if (pendingRemovals == null || pendingRemovals.isEmpty()) {
+			return eObject.eResource();
+		}
+		for (EObject next = eObject; next != null; next = next.eContainer()) {
+			if (pendingRemovals.containsKey(next)) {
+				return (Resource) pendingRemovals.get(next);
+			}
+		}
+		return eObject.eResource();
+	}
+
+	/**
+	 * Starts a batch of changes, during which the imports and exports of the
+	 * objects removed from their container are only updated when the batch
+	 * ends. Until then, {@link #getImports(Resource)} and
+	 * {@link #getExports(Resource)} still count these objects in the resource
+	 * that they were removed from. Batches may be nested; every call must be
+	 * matched by a call to {@link #endBatch()}.
+	 * <p>
+	 * The hooks for the imports and exports that these objects add or remove
+	 * are called when the outermost batch ends, after the hooks for the other
+	 * changes of the batch, which are called as the changes happen. No hooks
+	 * are called at all for objects moved within the same resource.
+	 * </p>
+	 * 
+	 * @since 1.9
+	 */
+	public void beginBatch() {
+		batchDepth++;
+	}
+
+	/**
+	 * Ends a batch of changes started with {@link #beginBatch()}, updating
+	 * the imports and exports for the objects removed from their container
+	 * during the batch when the outermost batch ends.
+	 * 
+	 * @since 1.9
+	 */
+	public void endBatch() {
+		if (batchDepth > 0 && --batchDepth == 0) {
+			flushRemovals();
+		}
+	}
+
+	/**
+	 * Updates the imports and exports for the objects removed from their
+	 * container during the current batch.
+	 * <p>
+	 * The objects that are back in the resource they were removed from are
+	 * skipped: their references are still counted in the right resource. For
+	 * the others, each reference is moved from the pair of resources that it
+	 * was counted in to the pair that it belongs to now, in a single pass, so
+	 * that the hooks are only called for the pairs that gain their first
+	 * reference or lose their last one.
+	 * </p>
+	 */
+	private void flushRemovals() {
+		if (flushing || pendingRemovals == null || pendingRemovals.isEmpty()) {
+			return;
+		}
+		flushing = true;
+
+		try {
+			Set moved = new HashSet();
+
+			for (Iterator i = pendingRemovals.entrySet().iterator(); i.hasNext();) {
+				Map.Entry next = (Map.Entry) i.next();
+				EObject root = (EObject) next.getKey();
+
+				if (root.eResource() != next.getValue()) {
+					moved.add(root);
+				}
+			}
+
+			// the pending removals still tell where the references were
+			// counted until all of them are moved
+			for (Iterator i = moved.iterator(); i.hasNext();) {
+				moveSubtreeReferences((EObject) i.next(), moved);
+			}
+		} finally {
+			pendingRemovals = null;
+			flushing = false;
+		}
+	}
+
+	/**
+	 * Moves the references of an object that was moved to another resource
+	 * during the batch, and of its contents, from the resources that they were
+	 * counted in to the resources that they are in now. The references from
+	 * other moved objects are moved with the outgoing references of those
+	 * objects, so that each reference is moved once.
+	 * 
+	 * @param value
+	 *            the moved object, or one of its contents
+	 * @param moved
+	 *            the objects that were moved to another resource
+	 */
+	private void moveSubtreeReferences(EObject value, Set moved) {
+		CrossReferenceAdapter adapter = getExistingCrossReferenceAdapter(value);
+
+		if (adapter == null) {
+			return;
+		}
+
+		Resource oldResource = getCountedResource(value);
+		Resource newResource = value.eResource();
+
+		EContentsEList.FeatureIterator crossReferences = getOptimizedCrossReferenceIterator(value);
+
+		while (crossReferences.hasNext()) {
+			EObject referent = (EObject) crossReferences.next();
+
+			if (referent != null
+				&& isImportExportCapable(
+					(EReference) crossReferences.feature(), referent)) {
+				moveReference(oldResource, getCountedResource(referent),
+					newResource, referent.eResource());
+			}
+		}
+
+		for (Iterator iter = adapter.getInverseReferences(value).iterator(); iter
+			.hasNext();) {
+			EStructuralFeature.Setting next = (EStructuralFeature.Setting) iter
+				.next();
+			EObject owner = next.getEObject();
+
+			if (isImportExportCapable((EReference) next.getEStructuralFeature(),
+				owner) && !isWithin(owner, moved)) {
+				moveReference(getCountedResource(owner), oldResource,
+					owner.eResource(), newResource);
+			}
+		}
+
+		for (Iterator i = resolve() ? value.eContents().iterator()
+				: ((InternalEList) value.eContents()).basicIterator(); i
+				.hasNext();) {
+			EObject child = (EObject) i.next();
+
+			// contents removed on their own are handled on their own
+			if (!pendingRemovals.containsKey(child)) {
+				moveSubtreeReferences(child, moved);
+			}
+		}
+	}
+
+	/**
+	 * Queries whether an object is one of the given objects or is contained
+	 * in one of them.
+	 * 
+	 * @param eObject
+	 *            an object
+	 * @param roots
+	 *            the objects
+	 * @return whether the object is within the given objects
+	 */
+	private static boolean isWithin(EObject eObject, Set roots) {
+		for (EObject next = eObject; next != null; next = next.eContainer()) {
+			if (roots.contains(next)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Moves one reference from the pair of resources that it was counted in
+	 * to the pair that it belongs to now. The reference is counted in its new
+	 * pair before it is removed from its old one, so that the hooks are not
+	 * called for a pair that keeps it.
+	 * 
+	 * @param oldReferencer
+	 *            the resource of the referencing object when the reference was
+	 *            counted
+	 * @param oldReferenced
+	 *            the resource of the referenced object when the reference was
+	 *            counted
+	 * @param newReferencer
+	 *            the resource of the referencing object now
+	 * @param newReferenced
+	 *            the resource of the referenced object now
+	 */
+	private void moveReference(Resource oldReferencer, Resource oldReferenced,
+			Resource newReferencer, Resource newReferenced) {
+		if (oldReferencer != newReferencer || oldReferenced != newReferenced) {
+			registerReference(newReferencer, newReferenced);
+			deregisterReference(oldReferencer, oldReferenced);
+		}
+	}
+
+	/**
+	 * Registers or deregisters the outgoing and incoming references of an
+	 * object and of its contents, except for the contents that were
+	 * themselves removed from their container during the batch.
+	 * 
+	 * @param resource
+	 *            the resource that the references are counted in
+	 * @param value
+	 *            the object
+	 * @param register
+	 *            whether to register or deregister the references
+	 * @param skipOutgoing
+	 *            the objects whose outgoing references must not be processed
+	 */
+	private void updateSubtreeImportsAndExports(Resource resource,
+			EObject value, boolean register, Set skipOutgoing) {
+		CrossReferenceAdapter adapter = getExistingCrossReferenceAdapter(value);
+
+		if (adapter == null) {
+			return;
+		}
+
+		if (!skipOutgoing.contains(value)) {
+			EContentsEList.FeatureIterator crossReferences = getOptimizedCrossReferenceIterator(value);
+
+			while (crossReferences.hasNext()) {
+				EObject referent = (EObject) crossReferences.next();
+
+				if (referent != null
+					&& isImportExportCapable(
+						(EReference) crossReferences.feature(), referent)) {
+					Resource referencedResource = getCountedResource(referent);
+
+					if (register) {
+						registerReference(resource, referencedResource);
+					} else {
+						deregisterReference(resource, referencedResource);
+					}
+				}
+			}
+		}
+
+		for (Iterator iter = adapter.getInverseReferences(value).iterator(); iter
+			.hasNext();) {
+			EStructuralFeature.Setting next = (EStructuralFeature.Setting) iter
+				.next();
+			EObject owner = next.getEObject();
+
+			if (isImportExportCapable((EReference) next.getEStructuralFeature(),
+				owner)) {
+				Resource referencerResource = getCountedResource(owner);
+
+				if (register) {
+					registerReference(referencerResource, resource);
+				} else {
+					deregisterReference(referencerResource, resource);
+				}
+			}
+		}
+
+		for (Iterator i = resolve() ? value.eContents().iterator()
+				: ((InternalEList) value.eContents()).basicIterator(); i
+				.hasNext();) {
+			EObject child = (EObject) i.next();
+
+			if (pendingRemovals == null || !pendingRemovals.containsKey(child)) {
+				updateSubtreeImportsAndExports(resource, child, register,
+					skipOutgoing);
+			}
+		}
+	}
+
 	/**
 	 * Updates the imports and exports map for the specified eObject
 	 * 
@@ -307,7 +684,7 @@ public class CrossReferenceAdapter extends ECrossReferenceAdapter {
                     EObject owner = next.getEObject();
                     
                     if (isImportExportCapable(ref, owner)) {
-                        registerReference(owner.eResource(), resource);
+                        registerReference(getCountedResource(owner), resource);
                     }
 				}
 			}
@@ -324,7 +701,7 @@ public class CrossReferenceAdapter extends ECrossReferenceAdapter {
 							.feature();
 
 					if (isImportExportCapable(eReference, referent)) {
-						Resource referencedResource = referent.eResource();
+						Resource referencedResource = getCountedResource(referent);
 						deregisterReference(resource, referencedResource);
 					}
 				}
@@ -339,7 +716,7 @@ public class CrossReferenceAdapter extends ECrossReferenceAdapter {
                     EObject owner = next.getEObject();
                     
                     if (isImportExportCapable(ref, owner)) {
-                        deregisterReference(owner.eResource(), resource);
+                        deregisterReference(getCountedResource(owner), resource);
                     }
                 }
 			}
@@ -382,7 +759,11 @@ public class CrossReferenceAdapter extends ECrossReferenceAdapter {
 
 		if (target instanceof EObject) {
 			EObject eObject = (EObject) target;
-			Resource resource = eObject.eResource();
+			Resource resource = getCountedResource(eObject);
+
+			if (newlyAdapted != null) {
+				newlyAdapted.add(eObject);
+			}
 
 			// register the outgoing references and incoming bidirectionals
 			EContentsEList.FeatureIterator crossReferences = getOptimizedCrossReferenceIterator(
@@ -396,7 +777,7 @@ public class CrossReferenceAdapter extends ECrossReferenceAdapter {
 							.feature();
 
 					if (isImportExportCapable(eReference, referent)) {
-						Resource referencedResource = referent.eResource();
+						Resource referencedResource = getCountedResource(referent);
 						registerReference(resource, referencedResource);
 					}
 				}
@@ -410,64 +791,49 @@ public class CrossReferenceAdapter extends ECrossReferenceAdapter {
 	public void unsetTarget(Notifier notifier) {
 		super.unsetTarget(notifier);
 		if (notifier instanceof Resource) {
+			flushRemovals();
 			deregisterReferences((Resource) notifier);
 		}
 	}
 
 	/**
-	 * Gets the imports of a resource.
+	 * Gets the imports of a resource. During a batch, the objects removed from
+	 * their container in the batch are still counted in the resource that they
+	 * were removed from, until the batch ends.
 	 * 
 	 * @param referencer
 	 *            the resource to retrieve imports for
 	 * @return a Set of resource imports
 	 */
 	public Set getImports(Resource referencer) {
-
-		Map importsMap = getImportsMap(referencer);
-
-		if (importsMap != null) {
-			return Collections.unmodifiableSet(importsMap.keySet());
-		} else {
-			return Collections.EMPTY_SET;
-		}
+		return references.getImports(referencer);
 	}
 
 	/**
-	 * Gets the exports of a resource.
+	 * Gets the exports of a resource. During a batch, the objects removed from
+	 * their container in the batch are still counted in the resource that they
+	 * were removed from, until the batch ends.
 	 * 
 	 * @param referenced
 	 *            the resource to retrieve exports for
 	 * @return a Set of resource exports
 	 */
 	public Set getExports(Resource referenced) {
-
-		Map exportsMap = getExportsMap(referenced);
-
-		if (exportsMap != null) {
-			return Collections.unmodifiableSet(exportsMap.keySet());
-		} else {
-			return Collections.EMPTY_SET;
-		}
-	}
-
-	/**
-	 * Returns the imports map of the given resource.
-	 * 
-	 * @param resource
-	 * @return imports map of the given resource
-	 */
-	private Map getImportsMap(Resource resource) {
-		return (Map) imports.get(resource);
+		return references.getExports(referenced);
 	}
 
 	/**
-	 * Returns the exports map of the given resource.
+	 * Gets the number of object-level references from one resource to
+	 * another.
 	 * 
-	 * @param resource
-	 * @return exports map of the given resource
+	 * @param referencer
+	 *            the referencing resource
+	 * @param referenced
+	 *            the referenced resource
+	 * @return the number of references
 	 */
-	private Map getExportsMap(Resource resource) {
-		return (Map) exports.get(resource);
+	int getReferenceCount(Resource referencer, Resource referenced) {
+		return references.getCount(referencer, referenced);
 	}
 
 	/**
@@ -484,42 +850,10 @@ public class CrossReferenceAdapter extends ECrossReferenceAdapter {
 		if ((referencer != null) && (referenced != null)
 				&& (referencer != referenced)) {
 
-			Map importsMap = getImportsMap(referencer);
-
-			if (importsMap == null) {
-				importsMap = new HashMap();
-				imports.put(referencer, importsMap);
-			}
-
-			Counter importsCount = (Counter) importsMap.get(referenced);
-
-			if (importsCount == null) {
-
-				importsCount = new Counter();
-				importsMap.put(referenced, importsCount);
-
+			// an import and its export are the same pair of resources
+			if (references.increment(referencer, referenced)) {
 				importAdded(referencer, referenced);
-			} else {
-				importsCount.inc();
-			}
-
-			Map exportsMap = getExportsMap(referenced);
-
-			if (exportsMap == null) {
-				exportsMap = new HashMap();
-				exports.put(referenced, exportsMap);
-			}
-
-			Counter exportsCount = (Counter) exportsMap.get(referencer);
-
-			if (exportsCount == null) {
-
-				exportsCount = new Counter();
-				exportsMap.put(referencer, exportsCount);
-
 				exportAdded(referenced, referencer);
-			} else {
-				exportsCount.inc();
 			}
 		}
 	}
@@ -529,6 +863,10 @@ public class CrossReferenceAdapter extends ECrossReferenceAdapter {
 	 * import of the <code>referenced</code> resource by the
 	 * <code>referencer</code>. This implementation does nothing; subclasses
 	 * need not call <code>super</code>.
+	 * <p>
+	 * During a batch, this may be called only when the batch ends; see
+	 * {@link #beginBatch()}.
+	 * </p>
 	 * 
 	 * @param referencer
 	 *            the referencing resource (doing the importing)
@@ -544,6 +882,10 @@ public class CrossReferenceAdapter extends ECrossReferenceAdapter {
 	 * the <code>referenced</code> resource by the <code>referencer</code>.
 	 * This implementation does nothing; subclasses need not call
 	 * <code>super</code>.
+	 * <p>
+	 * During a batch, this may be called only when the batch ends; see
+	 * {@link #beginBatch()}.
+	 * </p>
 	 * 
 	 * @param referencer
 	 *            the formerly referencing resource (doing the importing)
@@ -559,6 +901,10 @@ public class CrossReferenceAdapter extends ECrossReferenceAdapter {
 	 * export of the <code>referenced</code> resource to the
 	 * <code>referencer</code>. This implementation does nothing; subclasses
 	 * need not call <code>super</code>.
+	 * <p>
+	 * During a batch, this may be called only when the batch ends; see
+	 * {@link #beginBatch()}.
+	 * </p>
 	 * 
 	 * @param referenced
 	 *            the resource being referenced (doing the exporting)
@@ -574,6 +920,10 @@ public class CrossReferenceAdapter extends ECrossReferenceAdapter {
 	 * the <code>referenced</code> resource to the <code>referencer</code>.
 	 * This implementation does nothing; subclasses need not call
 	 * <code>super</code>.
+	 * <p>
+	 * During a batch, this may be called only when the batch ends; see
+	 * {@link #beginBatch()}.
+	 * </p>
 	 * 
 	 * @param referenced
 	 *            the resource formerly being referenced (doing the exporting)
@@ -599,40 +949,9 @@ public class CrossReferenceAdapter extends ECrossReferenceAdapter {
 		if ((referencer != null) && (referenced != null)
 				&& (referencer != referenced)) {
 
-			Map importsMap = getImportsMap(referencer);
-
-			if (importsMap != null) {
-
-				Counter importsCount = (Counter) importsMap.get(referenced);
-
-				if ((importsCount != null) && importsCount.dec()) {
-
-					importsMap.remove(referenced);
-
-					importRemoved(referencer, referenced);
-
-					if (importsMap.isEmpty()) {
-						imports.remove(referencer);
-					}
-				}
-			}
-
-			Map exportsMap = getExportsMap(referenced);
-
-			if (exportsMap != null) {
-
-				Counter exportsCount = (Counter) exportsMap.get(referencer);
-
-				if ((exportsCount != null) && exportsCount.dec()) {
-
-					exportsMap.remove(referencer);
-
-					exportRemoved(referenced, referencer);
-
-					if (exportsMap.isEmpty()) {
-						exports.remove(referenced);
-					}
-				}
+			if (references.decrement(referencer, referenced)) {
+				importRemoved(referencer, referenced);
+				exportRemoved(referenced, referencer);
 			}
 		}
 	}
@@ -645,36 +964,17 @@ public class CrossReferenceAdapter extends ECrossReferenceAdapter {
 	 */
 	private void deregisterReferences(final Resource referencer) {
 
-		Object[] resImports = getImports(referencer).toArray();
+		Object[] resImports = references.getImports(referencer).toArray();
 
 		for (int i = 0; i < resImports.length; i++) {
 
 			final Resource referenced = (Resource) resImports[i];
 
-			Map importsMap = getImportsMap(referencer);
-
-			if (importsMap != null) {
-
-				importsMap.remove(referenced);
+			if (references.remove(referencer, referenced)) {
 
 				importRemoved(referencer, referenced);
 
-				if (importsMap.isEmpty()) {
-					imports.remove(referencer);
-				}
-			}
-
-			Map exportsMap = getExportsMap(referenced);
-
-			if (exportsMap != null) {
-
-				exportsMap.remove(referencer);
-
 				exportRemoved(referenced, referencer);
-
-				if (exportsMap.isEmpty()) {
-					exports.remove(referenced);
-				}
 			}
 		}
 	}
@@ -840,37 +1140,6 @@ public class CrossReferenceAdapter extends ECrossReferenceAdapter {
 		return result;
 	}
 
-	/**
-	 * A mutable integer used to count number of object-level references between
-	 * two resources.
-	 * 
-	 * @author Christian W. Damus (cdamus)
-	 */
-	private static final class Counter {
-		private int value = 1;
-
-		Counter() {
-			super();
-		}
-
-		/**
-		 * Increments me.
-		 */
-		void inc() {
-			value++;
-		}
-
-		/**
-		 * Decrements me.
-		 * 
-		 * @return <code>true</code> if I am now zero; <code>false</code>,
-		 *         otherwise
-		 */
-		boolean dec() {
-			return --value <= 0;
-		}
-	}
-
 	protected boolean resolve() {
 		return this.resolve;
 	}
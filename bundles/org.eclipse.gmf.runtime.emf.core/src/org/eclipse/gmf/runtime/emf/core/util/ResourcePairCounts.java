@@ -0,0 +1,439 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ ****************************************************************************/
+
+package org.eclipse.gmf.runtime.emf.core.util;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.emf.ecore.resource.Resource;
+
+/**
+ * Counts the object-level references from one resource to another, for the
+ * imports and exports maintained by the {@link CrossReferenceAdapter}.
+ * <P>
+ * Resources are given integer ids while they import or export anything, and
+ * the count of each pair of ids is kept in an open-addressing table of
+ * primitive keys and values. Each resource also has the compact lists of ids
+ * of the resources that it imports and exports.
+ */
+final class ResourcePairCounts {
+
+	private static final long FREE = -1L;
+
+	private static final int[] NO_IDS = new int[0];
+
+	/**
+	 * Map of <code>Resource</code> to its <code>Integer</code> id.
+	 */
+	private final Map ids = new HashMap();
+
+	private Resource[] resources = new Resource[16];
+
+	private int[] freeIds = new int[16];
+
+	private int freeCount;
+
+	private int nextId;
+
+	private int[][] importIds = new int[16][];
+
+	private int[] importSizes = new int[16];
+
+	private int[][] exportIds = new int[16][];
+
+	private int[] exportSizes = new int[16];
+
+	/**
+	 * The pairs of ids, as <code>(referencer &lt;&lt; 32) | referenced</code>.
+	 */
+	private long[] keys;
+
+	private int[] counts;
+
+	private int size;
+
+	ResourcePairCounts() {
+		keys = new long[64];
+		counts = new int[64];
+		Arrays.fill(keys, FREE);
+	}
+
+	/**
+	 * Counts one more reference from the <code>referencer</code> to the
+	 * <code>referenced</code> resource.
+	 *
+	 * @param referencer
+	 *            the referencing resource
+	 * @param referenced
+	 *            the referenced resource
+	 * @return <code>true</code> if it is the first such reference
+	 */
+	boolean increment(Resource referencer, Resource referenced) {
+		int from = getOrCreateId(referencer);
+		int to = getOrCreateId(referenced);
+		long key = key(from, to);
+		int slot = find(key);
+
+		if (slot >= 0) {
+			counts[slot]++;
+			return false;
+		}
+		insert(key, 1);
+		importSizes[from] = add(importIds, importSizes[from], from, to);
+		exportSizes[to] = add(exportIds, exportSizes[to], to, from);
+		return true;
+	}
+
+	/**
+	 * Counts one reference less from the <code>referencer</code> to the
+	 * <code>referenced</code> resource.
+	 *
+	 * @param referencer
+	 *            the referencing resource
+	 * @param referenced
+	 *            the referenced resource
+	 * @return <code>true</code> if it was the last such reference
+	 */
+	boolean decrement(Resource referencer, Resource referenced) {
+		int from = getId(referencer);
+		int to = getId(referenced);
+
+		if (from < 0 || to < 0) {
+			return false;
+		}
+		int slot = find(key(from, to));
+
+		if (slot < 0 || --counts[slot] > 0) {
+			return false;
+		}
+		removePair(slot, from, to);
+		return true;
+	}
+
+	/**
+	 * Forgets all of the references from the <code>referencer</code> to the
+	 * <code>referenced</code> resource.
+	 *
+	 * @param referencer
+	 *            the referencing resource
+	 * @param referenced
+	 *            the referenced resource
+	 * @return <code>true</code> if there were any
+	 */
+	boolean remove(Resource referencer, Resource referenced) {
+		int from = getId(referencer);
+		int to = getId(referenced);
+
+		if (from < 0 || to < 0) {
+			return false;
+		}
+		int slot = find(key(from, to));
+
+		if (slot < 0) {
+			return false;
+		}
+		removePair(slot, from, to);
+		return true;
+	}
+
+	/**
+	 * Gets the number of references from the <code>referencer</code> to the
+	 * <code>referenced</code> resource.
+	 *
+	 * @param referencer
+	 *            the referencing resource
+	 * @param referenced
+	 *            the referenced resource
+	 * @return the number of references
+	 */
+	int getCount(Resource referencer, Resource referenced) {
+		int from = getId(referencer);
+		int to = getId(referenced);
+
+		if (from < 0 || to < 0) {
+			return 0;
+		}
+		int slot = find(key(from, to));
+		return slot < 0 ? 0
+			: counts[slot];
+	}
+
+	/**
+	 * Gets a view of the resources that the <code>resource</code> imports.
+	 *
+	 * @param resource
+	 *            the resource
+	 * @return the unmodifiable set of imported resources
+	 */
+	Set getImports(Resource resource) {
+		return new ResourceView(resource, true);
+	}
+
+	/**
+	 * Gets a view of the resources that the <code>resource</code> exports to.
+	 *
+	 * @param resource
+	 *            the resource
+	 * @return the unmodifiable set of importing resources
+	 */
+	Set getExports(Resource resource) {
+		return new ResourceView(resource, false);
+	}
+
+	/**
+	 * Gets the number of resources with an id, for testing.
+	 *
+	 * @return the number of resources that import or export anything
+	 */
+	int getResourceCount() {
+		return ids.size();
+	}
+
+	private static long key(int from, int to) {
+		return ((long) from << 32) | (to & 0xFFFFFFFFL);
+	}
+
+	private int getId(Resource resource) {
+		Integer id = (Integer) ids.get(resource);
+		return id == null ? -1
+			: id.intValue();
+	}
+
+	private int getOrCreateId(Resource resource) {
+		Integer id = (Integer) ids.get(resource);
+
+		if (id != null) {
+			return id.intValue();
+		}
+		int result;
+
+		if (freeCount > 0) {
+			result = freeIds[--freeCount];
+		} else {
+			result = nextId++;
+
+			if (result == resources.length) {
+				int capacity = result * 2;
+				resources = (Resource[]) copyOf(resources, new Resource[capacity]);
+				importIds = (int[][]) copyOf(importIds, new int[capacity][]);
+				exportIds = (int[][]) copyOf(exportIds, new int[capacity][]);
+				importSizes = Arrays.copyOf(importSizes, capacity);
+				exportSizes = Arrays.copyOf(exportSizes, capacity);
+			}
+		}
+		resources[result] = resource;
+		importIds[result] = NO_IDS;
+		exportIds[result] = NO_IDS;
+		ids.put(resource, Integer.valueOf(result));
+		return result;
+	}
+
+	private static Object[] copyOf(Object[] from, Object[] to) {
+		System.arraycopy(from, 0, to, 0, from.length);
+		return to;
+	}
+
+	/**
+	 * Gives up the id of a resource that no longer imports or exports
+	 * anything.
+	 */
+	private void releaseIfUnused(int id) {
+		if (importSizes[id] == 0 && exportSizes[id] == 0) {
+			ids.remove(resources[id]);
+			resources[id] = null;
+			importIds[id] = null;
+			exportIds[id] = null;
+
+			if (freeCount == freeIds.length) {
+				freeIds = Arrays.copyOf(freeIds, freeCount * 2);
+			}
+			freeIds[freeCount++] = id;
+		}
+	}
+
+	private void removePair(int slot, int from, int to) {
+		delete(slot);
+		importSizes[from] = remove(importIds[from], importSizes[from], to);
+		exportSizes[to] = remove(exportIds[to], exportSizes[to], from);
+		releaseIfUnused(from);
+		if (to != from) {
+			releaseIfUnused(to);
+		}
+	}
+
+	private static int add(int[][] lists, int size, int owner, int id) {
+		int[] list = lists[owner];
+
+		if (size == list.length) {
+			list = Arrays.copyOf(list, size == 0 ? 4
+				: size * 2);
+			lists[owner] = list;
+		}
+		list[size] = id;
+		return size + 1;
+	}
+
+	private static int remove(int[] list, int size, int id) {
+		for (int i = 0; i < size; i++) {
+			if (list[i] == id) {
+				list[i] = list[size - 1];
+				return size - 1;
+			}
+		}
+		return size;
+	}
+
+	private static int indexOf(int[] list, int size, int id) {
+		for (int i = 0; i < size; i++) {
+			if (list[i] == id) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private int slotOf(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32)) & (keys.length - 1);
+	}
+
+	private int find(long key) {
+		int mask = keys.length - 1;
+
+		for (int slot = slotOf(key);; slot = (slot + 1) & mask) {
+			long next = keys[slot];
+
+			if (next == key) {
+				return slot;
+			} else if (next == FREE) {
+				return -1;
+			}
+		}
+	}
+
+	private void insert(long key, int count) {
+		if ((size + 1) * 4 > keys.length * 3) {
+			rehash(keys.length * 2);
+		}
+		int mask = keys.length - 1;
+		int slot = slotOf(key);
+
+		while (keys[slot] != FREE) {
+			slot = (slot + 1) & mask;
+		}
+		keys[slot] = key;
+		counts[slot] = count;
+		size++;
+	}
+
+	/**
+	 * Removes the entry in a slot, shifting back the entries of the same
+	 * probe sequence so that no tombstones are needed.
+	 */
+	private void delete(int slot) {
+		int mask = keys.length - 1;
+		int hole = slot;
+
+		for (int next = (hole + 1) & mask; keys[next] != FREE; next = (next + 1) & mask) {
+			int home = slotOf(keys[next]);
+
+			// move the entry back if its home is not between the hole and it
+			if (((next - home) & mask) >= ((next - hole) & mask)) {
+				keys[hole] = keys[next];
+				counts[hole] = counts[next];
+				hole = next;
+			}
+		}
+		keys[hole] = FREE;
+		counts[hole] = 0;
+		size--;
+	}
+
+	private void rehash(int capacity) {
+		long[] oldKeys = keys;
+		int[] oldCounts = counts;
+
+		keys = new long[capacity];
+		counts = new int[capacity];
+		Arrays.fill(keys, FREE);
+		size = 0;
+
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != FREE) {
+				insert(oldKeys[i], oldCounts[i]);
+			}
+		}
+	}
+
+	/**
+	 * A live, unmodifiable view of the imports or exports of a resource.
+	 * Iterators work on a copy, so the view may be iterated while the
+	 * references change.
+	 */
+	private final class ResourceView
+		extends AbstractSet {
+
+		private final Resource resource;
+
+		private final boolean imports;
+
+		ResourceView(Resource resource, boolean imports) {
+			this.resource = resource;
+			this.imports = imports;
+		}
+
+		public int size() {
+			int id = getId(resource);
+			return id < 0 ? 0
+				: (imports ? importSizes[id]
+					: exportSizes[id]);
+		}
+
+		public boolean contains(Object o) {
+			if (!(o instanceof Resource)) {
+				return false;
+			}
+			int id = getId(resource);
+			int other = getId((Resource) o);
+
+			if (id < 0 || other < 0) {
+				return false;
+			}
+			return imports ? indexOf(importIds[id], importSizes[id], other) >= 0
+				: indexOf(exportIds[id], exportSizes[id], other) >= 0;
+		}
+
+		public Iterator iterator() {
+			int id = getId(resource);
+
+			if (id < 0) {
+				return Arrays.asList(new Resource[0]).iterator();
+			}
+			int count = imports ? importSizes[id]
+				: exportSizes[id];
+			int[] list = imports ? importIds[id]
+				: exportIds[id];
+			Resource[] result = new Resource[count];
+
+			for (int i = 0; i < count; i++) {
+				result[i] = resources[list[i]];
+			}
+			return Arrays.asList(result).iterator();
+		}
+	}
+
+}
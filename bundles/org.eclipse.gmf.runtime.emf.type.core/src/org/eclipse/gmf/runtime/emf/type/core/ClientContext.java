@@ -17,6 +17,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -33,6 +34,13 @@ import org.osgi.framework.FrameworkUtil;
  */
 public class ClientContext implements IClientContext {
 
+	/**
+	 * Incremented whenever the bindings of any client context change, so that
+	 * the results cached by the {@link ElementTypeRegistry} for a context can
+	 * be discarded.
+	 */
+	private static final AtomicLong bindingsStamp = new AtomicLong();
+
 	private final String id;
 
 	private final IElementMatcher matcher;
@@ -88,8 +96,9 @@ public class ClientContext implements IClientContext {
 			result = hasPatternBindingFor(_id);
 
 			if (result) {
-				// cache the result for this type
-				bindId(_id);
+				// cache the result for this type. This doesn't change what
+				// I include, so it doesn't count as a change of my bindings
+				typeIdBindings.add(_id);
 			}
 		}
 
@@ -119,11 +128,15 @@ public class ClientContext implements IClientContext {
 	}
 
 	public void bindId(String typeId) {
-		typeIdBindings.add(typeId);
+		if (typeIdBindings.add(typeId)) {
+			bindingsChanged();
+		}
 	}
 
 	public void bindPattern(Pattern pattern) {
-		patternBindings.add(pattern);
+		if (patternBindings.add(pattern)) {
+			bindingsChanged();
+		}
 	}
 
 	/**
@@ -138,7 +151,9 @@ public class ClientContext implements IClientContext {
 	 * @since 1.9
 	 */
 	public void unbindId(String typeId) {
-		typeIdBindings.remove(typeId);
+		if (typeIdBindings.remove(typeId)) {
+			bindingsChanged();
+		}
 	}
 
 	/**
@@ -156,6 +171,8 @@ public class ClientContext implements IClientContext {
 	 */
 	public void unbindPattern(Pattern pattern) {
 		if (patternBindings.remove(pattern)) {
+			bindingsChanged();
+
 			// Remove all matching IDs
 			Matcher m = pattern.matcher(""); //$NON-NLS-1$
 			for (Iterator<String> iter = typeIdBindings.iterator(); iter.hasNext();) {
@@ -167,6 +184,24 @@ public class ClientContext implements IClientContext {
 		}
 	}
 	
+	/**
+	 * Records that the bindings of a client context, or the set of registered
+	 * client contexts, have changed.
+	 */
+	static void bindingsChanged() {
+		bindingsStamp.incrementAndGet();
+	}
+
+	/**
+	 * Obtains a stamp that changes whenever the bindings of a client context,
+	 * or the set of registered client contexts, change.
+	 * 
+	 * @return the current bindings stamp
+	 */
+	static long getBindingsStamp() {
+		return bindingsStamp.get();
+	}
+
 	/**
 	 * Has no children.
 	 */
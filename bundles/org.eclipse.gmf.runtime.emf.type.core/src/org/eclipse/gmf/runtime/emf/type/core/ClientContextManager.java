@@ -76,6 +76,12 @@ public final class ClientContextManager {
 
 	private final Set clientContexts = new java.util.HashSet();
 
+	/**
+	 * Whether a client context that is not a {@link ClientContext} has been
+	 * registered. The bindings of such contexts cannot be tracked.
+	 */
+	private volatile boolean foreignClientContexts;
+
 	private final Map clientContextMap = new java.util.HashMap();
 	
 	private final CopyOnWriteArrayList<IClientContextManagerListener> listeners = new CopyOnWriteArrayList<IClientContextManagerListener>();
@@ -195,6 +201,7 @@ public final class ClientContextManager {
 				// is effected by removing it from the context manager
 				iter.remove();
 				clientContextMap.remove(next.getId());
+				ClientContext.bindingsChanged();
 				// context
 
 				Trace.catching(EMFTypePlugin.getPlugin(),
@@ -347,6 +354,11 @@ public final class ClientContextManager {
 		// prevent duplicates
 		if (clientContexts.add(clientContext)) {
 			clientContextMap.put(clientContext.getId(), clientContext);
+
+			if (!(clientContext instanceof ClientContext)) {
+				foreignClientContexts = true;
+			}
+			ClientContext.bindingsChanged();
 			
 			fireClientContextAdded(clientContext);
 		}
@@ -414,6 +426,7 @@ public final class ClientContextManager {
 			} else {
 				clientContextMap.remove(clientContext.getId());
 				clientContexts.remove(clientContext);
+				ClientContext.bindingsChanged();
 
 				result = true;
 			}
@@ -445,6 +458,7 @@ public final class ClientContextManager {
 					// prevent duplicates
 					if (clientContexts.add(context)) {
 						clientContextMap.put(context.getId(), context);
+						ClientContext.bindingsChanged();
 					}
 
 				} catch (CoreException ce) {
@@ -640,6 +654,17 @@ public final class ClientContextManager {
 		}
 	}
 
+	/**
+	 * Queries whether a client context that is not a {@link ClientContext}
+	 * has been registered, in which case changes to the bindings of the client
+	 * contexts cannot be tracked.
+	 * 
+	 * @return whether a foreign client context has been registered
+	 */
+	boolean hasForeignClientContexts() {
+		return foreignClientContexts;
+	}
+
 	/**
 	 * Adds a {@code listener} for additions and removals of client contexts.
 	 * Has no effect if the {@code listener} is already attached.
@@ -18,10 +18,12 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IConfigurationElement;
@@ -51,6 +53,7 @@ import org.eclipse.gmf.runtime.emf.type.core.internal.descriptors.MetamodelTypeD
 import org.eclipse.gmf.runtime.emf.type.core.internal.descriptors.SpecializationTypeDescriptor;
 import org.eclipse.gmf.runtime.emf.type.core.internal.impl.DefaultMetamodelType;
 import org.eclipse.gmf.runtime.emf.type.core.internal.impl.EClassUtil;
+import org.eclipse.gmf.runtime.emf.type.core.internal.impl.EditHelperAdvicePlan;
 import org.eclipse.gmf.runtime.emf.type.core.internal.impl.SpecializationTypeRegistry;
 import org.eclipse.gmf.runtime.emf.type.core.internal.l10n.EMFTypeCoreMessages;
 
@@ -59,6 +62,12 @@ import org.eclipse.gmf.runtime.emf.type.core.internal.l10n.EMFTypeCoreMessages;
  * <code>org.eclipse.gmf.runtime.emf.type.core.elementTypes</code> extension
  * point, or registered directly through {@link #register(IMetamodelType)} or
  * {@link #register(ISpecializationType)}.
+ * <P>
+ * The registry may be read from any thread without locking. Readers see a
+ * snapshot of the registered types that is replaced, never modified, by each
+ * registration, so that they never see a registration half applied.
+ * Registrations and removals are serialized on the registry, and the element
+ * types contributed by the extension point are published all at once.
  * 
  * @author ldamus
  */
@@ -82,39 +91,121 @@ public class ElementTypeRegistry {
 	private final SpecializationTypeRegistry specializationTypeRegistry;
 
 	/**
-	 * Metamodel type descriptors stored by nsURI. Each key is a namespace URI
-	 * and each value is a map, whose key is an EClass name and whose value is a
-	 * collection of MetamodelTypeDescriptors.
+	 * Memoizes the metamodel types and edit helper advice resolved for each
+	 * EClass and element type, per client context.
 	 */
-	private final Map metamodelTypeDescriptorsByNsURI;
+	private final ElementTypeResolutionCache resolutionCache;
 
 	/**
-	 * All metamodel type descriptors stored by ID. Each value is an instance of
-	 * <code>MetamodelTypeDescriptor</code>.
+	 * The metamodel types and element type factories of the registry,
+	 * published as a whole so that readers see either all or none of a
+	 * registration. A published snapshot is never modified: the writer
+	 * modifies a copy, in which it replaces the nested maps and collections
+	 * that it changes, and then publishes the copy.
 	 */
-	private final Map metamodelTypeDescriptorsById;
+	private static final class Snapshot {
+
+		/**
+		 * Metamodel type descriptors stored by nsURI. Each key is a namespace URI
+		 * and each value is a map, whose key is an EClass name and whose value is a
+		 * collection of MetamodelTypeDescriptors.
+		 */
+		final Map metamodelTypeDescriptorsByNsURI;
+
+		/**
+		 * All metamodel type descriptors stored by ID. Each value is an instance of
+		 * <code>MetamodelTypeDescriptor</code>.
+		 */
+		final Map metamodelTypeDescriptorsById;
+
+		/**
+		 * ElementTypeFactories stored by kind. Each factory declares a string that
+		 * describes the kind of element that it is responsible for creating. Each
+		 * value is a single <code>ElementTypeFactory</code>.
+		 */
+		final Map elementTypeFactoryMap;
+
+		/**
+		 * The nested maps and collections created for this snapshot, which may
+		 * be modified until it is published.
+		 */
+		private Set owned;
+
+		Snapshot() {
+			metamodelTypeDescriptorsByNsURI = new HashMap();
+			metamodelTypeDescriptorsById = new HashMap();
+			elementTypeFactoryMap = new HashMap();
+			owned = Collections.newSetFromMap(new IdentityHashMap());
+		}
+
+		Snapshot(Snapshot other) {
+			metamodelTypeDescriptorsByNsURI = new HashMap(other.metamodelTypeDescriptorsByNsURI);
+			metamodelTypeDescriptorsById = new HashMap(other.metamodelTypeDescriptorsById);
+			elementTypeFactoryMap = new HashMap(other.elementTypeFactoryMap);
+			owned = Collections.newSetFromMap(new IdentityHashMap());
+		}
+
+		/**
+		 * Gets the metamodel type descriptors registered for the EClass named
+		 * <code>eClassName</code> in the <code>nsURI</code>, in a collection
+		 * that may be modified.
+		 */
+		Collection getDescriptorsForUpdate(String nsURI, String eClassName) {
+			Map descriptorsByEClass = (Map) metamodelTypeDescriptorsByNsURI.get(nsURI);
+
+			if (descriptorsByEClass == null || !owned.contains(descriptorsByEClass)) {
+				descriptorsByEClass = (descriptorsByEClass == null) ? new HashMap()
+					: new HashMap(descriptorsByEClass);
+				owned.add(descriptorsByEClass);
+				metamodelTypeDescriptorsByNsURI.put(nsURI, descriptorsByEClass);
+			}
+
+			Collection result = (Collection) descriptorsByEClass.get(eClassName);
+
+			if (result == null || !owned.contains(result)) {
+				result = (result == null) ? new ArrayList()
+					: new ArrayList(result);
+				owned.add(result);
+				descriptorsByEClass.put(eClassName, result);
+			}
+			return result;
+		}
+
+		/**
+		 * Forbids any further modification, before I am published.
+		 */
+		void seal() {
+			owned = null;
+		}
+	}
 
 	/**
-	 * ElementTypeFactories stored by kind. Each factory declares a string that
-	 * describes the kind of element that it is responsible for creating. Each
-	 * value is a single <code>ElementTypeFactory</code>.
+	 * The published snapshot, read without locking. Modifications are
+	 * serialized on this registry.
 	 */
-	private final Map elementTypeFactoryMap;
+	private volatile Snapshot snapshot;
+
+	/**
+	 * The snapshot being modified while loading element types from the
+	 * extension point, which is only used by the loading thread. It is read
+	 * without locking by the other threads, to find out that they do not load.
+	 */
+	private volatile Snapshot loading;
 
 	/**
 	 * Listeners for additions to this registry.
 	 */
-	private final List elementTypeRegistryListeners;
+	private final CopyOnWriteArrayList elementTypeRegistryListeners;
 
 	/**
 	 * Listeners for removals from this registry.
 	 */
-	private final List elementTypeRegistryListener2s;
+	private final CopyOnWriteArrayList elementTypeRegistryListener2s;
 
 	/**
 	 * Singleton instance.
 	 */
-	private static ElementTypeRegistry INSTANCE;
+	private static volatile ElementTypeRegistry INSTANCE;
 
 	private ExtensionTracker extensionTracker;
 	
@@ -127,11 +218,13 @@ public class ElementTypeRegistry {
 		super();
 
 		specializationTypeRegistry = new SpecializationTypeRegistry(this);
-		metamodelTypeDescriptorsByNsURI = new HashMap();
-		metamodelTypeDescriptorsById = new HashMap();
-		elementTypeFactoryMap = new HashMap();
-		elementTypeRegistryListeners = new ArrayList();
-		elementTypeRegistryListener2s = new ArrayList();
+		snapshot = new Snapshot();
+		elementTypeRegistryListeners = new CopyOnWriteArrayList();
+		elementTypeRegistryListener2s = new CopyOnWriteArrayList();
+
+		// the cache must be invalidated before other listeners are notified
+		resolutionCache = new ElementTypeResolutionCache(this);
+		addElementTypeRegistryListener(resolutionCache);
 
 		registerNullElementType();
 
@@ -171,15 +264,63 @@ public class ElementTypeRegistry {
 	 */
 	public static ElementTypeRegistry getInstance() {
 
-		if (INSTANCE == null) {
+		ElementTypeRegistry result = INSTANCE;
+
+		if (result == null) {
+			synchronized (ElementTypeRegistry.class) {
+				result = INSTANCE;
 
-			IConfigurationElement[] configs = Platform.getExtensionRegistry()
-				.getConfigurationElementsFor(EMFTypePlugin.getPluginId(),
-					ELEMENT_TYPES_EXT_P_NAME);
+				if (result == null) {
+					IConfigurationElement[] configs = Platform.getExtensionRegistry()
+						.getConfigurationElementsFor(EMFTypePlugin.getPluginId(),
+							ELEMENT_TYPES_EXT_P_NAME);
 
-			INSTANCE = new ElementTypeRegistry(configs);
+					result = new ElementTypeRegistry(configs);
+					INSTANCE = result;
+				}
+			}
+		}
+		return result;
+	}
+	
+	/**
+	 * Gets the snapshot that the current thread reads: the snapshot being
+	 * loaded if the thread is loading it, otherwise the published snapshot.
+	 * 
+	 * @return the snapshot
+	 */
+	private Snapshot getSnapshot() {
+		Snapshot result = loading;
+
+		if (result != null && Thread.holdsLock(this)) {
+			return result;
+		}
+		return snapshot;
+	}
+
+	/**
+	 * Gets a snapshot that the current thread, holding the lock on this
+	 * registry, may modify.
+	 * 
+	 * @return the snapshot to modify and then to pass to
+	 *         {@link #endUpdate(Snapshot)}
+	 */
+	private Snapshot beginUpdate() {
+		return (loading != null) ? loading
+			: new Snapshot(snapshot);
+	}
+
+	/**
+	 * Publishes the modified <code>update</code>, unless it is being loaded.
+	 * 
+	 * @param update
+	 *            the snapshot obtained from {@link #beginUpdate()}
+	 */
+	private void endUpdate(Snapshot update) {
+		if (update != loading) {
+			update.seal();
+			snapshot = update;
 		}
-		return INSTANCE;
 	}
 	
 	final SpecializationTypeRegistry getSpecializationTypeRegistry() {
@@ -222,6 +363,12 @@ public class ElementTypeRegistry {
 		IClientContext context = (clientContext == null) ? ClientContextManager
 				.getDefaultClientContext() : clientContext;
 
+		IEditHelperAdvice[] cached = resolutionCache.getEditHelperAdvice(type, context);
+		if (cached != null) {
+			return cached;
+		}
+
+		int generation = resolutionCache.getGeneration();
 		EClass eClass = type.getEClass();
 		MetamodelTypeDescriptor metamodelType = (eClass != null) ? getMetamodelTypeDescriptor(
 				eClass, context)
@@ -229,7 +376,10 @@ public class ElementTypeRegistry {
 		List result = specializationTypeRegistry.getEditHelperAdvice(type,
 				metamodelType, context);
 
-		return (IEditHelperAdvice[]) result.toArray(new IEditHelperAdvice[] {});
+		IEditHelperAdvice[] advice = (IEditHelperAdvice[]) result.toArray(new IEditHelperAdvice[] {});
+		resolutionCache.putEditHelperAdvice(type, context, advice, generation);
+
+		return advice;
 	}
 	
 	/**
@@ -246,6 +396,12 @@ public class ElementTypeRegistry {
 	public IEditHelperAdvice[] getEditHelperAdvice(EObject eObject,
 			IClientContext clientContext) {
 
+		EditHelperAdvicePlan plan = (clientContext == null) ? null
+				: resolutionCache.getEditHelperAdvicePlan(eObject.eClass(), clientContext);
+		if (plan != null) {
+			return plan.getEditHelperAdvice(eObject);
+		}
+
 		Collection result;
 		MetamodelTypeDescriptor desc = getMetamodelTypeDescriptor(eObject, clientContext);
 		if (desc == null) {
@@ -644,7 +800,25 @@ public class ElementTypeRegistry {
 			// use the default context
 			clientContext = ClientContextManager.getDefaultClientContext();
 		}
-		
+
+		return resolutionCache.getMetamodelTypeDescriptor(eClass, clientContext);
+	}
+
+	/**
+	 * Finds the metamodel type descriptor for <code>eClass</code> in the
+	 * client <code>context</code>, without consulting the resolution cache.
+	 * 
+	 * @param eClass
+	 *            the model element eclass
+	 * @param clientContext
+	 *            the client context, not <code>null</code>
+	 * @return the metamodel type descriptor
+	 * @see #getMetamodelTypeDescriptor(EClass, IClientContext)
+	 */
+	MetamodelTypeDescriptor computeMetamodelTypeDescriptor(EClass eClass,
+			IClientContext clientContext) {
+
+		Map metamodelTypeDescriptorsByNsURI = getSnapshot().metamodelTypeDescriptorsByNsURI;
 		Map metamodelTypeDescriptorsByEClass = (Map) metamodelTypeDescriptorsByNsURI
 				.get(eClass.getEPackage().getNsURI());
 		Collection descriptors = metamodelTypeDescriptorsByEClass != null ? (Collection) metamodelTypeDescriptorsByEClass
@@ -709,8 +883,12 @@ public class ElementTypeRegistry {
 			// Get the matching specializations
 			Collection specializations;
 			MetamodelTypeDescriptor desc = getMetamodelTypeDescriptor(eObject, clientContext);
+			EditHelperAdvicePlan plan = (desc == null || clientContext == null) ? null
+					: resolutionCache.getEditHelperAdvicePlan(eObject.eClass(), clientContext);
 			if (desc == null) {
 				specializations = Collections.EMPTY_LIST;
+			} else if (plan != null) {
+				specializations = plan.getSpecializationDescriptorsMatching(eObject);
 			} else {
 				specializations = specializationTypeRegistry
 					.getSpecializationDescriptorsMatching(eObject, desc, clientContext);
@@ -796,7 +974,7 @@ public class ElementTypeRegistry {
 	public IMetamodelType[] getMetamodelTypes(IClientContext clientContext) {
 
 		List result = new ArrayList();
-		for (Iterator i = metamodelTypeDescriptorsById.values().iterator(); i
+		for (Iterator i = getSnapshot().metamodelTypeDescriptorsById.values().iterator(); i
 				.hasNext();) {
 			MetamodelTypeDescriptor descriptor = (MetamodelTypeDescriptor) i
 					.next();
@@ -889,7 +1067,7 @@ public class ElementTypeRegistry {
 	 *         <code>null/code> if there is none
 	 */
 	public IElementTypeFactory getElementTypeFactory(String kindName) {
-		ElementTypeFactoryDescriptor descriptor = (ElementTypeFactoryDescriptor) elementTypeFactoryMap
+		ElementTypeFactoryDescriptor descriptor = (ElementTypeFactoryDescriptor) getSnapshot().elementTypeFactoryMap
 			.get(kindName);
 		if (descriptor != null) {
 			return descriptor.getElementTypeFactory();
@@ -912,16 +1090,22 @@ public class ElementTypeRegistry {
 	 */
 	public boolean register(IMetamodelType metamodelType) {
 
-		if (metamodelType == null
-			|| getType(metamodelType.getId()) != null) {
-
+		if (metamodelType == null) {
 			return false;
 		}
 
-		MetamodelTypeDescriptor descriptor = new MetamodelTypeDescriptor(
-			metamodelType);
+		boolean result;
 
-		boolean result = register(descriptor);
+		synchronized (this) {
+			if (getType(metamodelType.getId()) != null) {
+				return false;
+			}
+
+			MetamodelTypeDescriptor descriptor = new MetamodelTypeDescriptor(
+				metamodelType);
+
+			result = register(descriptor);
+		}
 
 		if (result) {
 			fireElementTypeAddedEvent(new ElementTypeAddedEvent(
@@ -944,14 +1128,20 @@ public class ElementTypeRegistry {
 	 */
 	public boolean register(ISpecializationType specializationType) {
 
-		if (specializationType == null
-			|| getType(specializationType.getId()) != null) {
-
+		if (specializationType == null) {
 			return false;
 		}
 
-		boolean result = specializationTypeRegistry
-			.registerSpecializationType(specializationType);
+		boolean result;
+
+		synchronized (this) {
+			if (getType(specializationType.getId()) != null) {
+				return false;
+			}
+
+			result = specializationTypeRegistry
+				.registerSpecializationType(specializationType);
+		}
 
 		if (result) {
 			fireElementTypeAddedEvent(new ElementTypeAddedEvent(
@@ -1008,13 +1198,17 @@ public class ElementTypeRegistry {
 	 * @since 1.9
 	 */
 	public boolean deregister(IElementType elementType) {
-		boolean result = (elementType != null) && (getType(elementType.getId()) != null);
+		boolean result;
 
-		if (result) {
-			if (elementType instanceof IMetamodelType) {
-				result = deregisterMetamodelType((IMetamodelType) elementType);
-			} else {
-				result = specializationTypeRegistry.deregisterSpecializationType((ISpecializationType) elementType);
+		synchronized (this) {
+			result = (elementType != null) && (getType(elementType.getId()) != null);
+
+			if (result) {
+				if (elementType instanceof IMetamodelType) {
+					result = deregisterMetamodelType((IMetamodelType) elementType);
+				} else {
+					result = specializationTypeRegistry.deregisterSpecializationType((ISpecializationType) elementType);
+				}
 			}
 		}
 
@@ -1074,20 +1268,23 @@ public class ElementTypeRegistry {
 	 *            the descriptor of the type to be removed
 	 * @return {@code true} if the type was added, {@code false} otherwise
 	 */
-	private boolean deregister(MetamodelTypeDescriptor typeDescriptor) {
+	private synchronized boolean deregister(MetamodelTypeDescriptor typeDescriptor) {
 		String nsURI = typeDescriptor.getNsURI();
 		String eClassName = typeDescriptor.getEClassName();
 
-		Map metamodelTypeDescriptorsByEClass = (Map) metamodelTypeDescriptorsByNsURI.get(nsURI);
-		if (metamodelTypeDescriptorsByEClass != null) {
-			Collection descriptors = (Collection) metamodelTypeDescriptorsByEClass.get(eClassName);
+		Snapshot update = beginUpdate();
 
-			if (descriptors != null) {
-				descriptors.remove(typeDescriptor);
-			}
+		Map metamodelTypeDescriptorsByEClass = (Map) update.metamodelTypeDescriptorsByNsURI.get(nsURI);
+		if (metamodelTypeDescriptorsByEClass != null
+			&& metamodelTypeDescriptorsByEClass.containsKey(eClassName)) {
+
+			update.getDescriptorsForUpdate(nsURI, eClassName).remove(typeDescriptor);
 		}
 
-		return metamodelTypeDescriptorsById.remove(typeDescriptor.getId()) != null;
+		boolean result = update.metamodelTypeDescriptorsById.remove(typeDescriptor.getId()) != null;
+
+		endUpdate(update);
+		return result;
 	}
 
 	/**
@@ -1282,7 +1479,7 @@ public class ElementTypeRegistry {
 	 * @return <code>true</code> if the type was added, <code>false</code>
 	 *         otherwise.
 	 */
-	private boolean register(MetamodelTypeDescriptor typeDescriptor) {
+	private synchronized boolean register(MetamodelTypeDescriptor typeDescriptor) {
 
 		if (checkForDuplicate(typeDescriptor)) {
 			return false;
@@ -1291,26 +1488,14 @@ public class ElementTypeRegistry {
 		String nsURI = typeDescriptor.getNsURI();
 		String eClassName = typeDescriptor.getEClassName();
 
-		Map metamodelTypeDescriptorsByEClass = (Map) metamodelTypeDescriptorsByNsURI
-				.get(nsURI);
-
-		if (metamodelTypeDescriptorsByEClass == null) {
-			metamodelTypeDescriptorsByEClass = new HashMap();
-			metamodelTypeDescriptorsByNsURI.put(nsURI, metamodelTypeDescriptorsByEClass);
-		}
-		
-		Collection descriptors = (Collection) metamodelTypeDescriptorsByEClass.get(eClassName);
-		
-		if (descriptors == null) {
-			descriptors = new ArrayList();
-			metamodelTypeDescriptorsByEClass.put(eClassName, descriptors);
-		}
+		Snapshot update = beginUpdate();
 
-		descriptors.add(typeDescriptor);
+		update.getDescriptorsForUpdate(nsURI, eClassName).add(typeDescriptor);
 
-		metamodelTypeDescriptorsById
+		update.metamodelTypeDescriptorsById
 				.put(typeDescriptor.getId(), typeDescriptor);
 
+		endUpdate(update);
 		return true;
 	}
 
@@ -1327,7 +1512,10 @@ public class ElementTypeRegistry {
 
 		ElementTypeFactoryDescriptor descriptor = new ElementTypeFactoryDescriptor(
 			configElement);
-		elementTypeFactoryMap.put(descriptor.getKindName(), descriptor);
+
+		Snapshot update = beginUpdate();
+		update.elementTypeFactoryMap.put(descriptor.getKindName(), descriptor);
+		endUpdate(update);
 
 	}
 
@@ -1341,7 +1529,7 @@ public class ElementTypeRegistry {
 	 */
 	private boolean checkForDuplicate(ElementTypeDescriptor typeDescriptor) {
 
-		if (metamodelTypeDescriptorsById.containsKey(typeDescriptor.getId())) {
+		if (getSnapshot().metamodelTypeDescriptorsById.containsKey(typeDescriptor.getId())) {
 			Log
 					.error(
 							EMFTypePlugin.getPlugin(),
@@ -1394,7 +1582,7 @@ public class ElementTypeRegistry {
 	 */
 	private ElementTypeDescriptor getTypeDescriptor(String id) {
 
-		ElementTypeDescriptor typeDescriptor = (ElementTypeDescriptor) metamodelTypeDescriptorsById
+		ElementTypeDescriptor typeDescriptor = (ElementTypeDescriptor) getSnapshot().metamodelTypeDescriptorsById
 			.get(id);
 
 		if (typeDescriptor == null) {
@@ -1485,13 +1673,39 @@ public class ElementTypeRegistry {
 
 	/**
 	 * Loads the element type definitions from the <code>elementTypes</code>
-	 * extension point.
+	 * extension point. The loaded types are published all at once, after the
+	 * invalid specializations have been removed.
 	 * 
 	 * @param configs
 	 *            the configuration elements
 	 */
 	private synchronized void load(IConfigurationElement[] configs) {
 
+		loading = new Snapshot(snapshot);
+		specializationTypeRegistry.beginBatchUpdate();
+
+		try {
+			loadConfigurations(configs);
+		} finally {
+			// publish the specializations and advice before the types that
+			//    they apply to, so that the readers never find a loaded type
+			//    without them
+			specializationTypeRegistry.endBatchUpdate();
+
+			Snapshot update = loading;
+			loading = null;
+			endUpdate(update);
+
+			// Types loaded from the extension point are not announced to
+			//    listeners. The resolutions cached meanwhile may have been
+			//    computed from a partly published load, so they are discarded
+			//    once it is published as a whole
+			resolutionCache.invalidate();
+		}
+	}
+
+	private void loadConfigurations(IConfigurationElement[] configs) {
+
 		for (int i = 0; i < configs.length; i++) {
 
 			IConfigurationElement next = configs[i];
@@ -1545,11 +1759,10 @@ public class ElementTypeRegistry {
 	 */
 	public void addElementTypeRegistryListener(IElementTypeRegistryListener l) {
 
-		if (!elementTypeRegistryListeners.contains(l)) {
-			elementTypeRegistryListeners.add(l);
+		if (elementTypeRegistryListeners.addIfAbsent(l)) {
 			
 			if (l instanceof IElementTypeRegistryListener2) {
-				elementTypeRegistryListener2s.add(l);
+				elementTypeRegistryListener2s.addIfAbsent(l);
 			}
 		}
 	}
@@ -0,0 +1,378 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ ****************************************************************************/
+
+package org.eclipse.gmf.runtime.emf.type.core;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.gmf.runtime.emf.type.core.edithelper.IEditHelperAdvice;
+import org.eclipse.gmf.runtime.emf.type.core.internal.descriptors.MetamodelTypeDescriptor;
+import org.eclipse.gmf.runtime.emf.type.core.internal.impl.DefaultMetamodelType;
+import org.eclipse.gmf.runtime.emf.type.core.internal.impl.EditHelperAdvicePlan;
+
+/**
+ * Memoizes, per <code>EClass</code> and client context, the answers of the
+ * {@link ElementTypeRegistry} that do not depend on the model element itself:
+ * the metamodel type of the <code>EClass</code> and the
+ * {@link EditHelperAdvicePlan} for its specializations and advice. Also
+ * memoizes the edit helper advice of element types.
+ * <P>
+ * The cache listens to the registry and is cleared whenever an element type
+ * or an advice binding is added or removed, or when the client contexts or
+ * their bindings change. It is bypassed for client contexts whose bindings
+ * cannot be tracked, that is, contexts that are not implemented by
+ * {@link ClientContext} or {@link MultiClientContext}.
+ */
+final class ElementTypeResolutionCache
+	extends ElementTypeRegistryAdapter {
+
+	/**
+	 * The maximum number of entries in each of the maps. The cache is cleared
+	 * when it is reached, which only happens with many dynamic
+	 * <code>EClass</code>es.
+	 */
+	private static final int LIMIT = 4096;
+
+	/**
+	 * Stands for the absence of a metamodel type.
+	 */
+	private static final Object NONE = new Object();
+
+	/**
+	 * Key of the cached answers, made of an <code>EClass</code> or an element
+	 * type and of a client context.
+	 */
+	private static final class Key {
+
+		private final Object subject;
+
+		private final Object context;
+
+		private final int hash;
+
+		Key(Object subject, Object context) {
+			this.subject = subject;
+			this.context = context;
+			this.hash = System.identityHashCode(subject) * 31 + context.hashCode();
+		}
+
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return subject == other.subject && context.equals(other.context);
+		}
+
+		public int hashCode() {
+			return hash;
+		}
+	}
+
+	/**
+	 * The answers of the registry for an <code>EClass</code> in a client
+	 * context.
+	 */
+	private final class Resolution {
+
+		/**
+		 * The metamodel type descriptor, or {@link ElementTypeResolutionCache#NONE}.
+		 */
+		final Object metamodelTypeDescriptor;
+
+		/**
+		 * The client context in which the answers are computed.
+		 */
+		final IClientContext clientContext;
+
+		/**
+		 * The edit helper advice plan, computed on demand.
+		 */
+		volatile EditHelperAdvicePlan plan;
+
+		Resolution(Object metamodelTypeDescriptor, IClientContext clientContext) {
+			this.metamodelTypeDescriptor = metamodelTypeDescriptor;
+			this.clientContext = clientContext;
+		}
+
+		MetamodelTypeDescriptor getMetamodelTypeDescriptor() {
+			return metamodelTypeDescriptor == NONE ? null
+				: (MetamodelTypeDescriptor) metamodelTypeDescriptor;
+		}
+
+		EditHelperAdvicePlan getPlan() {
+			EditHelperAdvicePlan result = plan;
+
+			if (result == null) {
+				MetamodelTypeDescriptor descriptor = getMetamodelTypeDescriptor();
+				result = registry.getSpecializationTypeRegistry()
+					.getEditHelperAdvicePlan(descriptor == null ? DefaultMetamodelType
+						.getDescriptorInstance() : descriptor, clientContext);
+				plan = result;
+			}
+			return result;
+		}
+	}
+
+	private final ElementTypeRegistry registry;
+
+	private final Map resolutions = new ConcurrentHashMap();
+
+	private final Map typeAdvice = new ConcurrentHashMap();
+
+	/**
+	 * Incremented whenever the cache is cleared, so that answers computed
+	 * while the registry changed are not cached.
+	 */
+	private int generation;
+
+	/**
+	 * The client context bindings stamp for which the cached answers are
+	 * valid.
+	 */
+	private volatile long bindingsStamp = ClientContext.getBindingsStamp();
+
+	/**
+	 * Initializes me with the registry whose answers I cache.
+	 *
+	 * @param registry
+	 *            the element type registry
+	 */
+	ElementTypeResolutionCache(ElementTypeRegistry registry) {
+		this.registry = registry;
+	}
+
+	/**
+	 * Obtains the key identifying the <code>clientContext</code> in the
+	 * cache.
+	 *
+	 * @param clientContext
+	 *            the client context
+	 * @return the key, or <code>null</code> if the answers for the
+	 *         <code>clientContext</code> cannot be cached
+	 */
+	private Object getContextKey(IClientContext clientContext) {
+
+		if (clientContext instanceof ClientContext) {
+			return clientContext;
+
+		} else if (clientContext instanceof MultiClientContext) {
+			// multi-contexts are created on demand, but they include what all
+			// of their children include
+			Collection children = clientContext.getChildren();
+
+			for (Iterator i = children.iterator(); i.hasNext();) {
+				if (!(i.next() instanceof ClientContext)) {
+					return null;
+				}
+			}
+			return new HashSet(children);
+		}
+		return null;
+	}
+
+	/**
+	 * Obtains the key for <code>subject</code> in the
+	 * <code>clientContext</code>, after discarding the cached answers if the
+	 * client context bindings have changed.
+	 *
+	 * @param subject
+	 *            an <code>EClass</code> or an element type
+	 * @param clientContext
+	 *            the client context
+	 * @return the key, or <code>null</code> if the answers cannot be cached
+	 */
+	private Key getKey(Object subject, IClientContext clientContext) {
+		if (bindingsStamp != ClientContext.getBindingsStamp()) {
+			invalidate();
+		}
+		ClientContextManager clientContextManager = ClientContextManager.getInstance();
+
+		if (clientContextManager == null
+			|| clientContextManager.hasForeignClientContexts()) {
+			// the manager is still initializing, or the default context may
+			// depend on bindings that are not tracked
+			return null;
+		}
+		Object contextKey = getContextKey(clientContext);
+		return contextKey == null ? null
+			: new Key(subject, contextKey);
+	}
+
+	/**
+	 * Gets the answers of the registry for <code>eClass</code> in the
+	 * <code>clientContext</code>.
+	 *
+	 * @param eClass
+	 *            the <code>EClass</code>
+	 * @param clientContext
+	 *            the client context, not <code>null</code>
+	 * @return the answers, or <code>null</code> if they cannot be cached
+	 */
+	private Resolution getResolution(EClass eClass, IClientContext clientContext) {
+		Key key = getKey(eClass, clientContext);
+
+		if (key == null) {
+			return null;
+		}
+		Resolution result = (Resolution) resolutions.get(key);
+
+		if (result == null) {
+			int expectedGeneration = getGeneration();
+			MetamodelTypeDescriptor descriptor = registry
+				.computeMetamodelTypeDescriptor(eClass, clientContext);
+
+			result = new Resolution(descriptor == null ? NONE
+				: descriptor, clientContext);
+			put(resolutions, key, result, expectedGeneration);
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the metamodel type descriptor for <code>eClass</code> in the
+	 * <code>clientContext</code>, computing it if it isn't cached.
+	 *
+	 * @param eClass
+	 *            the <code>EClass</code>
+	 * @param clientContext
+	 *            the client context, not <code>null</code>
+	 * @return the metamodel type descriptor, or <code>null</code> if there is
+	 *         none
+	 */
+	MetamodelTypeDescriptor getMetamodelTypeDescriptor(EClass eClass,
+			IClientContext clientContext) {
+
+		Resolution resolution = getResolution(eClass, clientContext);
+
+		return resolution == null ? registry.computeMetamodelTypeDescriptor(
+			eClass, clientContext)
+			: resolution.getMetamodelTypeDescriptor();
+	}
+
+	/**
+	 * Gets the edit helper advice plan for the model elements of
+	 * <code>eClass</code> in the <code>clientContext</code>.
+	 *
+	 * @param eClass
+	 *            the <code>EClass</code>
+	 * @param clientContext
+	 *            the client context, not <code>null</code>
+	 * @return the plan, or <code>null</code> if it cannot be cached
+	 */
+	EditHelperAdvicePlan getEditHelperAdvicePlan(EClass eClass,
+			IClientContext clientContext) {
+
+		Resolution resolution = getResolution(eClass, clientContext);
+
+		return resolution == null ? null
+			: resolution.getPlan();
+	}
+
+	/**
+	 * Gets the cached edit helper advice for the element <code>type</code> in
+	 * the <code>clientContext</code>.
+	 *
+	 * @param type
+	 *            the element type
+	 * @param clientContext
+	 *            the client context, not <code>null</code>
+	 * @return a copy of the cached advice, or <code>null</code> if it isn't
+	 *         cached
+	 */
+	IEditHelperAdvice[] getEditHelperAdvice(IElementType type,
+			IClientContext clientContext) {
+
+		Key key = getKey(type, clientContext);
+		IEditHelperAdvice[] result = key == null ? null
+			: (IEditHelperAdvice[]) typeAdvice.get(key);
+
+		return result == null || result.length == 0 ? result
+			: (IEditHelperAdvice[]) result.clone();
+	}
+
+	/**
+	 * Caches the edit helper <code>advice</code> for the element
+	 * <code>type</code> in the <code>clientContext</code>.
+	 *
+	 * @param type
+	 *            the element type
+	 * @param clientContext
+	 *            the client context, not <code>null</code>
+	 * @param advice
+	 *            the advice to cache, which will not be modified
+	 * @param expectedGeneration
+	 *            the generation of the cache before the advice was computed
+	 */
+	void putEditHelperAdvice(IElementType type, IClientContext clientContext,
+			IEditHelperAdvice[] advice, int expectedGeneration) {
+
+		Key key = getKey(type, clientContext);
+
+		if (key != null) {
+			put(typeAdvice, key, advice.clone(), expectedGeneration);
+		}
+	}
+
+	/**
+	 * Gets the generation of the cache, to be passed back when caching an
+	 * answer.
+	 *
+	 * @return the generation
+	 */
+	synchronized int getGeneration() {
+		return generation;
+	}
+
+	private synchronized void put(Map map, Key key, Object value,
+			int expectedGeneration) {
+
+		if (expectedGeneration == generation) {
+			if (map.size() >= LIMIT) {
+				map.clear();
+			}
+			map.put(key, value);
+		}
+	}
+
+	/**
+	 * Discards all of the cached answers.
+	 */
+	synchronized void invalidate() {
+		generation++;
+		bindingsStamp = ClientContext.getBindingsStamp();
+		resolutions.clear();
+		typeAdvice.clear();
+	}
+
+	public void elementTypeAdded(ElementTypeAddedEvent event) {
+		invalidate();
+	}
+
+	public void elementTypeRemoved(ElementTypeRemovedEvent event) {
+		invalidate();
+	}
+
+	public void adviceBindingAdded(AdviceBindingAddedEvent event) {
+		invalidate();
+	}
+
+	public void adviceBindingRemoved(AdviceBindingRemovedEvent event) {
+		invalidate();
+	}
+
+}
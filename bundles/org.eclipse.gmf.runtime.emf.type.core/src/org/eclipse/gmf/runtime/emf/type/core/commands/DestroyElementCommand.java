@@ -53,6 +53,12 @@ public class DestroyElementCommand
 	 */
 	private final EObject elementToDestroy;
 
+	/**
+	 * The command destroying many elements that includes me, or
+	 * <code>null</code> if I am not part of one.
+	 */
+	private final DestroyElementsCommand bulkDestroyCommand;
+
 	/**
 	 * Constructs a new command to destroy a model element.
 	 * 
@@ -63,6 +69,46 @@ public class DestroyElementCommand
 
 		super(request.getLabel(), request.getContainer(), request);
 		this.elementToDestroy = request.getElementToDestroy();
+
+		// subclasses that tear down references their own way do so
+		//    element by element
+		DestroyElementsCommand bulk = (DestroyElementsCommand) request
+			.getParameter(DestroyElementsCommand.BULK_DESTROY_PARAMETER);
+		if ((elementToDestroy == null) || overridesTearDown()) {
+			bulk = null;
+		}
+		this.bulkDestroyCommand = bulk;
+		if (bulkDestroyCommand != null) {
+			bulkDestroyCommand.addDestructee(elementToDestroy);
+		}
+	}
+
+	/**
+	 * Queries whether my class overrides the tearing down of the incoming or
+	 * outgoing references of the element to destroy.
+	 * 
+	 * @return <code>true</code> if either is overridden;
+	 *         <code>false</code>, otherwise
+	 */
+	private boolean overridesTearDown() {
+		for (Class clazz = getClass(); clazz != DestroyElementCommand.class; clazz = clazz
+			.getSuperclass()) {
+			try {
+				clazz.getDeclaredMethod("tearDownIncomingReferences", //$NON-NLS-1$
+					new Class[] {EObject.class});
+				return true;
+			} catch (NoSuchMethodException e) {
+				// not overridden by this class
+			}
+			try {
+				clazz.getDeclaredMethod("tearDownOutgoingReferences", //$NON-NLS-1$
+					new Class[] {EObject.class});
+				return true;
+			} catch (NoSuchMethodException e) {
+				// not overridden by this class
+			}
+		}
+		return false;
 	}
 	
 	/**
@@ -117,12 +163,17 @@ public class DestroyElementCommand
 		
 		// only destroy attached elements
 		if ((destructee != null) && (destructee.eResource() != null)) {
-			// tear down incoming references
-			tearDownIncomingReferences(destructee);
-			
-			// also tear down outgoing references, because we don't want
-			//    reverse-reference lookups to find destroyed objects
-			tearDownOutgoingReferences(destructee);
+			// the references are torn down together if we are destroying
+			//    many elements together
+			if ((bulkDestroyCommand == null)
+				|| !bulkDestroyCommand.tearDownReferences(destructee)) {
+				// tear down incoming references
+				tearDownIncomingReferences(destructee);
+				
+				// also tear down outgoing references, because we don't want
+				//    reverse-reference lookups to find destroyed objects
+				tearDownOutgoingReferences(destructee);
+			}
 			
 			// remove the object from its container
 			EcoreUtil.remove(destructee);
@@ -0,0 +1,342 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ ****************************************************************************/
+
+package org.eclipse.gmf.runtime.emf.type.core.commands;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.commands.ExecutionException;
+import org.eclipse.core.runtime.IAdaptable;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature.Setting;
+import org.eclipse.gmf.runtime.common.core.command.CommandResult;
+import org.eclipse.gmf.runtime.common.core.command.CompositeCommand;
+import org.eclipse.gmf.runtime.common.core.command.ICommand;
+import org.eclipse.gmf.runtime.emf.core.util.CrossReferenceAdapter;
+import org.eclipse.gmf.runtime.emf.type.core.ElementTypeRegistry;
+import org.eclipse.gmf.runtime.emf.type.core.IElementType;
+import org.eclipse.gmf.runtime.emf.type.core.requests.DestroyElementRequest;
+import org.eclipse.gmf.runtime.emf.type.core.requests.DestroyElementsRequest;
+
+/**
+ * Command to destroy many model elements together.
+ * <P>
+ * The elements are destroyed by the edit commands of a
+ * {@link DestroyElementRequest} for each of them, so that the advice and the
+ * dependents of each element are the same as if it were destroyed alone. But
+ * when the first {@link DestroyElementCommand} of those commands is executed,
+ * after the advice that precedes it, the references to and from all of the
+ * elements being destroyed (including their contents and dependents) are torn
+ * down in a single pass over the cross-referencer, and the
+ * {@link DestroyElementCommand}s only remove their elements from their
+ * containers. References among the elements being destroyed are not torn
+ * down. The elements of {@link DestroyElementCommand}s that override the
+ * tearing down of references are not included in that pass, and are torn down
+ * by their commands.
+ *
+ * @since 1.11
+ */
+public class DestroyElementsCommand
+	extends EditElementCommand {
+
+	/**
+	 * Parameter of the {@link DestroyElementRequest}s created by this command,
+	 * that is the command itself.
+	 */
+	static final String BULK_DESTROY_PARAMETER = "DestroyElementsCommand.bulkDestroy"; //$NON-NLS-1$
+
+	/**
+	 * The elements destroyed by the {@link DestroyElementCommand}s of my
+	 * destroy command.
+	 */
+	private final Set destructees = new LinkedHashSet();
+
+	/**
+	 * The command that destroys the elements, or <code>null</code> if it has
+	 * not been created yet.
+	 */
+	private ICommand destroyCommand;
+
+	/**
+	 * Whether my destroy command is executing.
+	 */
+	private boolean executing;
+
+	/**
+	 * The destructees whose references have been torn down, or
+	 * <code>null</code> if they have not been torn down yet.
+	 */
+	private Set tornDown;
+
+	/**
+	 * Constructs a new command to destroy model elements.
+	 *
+	 * @param request
+	 *            the destroy elements request
+	 */
+	public DestroyElementsCommand(DestroyElementsRequest request) {
+
+		super(request.getLabel(), request.getContainer(), request);
+	}
+
+	/**
+	 * Gets the command that destroys my elements, creating it if necessary.
+	 *
+	 * @return the destroy command, or <code>null</code> if there is nothing
+	 *         to destroy
+	 */
+	protected ICommand getDestroyCommand() {
+		if (destroyCommand == null) {
+			destroyCommand = createDestroyCommand();
+		}
+		return destroyCommand;
+	}
+
+	private ICommand createDestroyCommand() {
+		DestroyElementsRequest request = (DestroyElementsRequest) getRequest();
+		List elements = request.getElementsToDestroy();
+		Set elementSet = new HashSet(elements);
+		ICommand result = null;
+
+		for (Iterator i = elements.iterator(); i.hasNext();) {
+			EObject next = (EObject) i.next();
+
+			// only destroy attached elements, and not those that will be
+			//    destroyed with their container
+			if ((next.eResource() == null) || isAncestorIn(next, elementSet)) {
+				continue;
+			}
+
+			DestroyElementRequest destroy = new DestroyElementRequest(request
+				.getEditingDomain(), next, request.isConfirmationRequired());
+			destroy.addParameters(request.getParameters());
+			destroy.setClientContext(request.getClientContext());
+			destroy.setParameter(BULK_DESTROY_PARAMETER, this);
+
+			IElementType type = ElementTypeRegistry.getInstance()
+				.getElementType(destroy.getEditHelperContext());
+
+			if (type != null) {
+				ICommand command = type.getEditCommand(destroy);
+
+				if (command == null) {
+					// the element cannot be destroyed, so neither can the rest
+					return null;
+				}
+				result = CompositeCommand.compose(result, command);
+			}
+		}
+
+		return result;
+	}
+
+	private static boolean isAncestorIn(EObject eObject, Set elements) {
+		for (EObject container = eObject.eContainer(); container != null; container = container
+			.eContainer()) {
+			if (elements.contains(container)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Registers an element destroyed by a {@link DestroyElementCommand} of my
+	 * destroy command.
+	 *
+	 * @param destructee
+	 *            the element to destroy
+	 */
+	void addDestructee(EObject destructee) {
+		destructees.add(destructee);
+	}
+
+	/**
+	 * Tears down the references of all of my destructees, if my destroy
+	 * command is executing and they have not been torn down yet, so that the
+	 * advice executed before the first {@link DestroyElementCommand} still
+	 * finds them.
+	 *
+	 * @param destructee
+	 *            an element about to be destroyed
+	 * @return <code>true</code> if its references were torn down;
+	 *         <code>false</code>, otherwise
+	 */
+	boolean tearDownReferences(EObject destructee) {
+		if (!executing) {
+			return false;
+		}
+
+		if (tornDown == null) {
+			// tear down incoming references
+			tearDownIncomingReferences(destructees);
+
+			// also tear down outgoing references, because we don't want
+			//    reverse-reference lookups to find destroyed objects
+			tornDown = new HashSet();
+			for (Iterator i = destructees.iterator(); i.hasNext();) {
+				EObject next = (EObject) i.next();
+
+				if (next.eResource() != null) {
+					tearDownOutgoingReferences(next, destructees);
+					tornDown.add(next);
+				}
+			}
+		}
+		return tornDown.contains(destructee);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.eclipse.gmf.runtime.emf.commands.core.command.AbstractTransactionalCommand#doExecuteWithResult(org.eclipse.core.runtime.IProgressMonitor, org.eclipse.core.runtime.IAdaptable)
+	 */
+	protected CommandResult doExecuteWithResult(IProgressMonitor monitor,
+			IAdaptable info)
+		throws ExecutionException {
+
+		ICommand command = getDestroyCommand();
+
+		// the references are torn down by the first destroy element command
+		executing = true;
+		try {
+			return new CommandResult(command.execute(monitor, info));
+		} finally {
+			executing = false;
+			tornDown = null;
+		}
+	}
+
+	/**
+	 * Tears down references to the objects that we are destroying, from all
+	 * other objects in the resource set. The references of each object are
+	 * removed together.
+	 *
+	 * @param destructees
+	 *            the objects being destroyed
+	 */
+	protected void tearDownIncomingReferences(Set destructees) {
+		// map of referencing objects to maps of references to the
+		//    destructees that they reference
+		Map referencers = new LinkedHashMap();
+
+		for (Iterator i = destructees.iterator(); i.hasNext();) {
+			EObject destructee = (EObject) i.next();
+			CrossReferenceAdapter crossReferencer = CrossReferenceAdapter
+				.getExistingCrossReferenceAdapter(destructee);
+
+			if ((crossReferencer == null) || (destructee.eResource() == null)) {
+				continue;
+			}
+
+			Collection inverseReferences = crossReferencer
+				.getInverseReferences(destructee);
+			if (inverseReferences == null) {
+				continue;
+			}
+
+			for (Iterator j = inverseReferences.iterator(); j.hasNext();) {
+				Setting setting = (Setting) j.next();
+				EObject referencer = setting.getEObject();
+				EReference eRef = (EReference) setting.getEStructuralFeature();
+
+				if (eRef.isChangeable() && (eRef.isDerived() == false)
+					&& (eRef.isContainment() == false)
+					&& (eRef.isContainer() == false)
+					&& !destructees.contains(referencer)) {
+
+					Map references = (Map) referencers.get(referencer);
+					if (references == null) {
+						references = new LinkedHashMap();
+						referencers.put(referencer, references);
+					}
+					Set values = (Set) references.get(eRef);
+					if (values == null) {
+						values = new HashSet();
+						references.put(eRef, values);
+					}
+					values.add(destructee);
+				}
+			}
+		}
+
+		for (Iterator i = referencers.entrySet().iterator(); i.hasNext();) {
+			Map.Entry next = (Map.Entry) i.next();
+			EObject referencer = (EObject) next.getKey();
+
+			for (Iterator j = ((Map) next.getValue()).entrySet().iterator(); j
+				.hasNext();) {
+				Map.Entry entry = (Map.Entry) j.next();
+				EReference eRef = (EReference) entry.getKey();
+
+				if (eRef.isMany()) {
+					((Collection) referencer.eGet(eRef)).removeAll((Set) entry
+						.getValue());
+				} else if (referencer.eIsSet(eRef)) {
+					referencer.eUnset(eRef);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Tears down outgoing unidirectional references from an object being
+	 * destroyed to all other elements in the resource set. References to
+	 * other objects being destroyed are kept.
+	 *
+	 * @param destructee
+	 *            the object being destroyed
+	 * @param destructees
+	 *            all of the objects being destroyed
+	 */
+	protected void tearDownOutgoingReferences(EObject destructee,
+			Set destructees) {
+		for (Iterator iter = destructee.eClass().getEAllReferences().iterator(); iter
+			.hasNext();) {
+			EReference reference = (EReference) iter.next();
+
+			// container/containment features are handled separately, and
+			//   bidirectional references were handled via incomings
+			if (reference.isChangeable() && !reference.isDerived()
+				&& !reference.isContainer() && !reference.isContainment()
+				&& (reference.getEOpposite() == null)
+				&& destructee.eIsSet(reference)
+				&& referencesOthers(destructee, reference, destructees)) {
+
+				destructee.eUnset(reference);
+			}
+		}
+	}
+
+	private static boolean referencesOthers(EObject destructee,
+			EReference reference, Set destructees) {
+		Object value = destructee.eGet(reference, false);
+
+		if (reference.isMany()) {
+			return !destructees.containsAll((Collection) value);
+		}
+		return !destructees.contains(value);
+	}
+
+	public boolean canExecute() {
+		ICommand command = getDestroyCommand();
+		return (command != null) && command.canExecute();
+	}
+
+}
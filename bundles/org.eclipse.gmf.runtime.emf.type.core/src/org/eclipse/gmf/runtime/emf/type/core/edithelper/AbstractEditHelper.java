@@ -37,6 +37,7 @@ import org.eclipse.gmf.runtime.emf.type.core.ISpecializationType;
 import org.eclipse.gmf.runtime.emf.type.core.commands.CreateElementCommand;
 import org.eclipse.gmf.runtime.emf.type.core.commands.CreateRelationshipCommand;
 import org.eclipse.gmf.runtime.emf.type.core.commands.DestroyElementCommand;
+import org.eclipse.gmf.runtime.emf.type.core.commands.DestroyElementsCommand;
 import org.eclipse.gmf.runtime.emf.type.core.commands.DestroyReferenceCommand;
 import org.eclipse.gmf.runtime.emf.type.core.commands.GetEditContextCommand;
 import org.eclipse.gmf.runtime.emf.type.core.commands.MoveElementsCommand;
@@ -48,6 +49,7 @@ import org.eclipse.gmf.runtime.emf.type.core.requests.CreateElementRequest;
 import org.eclipse.gmf.runtime.emf.type.core.requests.CreateRelationshipRequest;
 import org.eclipse.gmf.runtime.emf.type.core.requests.DestroyDependentsRequest;
 import org.eclipse.gmf.runtime.emf.type.core.requests.DestroyElementRequest;
+import org.eclipse.gmf.runtime.emf.type.core.requests.DestroyElementsRequest;
 import org.eclipse.gmf.runtime.emf.type.core.requests.DestroyReferenceRequest;
 import org.eclipse.gmf.runtime.emf.type.core.requests.DuplicateElementsRequest;
 import org.eclipse.gmf.runtime.emf.type.core.requests.GetEditContextRequest;
@@ -409,6 +411,9 @@ public abstract class AbstractEditHelper
 		} else if (req instanceof DestroyElementRequest) {
 			return getDestroyElementCommand((DestroyElementRequest) req);
 			
+		} else if (req instanceof DestroyElementsRequest) {
+			return getDestroyElementsCommand((DestroyElementsRequest) req);
+			
 		} else if (req instanceof DestroyDependentsRequest) {
 			return getDestroyDependentsCommand((DestroyDependentsRequest) req);
 			
@@ -830,6 +835,21 @@ public abstract class AbstractEditHelper
 		return null;
 	}
 
+	/**
+	 * Gets the command to destroy many elements, when they are all children of
+	 * an element of my kind or do not have the same container. By default,
+	 * returns a {@link DestroyElementsCommand}. Subclasses may override to
+	 * provide their command.
+	 * 
+	 * @param req
+	 *            the destroy elements request
+	 * @return the destroy elements command
+	 * @since 1.11
+	 */
+	protected ICommand getDestroyElementsCommand(DestroyElementsRequest req) {
+		return new DestroyElementsCommand(req);
+	}
+
 	/**
 	 * Gets the command to remove a reference from an element of my kind. By
 	 * default, returns <code>null</code>. Subclasses may override to provide
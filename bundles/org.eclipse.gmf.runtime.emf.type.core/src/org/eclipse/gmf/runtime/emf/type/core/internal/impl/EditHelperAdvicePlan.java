@@ -0,0 +1,281 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ ****************************************************************************/
+
+package org.eclipse.gmf.runtime.emf.type.core.internal.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.gmf.runtime.emf.type.core.IContainerDescriptor;
+import org.eclipse.gmf.runtime.emf.type.core.edithelper.IEditHelperAdvice;
+import org.eclipse.gmf.runtime.emf.type.core.internal.descriptors.IEditHelperAdviceDescriptor;
+import org.eclipse.gmf.runtime.emf.type.core.internal.descriptors.SpecializationTypeDescriptor;
+
+/**
+ * The precomputed answer of the {@link SpecializationTypeRegistry} to the
+ * questions of which specializations and which edit helper advice apply to the
+ * model elements of one metamodel type, in one client context.
+ * <P>
+ * Everything that does not depend on the model element itself (the
+ * specializations of the metamodel type, the advice bound to the type, its
+ * supertypes and its specializations, the client context bindings and the
+ * advice inheritance) is resolved once, when the plan is computed. Only the
+ * specializations and advice with a matcher or a container descriptor are
+ * evaluated against each model element.
+ * <P>
+ * A plan is only valid as long as the registry and the client context
+ * bindings are unchanged.
+ * <P>
+ * This class is for internal use only.
+ */
+public final class EditHelperAdvicePlan {
+
+	/**
+	 * A piece of advice bound to an element type.
+	 */
+	private static final class Step {
+
+		/**
+		 * The descriptor of the advice.
+		 */
+		final IEditHelperAdviceDescriptor descriptor;
+
+		/**
+		 * The index of the specialization that must match the model element for
+		 * the advice to apply, or <code>-1</code> if the advice is bound to the
+		 * metamodel type or one of its supertypes.
+		 */
+		final int specialization;
+
+		/**
+		 * Whether the advice must be matched against the model element.
+		 */
+		final boolean dynamic;
+
+		Step(IEditHelperAdviceDescriptor descriptor, int specialization) {
+			this.descriptor = descriptor;
+			this.specialization = specialization;
+			this.dynamic = isDynamic(descriptor);
+		}
+	}
+
+	private static final IEditHelperAdvice[] NO_ADVICE = new IEditHelperAdvice[0];
+
+	/**
+	 * All of the specializations of the metamodel type bound to the client
+	 * context, in breadth-first order.
+	 */
+	private final SpecializationTypeDescriptor[] specializations;
+
+	/**
+	 * The edit helper advice descriptors of the {@link #specializations} that
+	 * must be matched against the model element. The descriptor is
+	 * <code>null</code> for a specialization that matches all elements.
+	 */
+	private final IEditHelperAdviceDescriptor[] specializationMatchers;
+
+	/**
+	 * The advice bound to the supertypes of the metamodel type, to the
+	 * metamodel type and to its specializations, in the order in which it is
+	 * applied.
+	 */
+	private final Step[] steps;
+
+	/**
+	 * The advice, if none of it depends on the model element, or
+	 * <code>null</code> otherwise.
+	 */
+	private final IEditHelperAdvice[] staticAdvice;
+
+	/**
+	 * Initializes me.
+	 *
+	 * @param specializations
+	 *            the specializations of the metamodel type, in breadth-first
+	 *            order
+	 * @param metamodelAdvice
+	 *            the advice descriptors bound to the supertypes of the
+	 *            metamodel type and to the metamodel type itself, in order
+	 * @param specializationAdvice
+	 *            for each of the <code>specializations</code>, the list of
+	 *            advice descriptors bound to it
+	 */
+	EditHelperAdvicePlan(List specializations, List metamodelAdvice,
+			List[] specializationAdvice) {
+
+		int count = specializations.size();
+		this.specializations = (SpecializationTypeDescriptor[]) specializations
+			.toArray(new SpecializationTypeDescriptor[count]);
+		specializationMatchers = new IEditHelperAdviceDescriptor[count];
+
+		boolean dynamic = false;
+
+		for (int i = 0; i < count; i++) {
+			IEditHelperAdviceDescriptor matcher = this.specializations[i]
+				.getEditHelperAdviceDescriptor();
+
+			if (matcher != null && isDynamic(matcher)) {
+				specializationMatchers[i] = matcher;
+				dynamic = true;
+			}
+		}
+
+		List stepList = new ArrayList();
+
+		for (int i = 0; i < metamodelAdvice.size(); i++) {
+			stepList.add(new Step(
+				(IEditHelperAdviceDescriptor) metamodelAdvice.get(i), -1));
+		}
+
+		// the advice of the most specific specializations comes last
+		for (int i = count - 1; i >= 0; i--) {
+			for (int j = 0; j < specializationAdvice[i].size(); j++) {
+				stepList.add(new Step(
+					(IEditHelperAdviceDescriptor) specializationAdvice[i].get(j), i));
+			}
+		}
+
+		steps = (Step[]) stepList.toArray(new Step[stepList.size()]);
+
+		for (int i = 0; !dynamic && i < steps.length; i++) {
+			dynamic = steps[i].dynamic;
+		}
+
+		staticAdvice = dynamic ? null
+			: resolve(null, null);
+	}
+
+	/**
+	 * Queries whether an advice descriptor needs to be matched against each
+	 * model element, that is, whether it has a matcher or restricts the
+	 * containers of the elements that it applies to.
+	 *
+	 * @param descriptor
+	 *            the advice descriptor
+	 * @return <code>true</code> if the advice depends on the model element,
+	 *         <code>false</code> if it applies to all elements
+	 */
+	private static boolean isDynamic(IEditHelperAdviceDescriptor descriptor) {
+		IContainerDescriptor container = descriptor.getContainerDescriptor();
+
+		if (container != null) {
+			if (container.getMatcher() != null) {
+				return true;
+			}
+			Object[] features = container.getContainmentFeatures();
+
+			if (features != null && features.length > 0) {
+				return true;
+			}
+		}
+		return descriptor.getMatcher() != null;
+	}
+
+	/**
+	 * Computes which of the specializations match <code>eObject</code>.
+	 *
+	 * @param eObject
+	 *            the model element
+	 * @return for each specialization, whether it matches
+	 */
+	private boolean[] match(EObject eObject) {
+		boolean[] result = new boolean[specializations.length];
+
+		for (int i = 0; i < result.length; i++) {
+			result[i] = specializationMatchers[i] == null
+				|| SpecializationTypeRegistry.adviceMatches(eObject,
+					specializationMatchers[i]);
+		}
+		return result;
+	}
+
+	/**
+	 * Resolves the advice that applies to <code>eObject</code>.
+	 *
+	 * @param eObject
+	 *            the model element, or <code>null</code> if all of the steps
+	 *            are static
+	 * @param matches
+	 *            the specializations that match the model element, or
+	 *            <code>null</code> if all of the steps are static
+	 * @return the advice
+	 */
+	private IEditHelperAdvice[] resolve(EObject eObject, boolean[] matches) {
+		LinkedHashSet result = new LinkedHashSet();
+
+		for (int i = 0; i < steps.length; i++) {
+			Step next = steps[i];
+
+			if (matches != null && next.specialization >= 0
+				&& !matches[next.specialization]) {
+				continue;
+			}
+			if (next.dynamic
+				&& !SpecializationTypeRegistry.adviceMatches(eObject, next.descriptor)) {
+				continue;
+			}
+			IEditHelperAdvice advice = next.descriptor.getEditHelperAdvice();
+
+			if (advice != null) {
+				result.add(advice);
+			}
+		}
+		return result.isEmpty() ? NO_ADVICE
+			: (IEditHelperAdvice[]) result.toArray(new IEditHelperAdvice[result.size()]);
+	}
+
+	/**
+	 * Gets the specializations that match <code>eObject</code>, in order of
+	 * decreasing specialization.
+	 *
+	 * @param eObject
+	 *            the model element
+	 * @return the list of matching <code>SpecializationTypeDescriptor</code>s
+	 */
+	public List getSpecializationDescriptorsMatching(EObject eObject) {
+		List result = new ArrayList(specializations.length);
+		boolean[] matches = match(eObject);
+
+		for (int i = 0; i < specializations.length; i++) {
+			if (matches[i]) {
+				result.add(specializations[i]);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the edit helper advice that applies to <code>eObject</code>, from
+	 * the most general to the most specific.
+	 *
+	 * @param eObject
+	 *            the model element
+	 * @return the array of edit helper advice
+	 */
+	public IEditHelperAdvice[] getEditHelperAdvice(EObject eObject) {
+		if (staticAdvice != null) {
+			return staticAdvice.length == 0 ? staticAdvice
+				: (IEditHelperAdvice[]) staticAdvice.clone();
+		}
+		return resolve(eObject, match(eObject));
+	}
+
+	public String toString() {
+		return "EditHelperAdvicePlan[specializations=" //$NON-NLS-1$
+			+ Arrays.asList(specializations) + ", steps=" + steps.length //$NON-NLS-1$
+			+ ", static=" + (staticAdvice != null) + ']'; //$NON-NLS-1$
+	}
+
+}
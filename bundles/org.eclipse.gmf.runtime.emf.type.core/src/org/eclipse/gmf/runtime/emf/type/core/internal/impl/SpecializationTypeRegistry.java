@@ -19,6 +19,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -59,6 +60,11 @@ import org.eclipse.gmf.runtime.emf.type.core.internal.l10n.EMFTypeCoreMessages;
  * <code>ElementTypeRegistry</code>. Keeps track of the specializations and
  * advice bindings and provides methods for finding matching edit helper advice.
  * <P>
+ * The registry may be read from any thread without locking. Readers see a
+ * snapshot that is replaced, never modified, by each registration, so that
+ * they never see a registration half applied. Modifications are serialized on
+ * the element-type registry that owns me.
+ * <P>
  * This class is for internal use only.
  * 
  * @author ldamus
@@ -87,23 +93,115 @@ public class SpecializationTypeRegistry {
 	private final ElementTypeRegistry owner;
 	
 	/**
-	 * Specialization type descriptors stored by ID. Each value is a
-	 * <code>SpecializationTypeDescriptor</code>.
+	 * The specializations and advice bindings of a registry, published as a
+	 * whole so that readers see either all or none of a registration. A
+	 * published snapshot is never modified: the writer modifies a copy, in
+	 * which it replaces the nested sets and maps that it changes, and then
+	 * publishes the copy.
+	 */
+	private static final class Snapshot {
+
+		/**
+		 * Specialization type descriptors stored by ID. Each value is a
+		 * <code>SpecializationTypeDescriptor</code>.
+		 */
+		final Map specializationTypeDescriptors;
+
+		/**
+		 * Specialization type descriptors stored by the ID of the type that has
+		 * been specialized. Each value is a Set of type descriptors for the types
+		 * that specialize the key type ID.
+		 */
+		final Map specializationsForTypeId;
+
+		/**
+		 * Edit helper advice stored by target element type ID. Each value is a map
+		 * of IEditHelperAdviceDescriptors by advice ID.
+		 */
+		final Map<String, Map<String, IEditHelperAdviceDescriptor>> adviceBindings;
+
+		/**
+		 * The nested sets and maps created for this snapshot, which may be
+		 * modified until it is published.
+		 */
+		private Set owned;
+
+		Snapshot() {
+			specializationTypeDescriptors = new HashMap();
+			specializationsForTypeId = new HashMap();
+			adviceBindings = new HashMap<String, Map<String, IEditHelperAdviceDescriptor>>();
+			owned = Collections.newSetFromMap(new IdentityHashMap());
+		}
+
+		Snapshot(Snapshot other) {
+			specializationTypeDescriptors = new HashMap(other.specializationTypeDescriptors);
+			specializationsForTypeId = new HashMap(other.specializationsForTypeId);
+			adviceBindings = new HashMap<String, Map<String, IEditHelperAdviceDescriptor>>(other.adviceBindings);
+			owned = Collections.newSetFromMap(new IdentityHashMap());
+		}
+
+		/**
+		 * Gets the specializations of the type with ID <code>typeId</code>,
+		 * in a set that may be modified.
+		 */
+		Set getSpecializationsForUpdate(String typeId) {
+			Set result = (Set) specializationsForTypeId.get(typeId);
+
+			if (result == null || !owned.contains(result)) {
+				result = (result == null) ? new HashSet()
+					: new HashSet(result);
+				owned.add(result);
+				specializationsForTypeId.put(typeId, result);
+			}
+			return result;
+		}
+
+		/**
+		 * Gets the advice bound to the type with ID <code>typeId</code>, in a
+		 * map that may be modified.
+		 */
+		Map<String, IEditHelperAdviceDescriptor> getAdviceBindingsForUpdate(String typeId) {
+			Map<String, IEditHelperAdviceDescriptor> result = adviceBindings.get(typeId);
+
+			if (result == null || !owned.contains(result)) {
+				result = (result == null) ? new HashMap<String, IEditHelperAdviceDescriptor>()
+					: new HashMap<String, IEditHelperAdviceDescriptor>(result);
+				owned.add(result);
+				adviceBindings.put(typeId, result);
+			}
+			return result;
+		}
+
+		/**
+		 * Forbids any further modification, before I am published.
+		 */
+		void seal() {
+			owned = null;
+		}
+	}
+
+	/**
+	 * The lock that serializes the modifications of this registry.
 	 */
-	private final Map specializationTypeDescriptors;
+	private final Object lock;
 
 	/**
-	 * Specialization type descriptors stored by the ID of the type that has
-	 * been specialized. Each value is a Set of type descriptors for the types
-	 * that specialize the key type ID.
+	 * The published snapshot, read without locking.
 	 */
-	private final Map specializationsForTypeId;
+	private volatile Snapshot snapshot;
 
 	/**
-	 * Edit helper advice stored by target element type ID. Each value is a map
-	 * of IEditHelperAdviceDescriptors by advice ID.
+	 * The snapshot being modified by a batch update, which is only used by
+	 * the thread that holds the {@link #lock}. It is read without locking by
+	 * the other threads, to find out that they do not perform the batch
+	 * update.
 	 */
-	private final Map<String, Map<String, IEditHelperAdviceDescriptor>> adviceBindings;
+	private volatile Snapshot batch;
+
+	/**
+	 * The number of nested batch updates in progress.
+	 */
+	private int batchDepth;
 
 	/**
 	 * Constructs a new specialization type registry.
@@ -116,11 +214,85 @@ public class SpecializationTypeRegistry {
 		super();
 
 		this.owner = owner;
-		specializationTypeDescriptors = new HashMap();
-		specializationsForTypeId = new HashMap();
-		adviceBindings = new HashMap<String, Map<String,IEditHelperAdviceDescriptor>>();
+		lock = (owner != null) ? (Object) owner
+			: this;
+		snapshot = new Snapshot();
 	}
 	
+	/**
+	 * Gets the snapshot that the current thread reads: the snapshot of the
+	 * batch update if the thread is performing it, otherwise the published
+	 * snapshot.
+	 * 
+	 * @return the snapshot
+	 */
+	private Snapshot getSnapshot() {
+		Snapshot result = batch;
+
+		if (result != null && Thread.holdsLock(lock)) {
+			return result;
+		}
+		return snapshot;
+	}
+
+	/**
+	 * Gets a snapshot that the current thread, holding the {@link #lock}, may
+	 * modify.
+	 * 
+	 * @return the snapshot to modify and then to pass to
+	 *         {@link #endUpdate(Snapshot)}
+	 */
+	private Snapshot beginUpdate() {
+		return (batch != null) ? batch
+			: new Snapshot(snapshot);
+	}
+
+	/**
+	 * Publishes the modified <code>update</code>, unless it belongs to a batch
+	 * update.
+	 * 
+	 * @param update
+	 *            the snapshot obtained from {@link #beginUpdate()}
+	 */
+	private void endUpdate(Snapshot update) {
+		if (update != batch) {
+			update.seal();
+			snapshot = update;
+		}
+	}
+
+	/**
+	 * Starts a batch update, whose modifications are published all at once by
+	 * the matching {@link #endBatchUpdate()}. Batch updates may be nested. The
+	 * caller must hold the lock on the element-type registry that owns me
+	 * until the batch update ends.
+	 * 
+	 * @since 1.11
+	 */
+	public void beginBatchUpdate() {
+		synchronized (lock) {
+			if (batchDepth++ == 0) {
+				batch = new Snapshot(snapshot);
+			}
+		}
+	}
+
+	/**
+	 * Ends the batch update started by {@link #beginBatchUpdate()} and, if it
+	 * is the outermost one, publishes its modifications.
+	 * 
+	 * @since 1.11
+	 */
+	public void endBatchUpdate() {
+		synchronized (lock) {
+			if (batchDepth > 0 && --batchDepth == 0) {
+				Snapshot update = batch;
+				batch = null;
+				endUpdate(update);
+			}
+		}
+	}
+
 	/**
 	 * Obtains the element-type registry that owns me and manages the
 	 * {@link IMetamodelType}s.
@@ -144,17 +316,22 @@ public class SpecializationTypeRegistry {
 	 */
 	public boolean registerSpecializationType(ISpecializationType specializationType) {
 		
-		if (specializationType == null
-			|| specializationTypeDescriptors.containsKey(specializationType
-				.getId())) {
-
+		if (specializationType == null) {
 			return false;
 		}
-		
-		SpecializationTypeDescriptor descriptor = new SpecializationTypeDescriptor(
-			specializationType);
-		
-		return registerSpecializationType(descriptor);
+
+		synchronized (lock) {
+			if (getSnapshot().specializationTypeDescriptors
+				.containsKey(specializationType.getId())) {
+
+				return false;
+			}
+
+			SpecializationTypeDescriptor descriptor = new SpecializationTypeDescriptor(
+				specializationType);
+
+			return registerSpecializationType(descriptor);
+		}
 	}
 
 	/**
@@ -197,35 +374,34 @@ public class SpecializationTypeRegistry {
 	private boolean registerSpecializationType(
 			SpecializationTypeDescriptor descriptor) {
 
-		if (checkForDuplicate(descriptor)) {
-			return false;
-		}
+		synchronized (lock) {
+			if (checkForDuplicate(descriptor)) {
+				return false;
+			}
 
-		// Put the type in the main specialization map.
-		specializationTypeDescriptors.put(descriptor.getId(), descriptor);
+			Snapshot update = beginUpdate();
 
-		// Register its edit helper advice
-		IEditHelperAdviceDescriptor editHelperAdvice = descriptor
-			.getEditHelperAdviceDescriptor();
+			// Put the type in the main specialization map.
+			update.specializationTypeDescriptors.put(descriptor.getId(), descriptor);
 
-		if (editHelperAdvice != null) {
-			register(editHelperAdvice);
-		}
+			// Register its edit helper advice
+			IEditHelperAdviceDescriptor editHelperAdvice = descriptor
+				.getEditHelperAdviceDescriptor();
 
-		// Put the type in the map of specialized types for a given ID
-		String[] specializedTypes = descriptor.getSpecializationTypeIds();
-		for (int i = 0; i < specializedTypes.length; i++) {
-			Set specializations = (Set) specializationsForTypeId
-				.get(specializedTypes[i]);
+			if (editHelperAdvice != null) {
+				register(update, editHelperAdvice);
+			}
 
-			if (specializations == null) {
-				specializations = new HashSet();
-				specializationsForTypeId.put(specializedTypes[i],
-					specializations);
+			// Put the type in the map of specialized types for a given ID
+			String[] specializedTypes = descriptor.getSpecializationTypeIds();
+			for (int i = 0; i < specializedTypes.length; i++) {
+				update.getSpecializationsForUpdate(specializedTypes[i]).add(
+					descriptor);
 			}
-			specializations.add(descriptor);
+
+			endUpdate(update);
+			return true;
 		}
-		return true;
 	}
 
 	/**
@@ -260,18 +436,41 @@ public class SpecializationTypeRegistry {
 			return false;
 		}
 
-		String targetId = descriptor.getTypeId();
-		Map<String, IEditHelperAdviceDescriptor> bindings = adviceBindings.get(targetId);
+		synchronized (lock) {
+			Snapshot update = beginUpdate();
+			boolean result = register(update, descriptor);
+
+			if (result) {
+				endUpdate(update);
+			}
+			return result;
+		}
+	}
 
+	/**
+	 * Registers the descriptor with the advice bindings for the target ID in
+	 * the snapshot being modified.
+	 * 
+	 * @param update
+	 *            the snapshot being modified
+	 * @param descriptor
+	 *            the edit helper advice descriptor
+	 * @return <code>true</code> if the advice was registered,
+	 *         <code>false</code> if advice with the same ID is already bound
+	 *         to the target type
+	 */
+	private boolean register(Snapshot update,
+			IEditHelperAdviceDescriptor descriptor) {
+
+		String targetId = descriptor.getTypeId();
 		String adviceID = descriptor.getId();
-		if (bindings == null) {
-			bindings = new HashMap<String, IEditHelperAdviceDescriptor>();
-			adviceBindings.put(targetId, bindings);
-		} else if (bindings.containsKey(adviceID)) {
+		Map<String, IEditHelperAdviceDescriptor> bindings = update.adviceBindings.get(targetId);
+
+		if (bindings != null && bindings.containsKey(adviceID)) {
 			return false;
 		}
 
-		bindings.put(adviceID, descriptor);
+		update.getAdviceBindingsForUpdate(targetId).put(adviceID, descriptor);
 
 		return true;
 	}
@@ -296,23 +495,28 @@ public class SpecializationTypeRegistry {
 	public boolean deregisterAdviceBinding(String elementTypeID, String adviceID) {
 		boolean result = false;
 
-		Map<String, IEditHelperAdviceDescriptor> bindings = adviceBindings.get(elementTypeID);
-		if (bindings != null) {
-			IEditHelperAdviceDescriptor descriptor = bindings.get(adviceID);
-			if (descriptor != null) {
-				if (!getElementTypeRegistry().isDynamic(descriptor)) {
-					Log.warning(
-							EMFTypePlugin.getPlugin(),
-							EMFTypePluginStatusCodes.DEPENDENCY_CONSTRAINT,
-							EMFTypeCoreMessages.bind(EMFTypeCoreMessages.dependency_constraint_WARN_, new Object[] {
-									adviceID, EMFTypeCoreMessages.invalid_action_remove_advice_WARN_,
-									EMFTypeCoreMessages.dependency_reason_static_WARN_ }));
-				} else {
-					bindings.remove(adviceID);
-					result = true;
-
-					if (bindings.isEmpty()) {
-						adviceBindings.remove(elementTypeID);
+		synchronized (lock) {
+			Map<String, IEditHelperAdviceDescriptor> bindings = getSnapshot().adviceBindings.get(elementTypeID);
+			if (bindings != null) {
+				IEditHelperAdviceDescriptor descriptor = bindings.get(adviceID);
+				if (descriptor != null) {
+					if (!getElementTypeRegistry().isDynamic(descriptor)) {
+						Log.warning(
+								EMFTypePlugin.getPlugin(),
+								EMFTypePluginStatusCodes.DEPENDENCY_CONSTRAINT,
+								EMFTypeCoreMessages.bind(EMFTypeCoreMessages.dependency_constraint_WARN_, new Object[] {
+										adviceID, EMFTypeCoreMessages.invalid_action_remove_advice_WARN_,
+										EMFTypeCoreMessages.dependency_reason_static_WARN_ }));
+					} else {
+						Snapshot update = beginUpdate();
+
+						if (bindings.size() == 1) {
+							update.adviceBindings.remove(elementTypeID);
+						} else {
+							update.getAdviceBindingsForUpdate(elementTypeID).remove(adviceID);
+						}
+						endUpdate(update);
+						result = true;
 					}
 				}
 			}
@@ -339,6 +543,18 @@ public class SpecializationTypeRegistry {
 	 * @since 1.9
 	 */
 	public boolean deregisterSpecializationType(ISpecializationType specializationType) {
+		synchronized (lock) {
+			// publish the removal of the type and of its advice together
+			beginBatchUpdate();
+			try {
+				return doDeregisterSpecializationType(specializationType);
+			} finally {
+				endBatchUpdate();
+			}
+		}
+	}
+
+	private boolean doDeregisterSpecializationType(ISpecializationType specializationType) {
 		boolean result = false;
 
 		SpecializationTypeDescriptor descriptor = getSpecializationTypeDescriptor(specializationType.getId());
@@ -398,7 +614,7 @@ public class SpecializationTypeRegistry {
 	 * @since 1.9
 	 */
 	public boolean hasSpecializations(IElementType elementType) {
-		Collection specializations = (Collection) specializationsForTypeId.get(elementType.getId());
+		Collection specializations = (Collection) getSnapshot().specializationsForTypeId.get(elementType.getId());
 		return (specializations != null) && !specializations.isEmpty();
 	}
 
@@ -411,16 +627,22 @@ public class SpecializationTypeRegistry {
 	public void removeSpecializationType(
 			SpecializationTypeDescriptor specializationTypeDescriptor) {
 
-		specializationTypeDescriptors.remove(specializationTypeDescriptor.getId());
-		
-		String[] specializedTypes = specializationTypeDescriptor
-			.getSpecializationTypeIds();
+		synchronized (lock) {
+			Snapshot update = beginUpdate();
 
-		for (int j = 0; j < specializedTypes.length; j++) {
-			Set specializations = (Set) specializationsForTypeId
-				.get(specializedTypes[j]);
+			update.specializationTypeDescriptors.remove(specializationTypeDescriptor.getId());
 
-			specializations.remove(specializationTypeDescriptor);
+			String[] specializedTypes = specializationTypeDescriptor
+				.getSpecializationTypeIds();
+
+			for (int j = 0; j < specializedTypes.length; j++) {
+				if (update.specializationsForTypeId.containsKey(specializedTypes[j])) {
+					update.getSpecializationsForUpdate(specializedTypes[j]).remove(
+						specializationTypeDescriptor);
+				}
+			}
+
+			endUpdate(update);
 		}
 	}
 
@@ -496,6 +718,29 @@ public class SpecializationTypeRegistry {
 	private List getSpecializationTypeDescriptors(IElementTypeDescriptor type,
 			boolean deep, IClientContext clientContext) {
 
+		return new ArrayList(collectSpecializationTypeDescriptors(
+			getSnapshot().specializationsForTypeId, type, deep, clientContext));
+	}
+
+	/**
+	 * Collects the descriptors for specializations of <code>type</code> in
+	 * <code>specializationsForTypeId</code>, in breadth-first order.
+	 * 
+	 * @param specializationsForTypeId
+	 *            the specializations of a snapshot of the registry, by the ID
+	 *            of the type that they specialize
+	 * @param type
+	 *            the element type
+	 * @param deep
+	 *            whether all specializations are to be found, recursively
+	 * @param clientContext
+	 *            the client context
+	 * @return the set of <code>SpecializationTypeDescriptors</code> of
+	 *         <code>type</code>
+	 */
+	private Set collectSpecializationTypeDescriptors(Map specializationsForTypeId,
+			IElementTypeDescriptor type, boolean deep, IClientContext clientContext) {
+
 		LinkedHashSet result = new LinkedHashSet();
 		
 		if (type != null) {
@@ -516,8 +761,9 @@ public class SpecializationTypeRegistry {
 		
 							if (deep) {
 								// Recursively search for specializations
-								result.addAll(getSpecializationTypeDescriptors(
-									nextDescriptor, deep, clientContext));
+								result.addAll(collectSpecializationTypeDescriptors(
+									specializationsForTypeId, nextDescriptor, deep,
+									clientContext));
 							}
 						}
 					}
@@ -527,7 +773,7 @@ public class SpecializationTypeRegistry {
 				result.addAll(specializations);
 			}
 		}
-		return new ArrayList(result);
+		return result;
 	}
 
 	/**
@@ -624,7 +870,7 @@ public class SpecializationTypeRegistry {
 	 *            an advice descriptor that may opr may not match <code>eObject</code>
 	 * @return <code>true</code> if the advice matches; <code>false</code>, otherwise
 	 */
-	private boolean adviceMatches(EObject eObject,
+	static boolean adviceMatches(EObject eObject,
 			IEditHelperAdviceDescriptor editHelperAdviceDescriptor) {
 
 		EReference containmentFeature = eObject.eContainmentFeature();
@@ -820,6 +1066,86 @@ public class SpecializationTypeRegistry {
 		return new ArrayList(result);
 	}
 
+	/**
+	 * Computes the plan for finding the specializations and the edit helper
+	 * advice that match the model elements of the metamodel type described
+	 * by <code>metamodelTypeDescriptor</code>, in the
+	 * <code>clientContext</code>. Following the plan gives the same answers as
+	 * {@link #getSpecializationDescriptorsMatching(EObject, MetamodelTypeDescriptor, IClientContext)}
+	 * and
+	 * {@link #getEditHelperAdvice(EObject, MetamodelTypeDescriptor, IClientContext)},
+	 * for as long as neither this registry nor the client context bindings
+	 * change.
+	 * 
+	 * @param metamodelTypeDescriptor
+	 *            the metamodel type descriptor
+	 * @param clientContext
+	 *            the client context
+	 * @return the plan
+	 */
+	public EditHelperAdvicePlan getEditHelperAdvicePlan(
+			MetamodelTypeDescriptor metamodelTypeDescriptor, IClientContext clientContext) {
+
+		List metamodelAdvice = new ArrayList();
+
+		// Look at advice bound to the metamodel supertypes
+		IElementType[] metamodelSupertypes = metamodelTypeDescriptor
+			.getElementType().getAllSuperTypes();
+		for (int i = 0; i < metamodelSupertypes.length; i++) {
+			metamodelAdvice.addAll(getBoundAdviceDescriptors(
+				metamodelSupertypes[i].getId(), ALL, clientContext));
+		}
+
+		// Add the advice bound to the metamodel type
+		metamodelAdvice.addAll(getBoundAdviceDescriptors(
+			metamodelTypeDescriptor.getId(), ALL_NONE, clientContext));
+
+		// Add the advice bound to each of the specializations
+		List specializations = getAllSpecializationTypeDescriptors(
+			metamodelTypeDescriptor, clientContext);
+		List[] specializationAdvice = new List[specializations.size()];
+
+		for (int i = 0; i < specializationAdvice.length; i++) {
+			specializationAdvice[i] = getBoundAdviceDescriptors(
+				((SpecializationTypeDescriptor) specializations.get(i)).getId(),
+				ALL_NONE, clientContext);
+		}
+
+		return new EditHelperAdvicePlan(specializations, metamodelAdvice,
+			specializationAdvice);
+	}
+
+	/**
+	 * Gets the descriptors of the edit helper advice bound to the element type
+	 * with ID <code>elementTypeId</code> in the <code>clientContext</code>,
+	 * whatever the model element.
+	 * 
+	 * @param elementTypeId
+	 *            the element type id
+	 * @param adviceInheritanceToConsider
+	 *            the inheritance of the advice bindings to be returned
+	 * @param clientContext
+	 *            the client context
+	 * @return the list of <code>IEditHelperAdviceDescriptor</code>s
+	 */
+	private List getBoundAdviceDescriptors(String elementTypeId,
+			Set adviceInheritanceToConsider, IClientContext clientContext) {
+
+		List result = new ArrayList();
+
+		for (Iterator j = getAdviceBindings(elementTypeId); j.hasNext();) {
+			IEditHelperAdviceDescriptor nextAdviceDescriptor = (IEditHelperAdviceDescriptor) j
+				.next();
+
+			if (clientContext.includes(nextAdviceDescriptor)
+				&& adviceInheritanceToConsider.contains(nextAdviceDescriptor
+					.getInheritance())) {
+				result.add(nextAdviceDescriptor);
+			}
+		}
+		return result;
+	}
+
 	/**
 	 * Gets the edit helper advice bound to the <code>elementType</code> and
 	 * the inheritable advice bounds to its supertypes. The advice will be that
@@ -1027,6 +1353,8 @@ public class SpecializationTypeRegistry {
 			return Collections.EMPTY_LIST.iterator();
 		}
 		
+		Map<String, Map<String, IEditHelperAdviceDescriptor>> adviceBindings = getSnapshot().adviceBindings;
+
 		return new MultiIterator(new Map[] {
 				adviceBindings.get(elementTypeId),
 				adviceBindings.get("*") //$NON-NLS-1$
@@ -1043,7 +1371,7 @@ public class SpecializationTypeRegistry {
 	 */
 	public SpecializationTypeDescriptor getSpecializationTypeDescriptor(
 			String id) {
-		return (SpecializationTypeDescriptor) specializationTypeDescriptors
+		return (SpecializationTypeDescriptor) getSnapshot().specializationTypeDescriptors
 			.get(id);
 	}
 
@@ -1052,9 +1380,11 @@ public class SpecializationTypeRegistry {
 	 * 
 	 * @return the registered specialization type descriptors. Each element in
 	 *         the collection is a <code>SpecializationTypeDescriptor</code>.
+	 *         The collection is unmodifiable and does not reflect later
+	 *         changes to the registry.
 	 */
 	public Collection getSpecializationTypeDescriptors() {
-		return specializationTypeDescriptors.values();
+		return Collections.unmodifiableCollection(getSnapshot().specializationTypeDescriptors.values());
 	}
 	
 	/**
@@ -1091,7 +1421,7 @@ public class SpecializationTypeRegistry {
 	 *         <code>false</code> otherwise.
 	 */
 	private boolean checkForDuplicate(ElementTypeDescriptor typeDescriptor) {
-		if (specializationTypeDescriptors.containsKey(typeDescriptor.getId())) {
+		if (getSnapshot().specializationTypeDescriptors.containsKey(typeDescriptor.getId())) {
 			Log
 					.error(
 							EMFTypePlugin.getPlugin(),
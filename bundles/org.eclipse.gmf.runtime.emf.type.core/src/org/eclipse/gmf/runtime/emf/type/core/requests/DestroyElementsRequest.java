@@ -0,0 +1,172 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ ****************************************************************************/
+
+package org.eclipse.gmf.runtime.emf.type.core.requests;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.transaction.TransactionalEditingDomain;
+import org.eclipse.emf.transaction.util.TransactionUtil;
+import org.eclipse.gmf.runtime.emf.type.core.ClientContextManager;
+import org.eclipse.gmf.runtime.emf.type.core.EditHelperContext;
+import org.eclipse.gmf.runtime.emf.type.core.IClientContext;
+import org.eclipse.gmf.runtime.emf.type.core.internal.impl.DefaultMetamodelType;
+
+/**
+ * Request to destroy many model elements together, along with their contents
+ * and dependents.
+ * <P>
+ * The elements are destroyed as if by a {@link DestroyElementRequest} for
+ * each of them, but the references to and from all of the elements are torn
+ * down together, and the references among them are left as they are.
+ *
+ * @see org.eclipse.gmf.runtime.emf.type.core.commands.DestroyElementsCommand
+ * @since 1.11
+ */
+public class DestroyElementsRequest extends DestroyRequest {
+
+	/**
+	 * The elements to destroy.
+	 */
+	private final List elementsToDestroy;
+
+	/**
+	 * Constructs a new request to destroy model elements.
+	 *
+	 * @param editingDomain
+	 *            the editing domain in which I am requesting to make model
+	 * @param elementsToDestroy
+	 *            the <code>EObject</code>s to be destroyed
+	 * @param confirmationRequired
+	 *            <code>true</code> if the user should be prompted to confirm
+	 *            the element deletion, <code>false</code> otherwise.
+	 */
+	public DestroyElementsRequest(TransactionalEditingDomain editingDomain,
+			Collection elementsToDestroy, boolean confirmationRequired) {
+
+		super(editingDomain, confirmationRequired);
+		this.elementsToDestroy = new ArrayList(elementsToDestroy);
+	}
+
+	/**
+	 * Constructs a new request to destroy model elements. The editing domain
+	 * will be derived from the elements to destroy.
+	 *
+	 * @param elementsToDestroy
+	 *            the <code>EObject</code>s to be destroyed
+	 * @param confirmationRequired
+	 *            <code>true</code> if the user should be prompted to confirm
+	 *            the element deletion, <code>false</code> otherwise.
+	 */
+	public DestroyElementsRequest(Collection elementsToDestroy,
+			boolean confirmationRequired) {
+
+		this(null, elementsToDestroy, confirmationRequired);
+	}
+
+	/**
+	 * Gets the elements to be destroyed.
+	 *
+	 * @return the <code>EObject</code>s to be destroyed
+	 */
+	public List getElementsToDestroy() {
+		return Collections.unmodifiableList(elementsToDestroy);
+	}
+
+	/**
+	 * Gets the container of the elements to be destroyed, if they all have
+	 * the same one.
+	 *
+	 * @return the common container, or <code>null</code> if the elements do not
+	 *         have the same container
+	 */
+	public EObject getContainer() {
+		EObject result = null;
+
+		for (Iterator i = elementsToDestroy.iterator(); i.hasNext();) {
+			EObject container = ((EObject) i.next()).eContainer();
+
+			if (container == null
+				|| (result != null && container != result)) {
+				return null;
+			}
+			result = container;
+		}
+		return result;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.gmf.runtime.emf.type.core.requests.IEditCommandRequest#getElementsToEdit()
+	 */
+	public List getElementsToEdit() {
+		return getElementsToDestroy();
+	}
+
+	/**
+	 * Gets the edit helper context of the container of the elements to be
+	 * destroyed or, if they do not have the same container, of the default
+	 * metamodel type.
+	 */
+	public Object getEditHelperContext() {
+		Object result = super.getEditHelperContext();
+
+		if (result == null) {
+			EObject element = getFirstAttachedElement();
+
+			if (element != null) {
+				IClientContext context = ClientContextManager.getInstance()
+						.getClientContextFor(element);
+				result = new EditHelperContext(DefaultMetamodelType
+						.getInstance(), context);
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Derives the editing domain from the elements to destroy, if it hasn't
+	 * already been specified.
+	 */
+	public TransactionalEditingDomain getEditingDomain() {
+		TransactionalEditingDomain result = super.getEditingDomain();
+
+		if (result == null) {
+			EObject element = getFirstAttachedElement();
+
+			if (element != null) {
+				result = TransactionUtil.getEditingDomain(element);
+				if (result != null) {
+					setEditingDomain(result);
+				}
+			}
+		}
+		return result;
+	}
+
+	private EObject getFirstAttachedElement() {
+		for (Iterator i = elementsToDestroy.iterator(); i.hasNext();) {
+			EObject element = (EObject) i.next();
+
+			if (element.eResource() != null) {
+				return element;
+			}
+		}
+		return null;
+	}
+}
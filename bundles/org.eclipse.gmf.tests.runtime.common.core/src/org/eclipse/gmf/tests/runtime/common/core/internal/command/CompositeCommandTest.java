@@ -241,6 +241,106 @@ public class CompositeCommandTest {
 		assertFalse(history.canRedo(ctx));
 	}
 
+	/**
+	 * Tests the depth and leaf count of nested composites.
+	 */
+	@Test
+	public void test_depthAndLeafCount() {
+		CompositeCommand composite = new CompositeCommand("Composite"); //$NON-NLS-1$
+		CompositeCommand composite2 = new CompositeCommand("Composite"); //$NON-NLS-1$
+		CompositeCommand composite3 = new CompositeCommand("Composite"); //$NON-NLS-1$
+
+		composite.add(new TestCommand());
+		composite.add(composite2);
+		composite2.add(new TestCommand());
+		composite2.add(composite3);
+
+		assertEquals(3, composite.getDepth());
+		assertEquals(2, composite.getLeafCount());
+
+		composite3.add(new TestCommand());
+		composite3.add(new TestCommand());
+
+		assertEquals(3, composite.getDepth());
+		assertEquals(4, composite.getLeafCount());
+		assertEquals(2, composite2.getDepth());
+		assertEquals(1, composite3.getDepth());
+	}
+
+	/**
+	 * Tests that the aggregation of canExecute() from child operations of
+	 * nested composites follows changes to the nested composites.
+	 */
+	@Test
+	public void test_canExecute_nestedChanges() {
+		CompositeCommand composite = new CompositeCommand("Composite"); //$NON-NLS-1$
+		CompositeCommand composite2 = new CompositeCommand("Composite"); //$NON-NLS-1$
+
+		composite.add(new TestCommand());
+		composite.add(composite2);
+
+		// empty composites cannot execute
+		assertFalse(composite.canExecute());
+
+		ICommand child = new TestCommand();
+		composite2.add(child);
+		assertTrue(composite.canExecute());
+
+		ICommand unexecutable = new TestCommand(false);
+		composite2.add(unexecutable);
+		assertFalse(composite.canExecute());
+
+		composite2.remove(unexecutable);
+		assertTrue(composite.canExecute());
+
+		// subclasses of the composite are not flattened
+		CompositeCommand subclass = new CompositeCommand("Subclass") { //$NON-NLS-1$
+			@Override
+			public boolean canExecute() {
+				return false;
+			}
+		};
+		subclass.add(new TestCommand());
+		composite2.add(subclass);
+		assertFalse(composite.canExecute());
+		assertEquals(3, composite.getLeafCount());
+	}
+
+	/**
+	 * Tests that a change to a composite nested in several trees, including
+	 * through its list iterator, invalidates the plans of all of them.
+	 */
+	@Test
+	public void test_leafCount_sharedNestedChanges() {
+		CompositeCommand composite = new CompositeCommand("Composite"); //$NON-NLS-1$
+		CompositeCommand other = new CompositeCommand("Other"); //$NON-NLS-1$
+		CompositeCommand nested = new CompositeCommand("Nested"); //$NON-NLS-1$
+
+		nested.add(new TestCommand());
+		composite.add(nested);
+		other.add(new TestCommand());
+		other.add(nested);
+
+		assertEquals(1, composite.getLeafCount());
+		assertEquals(2, other.getLeafCount());
+
+		nested.add(new TestCommand());
+		assertEquals(2, composite.getLeafCount());
+		assertEquals(3, other.getLeafCount());
+
+		ListIterator iter = nested.listIterator();
+		iter.next();
+		iter.remove();
+		iter.add(new TestCommand(false));
+		assertEquals(2, composite.getLeafCount());
+		assertFalse(composite.canExecute());
+
+		// an unrelated composite does not affect the plans
+		new CompositeCommand("Unrelated").add(new TestCommand()); //$NON-NLS-1$
+		assertEquals(2, composite.getLeafCount());
+		assertEquals(3, other.getLeafCount());
+	}
+
 	@Test
 	public void test_execute_undo_redo() {
 
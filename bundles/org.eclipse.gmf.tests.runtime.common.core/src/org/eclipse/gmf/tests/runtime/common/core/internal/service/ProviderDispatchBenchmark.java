@@ -0,0 +1,198 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ ****************************************************************************/
+
+package org.eclipse.gmf.tests.runtime.common.core.internal.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.gmf.runtime.common.core.service.AbstractProvider;
+import org.eclipse.gmf.runtime.common.core.service.ExecutionStrategy;
+import org.eclipse.gmf.runtime.common.core.service.IOperation;
+import org.eclipse.gmf.runtime.common.core.service.IProvider;
+import org.eclipse.gmf.runtime.common.core.service.IProviderPolicy;
+import org.eclipse.gmf.runtime.common.core.service.ProviderPriority;
+import org.eclipse.gmf.runtime.common.core.service.Service;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Microbenchmark comparing the linear dispatch of a {@link Service} with its
+ * dispatch index, in the style of a JMH average-time benchmark: each run is
+ * made of warm-up iterations followed by measured iterations, and the average
+ * time per operation is reported on standard output.
+ * <P>
+ * The services are not optimized, so that every operation goes through
+ * provider dispatch rather than the provider cache. The operation is served
+ * by the last registered provider, which is the worst case of the linear
+ * dispatch. This class is not part of {@link org.eclipse.gmf.tests.runtime.common.core.AllTests}.
+ */
+public class ProviderDispatchBenchmark {
+
+	private static final int WARMUP_ITERATIONS = 20;
+
+	private static final int MEASUREMENT_ITERATIONS = 10;
+
+	private static final int OPERATIONS_PER_ITERATION = 2000;
+
+	private static final class KeyedOperation implements IOperation {
+
+		final String key;
+
+		KeyedOperation(String key) {
+			this.key = key;
+		}
+
+		@Override
+		public Object execute(IProvider provider) {
+			return provider;
+		}
+	}
+
+	private static final class KeyedProvider extends AbstractProvider {
+
+		final String key;
+
+		int asked;
+
+		KeyedProvider(String key) {
+			this.key = key;
+		}
+
+		@Override
+		public boolean provides(IOperation operation) {
+			asked++;
+			return key.equals(((KeyedOperation) operation).key);
+		}
+	}
+
+	private static final class KeyedDescriptor extends Service.ProviderDescriptor {
+
+		KeyedDescriptor(KeyedProvider provider) {
+			super(null);
+			this.provider = provider;
+		}
+
+		@Override
+		public IProvider getProvider() {
+			return provider;
+		}
+
+		@Override
+		protected IProviderPolicy getPolicy() {
+			return null;
+		}
+
+		@Override
+		protected Collection getDispatchKeys() {
+			return Collections.singleton(((KeyedProvider) provider).key);
+		}
+	}
+
+	private static class LinearService extends Service {
+
+		LinearService(int providerCount) {
+			super(false);
+
+			for (int i = 0; i < providerCount; i++) {
+				addProvider(ProviderPriority.MEDIUM, new KeyedDescriptor(new KeyedProvider("key" + i))); //$NON-NLS-1$
+			}
+		}
+
+		List providers() {
+			return getAllProviders();
+		}
+
+		Object dispatch(IOperation operation) {
+			return ExecutionStrategy.FIRST.execute(this, operation).get(0);
+		}
+	}
+
+	private static final class IndexedService extends LinearService {
+
+		IndexedService(int providerCount) {
+			super(providerCount);
+		}
+
+		@Override
+		protected Object[] getDispatchKeys(IOperation operation) {
+			return new Object[] { ((KeyedOperation) operation).key };
+		}
+	}
+
+	@Test
+	public void test_50providers() {
+		run(50);
+	}
+
+	@Test
+	public void test_200providers() {
+		run(200);
+	}
+
+	@Test
+	public void test_1000providers() {
+		run(1000);
+	}
+
+	private void run(int providerCount) {
+		KeyedOperation operation = new KeyedOperation("key" + (providerCount - 1)); //$NON-NLS-1$
+		LinearService linearService = new LinearService(providerCount);
+		LinearService indexedService = new IndexedService(providerCount);
+
+		// warm up both dispatch paths before measuring either of them
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			iterate(linearService, operation);
+			iterate(indexedService, operation);
+		}
+
+		double linear = measure(linearService, operation);
+		double indexed = measure(indexedService, operation);
+
+		// only the provider declaring the key was ever asked by the indexed service
+		List providers = indexedService.providers();
+		for (int i = 0; i < providers.size() - 1; i++) {
+			assertEquals(0, ((KeyedProvider) ((Service.ProviderDescriptor) providers.get(i)).getProvider()).asked);
+		}
+
+		System.out.println("ProviderDispatchBenchmark providers=" + providerCount //$NON-NLS-1$
+				+ " linear=" + format(linear) + " ns/op indexed=" + format(indexed) //$NON-NLS-1$ //$NON-NLS-2$
+				+ " ns/op speedup=" + format(linear / indexed) + "x"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private double measure(LinearService service, KeyedOperation operation) {
+		long elapsed = 0;
+		for (int i = 0; i < MEASUREMENT_ITERATIONS; i++) {
+			long start = System.nanoTime();
+			iterate(service, operation);
+			elapsed += System.nanoTime() - start;
+		}
+		return (double) elapsed / (MEASUREMENT_ITERATIONS * OPERATIONS_PER_ITERATION);
+	}
+
+	private void iterate(LinearService service, KeyedOperation operation) {
+		List providers = service.providers();
+		Object expected = ((Service.ProviderDescriptor) providers.get(providers.size() - 1)).getProvider();
+
+		for (int i = 0; i < OPERATIONS_PER_ITERATION; i++) {
+			assertTrue(expected == service.dispatch(operation));
+		}
+	}
+
+	private static String format(double value) {
+		return String.valueOf(Math.round(value * 10) / 10.0);
+	}
+
+}
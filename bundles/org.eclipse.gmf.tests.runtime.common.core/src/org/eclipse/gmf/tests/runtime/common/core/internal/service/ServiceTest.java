@@ -13,11 +13,19 @@
 package org.eclipse.gmf.tests.runtime.common.core.internal.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.eclipse.gmf.runtime.common.core.service.AbstractProvider;
 import org.eclipse.gmf.runtime.common.core.service.ExecutionStrategy;
@@ -25,14 +33,18 @@ import org.eclipse.gmf.runtime.common.core.service.IOperation;
 import org.eclipse.gmf.runtime.common.core.service.IProvider;
 import org.eclipse.gmf.runtime.common.core.service.IProviderChangeListener;
 import org.eclipse.gmf.runtime.common.core.service.IProviderPolicy;
+import org.eclipse.gmf.runtime.common.core.service.ProviderCacheStatistics;
 import org.eclipse.gmf.runtime.common.core.service.ProviderChangeEvent;
 import org.eclipse.gmf.runtime.common.core.service.ProviderPriority;
 import org.eclipse.gmf.runtime.common.core.service.Service;
+import org.eclipse.gmf.tests.runtime.common.core.internal.util.TestingConfigurationElement;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 public class ServiceTest {
 
+	private static final int FIXTURE_CACHE_LIMIT = 8;
+
 	protected static class Fixture extends Service {
 
 		protected static class ProviderDescriptor extends Service.ProviderDescriptor {
@@ -60,6 +72,15 @@ public class ServiceTest {
 			super(true);
 		}
 
+		protected Fixture(boolean optimized) {
+			super(optimized);
+		}
+
+		@Override
+		protected int getCacheLimit() {
+			return FIXTURE_CACHE_LIMIT;
+		}
+
 		protected List getFixtureProviders(ExecutionStrategy strategy, ProviderPriority priority,
 				IOperation operation) {
 			return super.getProviders(strategy, priority, operation);
@@ -161,4 +182,440 @@ public class ServiceTest {
 		assertTrue(!getFixture().provides(operation));
 	}
 
+	@Test
+	public void test_cacheStatistics() {
+		IOperation operation = new IOperation() {
+			@Override
+			public Object execute(IProvider provider) {
+				return null;
+			}
+		};
+		IProvider trueProvider = new AbstractProvider() {
+			@Override
+			public boolean provides(IOperation op) {
+				return true;
+			}
+		};
+		getFixture().addFixtureProvider(ProviderPriority.MEDIUM, new Fixture.ProviderDescriptor(trueProvider));
+
+		List providers = getFixture().getFixtureProviders(ExecutionStrategy.FORWARD, ProviderPriority.MEDIUM,
+				operation);
+		assertTrue(providers == getFixture().getFixtureProviders(ExecutionStrategy.FORWARD, ProviderPriority.MEDIUM,
+				operation));
+
+		ProviderCacheStatistics statistics = getFixture().getCacheStatistics();
+		assertEquals(1, statistics.getHits());
+		assertEquals(1, statistics.getMisses());
+		assertEquals(1, statistics.getUncachedLookups());
+		assertEquals(1, statistics.getSize());
+		assertEquals(0.5, statistics.getHitRate(), 0.0);
+	}
+
+	@Test
+	public void test_cacheEviction() {
+		getFixture().addFixtureProvider(ProviderPriority.MEDIUM, new Fixture.ProviderDescriptor(new AbstractProvider() {
+			@Override
+			public boolean provides(IOperation op) {
+				return true;
+			}
+		}));
+
+		IOperation[] operations = new IOperation[FIXTURE_CACHE_LIMIT * 2];
+		for (int i = 0; i < operations.length; i++) {
+			operations[i] = new IOperation() {
+				@Override
+				public Object execute(IProvider provider) {
+					return null;
+				}
+			};
+			getFixture().getFixtureProviders(ExecutionStrategy.FORWARD, ProviderPriority.MEDIUM, operations[i]);
+
+			// keep the first operation the most recently used
+			getFixture().getFixtureProviders(ExecutionStrategy.FORWARD, ProviderPriority.MEDIUM, operations[0]);
+		}
+
+		ProviderCacheStatistics statistics = getFixture().getCacheStatistics();
+		assertTrue(statistics.getSize() <= FIXTURE_CACHE_LIMIT);
+		assertTrue(statistics.getEvictions() > 0);
+
+		long misses = statistics.getMisses();
+		getFixture().getFixtureProviders(ExecutionStrategy.FORWARD, ProviderPriority.MEDIUM, operations[0]);
+		assertEquals(misses, getFixture().getCacheStatistics().getMisses());
+	}
+
+	@Test
+	public void test_removeProviderInvalidatesOnlyReferringEntries() {
+		IOperation first = new IOperation() {
+			@Override
+			public Object execute(IProvider provider) {
+				return null;
+			}
+		};
+		IOperation second = new IOperation() {
+			@Override
+			public Object execute(IProvider provider) {
+				return null;
+			}
+		};
+		IProvider firstProvider = new AbstractProvider() {
+			@Override
+			public boolean provides(IOperation op) {
+				return op == first;
+			}
+		};
+		IProvider secondProvider = new AbstractProvider() {
+			@Override
+			public boolean provides(IOperation op) {
+				return op == second;
+			}
+		};
+		Fixture.ProviderDescriptor firstDescriptor = new Fixture.ProviderDescriptor(firstProvider);
+		getFixture().addFixtureProvider(ProviderPriority.MEDIUM, firstDescriptor);
+		getFixture().addFixtureProvider(ProviderPriority.MEDIUM, new Fixture.ProviderDescriptor(secondProvider));
+
+		getFixture().getFixtureProviders(ExecutionStrategy.FORWARD, ProviderPriority.MEDIUM, first);
+		List secondProviders = getFixture().getFixtureProviders(ExecutionStrategy.FORWARD, ProviderPriority.MEDIUM,
+				second);
+
+		getFixture().removeFixtureProvider(firstDescriptor);
+
+		assertEquals(1, getFixture().getCacheStatistics().getInvalidations());
+		assertTrue(secondProviders == getFixture().getFixtureProviders(ExecutionStrategy.FORWARD,
+				ProviderPriority.MEDIUM, second));
+		assertTrue(
+				getFixture().getFixtureProviders(ExecutionStrategy.FORWARD, ProviderPriority.MEDIUM, first).isEmpty());
+	}
+
+	/**
+	 * Tests that lookups racing with the registration of a provider never
+	 * leave a list of providers without it in the cache.
+	 */
+	@Test
+	public void test_addProviderConcurrentLookups() throws Exception {
+		final IOperation operation = new IOperation() {
+			@Override
+			public Object execute(IProvider provider) {
+				return null;
+			}
+		};
+
+		for (int iteration = 0; iteration < 200; iteration++) {
+			final Fixture service = new Fixture();
+			service.addFixtureProvider(ProviderPriority.MEDIUM, new Fixture.ProviderDescriptor(new AbstractProvider() {
+				@Override
+				public boolean provides(IOperation op) {
+					return true;
+				}
+			}));
+
+			final AtomicBoolean done = new AtomicBoolean();
+			final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+			Thread[] readers = new Thread[4];
+			for (int i = 0; i < readers.length; i++) {
+				readers[i] = new Thread() {
+					@Override
+					public void run() {
+						try {
+							while (!done.get()) {
+								service.getFixtureProviders(ExecutionStrategy.FORWARD, ProviderPriority.MEDIUM,
+										operation);
+							}
+						} catch (Throwable t) {
+							failure.set(t);
+						}
+					}
+				};
+				readers[i].start();
+			}
+
+			IProvider added = new AbstractProvider() {
+				@Override
+				public boolean provides(IOperation op) {
+					return true;
+				}
+			};
+			service.addFixtureProvider(ProviderPriority.MEDIUM, new Fixture.ProviderDescriptor(added));
+
+			try {
+				for (int i = 0; i < 10; i++) {
+					assertTrue(service.getFixtureProviders(ExecutionStrategy.FORWARD, ProviderPriority.MEDIUM,
+							operation).contains(added));
+				}
+			} finally {
+				done.set(true);
+				for (int i = 0; i < readers.length; i++) {
+					readers[i].join();
+				}
+			}
+			if (failure.get() != null) {
+				fail(failure.get());
+			}
+			assertTrue(service.getFixtureProviders(ExecutionStrategy.FORWARD, ProviderPriority.MEDIUM, operation)
+					.contains(added));
+		}
+	}
+
+	/**
+	 * Tests that lookups racing with the registration of a provider never
+	 * leave a dispatch index without it.
+	 */
+	@Test
+	public void test_addProviderConcurrentDispatch() throws Exception {
+		final IOperation operation = new IOperation() {
+			@Override
+			public Object execute(IProvider provider) {
+				return null;
+			}
+		};
+		class KeyedDescriptor extends Fixture.ProviderDescriptor {
+			KeyedDescriptor(IProvider provider) {
+				super(provider);
+			}
+
+			@Override
+			protected Collection getDispatchKeys() {
+				// widens the window in which an index is being built
+				Thread.yield();
+				return Collections.singleton("a"); //$NON-NLS-1$
+			}
+		}
+
+		for (int iteration = 0; iteration < 200; iteration++) {
+			// not optimized, so that every lookup uses the dispatch index
+			final Fixture service = new Fixture(false) {
+				@Override
+				protected Object[] getDispatchKeys(IOperation op) {
+					return new Object[] { "a" }; //$NON-NLS-1$
+				}
+			};
+			service.addFixtureProvider(ProviderPriority.MEDIUM, new KeyedDescriptor(new AbstractProvider() {
+				@Override
+				public boolean provides(IOperation op) {
+					return true;
+				}
+			}));
+
+			final AtomicBoolean done = new AtomicBoolean();
+			final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+			Thread[] readers = new Thread[4];
+			for (int i = 0; i < readers.length; i++) {
+				readers[i] = new Thread() {
+					@Override
+					public void run() {
+						try {
+							while (!done.get()) {
+								service.getFixtureProviders(ExecutionStrategy.FORWARD, ProviderPriority.MEDIUM,
+										operation);
+							}
+						} catch (Throwable t) {
+							failure.set(t);
+						}
+					}
+				};
+				readers[i].start();
+			}
+
+			IProvider added = new AbstractProvider() {
+				@Override
+				public boolean provides(IOperation op) {
+					return true;
+				}
+			};
+			service.addFixtureProvider(ProviderPriority.MEDIUM, new KeyedDescriptor(added));
+
+			try {
+				for (int i = 0; i < 10; i++) {
+					assertTrue(service.getFixtureProviders(ExecutionStrategy.FORWARD, ProviderPriority.MEDIUM,
+							operation).contains(added));
+				}
+			} finally {
+				done.set(true);
+				for (int i = 0; i < readers.length; i++) {
+					readers[i].join();
+				}
+			}
+			if (failure.get() != null) {
+				fail(failure.get());
+			}
+			assertTrue(service.getFixtureProviders(ExecutionStrategy.FORWARD, ProviderPriority.MEDIUM, operation)
+					.contains(added));
+		}
+	}
+
+	@Test
+	public void test_dispatchIndex() {
+		class KeyedOperation implements IOperation {
+			final String key;
+
+			KeyedOperation(String key) {
+				this.key = key;
+			}
+
+			@Override
+			public Object execute(IProvider provider) {
+				return provider;
+			}
+		}
+		class KeyedProvider extends AbstractProvider {
+			final String key;
+			final List asked = new ArrayList();
+
+			KeyedProvider(String key) {
+				this.key = key;
+			}
+
+			@Override
+			public boolean provides(IOperation op) {
+				asked.add(op);
+				return key == null || key.equals(((KeyedOperation) op).key);
+			}
+		}
+		class KeyedDescriptor extends Fixture.ProviderDescriptor {
+			KeyedDescriptor(KeyedProvider provider) {
+				super(provider);
+			}
+
+			@Override
+			protected Collection getDispatchKeys() {
+				String key = ((KeyedProvider) provider).key;
+				return key == null ? null : Collections.singleton(key);
+			}
+		}
+		Fixture fixture = new Fixture() {
+			@Override
+			protected Object[] getDispatchKeys(IOperation operation) {
+				return new Object[] { ((KeyedOperation) operation).key };
+			}
+		};
+
+		KeyedProvider a = new KeyedProvider("a"); //$NON-NLS-1$
+		KeyedProvider wildcard = new KeyedProvider(null);
+		KeyedProvider b = new KeyedProvider("b"); //$NON-NLS-1$
+		fixture.addFixtureProvider(ProviderPriority.MEDIUM, new KeyedDescriptor(a));
+		fixture.addFixtureProvider(ProviderPriority.MEDIUM, new KeyedDescriptor(wildcard));
+		fixture.addFixtureProvider(ProviderPriority.MEDIUM, new KeyedDescriptor(b));
+
+		KeyedOperation operation = new KeyedOperation("b"); //$NON-NLS-1$
+		List providers = fixture.getFixtureProviders(ExecutionStrategy.FORWARD, ProviderPriority.MEDIUM, operation);
+		assertEquals(2, providers.size());
+		assertTrue(wildcard == providers.get(0));
+		assertTrue(b == providers.get(1));
+		assertTrue(a.asked.isEmpty());
+
+		assertEquals(Collections.singletonList(wildcard), ExecutionStrategy.FIRST.execute(fixture, operation));
+		assertTrue(fixture.provides(new KeyedOperation("c"))); //$NON-NLS-1$
+		assertTrue(a.asked.isEmpty());
+	}
+
+	@Test
+	public void test_warmUpProviders() throws Exception {
+		final IOperation operation = new IOperation() {
+			@Override
+			public Object execute(IProvider provider) {
+				return provider;
+			}
+		};
+		class WarmUpElement extends TestingConfigurationElement {
+			final AtomicInteger instantiations = new AtomicInteger();
+
+			@Override
+			public Object createExecutableExtension(String propertyName) {
+				instantiations.incrementAndGet();
+				return new AbstractProvider() {
+					@Override
+					public boolean provides(IOperation op) {
+						return true;
+					}
+				};
+			}
+		}
+		class WarmUpDescriptor extends Service.ProviderDescriptor {
+			final boolean predicted;
+
+			WarmUpDescriptor(WarmUpElement element, boolean predicted) {
+				super(element);
+				this.predicted = predicted;
+			}
+
+			@Override
+			protected boolean isActivationPredicted(IOperation op) {
+				return predicted && op == operation;
+			}
+		}
+		WarmUpElement predictedElement = new WarmUpElement();
+		WarmUpElement otherElement = new WarmUpElement();
+		WarmUpDescriptor predicted = new WarmUpDescriptor(predictedElement, true);
+		WarmUpDescriptor other = new WarmUpDescriptor(otherElement, false);
+		getFixture().addFixtureProvider(ProviderPriority.MEDIUM, predicted);
+		getFixture().addFixtureProvider(ProviderPriority.LOW, other);
+
+		assertEquals(-1, predicted.getActivationTime());
+		getFixture().warmUpProviders(new IOperation[] { operation }).get(10, TimeUnit.SECONDS);
+
+		assertTrue(predicted.isProviderActivated());
+		assertFalse(other.isProviderActivated());
+		assertTrue(predicted.getActivationTime() >= 0);
+		assertEquals(Collections.singleton(predicted), getFixture().getProviderActivationTimes().keySet());
+
+		// activated providers are neither instantiated again nor warmed up again
+		predicted.getProvider();
+		getFixture().warmUpProviders(new IOperation[] { operation }).get(10, TimeUnit.SECONDS);
+		assertEquals(1, predictedElement.instantiations.get());
+		assertEquals(0, otherElement.instantiations.get());
+	}
+
+	/**
+	 * Tests that a provider needed by several threads at the same time is
+	 * instantiated only once.
+	 */
+	@Test
+	public void test_concurrentActivation() throws Exception {
+		final int threadCount = 4;
+		final CountDownLatch started = new CountDownLatch(threadCount);
+		final AtomicInteger instantiations = new AtomicInteger();
+		final Service.ProviderDescriptor descriptor = new Service.ProviderDescriptor(
+				new TestingConfigurationElement() {
+					@Override
+					public Object createExecutableExtension(String propertyName) {
+						instantiations.incrementAndGet();
+						try {
+							// let the other threads ask for the provider meanwhile
+							started.await(10, TimeUnit.SECONDS);
+						} catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+						}
+						return new AbstractProvider() {
+							@Override
+							public boolean provides(IOperation op) {
+								return true;
+							}
+						};
+					}
+				}) {
+			// the constructor is protected
+		};
+
+		final IProvider[] results = new IProvider[threadCount];
+		Thread[] threads = new Thread[threadCount];
+		for (int i = 0; i < threadCount; i++) {
+			final int index = i;
+			threads[i] = new Thread() {
+				@Override
+				public void run() {
+					started.countDown();
+					results[index] = descriptor.getProvider();
+				}
+			};
+			threads[i].start();
+		}
+		for (int i = 0; i < threadCount; i++) {
+			threads[i].join();
+		}
+
+		assertEquals(1, instantiations.get());
+		for (int i = 0; i < threadCount; i++) {
+			assertTrue(results[i] != null && results[i] == results[0]);
+		}
+	}
+
 }
@@ -23,6 +23,7 @@ import org.eclipse.gmf.tests.runtime.common.ui.internal.resources.FileChangeEven
 import org.eclipse.gmf.tests.runtime.common.ui.internal.resources.FileChangeEventTypeTest;
 import org.eclipse.gmf.tests.runtime.common.ui.internal.resources.FileObserverFilterTest;
 import org.eclipse.gmf.tests.runtime.common.ui.internal.resources.FileObserverFilterTypeTest;
+import org.eclipse.gmf.tests.runtime.common.ui.internal.resources.FileObserverIndexTest;
 import org.eclipse.gmf.tests.runtime.common.ui.util.StatusLineUtilTest;
 import org.junit.platform.suite.api.SelectClasses;
 import org.junit.platform.suite.api.Suite;
@@ -35,8 +36,8 @@ import org.junit.platform.suite.api.Suite;
 		// PropertiesServiceTest.class,
 		// PropertySourceTest.class,
 		FileChangeEventTypeTest.class, FileChangeEventTest.class, FileObserverFilterTypeTest.class,
-		FileObserverFilterTest.class, GlobalRedoActionTest.class, GlobalUndoActionTest.class,
-		SelectableElementTest.class, StatusLineUtilTest.class,
+		FileObserverFilterTest.class, FileObserverIndexTest.class, GlobalRedoActionTest.class,
+		GlobalUndoActionTest.class, SelectableElementTest.class, StatusLineUtilTest.class,
 /**
  * waiting for resolution of Bugzilla 115843
  */
@@ -1590,5 +1590,8 @@ public class FileObserverFilterTest {
 		IFile noFile = new File(no);
 		assertFalse(filter.matches(noFile));
 		assertFalse(filter.matches(folder));
+		IPath sibling = new Path("c:\\testing\\test.txt"); //$NON-NLS-1$
+		IFile siblingFile = new File(sibling);
+		assertFalse(filter.matches(siblingFile));
 	}
 }
\ No newline at end of file
@@ -0,0 +1,117 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ ****************************************************************************/
+
+package org.eclipse.gmf.tests.runtime.common.ui.internal.resources;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.gmf.runtime.common.ui.internal.resources.FileObserverFilter;
+import org.eclipse.gmf.runtime.common.ui.internal.resources.FileObserverFilterType;
+import org.eclipse.gmf.runtime.common.ui.internal.resources.FileObserverIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for FileObserverIndex.
+ */
+public class FileObserverIndexTest {
+
+	private final FileObserverFilterTest stubs = new FileObserverFilterTest();
+
+	private Map<Object, FileObserverFilter> observers;
+
+	@BeforeEach
+	public void setUp() {
+		observers = new LinkedHashMap<>();
+		observers.put("all", new FileObserverFilter(FileObserverFilterType.ALL)); //$NON-NLS-1$
+		observers.put("txt", new FileObserverFilter(FileObserverFilterType.EXTENSION, new String[] { "txt" })); //$NON-NLS-1$ //$NON-NLS-2$
+		observers.put("file", new FileObserverFilter(FileObserverFilterType.FILE, //$NON-NLS-1$
+				stubs.new File(new Path("c:\\test\\test.txt")))); //$NON-NLS-1$
+		observers.put("test", new FileObserverFilter(FileObserverFilterType.FOLDER, //$NON-NLS-1$
+				stubs.new Folder(new Path("c:\\test")))); //$NON-NLS-1$
+		observers.put("nested", new FileObserverFilter(FileObserverFilterType.FOLDER, //$NON-NLS-1$
+				stubs.new Folder(new Path("c:\\test\\nested")))); //$NON-NLS-1$
+	}
+
+	@Test
+	public void test_matchesSameObserversAsFilters() {
+		FileObserverIndex index = new FileObserverIndex(observers);
+		String[] files = { "c:\\test\\test.txt", "c:\\test\\test.mdx", "c:\\test\\nested\\a.txt", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				"c:\\other\\test.txt", "c:\\other\\test.mdx" }; //$NON-NLS-1$ //$NON-NLS-2$
+		for (String file : files) {
+			IFile resource = stubs.new File(new Path(file));
+			assertEquals(match(resource), collect(index, resource), file);
+			assertEquals(match(resource.getFullPath()), collect(index, resource.getFullPath()), file);
+		}
+	}
+
+	@Test
+	public void test_folderMatchesWholeSegments() {
+		FileObserverIndex index = new FileObserverIndex(observers);
+		IFile resource = stubs.new File(new Path("c:\\testing\\test.mdx")); //$NON-NLS-1$
+		assertEquals(new HashSet<>(Arrays.asList("all")), collect(index, resource)); //$NON-NLS-1$
+		assertEquals(new HashSet<>(Arrays.asList("all")), collect(index, resource.getFullPath())); //$NON-NLS-1$
+		assertEquals(match(resource), collect(index, resource));
+		assertEquals(match(resource.getFullPath()), collect(index, resource.getFullPath()));
+	}
+
+	@Test
+	public void test_folderDoesNotMatchFolder() {
+		FileObserverIndex index = new FileObserverIndex(observers);
+		IResource folder = stubs.new Folder(new Path("c:\\test\\nested")); //$NON-NLS-1$
+		assertEquals(new HashSet<>(Arrays.asList("all")), collect(index, folder)); //$NON-NLS-1$
+	}
+
+	private Set<Object> match(IResource resource) {
+		Set<Object> result = new HashSet<>();
+		for (Map.Entry<Object, FileObserverFilter> entry : observers.entrySet()) {
+			if (entry.getValue().matches(resource)) {
+				result.add(entry.getKey());
+			}
+		}
+		return result;
+	}
+
+	private Set<Object> match(IPath path) {
+		Set<Object> result = new HashSet<>();
+		for (Map.Entry<Object, FileObserverFilter> entry : observers.entrySet()) {
+			if (entry.getValue().matches(path)) {
+				result.add(entry.getKey());
+			}
+		}
+		return result;
+	}
+
+	private static Set<Object> collect(FileObserverIndex index, IResource resource) {
+		Collection<Object> result = new LinkedHashSet<>();
+		index.collect(resource, result);
+		return new HashSet<>(result);
+	}
+
+	private static Set<Object> collect(FileObserverIndex index, IPath path) {
+		Collection<Object> result = new LinkedHashSet<>();
+		index.collect(path, result);
+		return new HashSet<>(result);
+	}
+}
@@ -0,0 +1,170 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ ****************************************************************************/
+
+package org.eclipse.gmf.tests.runtime.diagram.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.eclipse.gmf.runtime.diagram.core.util.ViewUtil;
+import org.eclipse.gmf.runtime.notation.Diagram;
+import org.eclipse.gmf.runtime.notation.FillStyle;
+import org.eclipse.gmf.runtime.notation.Node;
+import org.eclipse.gmf.runtime.notation.NotationFactory;
+import org.eclipse.gmf.runtime.notation.NotationPackage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the lookups of {@link ViewUtil} that use the index of the children of
+ * a view.
+ */
+public class ViewUtilTests {
+
+	private int threshold;
+
+	private Diagram diagram;
+
+	private Node[] nodes;
+
+	@BeforeEach
+	public void setUp() {
+		threshold = ViewUtil.getChildIndexThreshold();
+		ViewUtil.setChildIndexThreshold(4);
+
+		Resource resource = new XMIResourceImpl() {
+			@Override
+			protected boolean useUUIDs() {
+				return true;
+			}
+		};
+		diagram = NotationFactory.eINSTANCE.createDiagram();
+		resource.getContents().add(diagram);
+
+		nodes = new Node[10];
+		for (int i = 0; i < nodes.length; i++) {
+			nodes[i] = NotationFactory.eINSTANCE.createNode();
+			nodes[i].setType("type" + (i % 5)); //$NON-NLS-1$
+			diagram.insertChild(nodes[i]);
+		}
+	}
+
+	@AfterEach
+	public void tearDown() {
+		ViewUtil.setChildIndexThreshold(threshold);
+		ViewUtil.setStyleIndexEnabled(false);
+	}
+
+	@Test
+	public void test_getChildBySemanticHint() {
+		assertSame(nodes[2], ViewUtil.getChildBySemanticHint(diagram, "type2")); //$NON-NLS-1$
+		assertNull(ViewUtil.getChildBySemanticHint(diagram, "type5")); //$NON-NLS-1$
+
+		diagram.removeChild(nodes[2]);
+		assertSame(nodes[7], ViewUtil.getChildBySemanticHint(diagram, "type2")); //$NON-NLS-1$
+
+		nodes[0].setType("type2"); //$NON-NLS-1$
+		assertSame(nodes[0], ViewUtil.getChildBySemanticHint(diagram, "type2")); //$NON-NLS-1$
+		assertSame(nodes[5], ViewUtil.getChildBySemanticHint(diagram, "type0")); //$NON-NLS-1$
+
+		// removed children do not affect the index any more
+		nodes[2].setType("type0"); //$NON-NLS-1$
+		assertSame(nodes[5], ViewUtil.getChildBySemanticHint(diagram, "type0")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void test_getChildByIdStr() {
+		String id = ViewUtil.getIdStr(nodes[5]);
+
+		assertSame(nodes[5], ViewUtil.getChildByIdStr(diagram, id));
+
+		diagram.removeChild(nodes[5]);
+		assertNull(ViewUtil.getChildByIdStr(diagram, id));
+	}
+
+	@Test
+	public void test_getChildByIdStr_idChangedWithoutNotification() {
+		Resource resource = diagram.eResource();
+		String id = ViewUtil.getIdStr(nodes[5]);
+
+		assertSame(nodes[5], ViewUtil.getChildByIdStr(diagram, id));
+
+		((XMLResource) resource).setID(nodes[5], "newId"); //$NON-NLS-1$
+		assertNull(ViewUtil.getChildByIdStr(diagram, id));
+		assertSame(nodes[5], ViewUtil.getChildByIdStr(diagram, "newId")); //$NON-NLS-1$
+
+		((XMLResource) resource).setID(nodes[6], id);
+		assertSame(nodes[6], ViewUtil.getChildByIdStr(diagram, id));
+	}
+
+	@Test
+	public void test_getStyle() {
+		assertNull(ViewUtil.getChildBySemanticHint(diagram, "type5")); //$NON-NLS-1$
+		assertNull(ViewUtil.getStyle(diagram, NotationPackage.Literals.FILL_STYLE));
+
+		FillStyle style = NotationFactory.eINSTANCE.createFillStyle();
+		diagram.getStyles().add(style);
+		assertSame(style, ViewUtil.getStyle(diagram, NotationPackage.Literals.FILL_STYLE));
+
+		diagram.getStyles().remove(style);
+		assertNull(ViewUtil.getStyle(diagram, NotationPackage.Literals.FILL_STYLE));
+	}
+
+	@Test
+	public void test_getStyle_notIndexedByDefault() {
+		Node node = nodes[0];
+		int adapters = node.eAdapters().size();
+
+		assertFalse(ViewUtil.isStyleIndexEnabled());
+		assertNull(ViewUtil.getStyle(node, NotationPackage.Literals.FILL_STYLE));
+		assertEquals(adapters, node.eAdapters().size());
+
+		FillStyle style = NotationFactory.eINSTANCE.createFillStyle();
+		node.getStyles().add(style);
+		assertSame(style, ViewUtil.getStyle(node, NotationPackage.Literals.FILL_STYLE));
+	}
+
+	@Test
+	public void test_getStyle_smallView() {
+		ViewUtil.setStyleIndexEnabled(true);
+
+		Node node = nodes[0];
+		assertNull(ViewUtil.getStyle(node, NotationPackage.Literals.FILL_STYLE));
+
+		FillStyle style = NotationFactory.eINSTANCE.createFillStyle();
+		node.getStyles().add(style);
+		assertSame(style, ViewUtil.getStyle(node, NotationPackage.Literals.FILL_STYLE));
+
+		node.getStyles().clear();
+		assertNull(ViewUtil.getStyle(node, NotationPackage.Literals.FILL_STYLE));
+
+		// the children of the node are not indexed
+		Node child = NotationFactory.eINSTANCE.createNode();
+		child.setType("child"); //$NON-NLS-1$
+		node.insertChild(child);
+		assertSame(child, ViewUtil.getChildBySemanticHint(node, "child")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void test_indexDisabled() {
+		ViewUtil.setChildIndexThreshold(Integer.MAX_VALUE);
+
+		assertSame(nodes[2], ViewUtil.getChildBySemanticHint(diagram, "type2")); //$NON-NLS-1$
+		assertSame(nodes[5], ViewUtil.getChildByIdStr(diagram, ViewUtil.getIdStr(nodes[5])));
+	}
+}
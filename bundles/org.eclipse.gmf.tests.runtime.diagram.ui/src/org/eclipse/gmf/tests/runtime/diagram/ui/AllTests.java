@@ -13,6 +13,7 @@
 package org.eclipse.gmf.tests.runtime.diagram.ui;
 
 import org.eclipse.gmf.tests.runtime.diagram.core.DiagramEditingDomainFactoryTests;
+import org.eclipse.gmf.tests.runtime.diagram.core.ViewUtilTests;
 import org.eclipse.gmf.tests.runtime.diagram.ui.commands.CommandTests;
 import org.eclipse.gmf.tests.runtime.diagram.ui.commands.CommandUtilitiesTest;
 import org.eclipse.gmf.tests.runtime.diagram.ui.commands.SemanticCreateCommandTest;
@@ -27,7 +28,9 @@ import org.eclipse.gmf.tests.runtime.diagram.ui.logic.LogicCreationTests;
 import org.eclipse.gmf.tests.runtime.diagram.ui.logic.LogicDiagramTests;
 import org.eclipse.gmf.tests.runtime.diagram.ui.logic.LogicTransientViewsTests;
 import org.eclipse.gmf.tests.runtime.diagram.ui.logic.PaletteTests;
+import org.eclipse.gmf.tests.runtime.diagram.ui.logic.ShapeCompartmentConnectionsTests;
 import org.eclipse.gmf.tests.runtime.diagram.ui.logic.TextAlignmentTests;
+import org.eclipse.gmf.tests.runtime.diagram.ui.logic.ViewportVirtualizerTests;
 import org.eclipse.gmf.tests.runtime.diagram.ui.parts.ConnectionHandleLocatorTest;
 import org.eclipse.gmf.tests.runtime.diagram.ui.parts.ConnectionHandleTest;
 import org.eclipse.gmf.tests.runtime.diagram.ui.parts.DiagramCommandStackTest;
@@ -56,6 +59,7 @@ import org.junit.platform.suite.api.Suite;
 		LogicTransientViewsTests.class, RequestTests.class, ConnectionToolTests.class, CopyToImageUtilTests.class,
 		DiagramEditingDomainTestCase.class, CommandUtilitiesTest.class, DiagramEventBrokerServiceTests.class,
 		LabelTests.class, GroupTests.class, GroupsInCompartmentTests.class, LayoutTests.class, TextAlignmentTests.class,
-		DiagramEditingDomainFactoryTests.class, })
+		DiagramEditingDomainFactoryTests.class, ViewUtilTests.class, CanonicalEditPolicyTests.class,
+		ViewportVirtualizerTests.class, ShapeCompartmentConnectionsTests.class, })
 public class AllTests {
 }
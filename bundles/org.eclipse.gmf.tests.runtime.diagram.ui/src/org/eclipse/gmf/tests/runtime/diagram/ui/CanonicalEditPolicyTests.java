@@ -0,0 +1,142 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ ****************************************************************************/
+
+package org.eclipse.gmf.tests.runtime.diagram.ui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.gmf.runtime.diagram.ui.editpolicies.CanonicalEditPolicy;
+import org.eclipse.gmf.runtime.notation.Node;
+import org.eclipse.gmf.runtime.notation.NotationFactory;
+import org.eclipse.gmf.runtime.notation.View;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the synchronization of the views and semantic children of
+ * {@link CanonicalEditPolicy}.
+ */
+public class CanonicalEditPolicyTests {
+
+	private EObject a;
+
+	private EObject b;
+
+	private EObject c;
+
+	private EObject d;
+
+	private TestCanonicalEditPolicy policy;
+
+	@BeforeEach
+	public void setUp() {
+		a = EcoreFactory.eINSTANCE.createEClass();
+		b = EcoreFactory.eINSTANCE.createEClass();
+		c = EcoreFactory.eINSTANCE.createEClass();
+		d = EcoreFactory.eINSTANCE.createEClass();
+		policy = new TestCanonicalEditPolicy();
+	}
+
+	/**
+	 * Tests that the semantic children without a view are kept in their
+	 * order, including duplicates, and that the orphans are in the order of
+	 * the views.
+	 */
+	@Test
+	public void test_cleanCanonicalSemanticChildren_order() {
+		View viewOfD = createView(d);
+		View orphan1 = createView(EcoreFactory.eINSTANCE.createEClass());
+		View viewOfB = createView(b);
+		View orphan2 = createView(null);
+
+		List<EObject> semanticChildren = new ArrayList<EObject>(Arrays.asList(a, b, c, b, d));
+		List<View> orphaned = policy.clean(Arrays.asList(viewOfD, orphan1, viewOfB, orphan2), semanticChildren);
+
+		assertEquals(Arrays.asList(a, c, b), semanticChildren);
+		assertEquals(Arrays.asList(orphan1, orphan2), orphaned);
+	}
+
+	/**
+	 * Tests that a set of semantic children is used as it is.
+	 */
+	@Test
+	public void test_cleanCanonicalSemanticChildren_set() {
+		Set<EObject> semanticChildren = new LinkedHashSet<EObject>(Arrays.asList(a, b, c));
+		List<View> orphaned = policy.clean(Arrays.asList(createView(b)), semanticChildren);
+
+		assertEquals(Arrays.asList(a, c), new ArrayList<EObject>(semanticChildren));
+		assertTrue(orphaned.isEmpty());
+	}
+
+	/**
+	 * Tests that an override of isOrphaned() is given the remaining semantic
+	 * children, and decides which views are orphaned.
+	 */
+	@Test
+	public void test_cleanCanonicalSemanticChildren_isOrphanedOverride() {
+		View viewOfA = createView(a);
+		View staleViewOfB = createView(b);
+		staleViewOfB.setType("stale"); //$NON-NLS-1$
+		View viewOfC = createView(c);
+
+		final List<List<EObject>> candidates = new ArrayList<List<EObject>>();
+		policy = new TestCanonicalEditPolicy() {
+
+			@Override
+			protected boolean isOrphaned(Collection<EObject> semanticChildren, View view) {
+				candidates.add(new ArrayList<EObject>(semanticChildren));
+				return "stale".equals(view.getType()) //$NON-NLS-1$
+					|| super.isOrphaned(semanticChildren, view);
+			}
+		};
+
+		List<EObject> semanticChildren = new ArrayList<EObject>(Arrays.asList(a, b, c));
+		List<View> orphaned = policy.clean(Arrays.asList(viewOfA, staleViewOfB, viewOfC), semanticChildren);
+
+		assertEquals(Arrays.asList(Arrays.asList(a, b, c), Arrays.asList(b, c), Arrays.asList(b, c)), candidates);
+		assertEquals(Collections.singletonList(staleViewOfB), orphaned);
+		assertEquals(Collections.singletonList(b), semanticChildren);
+	}
+
+	private static View createView(EObject element) {
+		Node result = NotationFactory.eINSTANCE.createNode();
+		result.setElement(element);
+		return result;
+	}
+
+	/**
+	 * A canonical edit policy that exposes the synchronization of the views
+	 * and semantic children.
+	 */
+	private static class TestCanonicalEditPolicy extends CanonicalEditPolicy {
+
+		@Override
+		protected List getSemanticChildrenList() {
+			return Collections.EMPTY_LIST;
+		}
+
+		List<View> clean(Collection<? extends View> viewChildren, Collection<EObject> semanticChildren) {
+			return cleanCanonicalSemanticChildren(viewChildren, semanticChildren);
+		}
+	}
+}
@@ -12,11 +12,14 @@
 
 package org.eclipse.gmf.tests.runtime.diagram.ui.logic;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.eclipse.core.commands.ExecutionException;
@@ -38,9 +41,11 @@ import org.eclipse.gef.commands.Command;
 import org.eclipse.gmf.runtime.common.core.command.CommandResult;
 import org.eclipse.gmf.runtime.common.core.util.StringStatics;
 import org.eclipse.gmf.runtime.diagram.core.listener.DiagramEventBroker;
+import org.eclipse.gmf.runtime.diagram.core.listener.NotificationBatchListener;
 import org.eclipse.gmf.runtime.diagram.core.listener.NotificationListener;
 import org.eclipse.gmf.runtime.diagram.ui.editparts.DiagramEditPart;
 import org.eclipse.gmf.runtime.diagram.ui.editparts.GraphicalEditPart;
+import org.eclipse.gmf.runtime.diagram.ui.editparts.NotificationCoalescer;
 import org.eclipse.gmf.runtime.diagram.ui.requests.ArrangeRequest;
 import org.eclipse.gmf.runtime.diagram.ui.requests.RequestConstants;
 import org.eclipse.gmf.runtime.diagram.ui.services.layout.LayoutType;
@@ -58,6 +63,10 @@ public class DiagramEventBrokerTests extends AbstractShapeTests {
 
 		private boolean receivedTypeEvent = false;
 
+		private int typeEventCount = 0;
+
+		private boolean coalesceTypeEvents = false;
+
 		private DiagramEventBroker eventBroker;
 
 		private DiagramEditPart diagremEditPart;
@@ -66,6 +75,19 @@ public class DiagramEventBrokerTests extends AbstractShapeTests {
 			return receivedTypeEvent;
 		}
 
+		public int getTypeEventCount() {
+			return typeEventCount;
+		}
+
+		public void setCoalesceTypeEvents(boolean coalesceTypeEvents) {
+			this.coalesceTypeEvents = coalesceTypeEvents;
+		}
+
+		@Override
+		protected boolean shouldCoalesceNotification(Notification notification) {
+			return coalesceTypeEvents && NotationPackage.eINSTANCE.getView_Type().equals(notification.getFeature());
+		}
+
 		@Override
 		protected Diagram getDiagramView() {
 			return diagremEditPart.getDiagramView();
@@ -119,6 +141,7 @@ public class DiagramEventBrokerTests extends AbstractShapeTests {
 		protected void handleNotificationEvent(Notification event) {
 			if (NotationPackage.eINSTANCE.getView_Type().equals(event.getFeature())) {
 				receivedTypeEvent = true;
+				typeEventCount++;
 			}
 		}
 
@@ -197,6 +220,168 @@ public class DiagramEventBrokerTests extends AbstractShapeTests {
 		assertTrue(ep.receivedTypeEvent());
 	}
 
+	/**
+	 * Test to verify that the notifications that an edit part coalesces are
+	 * handled once, after the transaction, with the latest value.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testCoalescedNotifications() throws Exception {
+		final View view = getDiagramEditPart().getNotationView();
+		DiagramEditPart diagramEP = getDiagramEditPart();
+		DiagramEventBroker eventBroker = getDiagramEventBroker(diagramEP.getEditingDomain());
+
+		TestListenningEditPart ep = new TestListenningEditPart(diagramEP, eventBroker, view);
+		ep.setCoalesceTypeEvents(true);
+
+		final TransactionalEditingDomain editingDomain = ep.getEditingDomain();
+		NotificationCoalescer coalescer = NotificationCoalescer.getInstance();
+		coalescer.flush();
+		coalescer.resetCounters();
+		ep.activate();
+		try {
+			AbstractEMFOperation operation = new AbstractEMFOperation(editingDomain, "") { //$NON-NLS-1$
+				@Override
+				protected IStatus doExecute(IProgressMonitor monitor, IAdaptable info) throws ExecutionException {
+					for (int i = 0; i < 20; i++) {
+						view.setType("type" + i); //$NON-NLS-1$
+					}
+					return Status.OK_STATUS;
+				}
+			};
+			OperationHistoryFactory.getOperationHistory().execute(operation, new NullProgressMonitor(), null);
+
+			// nothing is handled until the UI event loop runs
+			assertEquals(0, ep.getTypeEventCount());
+			flushEventQueue();
+
+			assertEquals(1, ep.getTypeEventCount());
+			assertEquals(20, coalescer.getQueuedCount());
+			assertEquals(19, coalescer.getCoalescedCount());
+			assertEquals(1, coalescer.getDeliveredCount());
+			assertEquals("type19", view.getType()); //$NON-NLS-1$
+		} finally {
+			eventBroker.removeNotificationListener(view, NotationPackage.eINSTANCE.getView_Type(), ep);
+		}
+	}
+
+	/**
+	 * Test to verify that a batch listener receives all of the notifications of
+	 * a transaction at once, while the other listeners receive them one by one.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testBatchNotificationListener() throws Exception {
+		final View view = getDiagramEditPart().getNotationView();
+		DiagramEditPart diagramEP = getDiagramEditPart();
+		final TransactionalEditingDomain editingDomain = diagramEP.getEditingDomain();
+		DiagramEventBroker eventBroker = getDiagramEventBroker(editingDomain);
+
+		final List batches = new ArrayList();
+		final List singles = new ArrayList();
+
+		NotificationBatchListener batchListener = new NotificationBatchListener() {
+			@Override
+			public void notifyChanged(Notification notification) {
+				singles.add(notification);
+			}
+
+			@Override
+			public void notifyBatchChanged(List notifications) {
+				batches.add(new ArrayList(notifications));
+			}
+		};
+		final List plainNotifications = new ArrayList();
+		NotificationListener plainListener = new NotificationListener() {
+			@Override
+			public void notifyChanged(Notification notification) {
+				plainNotifications.add(notification);
+			}
+		};
+
+		EStructuralFeature typeFeature = NotationPackage.eINSTANCE.getView_Type();
+		eventBroker.addNotificationListener(view, typeFeature, batchListener);
+		eventBroker.addNotificationListener(view, typeFeature, plainListener);
+		try {
+			AbstractEMFOperation operation = new AbstractEMFOperation(editingDomain, "") { //$NON-NLS-1$
+				@Override
+				protected IStatus doExecute(IProgressMonitor monitor, IAdaptable info) throws ExecutionException {
+					view.setType("first"); //$NON-NLS-1$
+					view.setType("second"); //$NON-NLS-1$
+					return Status.OK_STATUS;
+				}
+			};
+			OperationHistoryFactory.getOperationHistory().execute(operation, new NullProgressMonitor(), null);
+			flushEventQueue();
+
+			assertEquals(2, plainNotifications.size());
+			assertTrue(singles.isEmpty());
+			assertEquals(1, batches.size());
+			assertEquals(plainNotifications, batches.get(0));
+			assertEquals("second", ((Notification) plainNotifications.get(1)).getNewValue()); //$NON-NLS-1$
+		} finally {
+			eventBroker.removeNotificationListener(view, typeFeature, batchListener);
+			eventBroker.removeNotificationListener(view, typeFeature, plainListener);
+		}
+	}
+
+	/**
+	 * Test to verify that a batch listener removed while the notifications of
+	 * a transaction are handled does not receive them.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testRemovedBatchNotificationListener() throws Exception {
+		final View view = getDiagramEditPart().getNotationView();
+		DiagramEditPart diagramEP = getDiagramEditPart();
+		final TransactionalEditingDomain editingDomain = diagramEP.getEditingDomain();
+		final DiagramEventBroker eventBroker = getDiagramEventBroker(editingDomain);
+
+		final List batches = new ArrayList();
+		final NotificationBatchListener batchListener = new NotificationBatchListener() {
+			@Override
+			public void notifyChanged(Notification notification) {
+				batches.add(Collections.singletonList(notification));
+			}
+
+			@Override
+			public void notifyBatchChanged(List notifications) {
+				batches.add(new ArrayList(notifications));
+			}
+		};
+		final EStructuralFeature typeFeature = NotationPackage.eINSTANCE.getView_Type();
+		NotificationListener removingListener = new NotificationListener() {
+			@Override
+			public void notifyChanged(Notification notification) {
+				eventBroker.removeNotificationListener(view, typeFeature, batchListener);
+			}
+		};
+
+		// notified before the batch listener
+		eventBroker.addNotificationListener(view, typeFeature, removingListener);
+		eventBroker.addNotificationListener(view, typeFeature, batchListener);
+		try {
+			AbstractEMFOperation operation = new AbstractEMFOperation(editingDomain, "") { //$NON-NLS-1$
+				@Override
+				protected IStatus doExecute(IProgressMonitor monitor, IAdaptable info) throws ExecutionException {
+					view.setType("first"); //$NON-NLS-1$
+					view.setType("second"); //$NON-NLS-1$
+					return Status.OK_STATUS;
+				}
+			};
+			OperationHistoryFactory.getOperationHistory().execute(operation, new NullProgressMonitor(), null);
+			flushEventQueue();
+
+			assertTrue(batches.isEmpty());
+		} finally {
+			eventBroker.removeNotificationListener(view, typeFeature, removingListener);
+			eventBroker.removeNotificationListener(view, typeFeature, batchListener);
+		}
+	}
+
 	@Test
 	public void testBlockingUI_Protected() {
 		DiagramEditPart diagramEP = getDiagramEditPart();
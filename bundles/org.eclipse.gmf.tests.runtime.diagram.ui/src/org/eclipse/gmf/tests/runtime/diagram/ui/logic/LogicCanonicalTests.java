@@ -12,6 +12,7 @@
 package org.eclipse.gmf.tests.runtime.diagram.ui.logic;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
@@ -31,6 +32,8 @@ import org.eclipse.gmf.runtime.common.core.command.ICommand;
 import org.eclipse.gmf.runtime.diagram.core.util.ViewUtil;
 import org.eclipse.gmf.runtime.diagram.ui.editparts.IGraphicalEditPart;
 import org.eclipse.gmf.runtime.diagram.ui.editparts.IResizableCompartmentEditPart;
+import org.eclipse.gmf.runtime.diagram.ui.editpolicies.CanonicalEditPolicy;
+import org.eclipse.gmf.runtime.diagram.ui.editpolicies.EditPolicyRoles;
 import org.eclipse.gmf.runtime.emf.type.core.ElementTypeRegistry;
 import org.eclipse.gmf.runtime.emf.type.core.IElementType;
 import org.eclipse.gmf.runtime.emf.type.core.requests.CreateRelationshipRequest;
@@ -256,6 +259,79 @@ public class LogicCanonicalTests extends AbstractTestBase {
 		}
 	}
 
+	/**
+	 * Tests that an incremental refresh creates and deletes the views of the
+	 * added and removed elements, and leaves the other views as they are.
+	 */
+	@Test
+	public void test_IncrementalAddRemoveLED() {
+		CanonicalTestFixture fixture = getCanonicalTestFixture();
+		IGraphicalEditPart logicCompartment = fixture.getCanonicalCompartment(0);
+		Circuit circuit = (Circuit) ViewUtil.resolveSemanticElement(logicCompartment.getNotationView());
+		getCanonicalEditPolicy(logicCompartment).setIncrementalRefresh(true);
+
+		LED led1 = fixture.createLED(circuit);
+		flushEventQueue();
+		assertEquals(1, logicCompartment.getChildren().size(), "Unexpected LED count.");//$NON-NLS-1$
+		View view1 = ((IGraphicalEditPart) logicCompartment.getChildren().get(0)).getNotationView();
+
+		LED led2 = fixture.createLED(circuit);
+		flushEventQueue();
+		assertEquals(2, logicCompartment.getChildren().size(), "Unexpected LED count.");//$NON-NLS-1$
+		assertSame(view1, ((IGraphicalEditPart) logicCompartment.getChildren().get(0)).getNotationView());
+
+		fixture.destroy(led1);
+		flushEventQueue();
+		assertEquals(1, logicCompartment.getChildren().size(), "Unexpected LED count.");//$NON-NLS-1$
+		assertSame(led2,
+				((IGraphicalEditPart) logicCompartment.getChildren().get(0)).getNotationView().getElement());
+	}
+
+	/**
+	 * Tests that an incremental refresh for an added element also creates the
+	 * views of the existing connections attached to its contents.
+	 */
+	@Test
+	public void test_IncrementalReparentLEDWithWire() {
+		CanonicalTestFixture fixture = getCanonicalTestFixture();
+		IGraphicalEditPart logicCompartment = fixture.getCanonicalCompartment(0);
+		IGraphicalEditPart logicCompartment2 = fixture.getCanonicalCompartment(1);
+		Circuit circuit1 = (Circuit) ViewUtil.resolveSemanticElement(logicCompartment.getNotationView());
+		Circuit circuit2 = (Circuit) ViewUtil.resolveSemanticElement(logicCompartment2.getNotationView());
+		getCanonicalEditPolicy(logicCompartment).setIncrementalRefresh(true);
+		getCanonicalEditPolicy(logicCompartment2).setIncrementalRefresh(true);
+
+		LED led1 = fixture.createLED(circuit1);
+		LED led2 = fixture.createLED(circuit1);
+		Terminal term1 = (Terminal) led1.getOutputTerminals().get(0);
+		Terminal term2 = (Terminal) led2.getInputTerminals().get(0);
+
+		IElementType typeWire = ElementTypeRegistry.getInstance().getType("logic.wire"); //$NON-NLS-1$
+		IElementType typeCircuit = ElementTypeRegistry.getInstance().getType("logic.circuit"); //$NON-NLS-1$
+		fixture.execute(typeCircuit.getEditHelper()
+				.getEditCommand(new CreateRelationshipRequest(fixture.getEditingDomain(), term1, term2, typeWire)));
+		flushEventQueue();
+		assertEquals(1, getDiagramEditPart().getConnections().size(), "Unexpected Wire count."); //$NON-NLS-1$
+
+		fixture.execute(typeCircuit.getEditHelper()
+				.getEditCommand(new MoveRequest(fixture.getEditingDomain(), circuit2, led2)));
+		flushEventQueue();
+		fixture.execute(typeCircuit.getEditHelper()
+				.getEditCommand(new MoveRequest(fixture.getEditingDomain(), circuit1, led2)));
+		flushEventQueue();
+
+		assertEquals(2, logicCompartment.getChildren().size(), "Unexpected LED count.");//$NON-NLS-1$
+		List connectorEPs = getDiagramEditPart().getConnections();
+		assertEquals(1, connectorEPs.size(), "Unexpected Wire count."); //$NON-NLS-1$
+		ConnectionEditPart ep = (ConnectionEditPart) connectorEPs.get(0);
+		assertEquals(term1, ((View) ep.getSource().getModel()).getElement(), "Unexpected source."); //$NON-NLS-1$
+		assertEquals(term2, ((View) ep.getTarget().getModel()).getElement(), "Unexpected target."); //$NON-NLS-1$
+	}
+
+	private CanonicalEditPolicy getCanonicalEditPolicy(IGraphicalEditPart editPart) {
+		return (CanonicalEditPolicy) editPart.getEditPolicy(EditPolicyRoles.CANONICAL_ROLE);
+	}
+
 	@Test
 	public void test_createLEDUsingTool() {
 		CanonicalTestFixture fixture = (CanonicalTestFixture) getTestFixture();
@@ -28,6 +28,7 @@ import org.eclipse.gmf.examples.runtime.diagram.logic.internal.editparts.Termina
 import org.eclipse.gmf.examples.runtime.diagram.logic.internal.providers.LogicConstants;
 import org.eclipse.gmf.examples.runtime.diagram.logic.internal.util.StringConstants;
 import org.eclipse.gmf.runtime.common.core.command.CommandResult;
+import org.eclipse.gmf.runtime.diagram.ui.editparts.NotificationCoalescer;
 import org.eclipse.gmf.runtime.diagram.ui.internal.editparts.ISurfaceEditPart;
 import org.eclipse.gmf.runtime.diagram.ui.internal.requests.ApplyAppearancePropertiesRequest;
 import org.eclipse.gmf.runtime.draw2d.ui.figures.FigureUtilities;
@@ -111,6 +112,46 @@ public class LogicShapeTests extends AbstractShapeTests {
 		});
 	}
 
+	/**
+	 * Test to verify that the changes to the line color of an LED, which opts in
+	 * to notification coalescing, in one transaction refresh its figure once.
+	 * 
+	 * @throws Exception
+	 */
+	@Test
+	public void testStyleChangesCoalesced() throws Exception {
+		IElementType typeLED = ElementTypeRegistry.getInstance().getType("logic.led"); //$NON-NLS-1$
+
+		final LEDEditPart ledEP = (LEDEditPart) getLogicTestFixture().createShapeUsingTool(typeLED,
+				new Point(100, 100), getDiagramEditPart());
+		final Color red = new Color(255, 0, 0);
+
+		NotificationCoalescer coalescer = NotificationCoalescer.getInstance();
+		flushEventQueue();
+		coalescer.resetCounters();
+
+		getLogicTestFixture()
+				.execute(new AbstractTransactionalCommand(getLogicTestFixture().getEditingDomain(), "", null) { //$NON-NLS-1$
+					@Override
+					protected CommandResult doExecuteWithResult(IProgressMonitor progressMonitor, IAdaptable info)
+							throws ExecutionException {
+						ShapeStyle shapeStyle = (ShapeStyle) ledEP.getNotationView()
+								.getStyle(NotationPackage.eINSTANCE.getShapeStyle());
+						for (int i = 0; i < 20; i++) {
+							shapeStyle.setLineColor(i);
+						}
+						shapeStyle.setLineColor((FigureUtilities.colorToInteger(red)).intValue());
+						return CommandResult.newOKCommandResult();
+					}
+				});
+		flushEventQueue();
+
+		assertEquals(21, coalescer.getQueuedCount());
+		assertEquals(20, coalescer.getCoalescedCount());
+		assertEquals(1, coalescer.getDeliveredCount());
+		assertEquals(red.getRGB(), ledEP.getFigure().getForegroundColor().getRGB());
+	}
+
 	/**
 	 * Tests <code>ISurfaceEditPart.getPrimaryEditParts()</code> by creating a
 	 * half-adder.
@@ -0,0 +1,167 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ ****************************************************************************/
+
+package org.eclipse.gmf.tests.runtime.diagram.ui.logic;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.eclipse.draw2d.FigureCanvas;
+import org.eclipse.draw2d.geometry.Dimension;
+import org.eclipse.draw2d.geometry.Point;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.eclipse.gef.ConnectionEditPart;
+import org.eclipse.gmf.examples.runtime.diagram.logic.internal.editparts.CircuitEditPart;
+import org.eclipse.gmf.examples.runtime.diagram.logic.internal.editparts.LEDEditPart;
+import org.eclipse.gmf.examples.runtime.diagram.logic.internal.editparts.TerminalEditPart;
+import org.eclipse.gmf.examples.runtime.diagram.logic.internal.providers.LogicConstants;
+import org.eclipse.gmf.examples.runtime.diagram.logic.semantic.LED;
+import org.eclipse.gmf.runtime.diagram.ui.commands.ICommandProxy;
+import org.eclipse.gmf.runtime.diagram.ui.commands.SetBoundsCommand;
+import org.eclipse.gmf.runtime.diagram.ui.editparts.IGraphicalEditPart;
+import org.eclipse.gmf.runtime.diagram.ui.parts.IDiagramGraphicalViewer;
+import org.eclipse.gmf.runtime.draw2d.ui.mapmode.IMapMode;
+import org.eclipse.gmf.runtime.draw2d.ui.mapmode.MapModeUtil;
+import org.eclipse.gmf.runtime.emf.core.util.EObjectAdapter;
+import org.eclipse.gmf.runtime.emf.type.core.ElementTypeRegistry;
+import org.eclipse.gmf.runtime.emf.type.core.IElementType;
+import org.eclipse.gmf.runtime.notation.Location;
+import org.eclipse.gmf.runtime.notation.Node;
+import org.eclipse.gmf.runtime.notation.View;
+import org.eclipse.gmf.tests.runtime.diagram.ui.AbstractTestBase;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the refresh of the visibility of the connections in shape
+ * compartments.
+ */
+public class ShapeCompartmentConnectionsTests extends AbstractTestBase {
+
+	private static final IElementType LED_TYPE = ElementTypeRegistry.getInstance().getType("logic.led"); //$NON-NLS-1$
+
+	private static final IElementType WIRE_TYPE = ElementTypeRegistry.getInstance().getType("logic.wire"); //$NON-NLS-1$
+
+	private IGraphicalEditPart compartmentEP;
+
+	private LEDEditPart movedEP;
+
+	private ConnectionEditPart movedWireEP;
+
+	private ConnectionEditPart otherWireEP;
+
+	@Override
+	protected void setTestFixture() {
+		testFixture = new LogicTestFixture();
+	}
+
+	/** Returns the logic test fixture */
+	protected LogicTestFixture getLogicTestFixture() {
+		return (LogicTestFixture) getTestFixture();
+	}
+
+	private IDiagramGraphicalViewer getViewer() {
+		return (IDiagramGraphicalViewer) getDiagramEditPart().getViewer();
+	}
+
+	/**
+	 * Creates a circuit with two pairs of wired LEDs in its compartment.
+	 */
+	private void createWiredLEDs() throws Exception {
+		getLogicTestFixture().openDiagram();
+
+		CircuitEditPart circuitEP = (CircuitEditPart) getLogicTestFixture().createShapeUsingTool(
+				ElementTypeRegistry.getInstance().getType("logic.circuit"), //$NON-NLS-1$
+				new Point(5, 5), new Dimension(500, 500), getDiagramEditPart());
+		compartmentEP = circuitEP.getChildBySemanticHint(LogicConstants.LOGIC_SHAPE_COMPARTMENT);
+
+		movedEP = createLED(new Point(40, 60));
+		movedWireEP = connect(movedEP, createLED(new Point(250, 60)));
+		otherWireEP = connect(createLED(new Point(40, 280)), createLED(new Point(250, 280)));
+		flushEventQueue();
+
+		assertTrue(movedWireEP.getFigure().isVisible());
+		assertTrue(otherWireEP.getFigure().isVisible());
+	}
+
+	private LEDEditPart createLED(Point location) {
+		return (LEDEditPart) getLogicTestFixture().createShapeUsingTool(LED_TYPE, location, compartmentEP);
+	}
+
+	private ConnectionEditPart connect(LEDEditPart sourceEP, LEDEditPart targetEP) {
+		EObject output = (EObject) ((LED) sourceEP.getNotationView().getElement()).getOutputTerminals().get(0);
+		TerminalEditPart outputEP = (TerminalEditPart) getViewer()
+				.findEditPartsForElement(((XMLResource) output.eResource()).getID(output), TerminalEditPart.class)
+				.get(0);
+		EObject input = (EObject) ((LED) targetEP.getNotationView().getElement()).getInputTerminals().get(0);
+		TerminalEditPart inputEP = (TerminalEditPart) getViewer()
+				.findEditPartsForElement(((XMLResource) input.eResource()).getID(input), TerminalEditPart.class)
+				.get(0);
+		return getLogicTestFixture().createConnectorUsingTool(outputEP, inputEP, WIRE_TYPE);
+	}
+
+	/**
+	 * Tests that moving a child of a shape compartment only refreshes the
+	 * visibility of its own connections.
+	 */
+	@Test
+	public void testMovedChildRefreshesItsConnections() throws Exception {
+		createWiredLEDs();
+
+		// made invisible behind the compartment's back, to see which
+		// connections are refreshed
+		movedWireEP.getFigure().setVisible(false);
+		otherWireEP.getFigure().setVisible(false);
+
+		View view = movedEP.getNotationView();
+		Location location = (Location) ((Node) view).getLayoutConstraint();
+		IMapMode mm = MapModeUtil.getMapMode(getDiagramEditPart().getFigure());
+		Point newLocation = new Point(location.getX() + mm.DPtoLP(20), location.getY() + mm.DPtoLP(20));
+		getCommandStack().execute(new ICommandProxy(new SetBoundsCommand(getLogicTestFixture().getEditingDomain(),
+				"", new EObjectAdapter(view), newLocation))); //$NON-NLS-1$
+		flushEventQueue();
+
+		assertTrue(movedWireEP.getFigure().isVisible());
+		assertFalse(otherWireEP.getFigure().isVisible());
+	}
+
+	/**
+	 * Tests that scrolling the canvas, which does not move the shape
+	 * compartment relative to the diagram, skips the refresh of the visibility
+	 * of its connections.
+	 */
+	@Test
+	public void testCanvasScrollSkipsRefresh() throws Exception {
+		createWiredLEDs();
+
+		// an LED far away, so that the canvas can be scrolled
+		FigureCanvas canvas = (FigureCanvas) getViewer().getControl();
+		Dimension viewport = canvas.getViewport().getSize();
+		IMapMode mm = MapModeUtil.getMapMode(getDiagramEditPart().getFigure());
+		LEDEditPart farEP = (LEDEditPart) getLogicTestFixture().createShapeUsingTool(LED_TYPE, new Point(600, 10),
+				getDiagramEditPart());
+		getCommandStack().execute(new ICommandProxy(new SetBoundsCommand(getLogicTestFixture().getEditingDomain(),
+				"", new EObjectAdapter(farEP.getNotationView()), //$NON-NLS-1$
+				new Point(mm.DPtoLP(viewport.width * 2), mm.DPtoLP(viewport.height * 2)))));
+		flushEventQueue();
+
+		movedWireEP.getFigure().setVisible(false);
+		otherWireEP.getFigure().setVisible(false);
+
+		canvas.scrollTo(0, 10);
+		flushEventQueue();
+		assertTrue(canvas.getViewport().getViewLocation().y > 0);
+
+		assertFalse(movedWireEP.getFigure().isVisible());
+		assertFalse(otherWireEP.getFigure().isVisible());
+	}
+}
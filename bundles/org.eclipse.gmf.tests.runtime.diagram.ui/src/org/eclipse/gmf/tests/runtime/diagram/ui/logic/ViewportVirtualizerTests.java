@@ -0,0 +1,311 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ ****************************************************************************/
+
+package org.eclipse.gmf.tests.runtime.diagram.ui.logic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.eclipse.core.runtime.IAdaptable;
+import org.eclipse.draw2d.FigureCanvas;
+import org.eclipse.draw2d.geometry.Dimension;
+import org.eclipse.draw2d.geometry.Point;
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.eclipse.gef.ConnectionEditPart;
+import org.eclipse.gef.EditPart;
+import org.eclipse.gef.commands.CompoundCommand;
+import org.eclipse.gmf.examples.runtime.diagram.logic.internal.editparts.LEDEditPart;
+import org.eclipse.gmf.examples.runtime.diagram.logic.internal.editparts.TerminalEditPart;
+import org.eclipse.gmf.examples.runtime.diagram.logic.semantic.LED;
+import org.eclipse.gmf.runtime.diagram.ui.actions.internal.ArrangeAction;
+import org.eclipse.gmf.runtime.diagram.ui.actions.internal.SelectAllAction;
+import org.eclipse.gmf.runtime.diagram.ui.commands.ICommandProxy;
+import org.eclipse.gmf.runtime.diagram.ui.commands.SetBoundsCommand;
+import org.eclipse.gmf.runtime.diagram.ui.editparts.DiagramEditPart;
+import org.eclipse.gmf.runtime.diagram.ui.internal.editparts.ViewportVirtualizer;
+import org.eclipse.gmf.runtime.diagram.ui.parts.IDiagramGraphicalViewer;
+import org.eclipse.gmf.runtime.diagram.ui.requests.CreateViewRequest;
+import org.eclipse.gmf.runtime.draw2d.ui.mapmode.IMapMode;
+import org.eclipse.gmf.runtime.draw2d.ui.mapmode.MapModeUtil;
+import org.eclipse.gmf.runtime.emf.core.util.EObjectAdapter;
+import org.eclipse.gmf.runtime.emf.type.core.ElementTypeRegistry;
+import org.eclipse.gmf.runtime.emf.type.core.IElementType;
+import org.eclipse.gmf.runtime.notation.Edge;
+import org.eclipse.gmf.runtime.notation.Location;
+import org.eclipse.gmf.runtime.notation.Node;
+import org.eclipse.gmf.runtime.notation.View;
+import org.eclipse.gmf.tests.runtime.diagram.ui.AbstractTestBase;
+import org.eclipse.gmf.tests.runtime.diagram.ui.util.ITestActionCallback;
+import org.eclipse.jface.viewers.StructuredSelection;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the viewers whose {@link DiagramEditPart#VIRTUALIZED_VIEWER_PROPERTY}
+ * is set, which only materialize the editparts near their viewport.
+ */
+public class ViewportVirtualizerTests extends AbstractTestBase {
+
+	private View nearView;
+
+	private View farView;
+
+	private Point farLocation;
+
+	@Override
+	protected void setTestFixture() {
+		testFixture = new LogicTestFixture();
+	}
+
+	/** Returns the logic test fixture */
+	protected LogicTestFixture getLogicTestFixture() {
+		return (LogicTestFixture) getTestFixture();
+	}
+
+	private IDiagramGraphicalViewer getViewer() {
+		return (IDiagramGraphicalViewer) getDiagramEditPart().getViewer();
+	}
+
+	private FigureCanvas getCanvas() {
+		return (FigureCanvas) getViewer().getControl();
+	}
+
+	private boolean isMaterialized(View view) {
+		return getViewer().getEditPartRegistry().get(view) != null;
+	}
+
+	/**
+	 * Creates an LED near the origin and another one several viewports away,
+	 * and virtualizes the viewer with no margin.
+	 */
+	private void createLEDs() throws Exception {
+		getLogicTestFixture().openDiagram();
+
+		IElementType typeLED = ElementTypeRegistry.getInstance().getType("logic.led"); //$NON-NLS-1$
+		nearView = getLogicTestFixture()
+				.createShapeUsingTool(typeLED, new Point(10, 10), getDiagramEditPart()).getNotationView();
+		farView = getLogicTestFixture()
+				.createShapeUsingTool(typeLED, new Point(200, 10), getDiagramEditPart()).getNotationView();
+
+		Dimension viewport = getCanvas().getViewport().getSize();
+		IMapMode mm = MapModeUtil.getMapMode(getDiagramEditPart().getFigure());
+		farLocation = new Point(mm.DPtoLP(viewport.width * 4), mm.DPtoLP(viewport.height * 4));
+		getCommandStack().execute(new ICommandProxy(new SetBoundsCommand(getLogicTestFixture().getEditingDomain(),
+				"", new EObjectAdapter(farView), farLocation))); //$NON-NLS-1$
+		flushEventQueue();
+
+		getViewer().setProperty(DiagramEditPart.VIRTUALIZATION_MARGIN_VIEWER_PROPERTY, Integer.valueOf(0));
+		getViewer().setProperty(DiagramEditPart.VIRTUALIZED_VIEWER_PROPERTY, Boolean.TRUE);
+		getDiagramEditPart().refresh();
+		flushEventQueue();
+	}
+
+	/** Scrolls the viewport to the location of a view. */
+	private void scrollTo(View view) {
+		Location location = (Location) ((Node) view).getLayoutConstraint();
+		Rectangle bounds = new Rectangle(location.getX(), location.getY(), 1, 1);
+		getDiagramEditPart().getContentPane().translateToAbsolute(bounds);
+		Point viewLocation = getCanvas().getViewport().getViewLocation();
+		getCanvas().scrollTo(viewLocation.x + bounds.x, viewLocation.y + bounds.y);
+		flushEventQueue();
+	}
+
+	/**
+	 * Scrolls the viewport back to the origin, through another location so
+	 * that the virtualized containers are updated.
+	 */
+	private void scrollToOrigin() {
+		getCanvas().scrollTo(0, 1);
+		flushEventQueue();
+		getCanvas().scrollTo(0, 0);
+		flushEventQueue();
+	}
+
+	/**
+	 * Tests that the views are materialized as the viewport is scrolled.
+	 */
+	@Test
+	public void testScrolling() throws Exception {
+		createLEDs();
+		assertTrue(isMaterialized(nearView));
+		assertNull(getViewer().getEditPartRegistry().get(farView));
+
+		scrollTo(farView);
+		assertTrue(isMaterialized(farView));
+		assertNull(getViewer().getEditPartRegistry().get(nearView));
+
+		scrollToOrigin();
+		assertTrue(isMaterialized(nearView));
+		assertNull(getViewer().getEditPartRegistry().get(farView));
+	}
+
+	/**
+	 * Tests that the views off the viewport are materialized when they are
+	 * looked up.
+	 */
+	@Test
+	public void testLookups() throws Exception {
+		createLEDs();
+
+		EObject led = farView.getElement();
+		String ledID = ((XMLResource) led.eResource()).getID(led);
+		List parts = getViewer().findEditPartsForElement(ledID, LEDEditPart.class);
+		assertEquals(1, parts.size());
+		assertSame(farView, ((EditPart) parts.get(0)).getModel());
+
+		// the next update disposes it again
+		scrollToOrigin();
+		assertNull(getViewer().getEditPartRegistry().get(farView));
+		assertNotNull(ViewportVirtualizer.materialize(getViewer(), farView));
+	}
+
+	/**
+	 * Tests that the auto-sized views take the size of their figures.
+	 */
+	@Test
+	public void testAutoSize() throws Exception {
+		createLEDs();
+
+		// another auto-sized view of the near LED, that starts a few pixels
+		// before the viewport
+		Rectangle visible = getCanvas().getViewport().getBounds().getCopy();
+		getDiagramEditPart().getContentPane().translateToRelative(visible);
+		IMapMode mm = MapModeUtil.getMapMode(getDiagramEditPart().getFigure());
+
+		CompoundCommand cc = new CompoundCommand();
+		CreateViewRequest request = new CreateViewRequest(nearView.getElement(),
+				getTestFixture().getPreferencesHint());
+		request.setLocation(new Point(10, 100));
+		cc.add(getDiagramEditPart().getCommand(request));
+		IAdaptable adapter = (IAdaptable) ((List) request.getNewObject()).get(0);
+		cc.add(new ICommandProxy(new SetBoundsCommand(getLogicTestFixture().getEditingDomain(), "", adapter, //$NON-NLS-1$
+				new Rectangle(visible.x - mm.DPtoLP(5), visible.y + mm.DPtoLP(100), -1, -1))));
+		getCommandStack().execute(cc);
+		flushEventQueue();
+
+		View autoSized = (View) adapter.getAdapter(View.class);
+		assertTrue(isMaterialized(autoSized));
+		scrollToOrigin();
+		assertTrue(isMaterialized(autoSized));
+	}
+
+	/**
+	 * Tests that the selected views stay materialized.
+	 */
+	@Test
+	public void testSelection() throws Exception {
+		createLEDs();
+
+		EditPart farEP = ViewportVirtualizer.materialize(getViewer(), farView);
+		getViewer().select(farEP);
+		scrollTo(nearView);
+		assertSame(farEP, getViewer().getEditPartRegistry().get(farView));
+
+		getViewer().deselectAll();
+		scrollToOrigin();
+		assertNull(getViewer().getEditPartRegistry().get(farView));
+	}
+
+	/**
+	 * Tests that Select All selects the views off the viewport.
+	 */
+	@Test
+	public void testSelectAll() throws Exception {
+		createLEDs();
+
+		testAction(SelectAllAction.createSelectAllAction(getWorkbenchPage()), new ITestActionCallback() {
+
+			@Override
+			public void onRunExecution() {
+				List selected = getViewer().getSelectedEditParts();
+				assertTrue(selected.contains(getViewer().getEditPartRegistry().get(nearView)));
+				assertTrue(selected.contains(getViewer().getEditPartRegistry().get(farView)));
+			}
+		});
+	}
+
+	/**
+	 * Tests that Arrange All lays out the views off the viewport.
+	 */
+	@Test
+	public void testArrangeAll() throws Exception {
+		createLEDs();
+
+		getViewer().setSelection(new StructuredSelection(getDiagramEditPart()));
+		testAction(ArrangeAction.createArrangeAllAction(getWorkbenchPage()), new ITestActionCallback() {
+
+			@Override
+			public void onRunExecution() {
+				Location location = (Location) ((Node) farView).getLayoutConstraint();
+				assertNotEquals(farLocation, new Point(location.getX(), location.getY()));
+			}
+		});
+	}
+
+	/**
+	 * Tests that connections are materialized with both of their ends.
+	 */
+	@Test
+	public void testConnectionEnds() throws Exception {
+		getLogicTestFixture().openDiagram();
+
+		IElementType typeLED = ElementTypeRegistry.getInstance().getType("logic.led"); //$NON-NLS-1$
+		IElementType typeWire = ElementTypeRegistry.getInstance().getType("logic.wire"); //$NON-NLS-1$
+		LEDEditPart led1EP = (LEDEditPart) getLogicTestFixture().createShapeUsingTool(typeLED, new Point(10, 10),
+				getDiagramEditPart());
+		LEDEditPart led2EP = (LEDEditPart) getLogicTestFixture().createShapeUsingTool(typeLED, new Point(200, 10),
+				getDiagramEditPart());
+
+		EObject outputTerminal = (EObject) ((LED) led1EP.getNotationView().getElement()).getOutputTerminals().get(0);
+		TerminalEditPart outputTerminalEP = (TerminalEditPart) getViewer().findEditPartsForElement(
+				((XMLResource) outputTerminal.eResource()).getID(outputTerminal), TerminalEditPart.class).get(0);
+		EObject inputTerminal = (EObject) ((LED) led2EP.getNotationView().getElement()).getInputTerminals().get(0);
+		TerminalEditPart inputTerminalEP = (TerminalEditPart) getViewer().findEditPartsForElement(
+				((XMLResource) inputTerminal.eResource()).getID(inputTerminal), TerminalEditPart.class).get(0);
+		ConnectionEditPart wireEP = getLogicTestFixture().createConnectorUsingTool(outputTerminalEP,
+				inputTerminalEP, typeWire);
+		Edge wire = (Edge) wireEP.getModel();
+		nearView = led1EP.getNotationView();
+		farView = led2EP.getNotationView();
+
+		Dimension viewport = getCanvas().getViewport().getSize();
+		IMapMode mm = MapModeUtil.getMapMode(getDiagramEditPart().getFigure());
+		farLocation = new Point(mm.DPtoLP(viewport.width * 4), mm.DPtoLP(viewport.height * 4));
+		getCommandStack().execute(new ICommandProxy(new SetBoundsCommand(getLogicTestFixture().getEditingDomain(),
+				"", new EObjectAdapter(farView), farLocation))); //$NON-NLS-1$
+		getViewer().setProperty(DiagramEditPart.VIRTUALIZATION_MARGIN_VIEWER_PROPERTY, Integer.valueOf(0));
+		getViewer().setProperty(DiagramEditPart.VIRTUALIZED_VIEWER_PROPERTY, Boolean.TRUE);
+		getDiagramEditPart().refresh();
+		flushEventQueue();
+
+		// one end is off the viewport
+		assertNull(getViewer().getEditPartRegistry().get(wire));
+		assertTrue(isMaterialized(nearView));
+
+		ConnectionEditPart materialized = (ConnectionEditPart) ViewportVirtualizer.materialize(getViewer(), wire);
+		assertNotNull(materialized);
+		assertSame(wire.getSource(), materialized.getSource().getModel());
+		assertSame(wire.getTarget(), materialized.getTarget().getModel());
+
+		// the connection disappears with its far end
+		scrollToOrigin();
+		assertNull(getViewer().getEditPartRegistry().get(farView));
+		assertNull(getViewer().getEditPartRegistry().get(wire));
+	}
+}
@@ -0,0 +1,139 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ ****************************************************************************/
+
+package org.eclipse.gmf.tests.runtime.diagram.ui.render.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.eclipse.core.commands.ExecutionException;
+import org.eclipse.core.runtime.IAdaptable;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.emf.transaction.util.TransactionUtil;
+import org.eclipse.emf.workspace.AbstractEMFOperation;
+import org.eclipse.gmf.runtime.common.core.util.StringStatics;
+import org.eclipse.gmf.runtime.diagram.core.preferences.PreferencesHint;
+import org.eclipse.gmf.runtime.diagram.core.services.ViewService;
+import org.eclipse.gmf.runtime.diagram.core.util.ViewType;
+import org.eclipse.gmf.runtime.diagram.ui.OffscreenEditPartFactory;
+import org.eclipse.gmf.runtime.diagram.ui.editparts.DiagramEditPart;
+import org.eclipse.gmf.runtime.diagram.ui.image.ImageFileFormat;
+import org.eclipse.gmf.runtime.diagram.ui.render.util.CopyToHTMLImageUtil;
+import org.eclipse.gmf.runtime.notation.Bounds;
+import org.eclipse.gmf.runtime.notation.Diagram;
+import org.eclipse.gmf.runtime.notation.Node;
+import org.eclipse.gmf.tests.runtime.diagram.ui.AbstractTestBase;
+import org.eclipse.gmf.tests.runtime.diagram.ui.logic.LogicTestFixture;
+import org.eclipse.swt.widgets.Shell;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Benchmark of the tiled image export of {@link CopyToHTMLImageUtil} on a
+ * synthetic diagram of 50,000 notes, comparing tiles written one at a time
+ * with tiles encoded and written on several threads. The time of each export
+ * is reported on standard output. This class is not part of
+ * {@link org.eclipse.gmf.tests.runtime.diagram.ui.AllTests}.
+ */
+public class CopyToHTMLImageUtilBenchmark extends AbstractTestBase {
+
+	private static final int NODES = 50000;
+
+	private static final int COLUMNS = 250;
+
+	private static final int SPACING = 2000;
+
+	@Override
+	protected void setTestFixture() {
+		testFixture = new LogicTestFixture();
+	}
+
+	@Test
+	public void benchmarkTiledExport() throws Exception {
+		final Diagram diagram = getDiagram();
+		final PreferencesHint hint = getDiagramEditPart().getDiagramPreferencesHint();
+
+		AbstractEMFOperation operation = new AbstractEMFOperation(TransactionUtil.getEditingDomain(diagram),
+				StringStatics.BLANK) {
+
+			@Override
+			protected IStatus doExecute(IProgressMonitor monitor, IAdaptable info) throws ExecutionException {
+				for (int i = 0; i < NODES; i++) {
+					Node note = ViewService.createNode(diagram, ViewType.NOTE, hint);
+					Bounds bounds = (Bounds) note.getLayoutConstraint();
+					bounds.setX((i % COLUMNS) * SPACING);
+					bounds.setY((i / COLUMNS) * SPACING);
+				}
+				return Status.OK_STATUS;
+			}
+		};
+		operation.execute(new NullProgressMonitor(), null);
+
+		Shell shell = new Shell();
+		try {
+			DiagramEditPart diagramEditPart = OffscreenEditPartFactory.getInstance().createDiagramEditPart(diagram,
+					shell, hint);
+			assertNotNull(diagramEditPart);
+
+			int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+			int sequentialTiles = export(diagramEditPart, 1);
+			int parallelTiles = export(diagramEditPart, threads);
+			assertEquals(sequentialTiles, parallelTiles);
+		} finally {
+			shell.dispose();
+		}
+	}
+
+	private int export(DiagramEditPart diagramEditPart, int threads) throws Exception {
+		File folder = Files.createTempDirectory("tiles").toFile(); //$NON-NLS-1$
+		try {
+			CopyToHTMLImageUtil util = new CopyToHTMLImageUtil();
+			util.setTileWriterThreads(threads);
+
+			long start = System.nanoTime();
+			util.copyToImage(diagramEditPart, new Path(new File(folder, "diagram.html").getPath()), //$NON-NLS-1$
+					ImageFileFormat.PNG, new NullProgressMonitor());
+			long elapsed = System.nanoTime() - start;
+
+			File[] tiles = folder.listFiles((dir, name) -> name.endsWith(".png")); //$NON-NLS-1$
+			assertNotNull(tiles);
+			assertTrue(tiles.length > 1, "The export is not tiled"); //$NON-NLS-1$
+			for (File tile : tiles) {
+				assertTrue(tile.length() > 0, "Empty tile " + tile.getName()); //$NON-NLS-1$
+			}
+			System.out.println("CopyToHTMLImageUtil PNG export of " + NODES + " notes, " + threads //$NON-NLS-1$ //$NON-NLS-2$
+					+ " tile writer thread(s): " + tiles.length + " tiles in " + elapsed / 1000000 + " ms"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			return tiles.length;
+		} finally {
+			delete(folder);
+		}
+	}
+
+	private static void delete(File file) throws IOException {
+		File[] children = file.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				delete(child);
+			}
+		}
+		Files.deleteIfExists(file.toPath());
+	}
+
+}
@@ -12,11 +12,15 @@
 
 package org.eclipse.gmf.tests.runtime.diagram.ui.render.util;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
@@ -27,11 +31,13 @@ import org.eclipse.draw2d.ColorConstants;
 import org.eclipse.draw2d.geometry.Point;
 import org.eclipse.gmf.runtime.diagram.core.preferences.PreferencesHint;
 import org.eclipse.gmf.runtime.diagram.core.util.ViewType;
+import org.eclipse.gmf.runtime.diagram.core.util.ViewUtil;
 import org.eclipse.gmf.runtime.diagram.ui.OffscreenEditPartFactory;
 import org.eclipse.gmf.runtime.diagram.ui.editparts.DiagramEditPart;
 import org.eclipse.gmf.runtime.diagram.ui.editparts.IGraphicalEditPart;
 import org.eclipse.gmf.runtime.diagram.ui.geoshapes.internal.providers.GeoshapeConstants;
 import org.eclipse.gmf.runtime.diagram.ui.image.ImageFileFormat;
+import org.eclipse.gmf.runtime.diagram.ui.render.util.BatchDiagramExporter;
 import org.eclipse.gmf.runtime.diagram.ui.render.util.CopyToImageUtil;
 import org.eclipse.gmf.runtime.diagram.ui.requests.ChangePropertyValueRequest;
 import org.eclipse.gmf.runtime.diagram.ui.requests.CreateViewRequest;
@@ -146,6 +152,28 @@ public class CopyToImageUtilTests extends AbstractTestBase {
 		copyToImageOffscreenTestForFormat(".png", ImageFileFormat.PNG);//$NON-NLS-1$
 	}
 
+	@Test
+	public void testBatchDiagramExporter() throws Exception {
+		File folder = Files.createTempDirectory("batch").toFile(); //$NON-NLS-1$
+		BatchDiagramExporter exporter = new BatchDiagramExporter();
+		try {
+			List diagrams = Arrays.asList(new Diagram[] { getDiagram(), getDiagram() });
+			BatchDiagramExporter.Timings timings = exporter.export(diagrams, new Path(folder.getPath()),
+					ImageFileFormat.PNG, getDiagramEditPart().getDiagramPreferencesHint(), new NullProgressMonitor());
+			assertEquals(2, timings.getDiagramCount());
+
+			File file = new File(folder, ViewUtil.getIdStr(getDiagram()) + ".png"); //$NON-NLS-1$
+			RenderedImage ri = RenderedImageFactory.getInstance(file.getPath());
+			assertTrue(ri != null, "RenderedImage is null");//$NON-NLS-1$
+			assertTrue(ri.getSWTImage() != null, "SWTImage is null");//$NON-NLS-1$
+			file.delete();
+		} finally {
+			exporter.dispose();
+			folder.delete();
+			System.gc();
+		}
+	}
+
 	public void ignore_testCopyToImageUtilTest_SVG() throws Exception {
 		copyToImageTestForFormat(".svg", ImageFileFormat.SVG);//$NON-NLS-1$
 	}
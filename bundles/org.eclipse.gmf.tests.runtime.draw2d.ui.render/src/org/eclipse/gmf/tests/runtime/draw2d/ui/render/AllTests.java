@@ -12,6 +12,8 @@
 
 package org.eclipse.gmf.tests.runtime.draw2d.ui.render;
 
+import org.eclipse.gmf.tests.runtime.draw2d.ui.render.internal.RenderQueueTest;
+import org.eclipse.gmf.tests.runtime.draw2d.ui.render.internal.RenderedImageCacheTest;
 import org.eclipse.gmf.tests.runtime.draw2d.ui.render.internal.svg.SVGTranscoderTest;
 import org.junit.platform.suite.api.SelectClasses;
 import org.junit.platform.suite.api.Suite;
@@ -21,6 +23,8 @@ import org.junit.platform.suite.api.Suite;
 		// RenderMultipleSVGTest.class,
 		// SVGImageTest.class,
 		// Metafile2SvgTest.class,
-		SVGTranscoderTest.class, })
+		SVGTranscoderTest.class,
+		RenderQueueTest.class,
+		RenderedImageCacheTest.class, })
 public class AllTests {
 }
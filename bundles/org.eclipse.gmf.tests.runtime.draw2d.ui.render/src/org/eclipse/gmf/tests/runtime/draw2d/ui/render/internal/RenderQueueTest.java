@@ -0,0 +1,242 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ ****************************************************************************/
+package org.eclipse.gmf.tests.runtime.draw2d.ui.render.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.draw2d.Graphics;
+import org.eclipse.gmf.runtime.draw2d.ui.render.RenderInfo;
+import org.eclipse.gmf.runtime.draw2d.ui.render.RenderedImage;
+import org.eclipse.gmf.runtime.draw2d.ui.render.internal.RenderQueue;
+import org.eclipse.gmf.runtime.draw2d.ui.render.internal.RenderingListener;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Display;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link RenderQueue}.
+ */
+public class RenderQueueTest {
+
+	private static final long TIMEOUT = 10;
+
+	private Image swtImage;
+
+	/**
+	 * The gate that the rendering of the test images waits for.
+	 */
+	private CountDownLatch gate;
+
+	@BeforeEach
+	public void setUp() {
+		swtImage = new Image(Display.getDefault(), 1, 1);
+		gate = new CountDownLatch(1);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		gate.countDown();
+		swtImage.dispose();
+	}
+
+	/**
+	 * Tests that the requests for the same image are rendered once, for all
+	 * of their listeners.
+	 */
+	@Test
+	public void testCoalescing() throws Exception {
+		RenderQueue queue = new RenderQueue(1, 10);
+		TestImage image = new TestImage();
+		TestListener listener1 = new TestListener();
+		TestListener listener2 = new TestListener();
+
+		queue.submit(image, listener1);
+		queue.submit(image, listener2);
+		gate.countDown();
+
+		assertTrue(listener1.rendered.await(TIMEOUT, TimeUnit.SECONDS));
+		assertTrue(listener2.rendered.await(TIMEOUT, TimeUnit.SECONDS));
+		assertEquals(1, image.renderings.get());
+		assertEquals(2, queue.getRequestCount());
+		assertEquals(1, queue.getCoalescedCount());
+	}
+
+	/**
+	 * Tests that a listener that requests another image cancels its earlier
+	 * request.
+	 */
+	@Test
+	public void testCancellation() throws Exception {
+		RenderQueue queue = new RenderQueue(1, 10);
+		TestImage blocker = new TestImage();
+		TestImage oldSize = new TestImage();
+		TestImage newSize = new TestImage();
+		TestListener listener = new TestListener();
+
+		queue.submit(blocker, null);
+		assertTrue(blocker.started.await(TIMEOUT, TimeUnit.SECONDS));
+		queue.submit(oldSize, listener);
+		queue.submit(newSize, listener);
+		assertEquals(1, queue.getCancelledCount());
+		assertEquals(1, queue.getQueueDepth());
+
+		gate.countDown();
+		assertTrue(listener.rendered.await(TIMEOUT, TimeUnit.SECONDS));
+		assertEquals(newSize, listener.image);
+		assertEquals(0, oldSize.renderings.get());
+	}
+
+	/**
+	 * Tests that the listeners of an image rejected because the queue is full
+	 * are told to paint again.
+	 */
+	@Test
+	public void testRejection() throws Exception {
+		RenderQueue queue = new RenderQueue(1, 1);
+		TestImage blocker = new TestImage();
+		TestImage older = new TestImage();
+		TestImage newer = new TestImage();
+		TestListener olderListener = new TestListener();
+		TestListener newerListener = new TestListener();
+
+		queue.submit(blocker, null);
+		assertTrue(blocker.started.await(TIMEOUT, TimeUnit.SECONDS));
+		queue.submit(older, olderListener);
+		queue.submit(newer, newerListener);
+
+		assertEquals(1, queue.getRejectedCount());
+		assertEquals(1, olderListener.rejections.get());
+		assertEquals(0, newerListener.rejections.get());
+
+		// the figure paints again and requests the image again
+		queue.submit(older, olderListener);
+		gate.countDown();
+		assertEquals(2, queue.getRejectedCount());
+		assertEquals(1, newerListener.rejections.get());
+		assertTrue(olderListener.rendered.await(TIMEOUT, TimeUnit.SECONDS));
+	}
+
+	/**
+	 * Tests that the queue keeps rendering after a worker dies.
+	 */
+	@Test
+	public void testWorkerDies() throws Exception {
+		RenderQueue queue = new RenderQueue(1, 10);
+		final CountDownLatch thrown = new CountDownLatch(1);
+		TestImage failing = new TestImage() {
+
+			@Override
+			public Image getSWTImage() {
+				thrown.countDown();
+				throw new LinkageError("test"); //$NON-NLS-1$
+			}
+		};
+		queue.submit(failing, new TestListener());
+		assertTrue(thrown.await(TIMEOUT, TimeUnit.SECONDS));
+
+		gate.countDown();
+		TestImage image = new TestImage();
+		TestListener listener = new TestListener();
+		queue.submit(image, listener);
+		assertTrue(listener.rendered.await(TIMEOUT, TimeUnit.SECONDS));
+
+		// the failed image can be requested again
+		TestListener again = new TestListener();
+		queue.submit(failing, again);
+		assertEquals(0, queue.getCoalescedCount());
+	}
+
+	/**
+	 * An image whose rendering waits for the gate.
+	 */
+	private class TestImage implements RenderedImage {
+
+		final AtomicInteger renderings = new AtomicInteger();
+
+		final CountDownLatch started = new CountDownLatch(1);
+
+		TestImage() {
+			super();
+		}
+
+		@Override
+		public Image getSWTImage() {
+			started.countDown();
+			try {
+				gate.await(TIMEOUT, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			renderings.incrementAndGet();
+			return swtImage;
+		}
+
+		@Override
+		public boolean isRendered() {
+			return renderings.get() > 0;
+		}
+
+		@Override
+		public RenderInfo getRenderInfo() {
+			return null;
+		}
+
+		@Override
+		public RenderedImage getNewRenderedImage(RenderInfo info) {
+			return null;
+		}
+
+		@Override
+		public <T> T getAdapter(Class<T> adapter) {
+			return null;
+		}
+	}
+
+	/**
+	 * A listener that records its notifications.
+	 */
+	private static class TestListener implements RenderingListener {
+
+		final CountDownLatch rendered = new CountDownLatch(1);
+
+		final AtomicInteger rejections = new AtomicInteger();
+
+		volatile RenderedImage image;
+
+		TestListener() {
+			super();
+		}
+
+		@Override
+		public void paintFigureWhileRendering(Graphics g) {
+			// do nothing
+		}
+
+		@Override
+		public void imageRendered(RenderedImage rndImg) {
+			image = rndImg;
+			rendered.countDown();
+		}
+
+		@Override
+		public void renderingRejected(RenderedImage rndImg) {
+			rejections.incrementAndGet();
+		}
+	}
+}
@@ -0,0 +1,183 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ ****************************************************************************/
+package org.eclipse.gmf.tests.runtime.draw2d.ui.render.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.gmf.runtime.draw2d.ui.render.factory.RenderedImageFactory;
+import org.eclipse.gmf.runtime.draw2d.ui.render.internal.AbstractRenderedImage;
+import org.eclipse.gmf.runtime.draw2d.ui.render.internal.RenderedImageCache;
+import org.eclipse.gmf.runtime.draw2d.ui.render.internal.factory.RenderedImageKey;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Display;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link RenderedImageCache}.
+ */
+public class RenderedImageCacheTest {
+
+	/**
+	 * The size of the test images, in bytes.
+	 */
+	private static final int IMAGE_BYTES = 10 * 10 * 4;
+
+	private RenderedImageCache cache;
+
+	private final List<TestImage> images = new ArrayList<TestImage>();
+
+	@BeforeEach
+	public void setUp() {
+		cache = RenderedImageCache.getInstance();
+		cache.clear();
+		cache.resetCounters();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		// the default budget
+		cache.setBudget(64L * 1024 * 1024, 512);
+		cache.clear();
+		cache.resetCounters();
+
+		flushDisposals();
+		for (TestImage image : images) {
+			if (image.isRendered()) {
+				image.getSWTImage().dispose();
+			}
+		}
+	}
+
+	/**
+	 * Runs the disposals of the released images, which the cache posts to the
+	 * display.
+	 */
+	private static void flushDisposals() {
+		Display display = Display.getDefault();
+		while (display.readAndDispatch()) {
+			// keep dispatching
+		}
+	}
+
+	private TestImage render() {
+		TestImage result = new TestImage(images.size());
+		images.add(result);
+		result.getSWTImage();
+		return result;
+	}
+
+	/**
+	 * Tests that the least recently used images are released when the budget
+	 * is exceeded, and that their SWT images are disposed once the display
+	 * runs, after which they are rendered again when needed.
+	 */
+	@Test
+	public void testReleasedImageDisposed() {
+		cache.setBudget(IMAGE_BYTES * 2, 10);
+
+		TestImage first = render();
+		Image swtImage = first.getSWTImage();
+		render();
+		render();
+
+		assertEquals(2, cache.getImageCount());
+		assertEquals(IMAGE_BYTES * 2, cache.getByteCount());
+		assertEquals(1, cache.getEvictionCount());
+
+		// not disposed in the middle of a paint
+		assertFalse(swtImage.isDisposed());
+		assertTrue(first.isRendered());
+
+		flushDisposals();
+		assertTrue(swtImage.isDisposed());
+		assertFalse(first.isRendered());
+
+		Image rendered = first.getSWTImage();
+		assertNotSame(swtImage, rendered);
+		assertFalse(rendered.isDisposed());
+	}
+
+	/**
+	 * Tests that a released image that is drawn again before its SWT image is
+	 * disposed is held again and keeps its SWT image.
+	 */
+	@Test
+	public void testTouchHoldsReleasedImage() {
+		cache.setBudget(IMAGE_BYTES * 10, 1);
+
+		TestImage first = render();
+		Image firstImage = first.getSWTImage();
+		TestImage second = render();
+		Image secondImage = second.getSWTImage();
+		assertEquals(1, cache.getImageCount());
+
+		cache.touch(second);
+		assertEquals(1, cache.getHitCount());
+
+		cache.touch(first);
+		assertEquals(1, cache.getMissCount());
+		assertEquals(1, cache.getImageCount());
+
+		// now the first image is the one held
+		cache.touch(first);
+		assertEquals(2, cache.getHitCount());
+
+		flushDisposals();
+		assertFalse(firstImage.isDisposed());
+		assertSame(firstImage, first.getSWTImage());
+		assertTrue(secondImage.isDisposed());
+	}
+
+	/**
+	 * Tests that clearing the cache disposes the images once the display runs.
+	 */
+	@Test
+	public void testClear() {
+		TestImage image = render();
+		Image swtImage = image.getSWTImage();
+		assertEquals(1, cache.getImageCount());
+
+		cache.clear();
+		assertEquals(0, cache.getImageCount());
+		assertEquals(0, cache.getByteCount());
+		assertFalse(swtImage.isDisposed());
+
+		flushDisposals();
+		assertTrue(swtImage.isDisposed());
+		assertFalse(image.isRendered());
+	}
+
+	/**
+	 * A rendered image of 10 by 10 pixels.
+	 */
+	private static class TestImage extends AbstractRenderedImage {
+
+		TestImage(int id) {
+			super(new byte[] {(byte) id}, new RenderedImageKey(RenderedImageFactory.createInfo(10, 10, false, false,
+					null, null), id, null));
+		}
+
+		@Override
+		protected Image renderImage() {
+			return new Image(Display.getDefault(), 10, 10);
+		}
+	}
+}
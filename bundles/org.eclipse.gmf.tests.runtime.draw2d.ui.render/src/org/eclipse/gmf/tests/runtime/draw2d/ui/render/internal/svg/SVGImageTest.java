@@ -295,6 +295,11 @@ public class SVGImageTest {
 			assertTrue(rndImg.isRendered());
 			assertTrue(rndImg.getSWTImage() != null);
 		}
+
+		@Override
+		public void renderingRejected(RenderedImage rndImg) {
+			// do nothing
+		}
 	}
 
 	@Test
@@ -12,13 +12,22 @@
 
 package org.eclipse.gmf.tests.runtime.draw2d.ui.render.internal.svg;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.eclipse.draw2d.ColorConstants;
 import org.eclipse.draw2d.geometry.Rectangle;
 import org.eclipse.gmf.runtime.draw2d.ui.render.awt.internal.svg.export.GraphicsSVG;
+import org.eclipse.gmf.runtime.draw2d.ui.render.awt.internal.svg.export.StreamingGraphicsSVG;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
 
 /**
  * @author sshaw
@@ -49,4 +58,28 @@ public class SVGTranscoderTest {
 		svgG.drawRectangle(10, 10, 500, 500);
 		svgG.dispose();
 	}
+
+	/**
+	 * The streaming SVG graphics writes a well formed document in which
+	 * identical styles are shared.
+	 */
+	@Test
+	public void testStreamingSVGGraphics() throws Exception {
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		StreamingGraphicsSVG svgG = StreamingGraphicsSVG.getInstance(new Rectangle(0, 0, 1000, 1000), os);
+
+		svgG.setBackgroundColor(ColorConstants.red);
+		for (int i = 0; i < 10; i++) {
+			svgG.fillRectangle(i * 20, 10, 10, 10);
+		}
+		svgG.close();
+		svgG.dispose();
+
+		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+		factory.setNamespaceAware(true);
+		Document document = factory.newDocumentBuilder().parse(new ByteArrayInputStream(os.toByteArray()));
+		assertEquals("svg", document.getDocumentElement().getLocalName()); //$NON-NLS-1$
+		assertEquals(10, document.getElementsByTagName("rect").getLength()); //$NON-NLS-1$
+		assertEquals(1, document.getElementsByTagName("style").getLength()); //$NON-NLS-1$
+	}
 }
@@ -13,6 +13,7 @@
 package org.eclipse.gmf.tests.runtime.draw2d.ui;
 
 import org.eclipse.gmf.tests.runtime.draw2d.ui.graph.CompositeGraphLayoutTest;
+import org.eclipse.gmf.tests.runtime.draw2d.ui.internal.figures.ConnectionSegmentIndexTest;
 import org.eclipse.gmf.tests.runtime.draw2d.ui.internal.routers.AvoidObstructionsRoutingTest;
 import org.eclipse.gmf.tests.runtime.draw2d.ui.internal.routers.LeftRightForestRouterTest;
 import org.eclipse.gmf.tests.runtime.draw2d.ui.internal.routers.RectilinearRouterTest;
@@ -22,8 +23,8 @@ import org.junit.platform.suite.api.SelectClasses;
 import org.junit.platform.suite.api.Suite;
 
 @Suite
-@SelectClasses({ MapModeUtilTest.class, LineSegTest.class, FigureUtilitiesTest.class, LeftRightForestRouterTest.class,
-		TopDownForestRouterTest.class, TreeRouterTest.class, RectilinearRouterTest.class,
-		CompositeGraphLayoutTest.class, AvoidObstructionsRoutingTest.class, })
+@SelectClasses({ MapModeUtilTest.class, LineSegTest.class, FigureUtilitiesTest.class, TextMeasurementCacheTest.class,
+		LeftRightForestRouterTest.class, TopDownForestRouterTest.class, TreeRouterTest.class, RectilinearRouterTest.class,
+		CompositeGraphLayoutTest.class, AvoidObstructionsRoutingTest.class, ConnectionSegmentIndexTest.class, })
 public class AllTests {
 }
@@ -0,0 +1,151 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ ****************************************************************************/
+package org.eclipse.gmf.tests.runtime.draw2d.ui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.eclipse.draw2d.geometry.Dimension;
+import org.eclipse.gmf.runtime.draw2d.ui.mapmode.MapModeTypes;
+import org.eclipse.gmf.runtime.draw2d.ui.text.TextMeasurementCache;
+import org.eclipse.gmf.runtime.draw2d.ui.text.TextUtilitiesEx;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Font;
+import org.eclipse.swt.graphics.FontData;
+import org.eclipse.swt.widgets.Display;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link TextMeasurementCache}.
+ */
+public class TextMeasurementCacheTest {
+
+	private TextMeasurementCache cache;
+
+	private TextUtilitiesEx textUtilities;
+
+	private Font font;
+
+	@BeforeEach
+	public void setUp() {
+		cache = TextMeasurementCache.getInstance();
+		cache.clear();
+		cache.resetStatistics();
+		textUtilities = new TextUtilitiesEx(MapModeTypes.IDENTITY_MM);
+		font = Display.getDefault().getSystemFont();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		cache.setMaximumSize(TextMeasurementCache.DEFAULT_MAXIMUM_SIZE);
+		cache.clear();
+		cache.resetStatistics();
+	}
+
+	/**
+	 * Tests that the same text is measured once.
+	 */
+	@Test
+	public void testTextExtentsCached() {
+		Dimension extents = textUtilities.getTextExtents("Hello", font); //$NON-NLS-1$
+		assertEquals(0, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+
+		// the cached extents are not affected by the callers
+		extents.width = -1;
+
+		Dimension again = textUtilities.getTextExtents("Hello", font); //$NON-NLS-1$
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+		assertTrue(again.width > 0);
+
+		// shared by all of the text utilities
+		assertEquals(again, new TextUtilitiesEx(MapModeTypes.IDENTITY_MM).getTextExtents("Hello", font)); //$NON-NLS-1$
+		assertEquals(2, cache.getHitCount());
+	}
+
+	/**
+	 * Tests that line breaks are cached per width.
+	 */
+	@Test
+	public void testLineBreaksCached() {
+		String text = "The quick brown fox jumps over the lazy dog"; //$NON-NLS-1$
+		int width = textUtilities.getTextExtents("The quick", font).width; //$NON-NLS-1$
+
+		int length = textUtilities.getLargestSubstringConfinedTo(text, font, width);
+		long hits = cache.getHitCount();
+
+		assertEquals(length, textUtilities.getLargestSubstringConfinedTo(text, font, width));
+		assertEquals(hits + 1, cache.getHitCount());
+	}
+
+	/**
+	 * Tests that the least recently used measurements are discarded.
+	 */
+	@Test
+	public void testEviction() {
+		cache.setMaximumSize(2);
+
+		textUtilities.getTextExtents("a", font); //$NON-NLS-1$
+		textUtilities.getTextExtents("b", font); //$NON-NLS-1$
+		textUtilities.getTextExtents("a", font); //$NON-NLS-1$
+		textUtilities.getTextExtents("c", font); //$NON-NLS-1$
+
+		assertEquals(2, cache.size());
+		assertEquals(1, cache.getEvictionCount());
+
+		// "a" was used more recently than "b"
+		long hits = cache.getHitCount();
+		textUtilities.getTextExtents("a", font); //$NON-NLS-1$
+		assertEquals(hits + 1, cache.getHitCount());
+
+		cache.setMaximumSize(1);
+		assertEquals(1, cache.size());
+		assertEquals(2, cache.getEvictionCount());
+	}
+
+	/**
+	 * Tests that a font is not measured with the font data of a disposed font,
+	 * whose handle it may reuse.
+	 */
+	@Test
+	public void testDisposedFont() {
+		FontData data = font.getFontData()[0];
+		Font small = new Font(Display.getDefault(), data.getName(), 8, SWT.NORMAL);
+		Dimension smallExtents = textUtilities.getTextExtents("Hello", small); //$NON-NLS-1$
+		small.dispose();
+
+		Font large = new Font(Display.getDefault(), data.getName(), 32, SWT.NORMAL);
+		try {
+			Dimension largeExtents = textUtilities.getTextExtents("Hello", large); //$NON-NLS-1$
+			assertTrue(largeExtents.height > smallExtents.height);
+		} finally {
+			large.dispose();
+		}
+	}
+
+	/**
+	 * Tests that a cache of no size measures every time.
+	 */
+	@Test
+	public void testDisabled() {
+		cache.setMaximumSize(0);
+
+		Dimension extents = textUtilities.getTextExtents("Hello", font); //$NON-NLS-1$
+		assertEquals(extents, textUtilities.getTextExtents("Hello", font)); //$NON-NLS-1$
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getHitCount());
+		assertEquals(2, cache.getMissCount());
+	}
+}
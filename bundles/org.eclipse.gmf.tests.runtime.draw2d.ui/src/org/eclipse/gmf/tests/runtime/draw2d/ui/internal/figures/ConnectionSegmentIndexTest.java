@@ -0,0 +1,151 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ ****************************************************************************/
+package org.eclipse.gmf.tests.runtime.draw2d.ui.internal.figures;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.eclipse.draw2d.geometry.Point;
+import org.eclipse.draw2d.geometry.PointList;
+import org.eclipse.gmf.runtime.draw2d.ui.figures.PolylineConnectionEx;
+import org.eclipse.gmf.runtime.draw2d.ui.internal.figures.ConnectionLayerEx;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the segment index that {@link ConnectionLayerEx} uses to find the
+ * connections near a connection.
+ */
+public class ConnectionSegmentIndexTest {
+
+	/**
+	 * A distance that is larger than the cells of the index, whatever the
+	 * mapmode.
+	 */
+	private static final int FAR = 100000;
+
+	private ConnectionLayerEx layer;
+
+	private PolylineConnectionEx horizontal;
+
+	private PolylineConnectionEx remote;
+
+	@BeforeEach
+	public void setUp() {
+		layer = new ConnectionLayerEx();
+		horizontal = createConnection(new Point(0, 100), new Point(200, 100));
+		remote = createConnection(new Point(FAR, FAR), new Point(FAR + 200, FAR));
+	}
+
+	private PolylineConnectionEx createConnection(Point start, Point end) {
+		PolylineConnectionEx result = new PolylineConnectionEx();
+		PointList points = new PointList();
+		points.addPoint(start);
+		points.addPoint(end);
+		result.setPoints(points);
+		layer.add(result);
+		return result;
+	}
+
+	private List getConnectionsNear(PolylineConnectionEx connection) {
+		return layer.getConnectionsNear(connection, connection.getSmoothPoints());
+	}
+
+	/**
+	 * Tests that only the connections near a connection are found, in the
+	 * order of the children of the layer.
+	 */
+	@Test
+	public void testConnectionsNear() {
+		PolylineConnectionEx vertical = createConnection(new Point(100, 0), new Point(100, 200));
+
+		List near = getConnectionsNear(vertical);
+		assertEquals(2, near.size());
+		assertEquals(horizontal, near.get(0));
+		assertEquals(vertical, near.get(1));
+
+		// the connection itself is always included
+		near = getConnectionsNear(remote);
+		assertEquals(1, near.size());
+		assertTrue(near.contains(remote));
+	}
+
+	/**
+	 * Tests that moving one point of a connection reindexes it.
+	 */
+	@Test
+	public void testSetPoint() {
+		assertFalse(getConnectionsNear(horizontal).contains(remote));
+
+		remote.setPoint(new Point(100, 0), 0);
+		remote.setPoint(new Point(100, 200), 1);
+		assertTrue(getConnectionsNear(horizontal).contains(remote));
+	}
+
+	/**
+	 * Tests that moving the ends of a connection reindexes it.
+	 */
+	@Test
+	public void testSetStartAndEnd() {
+		// the index is built before the connection moves
+		assertFalse(getConnectionsNear(horizontal).contains(remote));
+
+		remote.setStart(new Point(100, 0));
+		remote.setEnd(new Point(100, 200));
+		assertTrue(getConnectionsNear(horizontal).contains(remote));
+
+		remote.setEnd(new Point(FAR, FAR));
+		remote.setStart(new Point(FAR, FAR + 200));
+		assertFalse(getConnectionsNear(horizontal).contains(remote));
+	}
+
+	/**
+	 * Tests that removing points of a connection reindexes it.
+	 */
+	@Test
+	public void testRemovePoint() {
+		PolylineConnectionEx bent = createConnection(new Point(FAR, 0), new Point(FAR, 100));
+		bent.addPoint(new Point(100, 100));
+		assertTrue(getConnectionsNear(horizontal).contains(bent));
+
+		bent.removePoint(2);
+		assertFalse(getConnectionsNear(horizontal).contains(bent));
+
+		bent.insertPoint(new Point(150, 100), 1);
+		assertTrue(getConnectionsNear(horizontal).contains(bent));
+
+		bent.removeAllPoints();
+		assertFalse(getConnectionsNear(horizontal).contains(bent));
+	}
+
+	/**
+	 * Tests that the connections removed from the layer are no longer found.
+	 */
+	@Test
+	public void testRemoveConnection() {
+		PolylineConnectionEx vertical = createConnection(new Point(100, 0), new Point(100, 200));
+		assertTrue(getConnectionsNear(horizontal).contains(vertical));
+
+		layer.remove(vertical);
+		assertFalse(getConnectionsNear(horizontal).contains(vertical));
+
+		// a connection moved while outside of the layer is indexed again
+		// when it is added back
+		vertical.setPoint(new Point(FAR, 0), 0);
+		vertical.setPoint(new Point(FAR, 200), 1);
+		layer.add(vertical);
+		assertFalse(getConnectionsNear(horizontal).contains(vertical));
+	}
+}
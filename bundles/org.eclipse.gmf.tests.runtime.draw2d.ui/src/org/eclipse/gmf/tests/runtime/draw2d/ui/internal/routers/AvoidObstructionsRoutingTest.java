@@ -11,6 +11,7 @@
  ****************************************************************************/
 package org.eclipse.gmf.tests.runtime.draw2d.ui.internal.routers;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -261,6 +262,51 @@ public class AvoidObstructionsRoutingTest {
 		testDifferentSourceAndTargetContainerObstruction(false, getRectilinearRouter());
 	}
 
+	@Test
+	public void testRerouteOnlyConnectionsNearMovedObstruction() {
+		RectangleFigure topNode = new RectangleFigure();
+		topNode.setLayoutManager(new FreeformLayout());
+		topNode.setBounds(new Rectangle(0, 0, 1000, 1000));
+
+		RectangleFigure node1 = new RectangleFigure(), node2 = new RectangleFigure(), node3 = new RectangleFigure(),
+				node4 = new RectangleFigure(), obstruction = new RectangleFigure();
+		node1.setBounds(new Rectangle(100, 100, 40, 40));
+		node2.setBounds(new Rectangle(300, 100, 40, 40));
+		node3.setBounds(new Rectangle(100, 800, 40, 40));
+		node4.setBounds(new Rectangle(300, 800, 40, 40));
+		obstruction.setBounds(new Rectangle(600, 400, 40, 40));
+		topNode.add(node1);
+		topNode.add(node2);
+		topNode.add(node3);
+		topNode.add(node4);
+		topNode.add(obstruction);
+
+		PolylineConnectionEx conn1 = createConnection(node1, node2);
+		PolylineConnectionEx conn2 = createConnection(node3, node4);
+		getObliqueRouter().route(conn1);
+		getObliqueRouter().route(conn2);
+		PointList conn2Points = conn2.getPoints().getCopy();
+
+		// move the obstruction onto conn1, far from conn2
+		long recomputed = ObliqueRouter.getRecomputedRouteCount();
+		obstruction.setBounds(new Rectangle(200, 100, 40, 40));
+		getObliqueRouter().invalidate(conn1);
+		getObliqueRouter().route(conn1);
+
+		assertTrue(ObliqueRouter.getRecomputedRouteCount() > recomputed);
+		assertFalse(isConnectionObstructed(conn1, obstruction.getBounds().getCopy()));
+		assertArrayEquals(conn2Points.toIntArray(), conn2.getPoints().toIntArray());
+	}
+
+	private PolylineConnectionEx createConnection(IFigure source, IFigure target) {
+		PolylineConnectionEx conn = new PolylineConnectionEx();
+		conn.setSourceAnchor(new ChopboxAnchor(source));
+		conn.setTargetAnchor(new ChopboxAnchor(target));
+		conn.setConnectionRouter(getObliqueRouter());
+		conn.setRoutingStyles(true, true);
+		return conn;
+	}
+
 	private void verifyObstructionIsCleared(IFigure topNode, IFigure node1, IFigure node3, IFigure obstruction,
 			BendpointConnectionRouter router) {
 		PolylineConnectionEx conn1 = new PolylineConnectionEx();
@@ -20,7 +20,7 @@ import org.junit.platform.suite.api.Suite;
  * @author Christian Vogt (cvogt)
  */
 @Suite
-@SelectClasses({ RegressionTest.class,
+@SelectClasses({ RegressionTest.class, BinaryFormatTest.class, PasteCollisionTest.class,
 // ClipboardUtilTest.class,
 })
 public class AllTests {
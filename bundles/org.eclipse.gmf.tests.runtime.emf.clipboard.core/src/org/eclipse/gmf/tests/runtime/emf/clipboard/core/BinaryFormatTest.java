@@ -0,0 +1,86 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ ****************************************************************************/
+
+package org.eclipse.gmf.tests.runtime.emf.clipboard.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.emf.examples.extlibrary.Book;
+import org.eclipse.emf.examples.extlibrary.Library;
+import org.eclipse.emf.examples.extlibrary.Writer;
+import org.eclipse.gmf.runtime.emf.clipboard.core.ClipboardUtil;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the binary clipboard format.
+ */
+public class BinaryFormatTest extends BaseClipboardTest {
+
+	@Test
+	public void test_copyPasteBinary() {
+		if (writing()) {
+			Map<String, Object> hints = new HashMap<>();
+			hints.put(ClipboardUtil.BINARY_FORMAT, Boolean.TRUE);
+			assertCopyPaste(hints);
+		}
+	}
+
+	@Test
+	public void test_copyPasteCompressed() {
+		if (writing()) {
+			Map<String, Object> hints = new HashMap<>();
+			hints.put(ClipboardUtil.BINARY_FORMAT, Boolean.TRUE);
+			hints.put(ClipboardUtil.COMPRESSED_FORMAT, Boolean.TRUE);
+			assertCopyPaste(hints);
+		}
+	}
+
+	@Test
+	public void test_binaryIsSmallerThanXMI() {
+		if (writing()) {
+			Collection<Library> objects = Collections.singletonList(root1);
+			String xmi = copy(objects, Collections.EMPTY_MAP);
+
+			Map<String, Object> hints = new HashMap<>();
+			hints.put(ClipboardUtil.BINARY_FORMAT, Boolean.TRUE);
+			String binary = copy(objects, hints);
+
+			assertTrue(binary.length() < xmi.length());
+		}
+	}
+
+	private void assertCopyPaste(Map<String, Object> hints) {
+		String copyStr = copy(Collections.singletonList(level1), hints);
+		assertTrue(copyStr.startsWith("<!-- TYPE|EMF_BINARY")); //$NON-NLS-1$
+
+		Collection<?> eObjects = paste(copyStr, root3, Collections.EMPTY_MAP);
+		assertEquals(1, eObjects.size());
+
+		Library copy = (Library) eObjects.iterator().next();
+		assertEquals(level1.getName(), copy.getName());
+		assertEquals(level1.getWriters().size(), copy.getWriters().size());
+		assertEquals(level1.getBooks().size(), copy.getBooks().size());
+		assertEquals(level1.getBranches().size(), copy.getBranches().size());
+
+		Writer writer = copy.getWriters().get(0);
+		Book book = copy.getBooks().get(0);
+		assertEquals(level12writer.getName(), writer.getName());
+		assertEquals(level12book.getTitle(), book.getTitle());
+		assertEquals(level12.getName(), copy.getBranches().get(0).getName());
+	}
+}
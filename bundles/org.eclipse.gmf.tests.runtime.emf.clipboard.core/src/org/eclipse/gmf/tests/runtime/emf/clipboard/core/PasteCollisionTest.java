@@ -0,0 +1,63 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ ****************************************************************************/
+
+package org.eclipse.gmf.tests.runtime.emf.clipboard.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.emf.examples.extlibrary.EXTLibraryFactory;
+import org.eclipse.emf.examples.extlibrary.Library;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the renaming of pasted elements whose name collides with an existing
+ * element.
+ */
+public class PasteCollisionTest extends BaseClipboardTest {
+
+	@Test
+	public void test_pasteRenamesCollidingElements() {
+		if (writing()) {
+			String name = level1.getName();
+			String copyStr = copy(Collections.singletonList(level1), Collections.EMPTY_MAP);
+
+			paste(copyStr, root1, Collections.EMPTY_MAP);
+			paste(copyStr, root1, Collections.EMPTY_MAP);
+
+			List<String> names = new ArrayList<>();
+			for (Library branch : root1.getBranches()) {
+				names.add(branch.getName());
+			}
+			assertEquals(List.of(name, "Copy_1_" + name, "Copy_2_" + name), names); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	@Test
+	public void test_pasteCollisionIgnoresCase() {
+		if (writing()) {
+			String name = level1.getName();
+			Library library = EXTLibraryFactory.eINSTANCE.createLibrary();
+			library.setName(("Copy_1_" + name).toUpperCase()); //$NON-NLS-1$
+			root1.getBranches().add(library);
+
+			String copyStr = copy(Collections.singletonList(level1), Collections.EMPTY_MAP);
+			paste(copyStr, root1, Collections.EMPTY_MAP);
+
+			Library pasted = root1.getBranches().get(root1.getBranches().size() - 1);
+			assertEquals("Copy_2_" + name, pasted.getName()); //$NON-NLS-1$
+		}
+	}
+}
@@ -18,6 +18,7 @@ import org.junit.platform.suite.api.Suite;
 @Suite
 @SelectClasses({ org.eclipse.gmf.tests.runtime.emf.core.GMFEditingDomainFactoryTests.class,
 		org.eclipse.gmf.tests.runtime.emf.core.resources.GMFResourceModificationManagerTests.class,
-		org.eclipse.gmf.tests.runtime.emf.core.util.EMFCoreUtilTests.class, })
+		org.eclipse.gmf.tests.runtime.emf.core.util.EMFCoreUtilTests.class,
+		org.eclipse.gmf.tests.runtime.emf.core.util.CrossReferenceAdapterTests.class, })
 public class AllTests {
 }
@@ -0,0 +1,346 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ ****************************************************************************/
+package org.eclipse.gmf.tests.runtime.emf.core.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+
+import org.eclipse.core.commands.ExecutionException;
+import org.eclipse.core.runtime.IAdaptable;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.transaction.TransactionalEditingDomain;
+import org.eclipse.emf.workspace.AbstractEMFOperation;
+import org.eclipse.gmf.runtime.emf.core.GMFEditingDomainFactory;
+import org.eclipse.gmf.runtime.emf.core.util.CrossReferenceAdapter;
+import org.eclipse.gmf.tests.runtime.emf.core.BaseTests;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the resource imports and exports maintained by the
+ * <code>CrossReferenceAdapter</code>.
+ */
+public class CrossReferenceAdapterTests extends BaseTests {
+
+	private CountingCrossReferenceAdapter adapter;
+
+	private Resource resourceA;
+
+	private Resource resourceB;
+
+	private Resource resourceC;
+
+	private EPackage packageA;
+
+	private EPackage otherPackageA;
+
+	private EPackage packageC;
+
+	private EClass classA1;
+
+	private EClass classA2;
+
+	private EClass classB;
+
+	@Override
+	protected TransactionalEditingDomain createEditingDomain() {
+		ResourceSet rset = new ResourceSetImpl();
+		adapter = new CountingCrossReferenceAdapter();
+		rset.eAdapters().add(adapter);
+		return GMFEditingDomainFactory.getInstance().createEditingDomain(rset);
+	}
+
+	/**
+	 * Creates three resources, where the two classes of resource A extend the
+	 * class of resource B.
+	 */
+	private void createModel() {
+		run(new Runnable() {
+
+			public void run() {
+				ResourceSet rset = domain.getResourceSet();
+				resourceA = rset.createResource(URI.createURI("http://test/a.ecore")); //$NON-NLS-1$
+				resourceB = rset.createResource(URI.createURI("http://test/b.ecore")); //$NON-NLS-1$
+				resourceC = rset.createResource(URI.createURI("http://test/c.ecore")); //$NON-NLS-1$
+
+				packageA = createPackage(resourceA, "a"); //$NON-NLS-1$
+				otherPackageA = createPackage(resourceA, "a2"); //$NON-NLS-1$
+				EPackage packageB = createPackage(resourceB, "b"); //$NON-NLS-1$
+				packageC = createPackage(resourceC, "c"); //$NON-NLS-1$
+
+				classB = createClass(packageB, "B"); //$NON-NLS-1$
+				classA1 = createClass(packageA, "A1"); //$NON-NLS-1$
+				classA2 = createClass(packageA, "A2"); //$NON-NLS-1$
+				classA1.getESuperTypes().add(classB);
+				classA2.getESuperTypes().add(classB);
+			}
+		});
+	}
+
+	private EPackage createPackage(Resource resource, String name) {
+		EPackage result = EcoreFactory.eINSTANCE.createEPackage();
+		result.setName(name);
+		resource.getContents().add(result);
+		return result;
+	}
+
+	private EClass createClass(EPackage ePackage, String name) {
+		EClass result = EcoreFactory.eINSTANCE.createEClass();
+		result.setName(name);
+		ePackage.getEClassifiers().add(result);
+		return result;
+	}
+
+	private void run(final Runnable runnable) {
+		AbstractEMFOperation op = new AbstractEMFOperation(domain, "") { //$NON-NLS-1$
+			@Override
+			protected IStatus doExecute(IProgressMonitor monitor, IAdaptable info) throws ExecutionException {
+				runnable.run();
+				return Status.OK_STATUS;
+			}
+		};
+
+		try {
+			op.execute(new NullProgressMonitor(), null);
+		} catch (ExecutionException e) {
+			fail(e);
+		}
+	}
+
+	@Test
+	public void test_importsAndExports() {
+		createModel();
+
+		assertEquals(Collections.singleton(resourceB), adapter.getImports(resourceA));
+		assertEquals(Collections.singleton(resourceA), adapter.getExports(resourceB));
+		assertTrue(adapter.getImports(resourceB).isEmpty());
+
+		// one of the two references remains
+		run(new Runnable() {
+
+			public void run() {
+				classA1.getESuperTypes().clear();
+			}
+		});
+		assertEquals(Collections.singleton(resourceB), adapter.getImports(resourceA));
+
+		run(new Runnable() {
+
+			public void run() {
+				classA2.getESuperTypes().clear();
+			}
+		});
+		assertTrue(adapter.getImports(resourceA).isEmpty());
+		assertTrue(adapter.getExports(resourceB).isEmpty());
+		assertEquals(1, adapter.importsRemoved);
+		assertEquals(1, adapter.exportsRemoved);
+	}
+
+	@Test
+	public void test_moveWithinResource() {
+		createModel();
+		adapter.reset();
+
+		run(new Runnable() {
+
+			public void run() {
+				otherPackageA.getEClassifiers().add(classA1);
+				otherPackageA.getEClassifiers().add(classA2);
+				packageA.getEClassifiers().add(classA1);
+			}
+		});
+
+		assertEquals(Collections.singleton(resourceB), adapter.getImports(resourceA));
+		assertEquals(Collections.singleton(resourceA), adapter.getExports(resourceB));
+
+		// the imports did not change, even for a moment
+		assertEquals(0, adapter.importsRemoved);
+		assertEquals(0, adapter.importsAdded);
+	}
+
+	@Test
+	public void test_moveToOtherResource() {
+		createModel();
+		adapter.reset();
+
+		run(new Runnable() {
+
+			public void run() {
+				packageC.getEClassifiers().add(classA1);
+			}
+		});
+		assertEquals(Collections.singleton(resourceB), adapter.getImports(resourceA));
+		assertEquals(Collections.singleton(resourceB), adapter.getImports(resourceC));
+		assertEquals(2, adapter.getExports(resourceB).size());
+		assertEquals(1, adapter.importsAdded);
+
+		run(new Runnable() {
+
+			public void run() {
+				packageC.getEClassifiers().add(classA2);
+				createClass(classB.getEPackage(), "B2").getESuperTypes().add(classA1); //$NON-NLS-1$
+			}
+		});
+		assertTrue(adapter.getImports(resourceA).isEmpty());
+		assertEquals(Collections.singleton(resourceB), adapter.getImports(resourceC));
+		assertEquals(Collections.singleton(resourceC), adapter.getImports(resourceB));
+		assertEquals(Collections.singleton(resourceC), adapter.getExports(resourceB));
+	}
+
+	@Test
+	public void test_moveToOtherResourceInBatch() {
+		createModel();
+		adapter.reset();
+
+		run(new Runnable() {
+
+			public void run() {
+				packageC.getEClassifiers().add(classA1);
+				packageC.getEClassifiers().add(classA2);
+
+				// the moved classes are still counted in resource A until the
+				// transaction ends
+				assertEquals(Collections.singleton(resourceB), adapter.getImports(resourceA));
+				assertTrue(adapter.getImports(resourceC).isEmpty());
+				assertEquals(0, adapter.importsAdded);
+			}
+		});
+
+		assertTrue(adapter.getImports(resourceA).isEmpty());
+		assertEquals(Collections.singleton(resourceB), adapter.getImports(resourceC));
+		assertEquals(Collections.singleton(resourceC), adapter.getExports(resourceB));
+
+		// each pair of resources gained or lost its import once
+		assertEquals(1, adapter.importsAdded);
+		assertEquals(1, adapter.importsRemoved);
+		assertEquals(1, adapter.exportsRemoved);
+	}
+
+	@Test
+	public void test_detachAndUnload() {
+		createModel();
+
+		run(new Runnable() {
+
+			public void run() {
+				packageA.getEClassifiers().remove(classA1);
+			}
+		});
+		assertEquals(Collections.singleton(resourceB), adapter.getImports(resourceA));
+
+		run(new Runnable() {
+
+			public void run() {
+				resourceA.getContents().remove(packageA);
+			}
+		});
+		assertTrue(adapter.getImports(resourceA).isEmpty());
+		assertTrue(adapter.getExports(resourceB).isEmpty());
+
+		run(new Runnable() {
+
+			public void run() {
+				resourceC.getContents().add(packageA);
+			}
+		});
+		assertEquals(Collections.singleton(resourceB), adapter.getImports(resourceC));
+
+		resourceC.unload();
+		assertTrue(adapter.getImports(resourceC).isEmpty());
+		assertFalse(adapter.getExports(resourceB).contains(resourceC));
+	}
+
+	@Test
+	public void test_removeRootWithoutBatch() {
+		// outside of a transaction, nothing is batched
+		ResourceSet rset = new ResourceSetImpl();
+		CountingCrossReferenceAdapter unbatched = new CountingCrossReferenceAdapter();
+		rset.eAdapters().add(unbatched);
+
+		Resource a = rset.createResource(URI.createURI("http://test/a.ecore")); //$NON-NLS-1$
+		Resource b = rset.createResource(URI.createURI("http://test/b.ecore")); //$NON-NLS-1$
+
+		EClass superClass = createClass(createPackage(b, "b"), "B"); //$NON-NLS-1$ //$NON-NLS-2$
+		EPackage root1 = createPackage(a, "a1"); //$NON-NLS-1$
+		EPackage root2 = createPackage(a, "a2"); //$NON-NLS-1$
+		createClass(root1, "A1").getESuperTypes().add(superClass); //$NON-NLS-1$
+		createClass(root2, "A2").getESuperTypes().add(superClass); //$NON-NLS-1$
+		assertTrue(a.isLoaded());
+		assertEquals(Collections.singleton(b), unbatched.getImports(a));
+
+		// the other root still references resource B
+		a.getContents().remove(root1);
+		assertEquals(Collections.singleton(b), unbatched.getImports(a));
+		assertEquals(Collections.singleton(a), unbatched.getExports(b));
+		assertEquals(0, unbatched.importsRemoved);
+
+		a.getContents().remove(root2);
+		assertTrue(unbatched.getImports(a).isEmpty());
+		assertTrue(unbatched.getExports(b).isEmpty());
+		assertEquals(1, unbatched.importsRemoved);
+
+		// the counts are consistent when the roots are added back
+		a.getContents().add(root1);
+		assertEquals(Collections.singleton(b), unbatched.getImports(a));
+		a.getContents().remove(root1);
+		assertTrue(unbatched.getImports(a).isEmpty());
+	}
+
+	/**
+	 * Cross-reference adapter that counts the calls to its hooks.
+	 */
+	private static class CountingCrossReferenceAdapter extends CrossReferenceAdapter {
+
+		int importsAdded;
+
+		int importsRemoved;
+
+		int exportsRemoved;
+
+		CountingCrossReferenceAdapter() {
+			super();
+		}
+
+		void reset() {
+			importsAdded = 0;
+			importsRemoved = 0;
+			exportsRemoved = 0;
+		}
+
+		@Override
+		protected void importAdded(Resource referencer, Resource referenced) {
+			importsAdded++;
+		}
+
+		@Override
+		protected void importRemoved(Resource referencer, Resource referenced) {
+			importsRemoved++;
+		}
+
+		@Override
+		protected void exportRemoved(Resource referenced, Resource referencer) {
+			exportsRemoved++;
+		}
+	}
+}
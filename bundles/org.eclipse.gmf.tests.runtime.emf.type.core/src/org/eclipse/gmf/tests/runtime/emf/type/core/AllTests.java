@@ -16,6 +16,7 @@ package org.eclipse.gmf.tests.runtime.emf.type.core;
 import org.eclipse.gmf.tests.runtime.emf.type.core.commands.CreateElementCommandTest;
 import org.eclipse.gmf.tests.runtime.emf.type.core.commands.DeferredSetValueCommandTest;
 import org.eclipse.gmf.tests.runtime.emf.type.core.commands.DestroyElementCommandTest;
+import org.eclipse.gmf.tests.runtime.emf.type.core.commands.DestroyElementsCommandTest;
 import org.eclipse.gmf.tests.runtime.emf.type.core.commands.SetValueCommandTest;
 import org.eclipse.gmf.tests.runtime.emf.type.core.requests.SetRequestTest;
 import org.junit.platform.suite.api.SelectClasses;
@@ -24,8 +25,8 @@ import org.junit.platform.suite.api.Suite;
 @Suite
 @SelectClasses({ AbstractEditHelperAdviceTest.class, AbstractEditHelperTest.class, ElementTypeRegistryTest.class,
 		ClientContextManagerTest.class, CreateElementCommandTest.class, CreateElementRequestTest.class,
-		DeferredSetValueCommandTest.class, DestroyElementCommandTest.class, MetamodelTypeDescriptorTest.class,
-		MetamodelTypeTest.class, MoveRequestTest.class, MultiClientContextTest.class, SetRequestTest.class,
+		DeferredSetValueCommandTest.class, DestroyElementCommandTest.class, DestroyElementsCommandTest.class,
+		MetamodelTypeDescriptorTest.class, MetamodelTypeTest.class, MoveRequestTest.class, MultiClientContextTest.class, SetRequestTest.class,
 		SetValueCommandTest.class, SpecializationTypeDescriptorTest.class, SpecializationTypeTest.class,
 		ElementTypeUtilTest.class, })
 public class AllTests {
@@ -21,11 +21,19 @@ import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.core.commands.ExecutionException;
 import org.eclipse.core.runtime.NullProgressMonitor;
@@ -1729,4 +1737,130 @@ public class ElementTypeRegistryTest extends AbstractEMFTypeTest {
 		assertFalse(result);
 		assertFalse(listenerNotifiedRemove[0]);
 	}
+
+	/**
+	 * Tests that the edit helper advice resolved for a model element and for
+	 * an element type is recomputed when advice bindings are added and removed.
+	 */
+	@Test
+	public void test_getEditHelperAdvice_invalidatedByAdviceBindings() {
+		String id = "dynamic.advice.cached"; //$NON-NLS-1$
+		IAdviceBindingDescriptor advice = new MyAdviceBindingDescriptor(id, EmployeeType.EMPLOYEE.getId());
+
+		// Resolve the advice, so that it is cached
+		assertNull(getMyAdvice(getFixture().getEditHelperAdvice(employee)));
+		assertNull(getMyAdvice(getFixture().getEditHelperAdvice(EmployeeType.EMPLOYEE)));
+		assertEquals(Arrays.asList(getFixture().getEditHelperAdvice(employee)),
+				Arrays.asList(getFixture().getEditHelperAdvice(employee)));
+
+		assertTrue(getFixture().registerAdvice(advice));
+		try {
+			assertSame(advice.getEditHelperAdvice(), getMyAdvice(getFixture().getEditHelperAdvice(employee)));
+			assertSame(advice.getEditHelperAdvice(),
+					getMyAdvice(getFixture().getEditHelperAdvice(EmployeeType.EMPLOYEE)));
+		} finally {
+			assertTrue(getFixture().deregisterAdvice(advice));
+		}
+
+		assertNull(getMyAdvice(getFixture().getEditHelperAdvice(employee)));
+		assertNull(getMyAdvice(getFixture().getEditHelperAdvice(EmployeeType.EMPLOYEE)));
+	}
+
+	/**
+	 * Tests that many threads can resolve element types and advice while
+	 * another thread registers and deregisters a dynamic specialization type.
+	 */
+	@Test
+	public void test_concurrentReadersDuringDynamicRegistration() throws Exception {
+		final String id = "dynamic.specialization.concurrent"; //$NON-NLS-1$
+		final int readerCount = 8;
+		final int registrationCount = 200;
+
+		final ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<Throwable>();
+		final CountDownLatch start = new CountDownLatch(1);
+		final AtomicBoolean writing = new AtomicBoolean(true);
+		ExecutorService executor = Executors.newFixedThreadPool(readerCount + 1);
+
+		try {
+			List<Future<?>> futures = new ArrayList<Future<?>>();
+
+			for (int i = 0; i < readerCount; i++) {
+				futures.add(executor.submit(new Runnable() {
+
+					@Override
+					public void run() {
+						try {
+							start.await();
+							while (writing.get()) {
+								assertSame(EmployeeType.EMPLOYEE, getFixture().getElementType(employee));
+								assertTrue(Arrays.asList(getFixture().getAllTypesMatching(employee))
+										.contains(EmployeeType.EMPLOYEE));
+								assertNotNull(getFixture().getEditHelperAdvice(employee));
+								assertSame(EmployeeType.MANAGER, getFixture().getType(EmployeeType.MANAGER.getId()));
+
+								for (ISpecializationType next : getFixture()
+										.getSpecializationsOf(EmployeeType.EMPLOYEE.getId())) {
+									assertNotNull(next);
+								}
+							}
+						} catch (Throwable t) {
+							failures.add(t);
+						}
+					}
+				}));
+			}
+
+			futures.add(executor.submit(new Runnable() {
+
+				@Override
+				public void run() {
+					try {
+						start.await();
+						for (int i = 0; i < registrationCount; i++) {
+							ISpecializationType type = new SpecializationType(id, null, id,
+									new IElementType[] { EmployeeType.EMPLOYEE }, null, null,
+									new MySpecializationAdvice());
+
+							assertTrue(getFixture().register(type));
+							assertTrue(getFixture().deregister(type));
+						}
+					} catch (Throwable t) {
+						failures.add(t);
+					} finally {
+						writing.set(false);
+					}
+				}
+			}));
+
+			start.countDown();
+			for (Future<?> next : futures) {
+				next.get(60, TimeUnit.SECONDS);
+			}
+		} finally {
+			writing.set(false);
+			executor.shutdownNow();
+		}
+
+		if (!failures.isEmpty()) {
+			AssertionError error = new AssertionError(failures.size() + " failure(s) in concurrent access"); //$NON-NLS-1$
+			for (Throwable next : failures) {
+				error.addSuppressed(next);
+			}
+			throw error;
+		}
+
+		assertNull(getFixture().getType(id));
+		for (ISpecializationType next : getFixture().getSpecializationsOf(EmployeeType.EMPLOYEE.getId())) {
+			assertFalse(id.equals(next.getId()));
+		}
+	}
+
+	private IEditHelperAdvice getMyAdvice(IEditHelperAdvice[] advice) {
+		for (IEditHelperAdvice next : advice) {
+			if (next instanceof MyAdvice) {
+				return next;
+			}
+		}
+		return null;
+	}
 }
@@ -0,0 +1,269 @@
+/******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse contributors - initial API and implementation
+ ****************************************************************************/
+package org.eclipse.gmf.tests.runtime.emf.type.core.commands;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.eclipse.core.runtime.IAdaptable;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.emf.ecore.EAnnotation;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.change.ChangeDescription;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.gmf.runtime.common.core.command.AbstractCommand;
+import org.eclipse.gmf.runtime.common.core.command.CommandResult;
+import org.eclipse.gmf.runtime.common.core.command.CompositeCommand;
+import org.eclipse.gmf.runtime.common.core.command.ICommand;
+import org.eclipse.gmf.runtime.emf.type.core.ElementTypeRegistry;
+import org.eclipse.gmf.runtime.emf.type.core.IElementType;
+import org.eclipse.gmf.runtime.emf.type.core.commands.DestroyElementsCommand;
+import org.eclipse.gmf.runtime.emf.type.core.requests.DestroyElementsRequest;
+import org.eclipse.gmf.tests.runtime.emf.type.core.AbstractEMFTypeTest;
+import org.eclipse.gmf.tests.runtime.emf.type.core.employee.Client;
+import org.eclipse.gmf.tests.runtime.emf.type.core.employee.Customer;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link DestroyElementsCommand}.
+ */
+public class DestroyElementsCommandTest extends AbstractEMFTypeTest {
+
+	private Customer parentCompany;
+	private Customer customer;
+	private Customer otherCustomer;
+	private Client billieJo;
+	private Client jimBob;
+	private Client bobbySue;
+
+	private EAnnotation billieJoAnnotation;
+	private EAnnotation jimBobAnnotation;
+	private EAnnotation bobbySueAnnotation;
+
+	/**
+	 * Tests that elements are destroyed with their dependents, and that the
+	 * references to them from other elements are torn down.
+	 */
+	@Test
+	public void test_destroyElements() {
+		ICommand cmd = getDestroyCommand(billieJo, jimBob);
+
+		execute(cmd);
+
+		assertDetached(billieJo);
+		assertDetached(billieJoAnnotation);
+		assertDetached(jimBob);
+		assertDetached(jimBobAnnotation);
+
+		// the other annotation no longer references Jim Bob's annotation
+		assertEquals(Collections.singletonList(bobbySue), bobbySueAnnotation.getReferences());
+
+		undo(cmd);
+
+		assertSame(customer, billieJo.eContainer());
+		assertSame(customer, jimBob.eContainer());
+		assertSame(customer, billieJoAnnotation.eContainer());
+		assertTrue(billieJoAnnotation.getReferences().contains(billieJo));
+		assertTrue(jimBobAnnotation.getReferences().contains(jimBob));
+		assertEquals(Arrays.asList(bobbySue, jimBobAnnotation), bobbySueAnnotation.getReferences());
+
+		redo(cmd);
+
+		assertDetached(billieJo);
+		assertDetached(jimBob);
+		assertEquals(Collections.singletonList(bobbySue), bobbySueAnnotation.getReferences());
+	}
+
+	/**
+	 * Tests that the references among the elements being destroyed are kept.
+	 */
+	@Test
+	public void test_destroyElements_referencesAmongDestroyedKept() {
+		ICommand cmd = getDestroyCommand(billieJo, jimBob);
+
+		execute(cmd);
+
+		assertDetached(billieJoAnnotation);
+		assertEquals(Collections.singletonList(billieJo), billieJoAnnotation.getReferences());
+		assertDetached(jimBobAnnotation);
+		assertEquals(Collections.singletonList(jimBob), jimBobAnnotation.getReferences());
+	}
+
+	/**
+	 * Tests that elements in different containers and elements whose
+	 * containers are destroyed, too, are destroyed once.
+	 */
+	@Test
+	public void test_destroyElements_differentContainers() {
+		DestroyElementsRequest req = new DestroyElementsRequest(Arrays.asList(billieJo, customer, bobbySue), false);
+
+		assertNull(req.getContainer());
+
+		ICommand cmd = getDestroyCommand(req);
+
+		execute(cmd);
+
+		assertDetached(customer);
+		assertDetached(billieJo);
+		assertDetached(jimBob);
+		assertDetached(bobbySue);
+		assertDetached(bobbySueAnnotation);
+		assertSame(parentCompany, otherCustomer.eContainer());
+
+		undo(cmd);
+
+		assertSame(parentCompany, customer.eContainer());
+		assertSame(customer, billieJo.eContainer());
+		assertSame(otherCustomer, bobbySue.eContainer());
+		assertTrue(bobbySueAnnotation.getReferences().contains(bobbySue));
+	}
+
+	/**
+	 * Tests that the references are not torn down before the commands that
+	 * precede the first destroy element command, such as before advice, are
+	 * executed.
+	 */
+	@Test
+	public void test_destroyElements_referencesTornDownLazily() {
+		final boolean[] referenced = new boolean[1];
+
+		DestroyElementsCommand cmd = new DestroyElementsCommand(
+				new DestroyElementsRequest(getEditingDomain(), Arrays.asList(billieJo, jimBob), false)) {
+
+			private ICommand destroyCommand;
+
+			@Override
+			protected ICommand getDestroyCommand() {
+				if (destroyCommand == null) {
+					ICommand advice = new AbstractCommand("Before advice") { //$NON-NLS-1$
+
+						@Override
+						protected CommandResult doExecuteWithResult(IProgressMonitor progressMonitor, IAdaptable info) {
+							referenced[0] = bobbySueAnnotation.getReferences().contains(jimBobAnnotation);
+							return CommandResult.newOKCommandResult();
+						}
+
+						@Override
+						protected CommandResult doRedoWithResult(IProgressMonitor progressMonitor, IAdaptable info) {
+							return CommandResult.newOKCommandResult();
+						}
+
+						@Override
+						protected CommandResult doUndoWithResult(IProgressMonitor progressMonitor, IAdaptable info) {
+							return CommandResult.newOKCommandResult();
+						}
+					};
+					destroyCommand = CompositeCommand.compose(advice, super.getDestroyCommand());
+				}
+				return destroyCommand;
+			}
+		};
+
+		execute(cmd);
+
+		assertTrue(referenced[0]);
+		assertDetached(jimBobAnnotation);
+		assertEquals(Collections.singletonList(bobbySue), bobbySueAnnotation.getReferences());
+	}
+
+	/**
+	 * Tests that we cannot destroy detached elements.
+	 */
+	@Test
+	public void test_destroyElements_detached() {
+		Client detachedClient = getEmployeeFactory().createClient();
+
+		DestroyElementsCommand cmd = new DestroyElementsCommand(
+				new DestroyElementsRequest(getEditingDomain(), Collections.singletonList(detachedClient), false));
+
+		assertFalse(cmd.canExecute());
+	}
+
+	private ICommand getDestroyCommand(EObject... elements) {
+		DestroyElementsRequest req = new DestroyElementsRequest(Arrays.asList(elements), false);
+
+		assertSame(customer, req.getContainer());
+
+		return getDestroyCommand(req);
+	}
+
+	private ICommand getDestroyCommand(DestroyElementsRequest req) {
+		IElementType type = ElementTypeRegistry.getInstance().getElementType(req.getEditHelperContext());
+
+		assertNotNull(type);
+
+		ICommand cmd = type.getEditCommand(req);
+
+		assertNotNull(cmd);
+
+		return cmd;
+	}
+
+	private void assertDetached(EObject eObject) {
+		assertTrue((eObject.eContainer() == null) || (eObject.eContainer() instanceof ChangeDescription));
+		assertFalse(getResource().getContents().contains(eObject));
+	}
+
+	private Client createClient(String firstName, String lastName, Customer _customer) {
+		Client result = getEmployeeFactory().createClient();
+		result.setFirstName(firstName);
+		result.setLastName(lastName);
+		_customer.getRepresentatives().add(result);
+
+		return result;
+	}
+
+	private EAnnotation createAnnotation(Client client) {
+		EAnnotation result = EcoreFactory.eINSTANCE.createEAnnotation();
+
+		result.setSource(DestroyElementCommandTest.ANNOTATION_SOURCE);
+		result.getReferences().add(client);
+		client.getRepresents().getEAnnotations().add(result);
+
+		return result;
+	}
+
+	//
+	// Test framework methods
+	//
+
+	@Override
+	protected void doModelSetup(Resource resource) {
+		parentCompany = getEmployeeFactory().createCustomer();
+		parentCompany.setName("GlobalMega"); //$NON-NLS-1$
+		resource.getContents().add(parentCompany);
+
+		customer = getEmployeeFactory().createCustomer();
+		customer.setName("Acme"); //$NON-NLS-1$
+		parentCompany.getSubsidiaries().add(customer);
+
+		otherCustomer = getEmployeeFactory().createCustomer();
+		otherCustomer.setName("Initech"); //$NON-NLS-1$
+		parentCompany.getSubsidiaries().add(otherCustomer);
+
+		billieJo = createClient("Billie Jo", "Swanson", customer); //$NON-NLS-1$ //$NON-NLS-2$
+		billieJoAnnotation = createAnnotation(billieJo);
+		jimBob = createClient("Jim Bob", "Jones", customer); //$NON-NLS-1$ //$NON-NLS-2$
+		jimBobAnnotation = createAnnotation(jimBob);
+		bobbySue = createClient("Bobby Sue", "Smith", otherCustomer); //$NON-NLS-1$ //$NON-NLS-2$
+		bobbySueAnnotation = createAnnotation(bobbySue);
+		bobbySueAnnotation.getReferences().add(jimBobAnnotation);
+	}
+}